@@ -0,0 +1,31 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Set of parameters for {@link IssueRestClient#downloadAttachment(com.atlassian.jira.rest.client.api.domain.Attachment,
+ * java.nio.file.Path, AttachmentDownloadOptions)}.
+ * {@link AttachmentDownloadOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2
+ */
+public class AttachmentDownloadOptions {
+
+    public final long segmentSize;
+    public final int parallelism;
+    public final boolean resume;
+
+    /**
+     * @param segmentSize maximum number of bytes retrieved with a single request. The HTTP client holds the body
+     *                    of every response in memory, so this bounds the memory used by each request.
+     * @param parallelism maximum number of segments retrieved at the same time
+     * @param resume      whether the download into an existing file continues after its last byte, instead
+     *                    of starting over
+     */
+    public AttachmentDownloadOptions(long segmentSize, int parallelism, boolean resume) {
+        if (segmentSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("segmentSize and parallelism must be positive");
+        }
+        this.segmentSize = segmentSize;
+        this.parallelism = parallelism;
+        this.resume = resume;
+    }
+}
@@ -0,0 +1,32 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Builder class for {@link AttachmentDownloadOptions}. By default attachments are retrieved in segments of 8 MB,
+ * 4 at a time, and files are downloaded from the start.
+ *
+ * @since v5.2
+ */
+public class AttachmentDownloadOptionsBuilder {
+    private long segmentSize = 8 * 1024 * 1024;
+    private int parallelism = 4;
+    private boolean resume;
+
+    public AttachmentDownloadOptionsBuilder withSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    public AttachmentDownloadOptionsBuilder withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public AttachmentDownloadOptionsBuilder withResume(boolean resume) {
+        this.resume = resume;
+        return this;
+    }
+
+    public AttachmentDownloadOptions build() {
+        return new AttachmentDownloadOptions(segmentSize, parallelism, resume);
+    }
+}
@@ -0,0 +1,30 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.AttachmentUploadResult;
+import com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput;
+
+/**
+ * Notified of the progress of uploads of {@link IssueRestClient#uploadAttachments(java.util.List,
+ * AttachmentUploadOptions)}. Called on the threads sending the requests, so implementations must be thread-safe
+ * and return quickly.
+ *
+ * @since v5.2
+ */
+public interface AttachmentUploadListener {
+
+    /**
+     * Called after every chunk of the file is read to be sent.
+     *
+     * @param upload    file being uploaded
+     * @param bytesSent number of bytes of the file read so far
+     * @param size      size of the file when the upload started
+     */
+    default void progress(FileAttachmentInput upload, long bytesSent, long size) {
+    }
+
+    /**
+     * Called once Jira created the attachment.
+     */
+    default void uploaded(FileAttachmentInput upload, AttachmentUploadResult result) {
+    }
+}
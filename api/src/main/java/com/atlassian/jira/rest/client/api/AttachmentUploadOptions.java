@@ -0,0 +1,37 @@
+package com.atlassian.jira.rest.client.api;
+
+import javax.annotation.Nullable;
+
+/**
+ * Set of parameters for {@link IssueRestClient#uploadAttachments(java.util.List, AttachmentUploadOptions)}.
+ * {@link AttachmentUploadOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2
+ */
+public class AttachmentUploadOptions {
+
+    public final int chunkSize;
+    public final int parallelism;
+    @Nullable
+    public final String checksumAlgorithm;
+    @Nullable
+    public final AttachmentUploadListener listener;
+
+    /**
+     * @param chunkSize         number of bytes read from the file at a time, which bounds the memory used by an upload
+     * @param parallelism       maximum number of files of a single call uploaded at the same time, to any issues
+     * @param checksumAlgorithm name of the {@link java.security.MessageDigest} algorithm of the checksums of
+     *                          the files sent, or <code>null</code> for none
+     * @param listener          notified of the progress of the uploads, or <code>null</code>
+     */
+    public AttachmentUploadOptions(int chunkSize, int parallelism, @Nullable String checksumAlgorithm,
+                                   @Nullable AttachmentUploadListener listener) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunkSize and parallelism must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,41 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Builder class for {@link AttachmentUploadOptions}. By default files are read in chunks of 64 kB, 4 of them are
+ * uploaded at a time, and their SHA-256 checksum is computed.
+ *
+ * @since v5.2
+ */
+public class AttachmentUploadOptionsBuilder {
+    private int chunkSize = 64 * 1024;
+    private int parallelism = 4;
+    private String checksumAlgorithm = "SHA-256";
+    private AttachmentUploadListener listener;
+
+    public AttachmentUploadOptionsBuilder withChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public AttachmentUploadOptionsBuilder withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param checksumAlgorithm name of a {@link java.security.MessageDigest} algorithm, or <code>null</code> for none
+     */
+    public AttachmentUploadOptionsBuilder withChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+        return this;
+    }
+
+    public AttachmentUploadOptionsBuilder withListener(AttachmentUploadListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public AttachmentUploadOptions build() {
+        return new AttachmentUploadOptions(chunkSize, parallelism, checksumAlgorithm, listener);
+    }
+}
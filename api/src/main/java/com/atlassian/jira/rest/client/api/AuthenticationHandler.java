@@ -17,6 +17,9 @@
 package com.atlassian.jira.rest.client.api;
 
 import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 
 /**
  * Interface for classes which authenticate the requests. The configure method is invoked during each request.
@@ -33,4 +36,33 @@ public interface AuthenticationHandler {
 
     void configure(final Request.Builder builder);
 
+    /**
+     * Authenticates a request sent by the client. Handlers which must fetch their credentials first, for instance
+     * by logging in, configure the request once they have them, without blocking the calling thread.
+     * By default the request is configured at once by {@link #configure(Request.Builder)}.
+     *
+     * @param builder request to authenticate
+     * @return promise completed once the request is authenticated, of the credentials it was configured with,
+     * which are given back to {@link #onResponse(Object, Response)}
+     * @since 5.2
+     */
+    default Promise<Object> authenticate(final Request.Builder builder) {
+        configure(builder);
+        return Promises.promise(null);
+    }
+
+    /**
+     * Invoked with the response to every request authenticated by this handler, for instance to renew credentials
+     * which the server no longer accepts. Must not block.
+     *
+     * @param credentials credentials the request was sent with, as given by {@link #authenticate(Request.Builder)}
+     * @param response    response to the authenticated request
+     * @return whether the server rejected these credentials, and the request should be authenticated and sent
+     * once more
+     * @since 5.2
+     */
+    default boolean onResponse(final Object credentials, final Response response) {
+        return false;
+    }
+
 }
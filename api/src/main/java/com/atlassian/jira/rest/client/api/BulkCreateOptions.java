@@ -0,0 +1,36 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Set of parameters for {@link IssueRestClient#createIssues(java.util.List, BulkCreateOptions)}.
+ * {@link BulkCreateOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2
+ */
+public class BulkCreateOptions {
+
+    public final int chunkSize;
+    public final int parallelism;
+    public final int maxAttempts;
+    public final long retryDelayMillis;
+
+    /**
+     * @param chunkSize        maximum number of issues created with a single request, at most the limit of the server
+     *                         (<code>jira.bulk.create.max.issues.per.request</code>, 50 by default)
+     * @param parallelism      maximum number of requests sent at the same time
+     * @param maxAttempts      maximum number of times an issue is sent, including the first one. Only issues which
+     *                         the server refused to handle, with status 429 or 503, are sent again.
+     * @param retryDelayMillis delay before the first retry, doubled for every next one
+     */
+    public BulkCreateOptions(int chunkSize, int parallelism, int maxAttempts, long retryDelayMillis) {
+        if (chunkSize < 1 || parallelism < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("chunkSize, parallelism and maxAttempts must be positive");
+        }
+        if (retryDelayMillis < 0) {
+            throw new IllegalArgumentException("retryDelayMillis must not be negative");
+        }
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+}
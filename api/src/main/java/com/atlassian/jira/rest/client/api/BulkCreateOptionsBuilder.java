@@ -0,0 +1,41 @@
+package com.atlassian.jira.rest.client.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link BulkCreateOptions}. By default issues are sent in chunks of 50, 4 chunks at a time,
+ * and issues failed for a transient reason are sent up to 3 times, 1 second after the first failure and 2 seconds
+ * after the second one.
+ *
+ * @since v5.2
+ */
+public class BulkCreateOptionsBuilder {
+    private int chunkSize = 50;
+    private int parallelism = 4;
+    private int maxAttempts = 3;
+    private long retryDelayMillis = TimeUnit.SECONDS.toMillis(1);
+
+    public BulkCreateOptionsBuilder withChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public BulkCreateOptionsBuilder withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public BulkCreateOptionsBuilder withMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public BulkCreateOptionsBuilder withRetryDelay(long retryDelay, TimeUnit unit) {
+        this.retryDelayMillis = unit.toMillis(retryDelay);
+        return this;
+    }
+
+    public BulkCreateOptions build() {
+        return new BulkCreateOptions(chunkSize, parallelism, maxAttempts, retryDelayMillis);
+    }
+}
@@ -0,0 +1,33 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * {@link MetadataRestClient} which keeps results on the client side, as configured by {@link MetadataCacheOptions}.
+ * Returned by {@link JiraRestClient#getMetadataClient()} when the metadata cache is enabled.
+ * Concurrent requests for metadata which is not cached yet share a single server call; failed calls are not cached.
+ *
+ * @since v5.2
+ */
+public interface CachingMetadataRestClient extends MetadataRestClient {
+
+    /**
+     * Drops cached entries of given resource, so the next request fetches it from the server.
+     *
+     * @param resource resource to invalidate
+     */
+    void invalidate(MetadataCacheOptions.Resource resource);
+
+    /**
+     * Drops all cached entries.
+     */
+    void invalidateAll();
+
+    /**
+     * @return number of requests answered from the cache, including requests joining a server call already in progress
+     */
+    long getHitCount();
+
+    /**
+     * @return number of requests which caused a server call
+     */
+    long getMissCount();
+}
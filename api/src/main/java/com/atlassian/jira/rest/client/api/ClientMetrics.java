@@ -0,0 +1,84 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.Request;
+
+/**
+ * Listener of the requests sent by JiraRestClient, enabled with
+ * {@link JiraRestClientOptions.Builder#withClientMetrics(ClientMetrics)}.
+ * <p>
+ * Requests are reported by the template of their endpoint, relative to the REST API root, with identifiers replaced
+ * by placeholders, e.g. <code>issue/{id}/transitions</code> or <code>version/{id}</code>, so that metrics keep
+ * a bounded number of names. Time spent by Jira, from sending a request to having its response, is reported apart
+ * from time spent by the client parsing it, so a slow server can be told apart from a slow client.
+ * Every attempt of a retried request is reported on its own.
+ * <p>
+ * Methods are called on the threads completing the requests, so they must be fast and must not block.
+ *
+ * @since v5.2
+ */
+public interface ClientMetrics {
+
+    /**
+     * Called when a response is received.
+     *
+     * @param method        method of the request
+     * @param endpoint      template of the endpoint
+     * @param statusCode    HTTP status of the response
+     * @param durationNanos time from sending the request to having its response
+     * @param responseBytes length of the response body, or -1 when the server did not tell it
+     */
+    default void requestCompleted(Request.Method method, String endpoint, int statusCode, long durationNanos,
+                                  long responseBytes) {
+    }
+
+    /**
+     * Called when a request fails without a response, e.g. on a connection failure or a timeout.
+     *
+     * @param method        method of the request
+     * @param endpoint      template of the endpoint
+     * @param failure       cause of the failure
+     * @param durationNanos time from sending the request to its failure
+     */
+    default void requestFailed(Request.Method method, String endpoint, Throwable failure, long durationNanos) {
+    }
+
+    /**
+     * Called when a successful response has been parsed into domain objects, or failed to be parsed.
+     *
+     * @param parser        simple class name of the parser
+     * @param durationNanos time spent reading the response body and parsing it
+     * @param success       whether the response was parsed
+     */
+    default void responseParsed(String parser, long durationNanos, boolean success) {
+    }
+
+    /**
+     * @return listener passing every call to all the given listeners, in order
+     */
+    static ClientMetrics compose(final ClientMetrics... listeners) {
+        final ClientMetrics[] copy = listeners.clone();
+        return new ClientMetrics() {
+            @Override
+            public void requestCompleted(Request.Method method, String endpoint, int statusCode, long durationNanos,
+                                         long responseBytes) {
+                for (ClientMetrics listener : copy) {
+                    listener.requestCompleted(method, endpoint, statusCode, durationNanos, responseBytes);
+                }
+            }
+
+            @Override
+            public void requestFailed(Request.Method method, String endpoint, Throwable failure, long durationNanos) {
+                for (ClientMetrics listener : copy) {
+                    listener.requestFailed(method, endpoint, failure, durationNanos);
+                }
+            }
+
+            @Override
+            public void responseParsed(String parser, long durationNanos, boolean success) {
+                for (ClientMetrics listener : copy) {
+                    listener.responseParsed(parser, durationNanos, success);
+                }
+            }
+        };
+    }
+}
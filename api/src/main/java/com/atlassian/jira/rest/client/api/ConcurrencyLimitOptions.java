@@ -0,0 +1,133 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Limits of the number of requests in flight, enabled with
+ * {@link JiraRestClientOptions.Builder#withConcurrencyLimit(ConcurrencyLimitOptions)}.
+ * The global limit is shared by all the sub-clients of a {@link JiraRestClient}, and each sub-client,
+ * e.g. {@link IssueRestClient}, may have its own limit on top of it. Requests over the limit are handled
+ * according to the {@link OverflowPolicy}.
+ *
+ * @since v5.2
+ */
+public class ConcurrencyLimitOptions {
+
+    /**
+     * What happens to a request sent while the limit is reached.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The request waits in a bounded queue, without blocking the caller, and fails when the queue is full.
+         */
+        QUEUE,
+        /**
+         * The request fails at once.
+         */
+        FAIL_FAST,
+        /**
+         * The calling thread blocks until the request can be sent. Meant for callers running on their own
+         * (e.g. virtual) threads, the client does not block threads holding monitors while waiting. Requests
+         * chained in continuations of other requests run on the client's callback threads, which never block:
+         * they are queued as with {@link #QUEUE}.
+         */
+        BLOCK
+    }
+
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 10000;
+
+    private final Integer maxInFlight;
+    private final Integer maxInFlightPerClient;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxQueueSize;
+
+    private ConcurrencyLimitOptions(final Builder builder) {
+        this.maxInFlight = builder.maxInFlight;
+        this.maxInFlightPerClient = builder.maxInFlightPerClient;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.maxQueueSize = builder.maxQueueSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return maximum number of requests in flight across all sub-clients, or <code>null</code> when not limited
+     */
+    @Nullable
+    public Integer getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return maximum number of requests in flight of every single sub-client, or <code>null</code> when not limited
+     */
+    @Nullable
+    public Integer getMaxInFlightPerClient() {
+        return maxInFlightPerClient;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return maximum number of requests waiting for each limit with {@link OverflowPolicy#QUEUE}
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .omitNullValues()
+                .add("maxInFlight", maxInFlight)
+                .add("maxInFlightPerClient", maxInFlightPerClient)
+                .add("overflowPolicy", overflowPolicy)
+                .add("maxQueueSize", maxQueueSize)
+                .toString();
+    }
+
+    public static class Builder {
+
+        private Integer maxInFlight;
+        private Integer maxInFlightPerClient;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.QUEUE;
+        private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+
+        public Builder withMaxInFlight(final int maxInFlight) {
+            this.maxInFlight = positive(maxInFlight, "maxInFlight");
+            return this;
+        }
+
+        public Builder withMaxInFlightPerClient(final int maxInFlightPerClient) {
+            this.maxInFlightPerClient = positive(maxInFlightPerClient, "maxInFlightPerClient");
+            return this;
+        }
+
+        public Builder withOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder withMaxQueueSize(final int maxQueueSize) {
+            this.maxQueueSize = positive(maxQueueSize, "maxQueueSize");
+            return this;
+        }
+
+        public ConcurrencyLimitOptions build() {
+            return new ConcurrencyLimitOptions(this);
+        }
+
+        private static int positive(final int value, final String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive, got " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * State and counters of a limit of requests in flight, see {@link ConcurrencyLimitOptions}.
+ *
+ * @since v5.2
+ */
+public interface ConcurrencyLimitStatistics {
+
+    int getInFlight();
+
+    /**
+     * @return number of requests currently waiting for the limit, queued or blocking their caller
+     */
+    int getQueueDepth();
+
+    /**
+     * @return number of requests which had to wait before being sent
+     */
+    long getWaitCount();
+
+    /**
+     * @return total time spent waiting by the requests which had to wait, in nanoseconds
+     */
+    long getTotalWaitTimeNanos();
+
+    /**
+     * @return longest time a request waited, in nanoseconds
+     */
+    long getMaxWaitTimeNanos();
+
+    /**
+     * @return number of requests failed because of the limit
+     */
+    long getRejectedCount();
+}
@@ -0,0 +1,69 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Settings of the client-side HTTP cache of GET responses, enabled with
+ * {@link JiraRestClientOptions.Builder#withHttpCache(HttpCacheOptions)}.
+ * <p>
+ * Responses are cached per URI and per authenticated identity, together with the domain object parsed from them.
+ * The cache follows the <code>Cache-Control</code> header of the server: responses marked <code>no-store</code>
+ * are never cached, responses fresh according to <code>max-age</code> are served without a request, and stale
+ * responses are revalidated with <code>If-None-Match</code> and <code>If-Modified-Since</code>. When the server
+ * answers <code>304 Not Modified</code>, the domain object parsed before is returned, without reading or parsing
+ * a body again. The same domain object is therefore shared by all callers reading the same resource.
+ * <p>
+ * Responses are kept only in memory: domain objects are not serializable, and persisting bodies would bring
+ * back the parsing cost the cache is meant to save.
+ *
+ * @since v5.2
+ */
+public class HttpCacheOptions {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final long maximumSize;
+
+    private HttpCacheOptions(final Builder builder) {
+        this.maximumSize = builder.maximumSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static HttpCacheOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return maximum number of cached responses, the least recently used ones are evicted first
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maximumSize", maximumSize)
+                .toString();
+    }
+
+    public static class Builder {
+
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        public Builder withMaximumSize(final long maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive, got " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public HttpCacheOptions build() {
+            return new HttpCacheOptions(this);
+        }
+    }
+}
@@ -16,7 +16,11 @@
 
 package com.atlassian.jira.rest.client.api;
 
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import com.atlassian.jira.rest.client.api.domain.AttachmentUploadResult;
 import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkCreateResult;
+import com.atlassian.jira.rest.client.api.domain.BulkIssueResult;
 import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
 import com.atlassian.jira.rest.client.api.domain.CimFieldInfo;
 import com.atlassian.jira.rest.client.api.domain.CimProject;
@@ -29,6 +33,7 @@ import com.atlassian.jira.rest.client.api.domain.Transition;
 import com.atlassian.jira.rest.client.api.domain.Votes;
 import com.atlassian.jira.rest.client.api.domain.Watchers;
 import com.atlassian.jira.rest.client.api.domain.input.AttachmentInput;
+import com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput;
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
 import com.atlassian.jira.rest.client.api.domain.input.LinkIssuesInput;
 import com.atlassian.jira.rest.client.api.domain.input.TransitionInput;
@@ -41,7 +46,11 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 /**
  * The com.atlassian.jira.rest.client.api handling issue resources.
@@ -92,6 +101,20 @@ public interface IssueRestClient {
 
     Promise<BulkOperationResult<BasicIssue>> createIssues(Collection<IssueInput> issues);
 
+    /**
+     * Creates any number of issues, split into chunks of at most the size accepted by the server which are sent
+     * at the same time. Issues the server refused to handle, because the request was throttled (429) or the server
+     * was unavailable (503), are sent again, without the others. Any other failure is final: issues rejected by the
+     * server, e.g. because of invalid fields, and issues of a request which failed without a response, e.g. on a
+     * timeout, or with another server error, since the server may have created some of them already.
+     *
+     * @param issues  populated with data to create new issues
+     * @param options size of the chunks, number of chunks sent at the same time and retries
+     * @return every created issue and every error, keyed by the index of its input in <code>issues</code>
+     * @since com.atlassian.jira.rest.client.api 5.2, server 6.0
+     */
+    Promise<BulkCreateResult> createIssues(List<IssueInput> issues, BulkCreateOptions options);
+
     Promise<Page<IssueType>> getCreateIssueMetaProjectIssueTypes(@Nonnull String projectIdOrKey, @Nullable Long startAt, @Nullable Integer maxResults);
 
     Promise<Page<CimFieldInfo>> getCreateIssueMetaFields(@Nonnull String projectIdOrKey, @Nonnull String issueTypeId, @Nullable Long startAt, @Nullable Integer maxResults);
@@ -116,6 +139,34 @@ public interface IssueRestClient {
      */
     Promise<Issue> getIssue(String issueKey, Iterable<Expandos> expand);
 
+    /**
+     * Retrieves issue with selected issue key, limited to given fields. Only the requested expandos are retrieved,
+     * and issue attributes backed by fields which were not requested are left empty (<code>null</code>, or empty collections
+     * for comments, worklogs and labels).
+     *
+     * @param issueKey issue key (like TST-1, or JRA-9)
+     * @param fields   field ids to retrieve (like "status", "assignee" or "customfield_10000"), "*all" for all fields,
+     *                 or ids prefixed with "-" to exclude them. A set of exclusions only retrieves all fields but the excluded ones.
+     * @param expand   expands to retrieve
+     * @return issue with given <code>issueKey</code>
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid argument, etc.)
+     * @since 5.2
+     */
+    Promise<Issue> getIssue(String issueKey, Set<String> fields, Iterable<Expandos> expand);
+
+    /**
+     * Retrieves issues with selected issue keys, with specified additional expandos. Keys are split into batches of
+     * JQL searches which run concurrently, so many issues are fetched in a handful of round-trips. Issues are keyed
+     * by the requested key even when they were moved since: the former key of a moved issue costs one more request.
+     *
+     * @param issueKeys issue keys (like TST-1, or JRA-9)
+     * @param expand    additional expands, as in {@link #getIssue(String, Iterable)}
+     * @return found issues keyed by issue key, and the keys which were not found
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid argument, etc.)
+     * @since 5.2
+     */
+    Promise<BulkIssueResult> getIssues(Collection<String> issueKeys, Iterable<Expandos> expand);
+
     /**
      * Deletes issue with given issueKey. You can set {@code deleteSubtasks} to delete issue with subtasks. If issue have
      * subtasks and {@code deleteSubtasks} is set to false, then issue won't be deleted.
@@ -275,6 +326,35 @@ public interface IssueRestClient {
      */
     Promise<Void> addAttachments(URI attachmentsUri, File... files);
 
+    /**
+     * Uploads a file as an attachment of an issue, reading it in chunks of {@link AttachmentUploadOptions#chunkSize}
+     * bytes while the request is sent, so the file is never held in memory as a whole. The checksum of the bytes
+     * sent is computed on the way.
+     *
+     * @param upload  file to upload, and where
+     * @param options size of the chunks, checksum algorithm and listener of the progress of the upload
+     * @return size and checksum of the file sent, with the attachments created by Jira
+     * @throws RestClientException in case of problems (connectivity, unreadable file, permissions, etc.)
+     * @since com.atlassian.jira.rest.client.api 5.2
+     */
+    Promise<AttachmentUploadResult> uploadAttachment(FileAttachmentInput upload, AttachmentUploadOptions options);
+
+    /**
+     * Uploads files as attachments of any issues, like {@link #uploadAttachment(FileAttachmentInput,
+     * AttachmentUploadOptions)}, at most {@link AttachmentUploadOptions#parallelism} at the same time.
+     * The limit applies to this call only: concurrent calls upload their files independently of each other, within
+     * the limits of requests in flight of {@link ConcurrencyLimitOptions}, which bound them all.
+     * Uploads which are not started yet are given up once one fails; the listener tells those completed.
+     *
+     * @param uploads files to upload, and where
+     * @param options size of the chunks, number of files uploaded at the same time, checksum algorithm and listener
+     *                of the progress of the uploads
+     * @return results of the uploads, in the order of the files
+     * @throws RestClientException in case of problems (connectivity, unreadable file, permissions, etc.)
+     * @since com.atlassian.jira.rest.client.api 5.2
+     */
+    Promise<List<AttachmentUploadResult>> uploadAttachments(List<FileAttachmentInput> uploads, AttachmentUploadOptions options);
+
     /**
      * Adds a comment to JIRA (adding it to selected issue)
      *
@@ -293,6 +373,37 @@ public interface IssueRestClient {
     @Beta
     Promise<InputStream> getAttachment(URI attachmentUri);
 
+    /**
+     * Downloads the content of given attachment into a file, in segments requested with HTTP Range headers, several
+     * at a time, each written at its position in the file as soon as it is received. The whole attachment is never
+     * held in memory, unless the server ignores Range headers. The size of the file is verified against that
+     * announced by the server and {@link Attachment#getSize()}.
+     *
+     * @param attachment attachment to download
+     * @param target     file to write, created if it does not exist. It is overwritten unless the download is resumed.
+     * @param options    size of the segments, number of segments retrieved at the same time, and whether an existing
+     *                   file is completed rather than overwritten
+     * @return size of the downloaded attachment
+     * @throws RestClientException in case of problems (connectivity, size not matching, I/O errors, etc.)
+     * @since com.atlassian.jira.rest.client.api 5.2
+     */
+    Promise<Long> downloadAttachment(Attachment attachment, Path target, AttachmentDownloadOptions options);
+
+    /**
+     * Downloads the content of given attachment into a channel, like
+     * {@link #downloadAttachment(Attachment, Path, AttachmentDownloadOptions)}. Segments retrieved ahead are kept
+     * in memory until the channel gets to them, as they are written in order. Downloads into a channel cannot
+     * be resumed.
+     *
+     * @param attachment attachment to download
+     * @param target     channel to write to, which is not closed
+     * @param options    size of the segments and number of segments retrieved at the same time
+     * @return size of the downloaded attachment
+     * @throws RestClientException in case of problems (connectivity, size not matching, I/O errors, etc.)
+     * @since com.atlassian.jira.rest.client.api 5.2
+     */
+    Promise<Long> downloadAttachment(Attachment attachment, WritableByteChannel target, AttachmentDownloadOptions options);
+
     /**
      * Adds new worklog entry to issue.
      *
@@ -59,7 +59,8 @@ public interface JiraRestClient extends Closeable {
 
     /**
      * @return the com.atlassian.jira.rest.client.api handling basic meta-data (data dictionaries defined in JIRA - like resolutions, statuses,
-     * priorities)
+     * priorities). It is a {@link CachingMetadataRestClient} when the client was created with
+     * {@link JiraRestClientOptions.Builder#withMetadataCache(MetadataCacheOptions)}.
      */
     MetadataRestClient getMetadataClient();
 
@@ -35,6 +35,24 @@ public interface JiraRestClientFactory {
      */
     JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler);
 
+    /**
+     * Creates an instance of JiraRestClient with HttpClient configured according to given options.
+     *
+     * @param serverUri             - URI of JIRA instance.
+     * @param authenticationHandler - requests authenticator.
+     * @param options               - connection pool, timeout and threading settings of the HttpClient.
+     * @throws UnsupportedOperationException when options other than the defaults are given to a factory which
+     *                                       does not support them; by default, only the defaults are supported
+     * @since 5.2
+     */
+    default JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler,
+                                  final JiraRestClientOptions options) {
+        if (!JiraRestClientOptions.defaults().equals(options)) {
+            throw new UnsupportedOperationException(getClass().getName() + " does not support options " + options);
+        }
+        return create(serverUri, authenticationHandler);
+    }
+
     /**
      * Creates an instance of JiraRestClient with default HttpClient settings. HttpClient will conduct a
      * basic authentication for given credentials.
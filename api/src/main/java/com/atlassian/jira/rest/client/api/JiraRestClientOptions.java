@@ -0,0 +1,385 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tuning options of JiraRestClient and its HTTP transport, for use with
+ * {@link JiraRestClientFactory#create(java.net.URI, AuthenticationHandler, JiraRestClientOptions)}.
+ * Every transport option which is not set keeps the default of the underlying HTTP client library.
+ * Timeouts are kept in milliseconds.
+ *
+ * @since v5.2
+ */
+public class JiraRestClientOptions {
+
+    private final Integer maxTotalConnections;
+    private final Integer maxConnectionsPerHost;
+    private final Long connectionTimeoutMillis;
+    private final Long socketTimeoutMillis;
+    private final Long requestTimeoutMillis;
+    private final Long leaseTimeoutMillis;
+    private final Long connectionTimeToLiveMillis;
+    private final Integer ioThreadCount;
+    private final Integer maxCallbackThreadPoolSize;
+    private final MetadataCacheOptions metadataCacheOptions;
+    private final ProjectReferenceDataCacheOptions projectReferenceDataCacheOptions;
+    private final HttpCacheOptions httpCacheOptions;
+    private final boolean requestCoalescing;
+    private final ThrottlePolicy throttlePolicy;
+    private final ConcurrencyLimitOptions concurrencyLimitOptions;
+    private final ClientMetrics clientMetrics;
+
+    private JiraRestClientOptions(final Builder builder) {
+        this.maxTotalConnections = builder.maxTotalConnections;
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+        this.connectionTimeoutMillis = builder.connectionTimeoutMillis;
+        this.socketTimeoutMillis = builder.socketTimeoutMillis;
+        this.requestTimeoutMillis = builder.requestTimeoutMillis;
+        this.leaseTimeoutMillis = builder.leaseTimeoutMillis;
+        this.connectionTimeToLiveMillis = builder.connectionTimeToLiveMillis;
+        this.ioThreadCount = builder.ioThreadCount;
+        this.maxCallbackThreadPoolSize = builder.maxCallbackThreadPoolSize;
+        this.metadataCacheOptions = builder.metadataCacheOptions;
+        this.projectReferenceDataCacheOptions = builder.projectReferenceDataCacheOptions;
+        this.httpCacheOptions = builder.httpCacheOptions;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.throttlePolicy = builder.throttlePolicy;
+        this.concurrencyLimitOptions = builder.concurrencyLimitOptions;
+        this.clientMetrics = builder.clientMetrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return options leaving all settings at the HTTP client library defaults
+     */
+    public static JiraRestClientOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return maximum number of pooled connections, across all hosts
+     */
+    @Nullable
+    public Integer getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * @return maximum number of pooled connections to a single host (route)
+     */
+    @Nullable
+    public Integer getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    @Nullable
+    public Long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    @Nullable
+    public Long getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    /**
+     * @return maximum time of the whole request, including waiting for a connection and reading the response
+     */
+    @Nullable
+    public Long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * @return maximum time a request waits for a connection from the pool
+     */
+    @Nullable
+    public Long getLeaseTimeoutMillis() {
+        return leaseTimeoutMillis;
+    }
+
+    /**
+     * @return how long an idle connection is kept alive in the pool for reuse
+     */
+    @Nullable
+    public Long getConnectionTimeToLiveMillis() {
+        return connectionTimeToLiveMillis;
+    }
+
+    /**
+     * @return number of non-blocking I/O dispatcher threads
+     */
+    @Nullable
+    public Integer getIoThreadCount() {
+        return ioThreadCount;
+    }
+
+    /**
+     * @return maximum number of threads completing response promises
+     */
+    @Nullable
+    public Integer getMaxCallbackThreadPoolSize() {
+        return maxCallbackThreadPoolSize;
+    }
+
+    /**
+     * @return settings of the metadata cache, or <code>null</code> when metadata is not cached
+     */
+    @Nullable
+    public MetadataCacheOptions getMetadataCacheOptions() {
+        return metadataCacheOptions;
+    }
+
+    /**
+     * @return settings of the cache of project versions, components and roles, or <code>null</code> when they are
+     * not cached
+     */
+    @Nullable
+    public ProjectReferenceDataCacheOptions getProjectReferenceDataCacheOptions() {
+        return projectReferenceDataCacheOptions;
+    }
+
+    /**
+     * @return settings of the HTTP response cache, or <code>null</code> when responses are not cached
+     */
+    @Nullable
+    public HttpCacheOptions getHttpCacheOptions() {
+        return httpCacheOptions;
+    }
+
+    /**
+     * @return whether identical concurrent GET requests share a single server call
+     */
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * @return policy pacing and retrying requests, or <code>null</code> when requests are sent at once and never retried
+     */
+    @Nullable
+    public ThrottlePolicy getThrottlePolicy() {
+        return throttlePolicy;
+    }
+
+    /**
+     * @return limits of the number of requests in flight, or <code>null</code> when it is not limited
+     */
+    @Nullable
+    public ConcurrencyLimitOptions getConcurrencyLimitOptions() {
+        return concurrencyLimitOptions;
+    }
+
+    /**
+     * @return listener of the requests sent, or <code>null</code> when they are not measured
+     */
+    @Nullable
+    public ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JiraRestClientOptions)) {
+            return false;
+        }
+        final JiraRestClientOptions that = (JiraRestClientOptions) o;
+        return Objects.equals(maxTotalConnections, that.maxTotalConnections)
+                && Objects.equals(maxConnectionsPerHost, that.maxConnectionsPerHost)
+                && Objects.equals(connectionTimeoutMillis, that.connectionTimeoutMillis)
+                && Objects.equals(socketTimeoutMillis, that.socketTimeoutMillis)
+                && Objects.equals(requestTimeoutMillis, that.requestTimeoutMillis)
+                && Objects.equals(leaseTimeoutMillis, that.leaseTimeoutMillis)
+                && Objects.equals(connectionTimeToLiveMillis, that.connectionTimeToLiveMillis)
+                && Objects.equals(ioThreadCount, that.ioThreadCount)
+                && Objects.equals(maxCallbackThreadPoolSize, that.maxCallbackThreadPoolSize)
+                && Objects.equals(metadataCacheOptions, that.metadataCacheOptions)
+                && Objects.equals(projectReferenceDataCacheOptions, that.projectReferenceDataCacheOptions)
+                && Objects.equals(httpCacheOptions, that.httpCacheOptions)
+                && requestCoalescing == that.requestCoalescing
+                && Objects.equals(throttlePolicy, that.throttlePolicy)
+                && Objects.equals(concurrencyLimitOptions, that.concurrencyLimitOptions)
+                && Objects.equals(clientMetrics, that.clientMetrics);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxTotalConnections,
+                maxConnectionsPerHost,
+                connectionTimeoutMillis,
+                socketTimeoutMillis,
+                requestTimeoutMillis,
+                leaseTimeoutMillis,
+                connectionTimeToLiveMillis,
+                ioThreadCount,
+                maxCallbackThreadPoolSize,
+                metadataCacheOptions,
+                projectReferenceDataCacheOptions,
+                httpCacheOptions,
+                requestCoalescing,
+                throttlePolicy,
+                concurrencyLimitOptions,
+                clientMetrics);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .omitNullValues()
+                .add("maxTotalConnections", maxTotalConnections)
+                .add("maxConnectionsPerHost", maxConnectionsPerHost)
+                .add("connectionTimeoutMillis", connectionTimeoutMillis)
+                .add("socketTimeoutMillis", socketTimeoutMillis)
+                .add("requestTimeoutMillis", requestTimeoutMillis)
+                .add("leaseTimeoutMillis", leaseTimeoutMillis)
+                .add("connectionTimeToLiveMillis", connectionTimeToLiveMillis)
+                .add("ioThreadCount", ioThreadCount)
+                .add("maxCallbackThreadPoolSize", maxCallbackThreadPoolSize)
+                .add("metadataCacheOptions", metadataCacheOptions)
+                .add("projectReferenceDataCacheOptions", projectReferenceDataCacheOptions)
+                .add("httpCacheOptions", httpCacheOptions)
+                .add("requestCoalescing", requestCoalescing)
+                .add("throttlePolicy", throttlePolicy)
+                .add("concurrencyLimitOptions", concurrencyLimitOptions)
+                .add("clientMetrics", clientMetrics)
+                .toString();
+    }
+
+    public static class Builder {
+
+        private Integer maxTotalConnections;
+        private Integer maxConnectionsPerHost;
+        private Long connectionTimeoutMillis;
+        private Long socketTimeoutMillis;
+        private Long requestTimeoutMillis;
+        private Long leaseTimeoutMillis;
+        private Long connectionTimeToLiveMillis;
+        private Integer ioThreadCount;
+        private Integer maxCallbackThreadPoolSize;
+        private MetadataCacheOptions metadataCacheOptions;
+        private ProjectReferenceDataCacheOptions projectReferenceDataCacheOptions;
+        private HttpCacheOptions httpCacheOptions;
+        private boolean requestCoalescing;
+        private ThrottlePolicy throttlePolicy;
+        private ConcurrencyLimitOptions concurrencyLimitOptions;
+        private ClientMetrics clientMetrics;
+
+        public Builder withMaxTotalConnections(final int maxTotalConnections) {
+            this.maxTotalConnections = positive(maxTotalConnections, "maxTotalConnections");
+            return this;
+        }
+
+        public Builder withMaxConnectionsPerHost(final int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = positive(maxConnectionsPerHost, "maxConnectionsPerHost");
+            return this;
+        }
+
+        public Builder withConnectionTimeout(final long timeout, final TimeUnit unit) {
+            this.connectionTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder withSocketTimeout(final long timeout, final TimeUnit unit) {
+            this.socketTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder withRequestTimeout(final long timeout, final TimeUnit unit) {
+            this.requestTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder withLeaseTimeout(final long timeout, final TimeUnit unit) {
+            this.leaseTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder withConnectionTimeToLive(final long timeToLive, final TimeUnit unit) {
+            this.connectionTimeToLiveMillis = unit.toMillis(timeToLive);
+            return this;
+        }
+
+        public Builder withIoThreadCount(final int ioThreadCount) {
+            this.ioThreadCount = positive(ioThreadCount, "ioThreadCount");
+            return this;
+        }
+
+        public Builder withMaxCallbackThreadPoolSize(final int maxCallbackThreadPoolSize) {
+            this.maxCallbackThreadPoolSize = positive(maxCallbackThreadPoolSize, "maxCallbackThreadPoolSize");
+            return this;
+        }
+
+        /**
+         * Makes {@link JiraRestClient#getMetadataClient()} return a {@link CachingMetadataRestClient}.
+         */
+        public Builder withMetadataCache(final MetadataCacheOptions metadataCacheOptions) {
+            this.metadataCacheOptions = metadataCacheOptions;
+            return this;
+        }
+
+        /**
+         * Makes the client keep the versions, components and roles of projects, see {@link ProjectReferenceDataCache}.
+         */
+        public Builder withProjectReferenceDataCache(final ProjectReferenceDataCacheOptions projectReferenceDataCacheOptions) {
+            this.projectReferenceDataCacheOptions = projectReferenceDataCacheOptions;
+            return this;
+        }
+
+        /**
+         * Caches GET responses together with the domain objects parsed from them, see {@link HttpCacheOptions}.
+         */
+        public Builder withHttpCache(final HttpCacheOptions httpCacheOptions) {
+            this.httpCacheOptions = httpCacheOptions;
+            return this;
+        }
+
+        /**
+         * Makes a GET request which is identical to one already in flight share its response and parsed result,
+         * instead of being sent again. Counters are available from {@link RequestCoalescingStatistics}.
+         */
+        public Builder withRequestCoalescing(final boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        public Builder withThrottlePolicy(final ThrottlePolicy throttlePolicy) {
+            this.throttlePolicy = throttlePolicy;
+            return this;
+        }
+
+        public Builder withConcurrencyLimit(final ConcurrencyLimitOptions concurrencyLimitOptions) {
+            this.concurrencyLimitOptions = concurrencyLimitOptions;
+            return this;
+        }
+
+        /**
+         * Reports the timing, status and size of every request, and the time spent parsing responses,
+         * see {@link ClientMetrics}.
+         */
+        public Builder withClientMetrics(final ClientMetrics clientMetrics) {
+            this.clientMetrics = clientMetrics;
+            return this;
+        }
+
+        public JiraRestClientOptions build() {
+            return new JiraRestClientOptions(this);
+        }
+
+        private static int positive(final int value, final String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive, got " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the client-side cache of {@link MetadataRestClient} results, enabled with
+ * {@link JiraRestClientOptions.Builder#withMetadataCache(MetadataCacheOptions)}.
+ * Every cached resource has its own time-to-live, counted from the moment the request was sent.
+ *
+ * @since v5.2
+ */
+public class MetadataCacheOptions {
+
+    /**
+     * Groups of metadata cached together and invalidated together.
+     */
+    public enum Resource {
+        ISSUE_TYPES,
+        ISSUE_LINK_TYPES,
+        STATUSES,
+        PRIORITIES,
+        RESOLUTIONS,
+        FIELDS,
+        SERVER_INFO,
+        /**
+         * Single issue types, statuses, priorities and resolutions fetched by their self URI.
+         */
+        BY_URI
+    }
+
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Map<Resource, Long> timeToLiveMillis;
+    private final long maximumSize;
+
+    private MetadataCacheOptions(final Builder builder) {
+        this.timeToLiveMillis = new EnumMap<>(builder.timeToLiveMillis);
+        this.maximumSize = builder.maximumSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static MetadataCacheOptions defaults() {
+        return builder().build();
+    }
+
+    public long getTimeToLiveMillis(final Resource resource) {
+        return timeToLiveMillis.get(resource);
+    }
+
+    /**
+     * @return maximum number of entries of {@link Resource#BY_URI}, the only resource which is not a single entry
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("timeToLiveMillis", timeToLiveMillis)
+                .add("maximumSize", maximumSize)
+                .toString();
+    }
+
+    public static class Builder {
+
+        private final Map<Resource, Long> timeToLiveMillis = new EnumMap<>(Resource.class);
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+        public Builder() {
+            for (Resource resource : Resource.values()) {
+                timeToLiveMillis.put(resource, DEFAULT_TIME_TO_LIVE_MILLIS);
+            }
+        }
+
+        /**
+         * Sets time-to-live of all resources, overriding earlier per-resource settings.
+         */
+        public Builder withTimeToLive(final long timeToLive, final TimeUnit unit) {
+            for (Resource resource : Resource.values()) {
+                withTimeToLive(resource, timeToLive, unit);
+            }
+            return this;
+        }
+
+        public Builder withTimeToLive(final Resource resource, final long timeToLive, final TimeUnit unit) {
+            if (timeToLive < 0) {
+                throw new IllegalArgumentException("timeToLive must not be negative, got " + timeToLive);
+            }
+            timeToLiveMillis.put(resource, unit.toMillis(timeToLive));
+            return this;
+        }
+
+        public Builder withMaximumSize(final long maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive, got " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public MetadataCacheOptions build() {
+            return new MetadataCacheOptions(this);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.ProjectReferenceData;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Versions, components and roles of projects kept on the client side, as configured by
+ * {@link ProjectReferenceDataCacheOptions}, e.g. to resolve version and component names when building issue inputs.
+ * Concurrent requests for a project which is not cached yet share a single server call; failed calls are not cached.
+ * Versions and components created, updated or removed through the {@link VersionRestClient} and
+ * {@link ComponentRestClient} of the same client invalidate the project they belong to.
+ *
+ * @since v5.2
+ */
+public interface ProjectReferenceDataCache {
+
+    /**
+     * @param projectKey key or id of the project
+     * @return versions, components and roles of the project
+     */
+    Promise<ProjectReferenceData> getReferenceData(String projectKey);
+
+    /**
+     * Fetches given projects at once, so that later requests are answered from the cache.
+     *
+     * @param projectKeys keys of the projects
+     * @return reference data of the projects, in the order of their keys
+     */
+    Promise<Iterable<ProjectReferenceData>> warmUp(Iterable<String> projectKeys);
+
+    /**
+     * Drops the cached entries of given project, whatever key or id they were requested by, so the next request
+     * fetches it from the server.
+     *
+     * @param projectKey key or id of the project
+     */
+    void invalidate(String projectKey);
+
+    /**
+     * Drops all cached entries.
+     */
+    void invalidateAll();
+
+    /**
+     * @return number of requests answered from the cache, including requests joining a server call already in progress
+     */
+    long getHitCount();
+
+    /**
+     * @return number of requests which caused a server call
+     */
+    long getMissCount();
+}
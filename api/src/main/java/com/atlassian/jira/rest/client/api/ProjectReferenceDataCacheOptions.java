@@ -0,0 +1,129 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the client-side cache of the versions, components and roles of projects, enabled with
+ * {@link JiraRestClientOptions.Builder#withProjectReferenceDataCache(ProjectReferenceDataCacheOptions)}.
+ * Entries are refreshed on access: an entry older than the refresh interval is fetched again when it is read,
+ * while the old entry is still returned, and an entry which is not read is not refreshed. Entries older than
+ * the time-to-live are dropped.
+ *
+ * @since v5.2
+ */
+public class ProjectReferenceDataCacheOptions {
+
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    public static final long DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final long timeToLiveMillis;
+    private final Long refreshIntervalMillis;
+    private final long maximumSize;
+    private final List<String> warmUpProjectKeys;
+
+    private ProjectReferenceDataCacheOptions(final Builder builder) {
+        this.timeToLiveMillis = builder.timeToLiveMillis;
+        this.refreshIntervalMillis = builder.refreshIntervalMillis;
+        this.maximumSize = builder.maximumSize;
+        this.warmUpProjectKeys = ImmutableList.copyOf(builder.warmUpProjectKeys);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ProjectReferenceDataCacheOptions defaults() {
+        return builder().build();
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * @return age after which entries are refreshed when read, or <code>null</code> when they are not
+     */
+    @Nullable
+    public Long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    /**
+     * @return maximum number of projects cached
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return keys of the projects fetched as soon as the client is created
+     */
+    public List<String> getWarmUpProjectKeys() {
+        return warmUpProjectKeys;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("timeToLiveMillis", timeToLiveMillis)
+                .add("refreshIntervalMillis", refreshIntervalMillis)
+                .add("maximumSize", maximumSize)
+                .add("warmUpProjectKeys", warmUpProjectKeys)
+                .toString();
+    }
+
+    public static class Builder {
+
+        private long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+        private Long refreshIntervalMillis = DEFAULT_REFRESH_INTERVAL_MILLIS;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private List<String> warmUpProjectKeys = ImmutableList.of();
+
+        public Builder withTimeToLive(final long timeToLive, final TimeUnit unit) {
+            if (timeToLive < 0) {
+                throw new IllegalArgumentException("timeToLive must not be negative, got " + timeToLive);
+            }
+            this.timeToLiveMillis = unit.toMillis(timeToLive);
+            return this;
+        }
+
+        public Builder withRefreshInterval(final long refreshInterval, final TimeUnit unit) {
+            if (refreshInterval < 1) {
+                throw new IllegalArgumentException("refreshInterval must be positive, got " + refreshInterval);
+            }
+            this.refreshIntervalMillis = unit.toMillis(refreshInterval);
+            return this;
+        }
+
+        /**
+         * Keeps entries until their time-to-live, without refreshing them when they are read.
+         */
+        public Builder withoutRefresh() {
+            this.refreshIntervalMillis = null;
+            return this;
+        }
+
+        public Builder withMaximumSize(final long maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive, got " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder withWarmUpProjects(final List<String> projectKeys) {
+            this.warmUpProjectKeys = projectKeys;
+            return this;
+        }
+
+        public ProjectReferenceDataCacheOptions build() {
+            return new ProjectReferenceDataCacheOptions(this);
+        }
+    }
+}
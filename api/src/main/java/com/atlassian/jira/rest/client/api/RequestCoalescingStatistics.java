@@ -0,0 +1,28 @@
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Counters of GET requests coalesced by a client created with
+ * {@link JiraRestClientOptions.Builder#withRequestCoalescing(boolean)}.
+ *
+ * @since v5.2
+ */
+public interface RequestCoalescingStatistics {
+
+    /**
+     * @return number of GET requests issued by callers, coalesced or not
+     */
+    long getRequestCount();
+
+    /**
+     * @return number of GET requests which joined an identical request already in flight, instead of being sent
+     */
+    long getCoalescedCount();
+
+    /**
+     * @return share of GET requests which were not sent thanks to coalescing, between 0 and 1
+     */
+    default double getCoalescingRatio() {
+        final long requestCount = getRequestCount();
+        return requestCount == 0 ? 0 : (double) getCoalescedCount() / requestCount;
+    }
+}
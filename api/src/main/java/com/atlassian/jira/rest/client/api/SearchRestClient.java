@@ -17,12 +17,14 @@
 package com.atlassian.jira.rest.client.api;
 
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import io.atlassian.util.concurrent.Promise;
 
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The client handling search REST resource
@@ -54,13 +56,63 @@ public interface SearchRestClient {
      * @param fields     set of fields which should be retrieved. You can specify *all for all fields
      *                   or *navigable (which is the default value, used when null is given) which will cause to include only
      *                   navigable fields in the result. To ignore the specific field you can use "-" before the field's name.
-     *                   Note that the following fields: summary, issuetype, created, updated, project and status are
-     *                   required. These fields are included in *all and *navigable.
+     *                   Fields of the returned issues which were not requested are left empty.
      * @return issues matching given JQL query
      * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL query, etc.)
      */
     Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt, @Nullable Set<String> fields);
 
+    /**
+     * Performs a JQL search and lazily returns all issues matching the query, transparently paging through the results.
+     * Equivalent to {@code searchJqlAll(jql, null, 1, null)}.
+     *
+     * @param jql a valid JQL query (will be properly encoded by JIRA client). Restricted JQL characters (like '/') must be properly escaped.
+     * @return lazy stream of issues matching given JQL query
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL query, etc.)
+     * @see #searchJqlAll(String, Integer, int, Set)
+     * @since 5.2
+     */
+    Stream<Issue> searchJqlAll(@Nullable String jql);
+
+    /**
+     * Performs a JQL search and lazily returns all issues matching the query, transparently paging through the results.
+     * While a page is being consumed, up to prefetchDepth following pages are already being retrieved in the background,
+     * so at most prefetchDepth + 1 pages are held in memory at once.
+     * <p>
+     * Nothing is requested until the stream is consumed and no further pages are requested once the consumer stops
+     * (e.g. after {@link Stream#limit(long)} or {@link Stream#findFirst()}). Closing the stream cancels pages requested
+     * in advance.
+     *
+     * @param jql           a valid JQL query (will be properly encoded by JIRA client). Restricted JQL characters (like '/') must
+     *                      be properly escaped. All issues matches to the null or empty JQL.
+     * @param pageSize      number of issues retrieved with a single request. When null is given, the default maxResults
+     *                      configured in JIRA is used (usually 50). JIRA may also return smaller pages than requested.
+     * @param prefetchDepth number of pages requested ahead of the consumer. 0 means pages are requested only when needed.
+     * @param fields        set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, Set)}
+     * @return lazy stream of issues matching given JQL query
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL query, etc.)
+     * @since 5.2
+     */
+    Stream<Issue> searchJqlAll(@Nullable String jql, @Nullable Integer pageSize, int prefetchDepth, @Nullable Set<String> fields);
+
+    /**
+     * Retrieves all issues matching the query by splitting it into disjoint partitions (ranges of issue ids or windows
+     * of the "updated" date, see {@link SearchScanOptions.Partitioning}) which are retrieved at the same time.
+     * This is considerably faster than paging through a large result with startAt, but the issues are returned in no
+     * particular order and any ORDER BY clause of the query is ignored.
+     * <p>
+     * Like {@link #searchJqlAll(String, Integer, int, Set)} the stream is lazy: nothing is requested until it is
+     * consumed and closing it cancels pages requested in advance.
+     *
+     * @param jql     a valid JQL query (will be properly encoded by JIRA client). Restricted JQL characters (like '/') must
+     *                be properly escaped. All issues matches to the null or empty JQL.
+     * @param options partitioning, parallelism and other options of the scan
+     * @return lazy, unordered stream of issues matching given JQL query
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL query, etc.)
+     * @since 5.2
+     */
+    Stream<Issue> scanJql(@Nullable String jql, SearchScanOptions options);
+
     /**
      * Retrieves list of your favourite filters.
      *
@@ -0,0 +1,60 @@
+package com.atlassian.jira.rest.client.api;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+
+/**
+ * Set of parameters for {@link SearchRestClient#scanJql(String, SearchScanOptions)}.
+ * {@link SearchScanOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v5.2
+ */
+public class SearchScanOptions {
+
+    /**
+     * Defines how the query is split into disjoint partitions.
+     */
+    public enum Partitioning {
+        /**
+         * Partitions are ranges of issue ids. Recommended, as ids never change while the scan is running.
+         */
+        ID,
+        /**
+         * Partitions are windows of the "updated" date. Issues updated while the scan is running may move
+         * between windows, so they may be missed or returned twice.
+         */
+        UPDATED
+    }
+
+    public final Partitioning partitioning;
+    public final int partitions;
+    public final int parallelism;
+    @Nullable
+    public final Integer pageSize;
+    @Nullable
+    public final Set<String> fields;
+    @Nullable
+    public final SearchScanProgressListener progressListener;
+
+    /**
+     * @param partitioning     strategy used to split the query
+     * @param partitions       number of partitions the query is split into. Fewer partitions are used when there are
+     *                         not enough issues to fill all of them.
+     * @param parallelism      maximum number of partitions retrieved at the same time
+     * @param pageSize         number of issues retrieved with a single request. Pass <code>null</code> to use JIRA default.
+     * @param fields           set of fields which should be retrieved, see {@link SearchRestClient#searchJql(String, Integer, Integer, Set)}
+     * @param progressListener listener notified about progress of every partition. Pass <code>null</code> to ignore.
+     */
+    public SearchScanOptions(Partitioning partitioning, int partitions, int parallelism, @Nullable Integer pageSize,
+                             @Nullable Set<String> fields, @Nullable SearchScanProgressListener progressListener) {
+        if (partitions < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("partitions and parallelism must be positive");
+        }
+        this.partitioning = partitioning;
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+        this.pageSize = pageSize;
+        this.fields = fields;
+        this.progressListener = progressListener;
+    }
+}
@@ -0,0 +1,58 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
+/**
+ * Builder class for {@link SearchScanOptions}. By default the query is split by issue id into 8 partitions
+ * retrieved 4 at a time.
+ *
+ * @since v5.2
+ */
+public class SearchScanOptionsBuilder {
+    private SearchScanOptions.Partitioning partitioning = SearchScanOptions.Partitioning.ID;
+    private int partitions = 8;
+    private int parallelism = 4;
+    private Integer pageSize;
+    private Set<String> fields;
+    private SearchScanProgressListener progressListener;
+
+    public SearchScanOptionsBuilder withPartitioning(SearchScanOptions.Partitioning partitioning) {
+        this.partitioning = partitioning;
+        return this;
+    }
+
+    public SearchScanOptionsBuilder withPartitions(int partitions) {
+        this.partitions = partitions;
+        return this;
+    }
+
+    public SearchScanOptionsBuilder withParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public SearchScanOptionsBuilder withPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public SearchScanOptionsBuilder withFields(Set<String> fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    public SearchScanOptionsBuilder withFields(String... fields) {
+        return withFields(ImmutableSet.copyOf(fields));
+    }
+
+    public SearchScanOptionsBuilder withProgressListener(SearchScanProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    public SearchScanOptions build() {
+        return new SearchScanOptions(partitioning, partitions, parallelism, pageSize, fields, progressListener);
+    }
+}
@@ -0,0 +1,29 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.SearchPartition;
+
+/**
+ * Receives progress of {@link SearchRestClient#scanJql(String, SearchScanOptions)}. Methods are called on the thread
+ * consuming the scan results.
+ *
+ * @since v5.2
+ */
+public interface SearchScanProgressListener {
+
+    /**
+     * Called after each page of given partition is retrieved.
+     *
+     * @param partition       partition the page belongs to
+     * @param retrievedIssues number of issues of this partition retrieved so far
+     * @param totalIssues     number of issues in this partition, as reported by JIRA when the partition was started
+     */
+    void onProgress(SearchPartition partition, int retrievedIssues, int totalIssues);
+
+    /**
+     * Called once all issues of given partition have been retrieved.
+     *
+     * @param partition completed partition
+     */
+    default void onPartitionCompleted(SearchPartition partition) {
+    }
+}
@@ -16,8 +16,10 @@
 
 package com.atlassian.jira.rest.client.api;
 
+import com.atlassian.jira.rest.client.api.domain.Authentication;
 import com.atlassian.jira.rest.client.api.domain.Session;
 import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 
 /**
  * Client handling the current user session
@@ -31,4 +33,19 @@ public interface SessionRestClient {
      * @throws RestClientException in case of problems (connectivity, malformed messages, etc.)
      */
     Promise<Session> getCurrentSession() throws RestClientException;
+
+    /**
+     * Creates a new session for given user. Requests carrying the returned session cookie are authenticated
+     * without sending the credentials again. Clients which do not implement it fail with
+     * {@link UnsupportedOperationException}.
+     *
+     * @param username name of the user
+     * @param password password of the user
+     * @return session cookie and login information
+     * @throws RestClientException in case of problems (connectivity, malformed messages, invalid credentials, etc.)
+     * @since 5.2
+     */
+    default Promise<Authentication> login(String username, String password) throws RestClientException {
+        return Promises.rejected(new UnsupportedOperationException(getClass().getName() + " does not support logging in"));
+    }
 }
@@ -0,0 +1,45 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import io.atlassian.util.concurrent.Promise;
+
+/**
+ * Decides when requests are sent and whether they are retried, enabled with
+ * {@link JiraRestClientOptions.Builder#withThrottlePolicy(ThrottlePolicy)}.
+ * <p>
+ * Every attempt of a request first acquires a {@link Permit}, and then reports its outcome to that permit exactly once.
+ * POST and PUT requests are never sent twice, whatever the permit answers, as their entity may be a stream
+ * which can be read only once.
+ *
+ * @since v5.2
+ */
+public interface ThrottlePolicy {
+
+    /**
+     * Must not block, requests which have to wait get a promise completed later.
+     *
+     * @param method  method of the request
+     * @param attempt number of the attempt, starting at 1
+     * @return promise of the permit to send the request
+     */
+    Promise<Permit> acquire(Request.Method method, int attempt);
+
+    /**
+     * Permit to send a single attempt of a request.
+     */
+    interface Permit {
+
+        /**
+         * @param response response to the attempt
+         * @return delay in milliseconds before the next attempt, or a negative value to return the response as it is
+         */
+        long onResponse(Response response);
+
+        /**
+         * @param failure failure of the attempt, before any response was received
+         * @return delay in milliseconds before the next attempt, or a negative value to fail the request
+         */
+        long onFailure(Throwable failure);
+    }
+}
@@ -0,0 +1,84 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+
+/**
+ * File uploaded by {@link com.atlassian.jira.rest.client.api.IssueRestClient#uploadAttachment(
+ * com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput,
+ * com.atlassian.jira.rest.client.api.AttachmentUploadOptions)}, with the checksum of the bytes sent.
+ *
+ * @since v5.2
+ */
+public class AttachmentUploadResult {
+
+    private final Path file;
+    private final long size;
+    private final String checksum;
+    private final Iterable<Attachment> attachments;
+
+    public AttachmentUploadResult(final Path file, final long size, @Nullable final String checksum,
+                                  final Iterable<Attachment> attachments) {
+        this.file = file;
+        this.size = size;
+        this.checksum = checksum;
+        this.attachments = attachments;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return number of bytes of the file sent
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return checksum of the bytes sent as lowercase hex, or <code>null</code> when no checksum was computed
+     * @see com.atlassian.jira.rest.client.api.AttachmentUploadOptions#checksumAlgorithm
+     */
+    @Nullable
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return attachments created by Jira
+     */
+    public Iterable<Attachment> getAttachments() {
+        return attachments;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("file", file)
+                .add("size", size)
+                .add("checksum", checksum)
+                .add("attachments", attachments)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof AttachmentUploadResult) {
+            final AttachmentUploadResult that = (AttachmentUploadResult) obj;
+            return Objects.equal(this.file, that.file)
+                    && this.size == that.size
+                    && Objects.equal(this.checksum, that.checksum)
+                    && Objects.equal(this.attachments, that.attachments);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(file, size, checksum, attachments);
+    }
+}
@@ -0,0 +1,63 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import java.util.SortedMap;
+
+/**
+ * Issues created in chunks by {@link com.atlassian.jira.rest.client.api.IssueRestClient#createIssues(java.util.List,
+ * com.atlassian.jira.rest.client.api.BulkCreateOptions)}, keyed by the index of their input in the list given by
+ * the caller. Every input is either created or failed.
+ *
+ * @since v5.2
+ */
+public class BulkCreateResult {
+
+    private final SortedMap<Integer, BasicIssue> issues;
+    private final SortedMap<Integer, BulkOperationErrorResult> errors;
+
+    public BulkCreateResult(final SortedMap<Integer, BasicIssue> issues,
+                            final SortedMap<Integer, BulkOperationErrorResult> errors) {
+        this.issues = issues;
+        this.errors = errors;
+    }
+
+    /**
+     * @return created issues keyed by the index of their input
+     */
+    public SortedMap<Integer, BasicIssue> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return errors of the last attempt to create the issues which failed, keyed by the index of their input,
+     * which is also their {@link BulkOperationErrorResult#getFailedElementNumber()}
+     */
+    public SortedMap<Integer, BulkOperationErrorResult> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("issues", issues)
+                .add("errors", errors)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof BulkCreateResult) {
+            final BulkCreateResult that = (BulkCreateResult) obj;
+            return Objects.equal(this.issues, that.issues)
+                    && Objects.equal(this.errors, that.errors);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(issues, errors);
+    }
+}
@@ -0,0 +1,60 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Issues retrieved by their keys in a single bulk operation, together with the keys which were not found.
+ *
+ * @since v5.2
+ */
+public class BulkIssueResult {
+
+    private final Map<String, Issue> issues;
+    private final Set<String> missingKeys;
+
+    public BulkIssueResult(final Map<String, Issue> issues, final Set<String> missingKeys) {
+        this.issues = issues;
+        this.missingKeys = missingKeys;
+    }
+
+    /**
+     * @return found issues keyed by the requested issue key, in the order of the request
+     */
+    public Map<String, Issue> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return requested keys of issues which do not exist, are not visible to the user or have been moved to another key
+     */
+    public Set<String> getMissingKeys() {
+        return missingKeys;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("issues", issues)
+                .add("missingKeys", missingKeys)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof BulkIssueResult) {
+            final BulkIssueResult that = (BulkIssueResult) obj;
+            return Objects.equal(this.issues, that.issues)
+                    && Objects.equal(this.missingKeys, that.missingKeys);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(issues, missingKeys);
+    }
+}
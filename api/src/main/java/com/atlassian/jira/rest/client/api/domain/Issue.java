@@ -20,17 +20,22 @@ import com.atlassian.jira.rest.client.api.ExpandableResource;
 import com.atlassian.jira.rest.client.api.domain.util.UriUtil;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.collect.Iterables;
 import org.joda.time.DateTime;
 
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos;
 
 /**
- * Single JIRA issue
+ * Single JIRA issue. When retrieved with a fields projection
+ * ({@link com.atlassian.jira.rest.client.api.IssueRestClient#getIssue(String, Set, Iterable)}),
+ * attributes of fields which were not requested are empty.
  *
  * @since v0.1
  */
@@ -56,6 +61,7 @@ public class Issue extends BasicIssue implements ExpandableResource {
         this.comments = comments;
         this.attachments = attachments;
         this.issueFields = issueFields;
+        this.fieldIndex = issueFields instanceof IssueFields ? (IssueFields) issueFields : null;
         this.issueType = issueType;
         this.reporter = reporter;
         this.assignee = assignee;
@@ -93,6 +99,7 @@ public class Issue extends BasicIssue implements ExpandableResource {
     @Nullable
     private final Resolution resolution;
     private final Collection<IssueField> issueFields;
+    private volatile IssueFields fieldIndex;
     private final DateTime creationDate;
     private final DateTime updateDate;
     private final DateTime dueDate;
@@ -182,12 +189,7 @@ public class Issue extends BasicIssue implements ExpandableResource {
      */
     @Nullable
     public IssueField getField(String id) {
-        for (IssueField issueField : issueFields) {
-            if (issueField.getId().equals(id)) {
-                return issueField;
-            }
-        }
-        return null;
+        return getFieldIndex().getById(id);
     }
 
     /**
@@ -200,12 +202,37 @@ public class Issue extends BasicIssue implements ExpandableResource {
      */
     @Nullable
     public IssueField getFieldByName(String name) {
-        for (IssueField issueField : issueFields) {
-            if (issueField.getName().equals(name)) {
-                return issueField;
-            }
+        return Iterables.getFirst(getFieldIndex().getByName(name), null);
+    }
+
+    /**
+     * Names of fields in JIRA do not need to be unique, this method returns all fields with specified name.
+     *
+     * @param name name of the field
+     * @return fields with given name, empty when there are none
+     * @since 5.2
+     */
+    public List<IssueField> getFieldsByName(String name) {
+        return getFieldIndex().getByName(name);
+    }
+
+    /**
+     * Passes custom fields which have a value to given action, without allocating an iterator.
+     *
+     * @param action action to perform on every custom field which is not <code>null</code>
+     * @since 5.2
+     */
+    public void forEachNonNullCustomField(Consumer<? super IssueField> action) {
+        getFieldIndex().forEachNonNullCustomField(action);
+    }
+
+    private IssueFields getFieldIndex() {
+        IssueFields index = fieldIndex;
+        if (index == null) {
+            index = IssueFields.of(issueFields);
+            fieldIndex = index;
         }
-        return null;
+        return index;
     }
 
     @Override
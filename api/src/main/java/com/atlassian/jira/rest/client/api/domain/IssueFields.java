@@ -0,0 +1,105 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Iterators;
+
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable collection of issue fields indexed by field id, for constant-time lookups on issues with many custom fields.
+ * The index by field name, which is rarely used, is built on first lookup by name.
+ *
+ * @since v5.2
+ */
+public class IssueFields extends AbstractCollection<IssueField> {
+
+    private static final String CUSTOM_FIELD_PREFIX = "customfield_";
+    private static final IssueField[] NO_FIELDS = new IssueField[0];
+
+    private final IssueField[] fields;
+    private final IssueField[] nonNullCustomFields;
+    private final Map<String, IssueField> fieldsById;
+    private volatile ImmutableListMultimap<String, IssueField> fieldsByName;
+
+    public IssueFields(final Collection<IssueField> fields) {
+        this.fields = fields.toArray(NO_FIELDS);
+        this.fieldsById = new HashMap<>(fields.size() * 4 / 3 + 1);
+        final List<IssueField> customFields = new ArrayList<>();
+        for (IssueField field : this.fields) {
+            // the first field wins, as in lookups by scanning
+            fieldsById.putIfAbsent(field.getId(), field);
+            if (field.getValue() != null && field.getId().startsWith(CUSTOM_FIELD_PREFIX)) {
+                customFields.add(field);
+            }
+        }
+        this.nonNullCustomFields = customFields.toArray(NO_FIELDS);
+    }
+
+    /**
+     * @return given fields if they are already indexed, otherwise an index of them
+     */
+    public static IssueFields of(@Nullable final Collection<IssueField> fields) {
+        if (fields instanceof IssueFields) {
+            return (IssueFields) fields;
+        }
+        return new IssueFields(fields == null ? ImmutableList.<IssueField>of() : fields);
+    }
+
+    /**
+     * @param id identifier of the field
+     * @return field with given id, or <code>null</code> when there is no such field
+     */
+    @Nullable
+    public IssueField getById(final String id) {
+        return fieldsById.get(id);
+    }
+
+    /**
+     * @param name name of the field
+     * @return fields with given name, in their original order
+     */
+    public List<IssueField> getByName(final String name) {
+        ImmutableListMultimap<String, IssueField> byName = fieldsByName;
+        if (byName == null) {
+            final ImmutableListMultimap.Builder<String, IssueField> builder = ImmutableListMultimap.builder();
+            for (IssueField field : fields) {
+                if (field.getName() != null) {
+                    builder.put(field.getName(), field);
+                }
+            }
+            byName = builder.build();
+            fieldsByName = byName;
+        }
+        return byName.get(name);
+    }
+
+    /**
+     * Passes custom fields which have a value to given action, without creating an iterator.
+     *
+     * @param action action to perform on every custom field which is not <code>null</code>
+     */
+    public void forEachNonNullCustomField(final Consumer<? super IssueField> action) {
+        for (IssueField field : nonNullCustomFields) {
+            action.accept(field);
+        }
+    }
+
+    @Override
+    public Iterator<IssueField> iterator() {
+        return Iterators.forArray(fields);
+    }
+
+    @Override
+    public int size() {
+        return fields.length;
+    }
+}
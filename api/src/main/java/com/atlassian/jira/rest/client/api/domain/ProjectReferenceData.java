@@ -0,0 +1,130 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Versions, components and roles of a project, indexed by name, and by id for versions and components.
+ *
+ * @since v5.2
+ */
+public class ProjectReferenceData {
+
+    private final BasicProject project;
+    private final Iterable<Version> versions;
+    private final Iterable<BasicComponent> components;
+    private final Iterable<BasicProjectRole> roles;
+    private final Map<String, Version> versionsByName;
+    private final Map<Long, Version> versionsById;
+    private final Map<String, BasicComponent> componentsByName;
+    private final Map<Long, BasicComponent> componentsById;
+    private final Map<String, BasicProjectRole> rolesByName;
+
+    public ProjectReferenceData(final BasicProject project, final Iterable<Version> versions,
+                                final Iterable<BasicComponent> components, final Iterable<BasicProjectRole> roles) {
+        this.project = project;
+        this.versions = ImmutableList.copyOf(versions);
+        this.components = ImmutableList.copyOf(components);
+        this.roles = ImmutableList.copyOf(roles);
+        // names are unique within a project, the first one wins should the server say otherwise
+        final Map<String, Version> versionsByName = new LinkedHashMap<>();
+        final Map<Long, Version> versionsById = new LinkedHashMap<>();
+        for (Version version : versions) {
+            versionsByName.putIfAbsent(version.getName(), version);
+            if (version.getId() != null) {
+                versionsById.putIfAbsent(version.getId(), version);
+            }
+        }
+        final Map<String, BasicComponent> componentsByName = new LinkedHashMap<>();
+        final Map<Long, BasicComponent> componentsById = new LinkedHashMap<>();
+        for (BasicComponent component : components) {
+            componentsByName.putIfAbsent(component.getName(), component);
+            if (component.getId() != null) {
+                componentsById.putIfAbsent(component.getId(), component);
+            }
+        }
+        final Map<String, BasicProjectRole> rolesByName = new LinkedHashMap<>();
+        for (BasicProjectRole role : roles) {
+            rolesByName.putIfAbsent(role.getName(), role);
+        }
+        this.versionsByName = ImmutableMap.copyOf(versionsByName);
+        this.versionsById = ImmutableMap.copyOf(versionsById);
+        this.componentsByName = ImmutableMap.copyOf(componentsByName);
+        this.componentsById = ImmutableMap.copyOf(componentsById);
+        this.rolesByName = ImmutableMap.copyOf(rolesByName);
+    }
+
+    public BasicProject getProject() {
+        return project;
+    }
+
+    public Iterable<Version> getVersions() {
+        return versions;
+    }
+
+    public Iterable<BasicComponent> getComponents() {
+        return components;
+    }
+
+    public Iterable<BasicProjectRole> getRoles() {
+        return roles;
+    }
+
+    @Nullable
+    public Version getVersionByName(final String name) {
+        return versionsByName.get(name);
+    }
+
+    @Nullable
+    public Version getVersionById(final Long id) {
+        return versionsById.get(id);
+    }
+
+    @Nullable
+    public BasicComponent getComponentByName(final String name) {
+        return componentsByName.get(name);
+    }
+
+    @Nullable
+    public BasicComponent getComponentById(final Long id) {
+        return componentsById.get(id);
+    }
+
+    @Nullable
+    public BasicProjectRole getRoleByName(final String name) {
+        return rolesByName.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("project", project)
+                .add("versions", versions)
+                .add("components", components)
+                .add("roles", roles)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof ProjectReferenceData) {
+            final ProjectReferenceData that = (ProjectReferenceData) obj;
+            return Objects.equal(this.project, that.project)
+                    && Objects.equal(this.versions, that.versions)
+                    && Objects.equal(this.components, that.components)
+                    && Objects.equal(this.roles, that.roles);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(project, versions, components, roles);
+    }
+}
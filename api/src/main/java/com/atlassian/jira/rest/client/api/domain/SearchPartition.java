@@ -0,0 +1,56 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/**
+ * One of disjoint parts a JQL query is split into while scanning all matching issues.
+ *
+ * @since v5.2
+ */
+public class SearchPartition {
+    private final int index;
+    private final String jql;
+
+    public SearchPartition(int index, String jql) {
+        this.index = index;
+        this.jql = jql;
+    }
+
+    /**
+     * @return 0-based index of this partition
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return JQL query matching exactly the issues of this partition
+     */
+    public String getJql() {
+        return jql;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).
+                add("index", index).
+                add("jql", jql).
+                toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SearchPartition) {
+            final SearchPartition that = (SearchPartition) obj;
+            return this.index == that.index
+                    && Objects.equal(this.jql, that.jql);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(index, jql);
+    }
+}
@@ -0,0 +1,53 @@
+package com.atlassian.jira.rest.client.api.domain.input;
+
+import com.google.common.base.MoreObjects;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Data required to upload a file as an attachment of an issue, read from the file while it is sent
+ *
+ * @since v5.2
+ */
+public class FileAttachmentInput {
+    private final URI attachmentsUri;
+    private final Path file;
+    private final String filename;
+
+    /**
+     * @param attachmentsUri where to upload the attachment. You can get this URI by examining issue resource first
+     * @param file           file to upload
+     * @param filename       file name to use for the uploaded attachment
+     */
+    public FileAttachmentInput(URI attachmentsUri, Path file, String filename) {
+        this.attachmentsUri = attachmentsUri;
+        this.file = file;
+        this.filename = filename;
+    }
+
+    public FileAttachmentInput(URI attachmentsUri, Path file) {
+        this(attachmentsUri, file, file.getFileName().toString());
+    }
+
+    public URI getAttachmentsUri() {
+        return attachmentsUri;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("attachmentsUri", attachmentsUri)
+                .add("file", file)
+                .add("filename", filename)
+                .toString();
+    }
+}
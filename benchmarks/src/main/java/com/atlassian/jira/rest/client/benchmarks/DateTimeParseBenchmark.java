@@ -0,0 +1,66 @@
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the timestamps which every issue carries several of: created, updated, and one per comment,
+ * worklog and changelog entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateTimeParseBenchmark {
+
+    private static final String[] DATE_TIMES = {
+            "2010-08-17T16:40:57.791+0200",
+            "2012-12-31T23:59:59.000-0800",
+            "2021-05-27T05:31:11.123+0000",
+            "2019-02-28T12:00:00.500+0530"
+    };
+
+    private int next;
+
+    @Benchmark
+    public DateTime parseDateTime() {
+        return JsonParseUtil.parseDateTime(DATE_TIMES[next++ & 3]);
+    }
+
+    /**
+     * Baseline: the general purpose formatter which parsed every timestamp before the dedicated decoder.
+     */
+    @Benchmark
+    public DateTime jodaFormatter() {
+        return JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime(DATE_TIMES[next++ & 3]);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseOffsetDateTime() {
+        return JsonParseUtil.parseOffsetDateTime(DATE_TIMES[next++ & 3]);
+    }
+
+    @Benchmark
+    public DateTime parseDateTimeOrDateWithDate() {
+        return JsonParseUtil.parseDateTimeOrDate("2010-08-17");
+    }
+
+    @Benchmark
+    public DateTime parseDate() {
+        return JsonParseUtil.parseDate("2010-08-17");
+    }
+}
@@ -0,0 +1,143 @@
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.google.common.io.Resources;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Payloads of the benchmarks, scaled up from the fixtures of the parser tests to the sizes of real instances:
+ * pages of up to a thousand issues, and hundreds of custom fields.
+ */
+final class Fixtures {
+
+    private static final String TEXT_FIELD = "com.atlassian.jira.plugin.system.customfieldtypes:textfield";
+    private static final String NUMBER_FIELD = "com.atlassian.jira.plugin.system.customfieldtypes:float";
+    private static final String SELECT_FIELD = "com.atlassian.jira.plugin.system.customfieldtypes:select";
+    private static final String LABELS_FIELD = "com.atlassian.jira.plugin.system.customfieldtypes:labels";
+    private static final int FIRST_CUSTOM_FIELD_ID = 20000;
+
+    private Fixtures() {
+    }
+
+    static String load(final String path) {
+        try {
+            return Resources.toString(Resources.getResource("json/" + path), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return search result with the given number of issues, copied from <code>search/many-issues.json</code>
+     * with unique ids and keys
+     */
+    static String searchResult(final int issueCount) throws JSONException {
+        final JSONObject template = new JSONObject(load("search/many-issues.json"));
+        final JSONArray templateIssues = template.getJSONArray("issues");
+        final JSONArray issues = new JSONArray();
+        for (int i = 0; i < issueCount; i++) {
+            final JSONObject issue = new JSONObject(templateIssues.getJSONObject(i % templateIssues.length()).toString());
+            issue.put("id", Integer.toString(10000 + i));
+            issue.put("key", "TST-" + (i + 1));
+            issues.put(issue);
+        }
+        template.put("issues", issues);
+        template.put("maxResults", issueCount);
+        template.put("total", issueCount);
+        return template.toString();
+    }
+
+    /**
+     * @return issue of <code>issue/valid-all-expanded.json</code> with the given number of extra custom fields,
+     * described in its names and schema
+     */
+    static String issue(final int customFieldCount) throws JSONException {
+        final JSONObject issue = new JSONObject(load("issue/valid-all-expanded.json"));
+        final JSONObject fields = issue.getJSONObject("fields");
+        final JSONObject names = issue.getJSONObject("names");
+        final JSONObject schema = issue.getJSONObject("schema");
+        for (int i = 0; i < customFieldCount; i++) {
+            final int customId = FIRST_CUSTOM_FIELD_ID + i;
+            final String id = "customfield_" + customId;
+            names.put(id, "Custom Field " + i);
+            switch (i % 4) {
+                case 0:
+                    fields.put(id, "Value of custom field " + i);
+                    schema.put(id, customFieldSchema("string", null, TEXT_FIELD, customId));
+                    break;
+                case 1:
+                    fields.put(id, i * 1.5);
+                    schema.put(id, customFieldSchema("number", null, NUMBER_FIELD, customId));
+                    break;
+                case 2:
+                    fields.put(id, new JSONObject()
+                            .put("self", "http://localhost:8090/jira/rest/api/2/customFieldOption/" + customId)
+                            .put("value", "Option " + i)
+                            .put("id", Integer.toString(customId)));
+                    schema.put(id, customFieldSchema("option", null, SELECT_FIELD, customId));
+                    break;
+                default:
+                    fields.put(id, new JSONArray().put("label-" + i).put("label-" + (i + 1)));
+                    schema.put(id, customFieldSchema("array", "string", LABELS_FIELD, customId));
+            }
+        }
+        return issue.toString();
+    }
+
+    /**
+     * @return create issue metadata of <code>createmeta/valid-with-fields-expanded.json</code>, with the given number
+     * of extra custom fields in every issue type
+     */
+    static String createIssueMetadata(final int customFieldCount) throws JSONException {
+        final JSONObject metadata = new JSONObject(load("createmeta/valid-with-fields-expanded.json"));
+        final JSONArray projects = metadata.getJSONArray("projects");
+        for (int p = 0; p < projects.length(); p++) {
+            final JSONArray issueTypes = projects.getJSONObject(p).getJSONArray("issuetypes");
+            for (int t = 0; t < issueTypes.length(); t++) {
+                final JSONObject fields = issueTypes.getJSONObject(t).getJSONObject("fields");
+                for (int i = 0; i < customFieldCount; i++) {
+                    final int customId = FIRST_CUSTOM_FIELD_ID + i;
+                    final JSONObject field = new JSONObject()
+                            .put("required", false)
+                            .put("name", "Custom Field " + i)
+                            .put("operations", new JSONArray().put("set"));
+                    if (i % 2 == 0) {
+                        field.put("schema", customFieldSchema("string", null, TEXT_FIELD, customId));
+                    } else {
+                        field.put("schema", customFieldSchema("option", null, SELECT_FIELD, customId));
+                        field.put("allowedValues", options(customId, 5));
+                    }
+                    fields.put("customfield_" + customId, field);
+                }
+            }
+        }
+        return metadata.toString();
+    }
+
+    private static JSONObject customFieldSchema(final String type, final String items, final String custom,
+                                                final int customId) throws JSONException {
+        final JSONObject schema = new JSONObject().put("type", type).put("custom", custom).put("customId", customId);
+        if (items != null) {
+            schema.put("items", items);
+        }
+        return schema;
+    }
+
+    private static JSONArray options(final int customId, final int count) throws JSONException {
+        final JSONArray options = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            final int optionId = customId * 10 + i;
+            options.put(new JSONObject()
+                    .put("self", "http://localhost:8090/jira/rest/api/2/customFieldOption/" + optionId)
+                    .put("value", "Option " + i)
+                    .put("id", Integer.toString(optionId)));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,105 @@
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.internal.json.gen.ComplexIssueInputFieldValueJsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.IssueInputJsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonStreamGeneratorUtil;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.codehaus.jettison.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of request bodies, up to the string sent over the wire, or up to its bytes when streamed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmarks {
+
+    @Param({"10", "500"})
+    public int customFields;
+
+    private final IssueInputJsonGenerator issueInputGenerator = new IssueInputJsonGenerator();
+    private final ComplexIssueInputFieldValueJsonGenerator complexValueGenerator = new ComplexIssueInputFieldValueJsonGenerator();
+    private IssueInput issueInput;
+    private ComplexIssueInputFieldValue cascadingValue;
+
+    @Setup
+    public void setUp() {
+        final List<FieldInput> fields = new ArrayList<>();
+        fields.add(new FieldInput("project", ComplexIssueInputFieldValue.with("key", "TST")));
+        fields.add(new FieldInput("issuetype", ComplexIssueInputFieldValue.with("id", "1")));
+        fields.add(new FieldInput("summary", "Benchmark issue"));
+        fields.add(new FieldInput("labels", ImmutableList.of("performance", "benchmark")));
+        for (int i = 0; i < customFields; i++) {
+            fields.add(new FieldInput("customfield_" + (20000 + i), customFieldValue(i)));
+        }
+        issueInput = IssueInput.createWithFields(fields.toArray(new FieldInput[0]));
+        cascadingValue = cascading(3);
+    }
+
+    @Benchmark
+    public String issueInput() throws JSONException {
+        return issueInputGenerator.generate(issueInput).toString();
+    }
+
+    @Benchmark
+    public byte[] issueInputStreamed() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (org.codehaus.jackson.JsonGenerator json = JsonStreamGeneratorUtil.createGenerator(out)) {
+            issueInputGenerator.write(issueInput, json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public String complexIssueInputFieldValue() throws JSONException {
+        return complexValueGenerator.generate(cascadingValue).toString();
+    }
+
+    private static Object customFieldValue(final int i) {
+        switch (i % 4) {
+            case 0:
+                return "Value of custom field " + i;
+            case 1:
+                return i * 1.5;
+            case 2:
+                return ComplexIssueInputFieldValue.with("value", "Option " + i);
+            default:
+                return ImmutableList.of(
+                        ComplexIssueInputFieldValue.with("name", "user" + i),
+                        ComplexIssueInputFieldValue.with("name", "user" + (i + 1)));
+        }
+    }
+
+    private static ComplexIssueInputFieldValue cascading(final int depth) {
+        if (depth == 0) {
+            return ComplexIssueInputFieldValue.with("value", "leaf");
+        }
+        return new ComplexIssueInputFieldValue(ImmutableMap.<String, Object>of(
+                "value", "level " + depth,
+                "child", cascading(depth - 1)));
+    }
+}
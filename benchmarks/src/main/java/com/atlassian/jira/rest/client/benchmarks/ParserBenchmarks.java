@@ -0,0 +1,112 @@
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.api.domain.CimProject;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.internal.json.CreateIssueMetadataJsonParser;
+import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamParseUtil;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonStreamParser;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parsing of the largest responses, from the body as received to domain objects, as the client does it.
+ * Run with <code>-prof gc</code> to see the allocation per parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class IssueState {
+        @Param({"0", "500"})
+        public int customFields;
+
+        String body;
+        final IssueJsonParser parser = new IssueJsonParser();
+
+        @Setup
+        public void setUp() throws JSONException {
+            body = Fixtures.issue(customFields);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchState {
+        @Param({"50", "1000"})
+        public int issues;
+
+        String body;
+        byte[] bytes;
+        final SearchResultJsonParser parser = new SearchResultJsonParser();
+        final SearchResultJsonStreamParser streamParser = new SearchResultJsonStreamParser();
+
+        @Setup
+        public void setUp() throws JSONException {
+            body = Fixtures.searchResult(issues);
+            bytes = body.getBytes(UTF_8);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CreateIssueMetadataState {
+        @Param({"0", "500"})
+        public int customFields;
+
+        String body;
+        final CreateIssueMetadataJsonParser parser = new CreateIssueMetadataJsonParser();
+
+        @Setup
+        public void setUp() throws JSONException {
+            body = Fixtures.createIssueMetadata(customFields);
+        }
+    }
+
+    @Benchmark
+    public Issue issue(final IssueState state) throws JSONException {
+        return state.parser.parse(new JSONObject(state.body));
+    }
+
+    @Benchmark
+    public SearchResult search(final SearchState state) throws JSONException {
+        return state.parser.parse(new JSONObject(state.body));
+    }
+
+    @Benchmark
+    public SearchResult searchStreaming(final SearchState state) throws JSONException, IOException {
+        final JsonParser json = JsonStreamParseUtil.createParser(new ByteArrayInputStream(state.bytes));
+        try {
+            return state.streamParser.parse(json);
+        } finally {
+            json.close();
+        }
+    }
+
+    @Benchmark
+    public Iterable<CimProject> createIssueMetadata(final CreateIssueMetadataState state) throws JSONException {
+        return state.parser.parse(new JSONObject(state.body));
+    }
+}
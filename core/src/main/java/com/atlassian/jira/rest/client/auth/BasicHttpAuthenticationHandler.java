@@ -20,10 +20,13 @@ import com.atlassian.httpclient.api.Request;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
 import org.apache.commons.codec.binary.Base64;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Handler for HTTP basic authentication.
  * Do NOT use it in with unencrypted HTTP protocol over public networks, as credentials are passed
  * effectively in free text.
+ * The header value is computed once, from the UTF-8 encoded credentials.
  *
  * @since v0.1
  */
@@ -31,21 +34,19 @@ public class BasicHttpAuthenticationHandler implements AuthenticationHandler {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
 
-    private final String username;
-    private final String password;
+    private final String authorizationHeader;
 
     public BasicHttpAuthenticationHandler(final String username, final String password) {
-        this.username = username;
-        this.password = password;
+        this.authorizationHeader = "Basic " + encodeCredentials(username, password);
     }
 
     @Override
     public void configure(Request.Builder builder) {
-        builder.setHeader(AUTHORIZATION_HEADER, "Basic " + encodeCredentials());
+        builder.setHeader(AUTHORIZATION_HEADER, authorizationHeader);
     }
 
-    private String encodeCredentials() {
-        byte[] credentials = (username + ':' + password).getBytes();
-        return new String(Base64.encodeBase64(credentials));
+    private static String encodeCredentials(final String username, final String password) {
+        final byte[] credentials = (username + ':' + password).getBytes(UTF_8);
+        return Base64.encodeBase64String(credentials);
     }
 }
@@ -0,0 +1,106 @@
+package com.atlassian.jira.rest.client.auth;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.SessionRestClient;
+import com.atlassian.jira.rest.client.api.domain.Authentication;
+import com.atlassian.jira.rest.client.api.domain.SessionCookie;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handler for cookie-based session authentication. It logs in once, then sends the session cookie with every request,
+ * so the server does not verify the password on each of them. When the server rejects the session (HTTP 401),
+ * the session the request was sent with is dropped, and the request is sent again after logging in again.
+ * <p>
+ * The first request, and the first one after the session expired, is sent once the login completes. No thread waits
+ * for the login.
+ *
+ * @since v5.2
+ */
+public class SessionCookieAuthenticationHandler implements AuthenticationHandler {
+
+    private static final String COOKIE_HEADER = "Cookie";
+    private static final int UNAUTHORIZED = 401;
+
+    private final String username;
+    private final String password;
+    private final AtomicReference<Promise<SessionCookie>> session = new AtomicReference<>();
+    private volatile SessionRestClient sessionRestClient;
+
+    public SessionCookieAuthenticationHandler(final String username, final String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Sets the client used to log in. It is called by the client factory with a client which does not authenticate
+     * its requests.
+     *
+     * @param sessionRestClient unauthenticated session client of the server
+     */
+    public void setSessionRestClient(final SessionRestClient sessionRestClient) {
+        this.sessionRestClient = sessionRestClient;
+    }
+
+    /**
+     * Sets the cookie of the current session, when one is established. It never waits for a login: requests sent
+     * by the client are authenticated by {@link #authenticate(Request.Builder)}, which logs in first when needed.
+     */
+    @Override
+    public void configure(final Request.Builder builder) {
+        final Promise<SessionCookie> current = session.get();
+        if (current != null && current.isDone()) {
+            current.done(cookie -> setCookie(builder, cookie));
+        }
+    }
+
+    /**
+     * @return promise of the login whose session cookie the request is sent with
+     */
+    @Override
+    public Promise<Object> authenticate(final Request.Builder builder) {
+        final Promise<SessionCookie> login = getSession();
+        return login.map(cookie -> {
+            setCookie(builder, cookie);
+            return login;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean onResponse(final Object credentials, final Response response) {
+        if (response.getStatusCode() != UNAUTHORIZED) {
+            return false;
+        }
+        // a session renewed since the request was sent is kept
+        session.compareAndSet((Promise<SessionCookie>) credentials, null);
+        return true;
+    }
+
+    private static void setCookie(final Request.Builder builder, final SessionCookie cookie) {
+        builder.setHeader(COOKIE_HEADER, cookie.getName() + '=' + cookie.getValue());
+    }
+
+    private Promise<SessionCookie> getSession() {
+        while (true) {
+            final Promise<SessionCookie> current = session.get();
+            if (current != null) {
+                return current;
+            }
+            final SessionRestClient client = sessionRestClient;
+            if (client == null) {
+                return Promises.rejected(new IllegalStateException("Session client not set, create the JiraRestClient with JiraRestClientFactory"));
+            }
+            final Promise<SessionCookie> login = client.login(username, password).map(Authentication::getSession);
+            if (session.compareAndSet(null, login)) {
+                login.fail(e -> session.compareAndSet(login, null));
+                return login;
+            }
+            login.cancel(true);
+        }
+    }
+}
@@ -20,14 +20,21 @@ import com.atlassian.httpclient.api.EntityBuilder;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
 import com.atlassian.httpclient.api.ResponseTransformation;
+import com.atlassian.jira.rest.client.api.ClientMetrics;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitStatistics;
 import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
 import com.atlassian.jira.rest.client.internal.json.JsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
 import com.atlassian.jira.rest.client.internal.json.JsonParser;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamParseUtil;
+import com.atlassian.jira.rest.client.internal.json.JsonStreamParser;
 import com.atlassian.jira.rest.client.internal.json.gen.JsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonStreamGenerator;
 import com.google.common.collect.ImmutableList;
 import io.atlassian.util.concurrent.Promise;
 import org.apache.commons.lang3.StringUtils;
@@ -41,10 +48,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * This is a base class for asynchronous REST clients.
@@ -56,40 +65,88 @@ public abstract class AbstractAsynchronousRestClient {
     private static final String JSON_CONTENT_TYPE = "application/json";
 
     private final HttpClient client;
+    private final InFlightLimiter inFlightLimiter;
+    private final ClientMetrics clientMetrics;
 
     protected AbstractAsynchronousRestClient(HttpClient client) {
         this.client = client;
+        final ConcurrencyLimitOptions limits = client instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client).getConcurrencyLimitOptions() : null;
+        this.clientMetrics = client instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client).getClientMetrics() : null;
+        this.inFlightLimiter = limits != null && limits.getMaxInFlightPerClient() != null
+                ? new InFlightLimiter(getClass().getSimpleName(), limits.getMaxInFlightPerClient(), limits) : null;
     }
 
     protected interface ResponseHandler<T> {
         T handle(Response request) throws JSONException, IOException;
     }
 
+    /**
+     * When the HTTP response cache or request coalescing is enabled, the parsed value may come from the cache
+     * or from an identical request in flight, and be shared with other callers. Values are shared only between
+     * calls with equal parsers, which are compared by identity unless they define their equality.
+     */
     protected final <T> Promise<T> getAndParse(final URI uri, final JsonParser<?, T> parser) {
-        return callAndParse(client.newRequest(uri).setAccept("application/json").get(), parser);
+        return getAndParse(uri, parser, toResponseHandler(parser));
+    }
+
+    protected final <T> Promise<T> getAndParse(final URI uri, final JsonStreamParser<T> parser) {
+        return getAndParse(uri, parser, toResponseHandler(parser));
+    }
+
+    private <T> Promise<T> getAndParse(final URI uri, final Object parser, final ResponseHandler<T> responseHandler) {
+        final AtlassianHttpClientDecorator decorator = client instanceof AtlassianHttpClientDecorator
+                ? (AtlassianHttpClientDecorator) client : null;
+        final RequestCoalescer requestCoalescer = decorator != null ? decorator.getRequestCoalescer() : null;
+        if (requestCoalescer != null) {
+            // requests of one HTTP client differ only by URI, as they share accept and authentication headers;
+            // their values differ by parser
+            return new DelegatingPromise<T>(requestCoalescer.coalesce(Arrays.asList(uri, parser),
+                    () -> sendAndParse(decorator, uri, parser, responseHandler)));
+        }
+        return sendAndParse(decorator, uri, parser, responseHandler);
+    }
+
+    private <T> Promise<T> sendAndParse(@Nullable final AtlassianHttpClientDecorator decorator, final URI uri,
+                                        final Object parser, final ResponseHandler<T> responseHandler) {
+        if (decorator != null && decorator.isResponseCacheEnabled()) {
+            return new DelegatingPromise<T>(InFlightLimiter.run(inFlightLimiter, decorator.getInFlightLimiter(),
+                    () -> decorator.getCached(uri, JSON_CONTENT_TYPE, parser, toFunction(responseHandler),
+                            AbstractAsynchronousRestClient.<T>errorFunction())));
+        }
+        return callAndParse(send(() -> client.newRequest(uri).setAccept(JSON_CONTENT_TYPE).get()), responseHandler);
     }
 
     protected final <I, T> Promise<T> postAndParse(final URI uri, I entity, final JsonGenerator<I> jsonGenerator,
                                                    final JsonObjectParser<T> parser) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
-                .post();
+                .post());
         return callAndParse(responsePromise, parser);
     }
 
     protected final <T> Promise<T> postAndParse(final URI uri, final JSONObject entity, final JsonObjectParser<T> parser) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
+                .setEntity(entity.toString())
+                .setContentType(JSON_CONTENT_TYPE)
+                .post());
+        return callAndParse(responsePromise, parser);
+    }
+
+    protected final <T> Promise<T> postAndParse(final URI uri, final JSONObject entity, final JsonStreamParser<T> parser) {
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(entity.toString())
                 .setContentType(JSON_CONTENT_TYPE)
-                .post();
+                .post());
         return callAndParse(responsePromise, parser);
     }
 
     protected final Promise<Void> post(final URI uri, final String entity) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(entity)
                 .setContentType(JSON_CONTENT_TYPE)
-                .post();
+                .post());
         return call(responsePromise);
     }
 
@@ -98,9 +155,9 @@ public abstract class AbstractAsynchronousRestClient {
     }
 
     protected final <T> Promise<Void> post(final URI uri, final T entity, final JsonGenerator<T> jsonGenerator) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
-                .post();
+                .post());
         return call(responsePromise);
     }
 
@@ -110,21 +167,21 @@ public abstract class AbstractAsynchronousRestClient {
 
     protected final <I, T> Promise<T> putAndParse(final URI uri, I entity, final JsonGenerator<I> jsonGenerator,
                                                   final JsonObjectParser<T> parser) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
-                .put();
+                .put());
         return callAndParse(responsePromise, parser);
     }
 
     protected final <T> Promise<Void> put(final URI uri, final T entity, final JsonGenerator<T> jsonGenerator) {
-        final ResponsePromise responsePromise = client.newRequest(uri)
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri)
                 .setEntity(toEntity(jsonGenerator, entity))
-                .put();
+                .put());
         return call(responsePromise);
     }
 
     protected final Promise<Void> delete(final URI uri) {
-        final ResponsePromise responsePromise = client.newRequest(uri).delete();
+        final ResponsePromise responsePromise = send(() -> client.newRequest(uri).delete());
         return call(responsePromise);
     }
 
@@ -138,9 +195,32 @@ public abstract class AbstractAsynchronousRestClient {
         return new DelegatingPromise(responsePromise.transform(responseTransformation));
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Like {@link #callAndParse(ResponsePromise, ResponseHandler)}, handling responses of any successful status,
+     * such as <i>206 Partial Content</i> answering requests for a range of bytes.
+     */
+    protected final <T> Promise<T> callAndHandle(final ResponsePromise responsePromise, final ResponseHandler<T> responseHandler) {
+        final Function<Response, T> transformFunction = toFunction(responseHandler);
+        final Function<Response, T> errorFunction = AbstractAsynchronousRestClient.errorFunction();
+        return responsePromise.map(response -> response.getStatusCode() >= 200 && response.getStatusCode() < 300
+                ? transformFunction.apply(response) : errorFunction.apply(response));
+    }
+
     protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final JsonParser<?, T> parser) {
-        final ResponseHandler<T> responseHandler = new ResponseHandler<T>() {
+        return callAndParse(responsePromise, toResponseHandler(parser));
+    }
+
+    /**
+     * Parses the response straight from the entity stream, without buffering the body as a String
+     * or building a DOM of the whole document.
+     */
+    protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final JsonStreamParser<T> parser) {
+        return callAndParse(responsePromise, toResponseHandler(parser));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseHandler<T> toResponseHandler(final JsonParser<?, T> parser) {
+        return measured(parser, new ResponseHandler<T>() {
             @Override
             public T handle(Response response) throws JSONException, IOException {
                 final String body = response.getEntity();
@@ -148,8 +228,46 @@ public abstract class AbstractAsynchronousRestClient {
                         ((JsonObjectParser) parser).parse(new JSONObject(body)) :
                         ((JsonArrayParser) parser).parse(new JSONArray(body)));
             }
+        });
+    }
+
+    private <T> ResponseHandler<T> toResponseHandler(final JsonStreamParser<T> parser) {
+        return measured(parser, new ResponseHandler<T>() {
+            @Override
+            public T handle(Response response) throws JSONException, IOException {
+                final org.codehaus.jackson.JsonParser json = JsonStreamParseUtil.createParser(response.getEntityStream());
+                try {
+                    return parser.parse(json);
+                } finally {
+                    json.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports the time spent reading and parsing the response body to the {@link ClientMetrics}, if any.
+     */
+    private <T> ResponseHandler<T> measured(final Object parser, final ResponseHandler<T> responseHandler) {
+        if (clientMetrics == null) {
+            return responseHandler;
+        }
+        final Class<?> parserClass = parser.getClass();
+        final String parserName = parserClass.getSimpleName().isEmpty() ? parserClass.getName() : parserClass.getSimpleName();
+        return new ResponseHandler<T>() {
+            @Override
+            public T handle(Response response) throws JSONException, IOException {
+                final long start = System.nanoTime();
+                boolean success = false;
+                try {
+                    final T value = responseHandler.handle(response);
+                    success = true;
+                    return value;
+                } finally {
+                    clientMetrics.responseParsed(parserName, System.nanoTime() - start, success);
+                }
+            }
         };
-        return callAndParse(responsePromise, responseHandler);
     }
 
     protected final Promise<Void> call(final ResponsePromise responsePromise) {
@@ -166,6 +284,32 @@ public abstract class AbstractAsynchronousRestClient {
         return client;
     }
 
+    /**
+     * Sends a request when the limits of requests in flight of this client, and of all clients, allow it.
+     * Requests which are not sent through this method are not limited.
+     *
+     * @param request sends the request
+     * @return promise of the response, failed with {@link RestClientException} when the request was rejected
+     */
+    protected final ResponsePromise send(final Supplier<ResponsePromise> request) {
+        final InFlightLimiter globalLimiter = client instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client).getInFlightLimiter() : null;
+        if (inFlightLimiter == null && globalLimiter == null) {
+            return request.get();
+        }
+        // the client limit is acquired first, so waiting for it never holds a slot of the global limit
+        return ResponsePromises.toResponsePromise(InFlightLimiter.<Response>run(inFlightLimiter, globalLimiter, request));
+    }
+
+    /**
+     * @return state of the limit of requests in flight of this client, or <code>null</code> when it has no own limit
+     * @see ConcurrencyLimitOptions#getMaxInFlightPerClient()
+     */
+    @Nullable
+    public ConcurrencyLimitStatistics getConcurrencyLimitStatistics() {
+        return inFlightLimiter;
+    }
+
     private static <T> Function<Response, T> errorFunction() {
         return new Function<Response, T>() {
             @Override
@@ -257,7 +401,11 @@ public abstract class AbstractAsynchronousRestClient {
                     }
 
                     @Override
+                    @SuppressWarnings("unchecked")
                     public InputStream getInputStream() {
+                        if (generator instanceof JsonStreamGenerator) {
+                            return new JsonEntityInputStream((JsonStreamGenerator<T>) generator, bean);
+                        }
                         try {
                             return new ByteArrayInputStream(generator.generate(bean).toString().getBytes(Charset
                                     .forName("UTF-8")));
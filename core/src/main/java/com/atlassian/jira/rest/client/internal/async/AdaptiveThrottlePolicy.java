@@ -0,0 +1,311 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.ThrottlePolicy;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ThrottlePolicy} which keeps the request rate and concurrency at what the server tolerates:
+ * <ul>
+ * <li>an optional client-side rate limit (token bucket),</li>
+ * <li>a pause of all requests when the server asks for it with <code>Retry-After</code>, or announces with
+ * <code>X-RateLimit-Remaining: 0</code> that the limit is exhausted until <code>X-RateLimit-Reset</code>,</li>
+ * <li>retries of idempotent requests answered with 429, 502, 503 or 504, or failed before a response,
+ * after an exponential backoff with jitter, or after the delay requested by the server if longer,</li>
+ * <li>an optional concurrency limit adapted to the responses (AIMD): it grows while requests succeed
+ * and is halved when the server answers 429 or 503.</li>
+ * </ul>
+ *
+ * @since v5.2
+ */
+public class AdaptiveThrottlePolicy implements ThrottlePolicy {
+
+    static final String RETRY_AFTER = "Retry-After";
+    static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int BAD_GATEWAY = 502;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final int GATEWAY_TIMEOUT = 504;
+    // X-RateLimit-Reset values above this are epoch seconds, smaller ones are seconds from now
+    private static final long EPOCH_SECONDS_THRESHOLD = 1000000000L;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final TokenBucket tokenBucket;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final Ticker ticker;
+    private final LongSupplier wallClockMillis;
+    private final DoubleSupplier random;
+    private final AtomicLong pausedUntilNanos;
+
+    private AdaptiveThrottlePolicy(final Builder builder, final Ticker ticker, final LongSupplier wallClockMillis,
+                                   final DoubleSupplier random) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.tokenBucket = builder.requestsPerSecond > 0
+                ? new TokenBucket(builder.requestsPerSecond, builder.burst, ticker) : null;
+        this.concurrencyLimiter = builder.initialConcurrency > 0
+                ? new AimdConcurrencyLimiter(builder.initialConcurrency, builder.minConcurrency, builder.maxConcurrency)
+                : null;
+        this.ticker = ticker;
+        this.wallClockMillis = wallClockMillis;
+        this.random = random;
+        this.pausedUntilNanos = new AtomicLong(ticker.read());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return policy retrying idempotent requests and honouring the rate limit headers of the server,
+     * without client-side rate or concurrency limit
+     */
+    public static AdaptiveThrottlePolicy defaults() {
+        return builder().build();
+    }
+
+    @Override
+    public Promise<Permit> acquire(final Request.Method method, final int attempt) {
+        long waitNanos = Math.max(0, pausedUntilNanos.get() - ticker.read());
+        if (tokenBucket != null) {
+            waitNanos = Math.max(waitNanos, tokenBucket.reserve());
+        }
+        final Promise<Void> ready = Delays.SCHEDULED.after(waitNanos, TimeUnit.NANOSECONDS);
+        if (concurrencyLimiter == null) {
+            return ready.<Permit>map(ignored -> new AttemptPermit(method, attempt, 0));
+        }
+        return ready.flatMap(ignored -> concurrencyLimiter.acquire())
+                .<Permit>map(decreases -> new AttemptPermit(method, attempt, decreases));
+    }
+
+    /**
+     * @return current concurrency limit, or <code>-1</code> when concurrency is not limited
+     */
+    public double getConcurrencyLimit() {
+        return concurrencyLimiter != null ? concurrencyLimiter.getLimit() : -1;
+    }
+
+    long retryDelayMillis(final Request.Method method, final int attempt, final long serverDelayMillis) {
+        if (attempt >= maxAttempts || !isIdempotent(method)) {
+            return -1;
+        }
+        // "equal jitter": at least half of the exponential delay, so retries never come right back
+        final long exponential = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        final long backoff = exponential / 2 + (long) (random.getAsDouble() * (exponential - exponential / 2));
+        return Math.max(backoff, serverDelayMillis);
+    }
+
+    /**
+     * @return delay requested by the server before sending further requests, or <code>-1</code> when there is none
+     */
+    long serverDelayMillis(final Response response) {
+        final long nowMillis = wallClockMillis.getAsLong();
+        final long retryAfter = parseRetryAfter(response.getHeader(RETRY_AFTER), nowMillis);
+        if (retryAfter >= 0) {
+            return retryAfter;
+        }
+        if ("0".equals(trim(response.getHeader(RATE_LIMIT_REMAINING)))) {
+            return parseRateLimitReset(response.getHeader(RATE_LIMIT_RESET), nowMillis);
+        }
+        return -1;
+    }
+
+    /**
+     * @param value value of <code>Retry-After</code>, either seconds or an HTTP date
+     * @return delay in milliseconds, or <code>-1</code> when the header is missing or invalid
+     */
+    static long parseRetryAfter(@Nullable final String value, final long nowMillis) {
+        final String trimmed = trim(value);
+        if (trimmed == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            return untilDate(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME, nowMillis);
+        }
+    }
+
+    /**
+     * @param value value of <code>X-RateLimit-Reset</code>, either epoch seconds, seconds from now,
+     *              or an ISO-8601 timestamp as sent by Jira Cloud
+     * @return delay in milliseconds, or <code>-1</code> when the header is missing or invalid
+     */
+    static long parseRateLimitReset(@Nullable final String value, final long nowMillis) {
+        final String trimmed = trim(value);
+        if (trimmed == null) {
+            return -1;
+        }
+        try {
+            final long seconds = Long.parseLong(trimmed);
+            return seconds > EPOCH_SECONDS_THRESHOLD
+                    ? Math.max(0, TimeUnit.SECONDS.toMillis(seconds) - nowMillis)
+                    : TimeUnit.SECONDS.toMillis(Math.max(0, seconds));
+        } catch (NumberFormatException e) {
+            return untilDate(trimmed, DateTimeFormatter.ISO_DATE_TIME, nowMillis);
+        }
+    }
+
+    private static long untilDate(final String value, final DateTimeFormatter format, final long nowMillis) {
+        try {
+            return Math.max(0, ZonedDateTime.parse(value, format).toInstant().toEpochMilli() - nowMillis);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    @Nullable
+    private static String trim(@Nullable final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static boolean isIdempotent(final Request.Method method) {
+        switch (method.name()) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+            case "TRACE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void pause(final long delayMillis) {
+        final long until = ticker.read() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        pausedUntilNanos.accumulateAndGet(until, (current, requested) -> requested - current > 0 ? requested : current);
+    }
+
+    private class AttemptPermit implements Permit {
+        private final Request.Method method;
+        private final int attempt;
+        private final int decreasesWhenAcquired;
+
+        AttemptPermit(final Request.Method method, final int attempt, final int decreasesWhenAcquired) {
+            this.method = method;
+            this.attempt = attempt;
+            this.decreasesWhenAcquired = decreasesWhenAcquired;
+        }
+
+        @Override
+        public long onResponse(final Response response) {
+            final int status = response.getStatusCode();
+            final boolean overloaded = status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE;
+            final long serverDelayMillis = serverDelayMillis(response);
+            if (serverDelayMillis > 0) {
+                pause(serverDelayMillis);
+            }
+            release(overloaded ? AimdConcurrencyLimiter.Outcome.OVERLOAD : AimdConcurrencyLimiter.Outcome.SUCCESS);
+            if (overloaded || status == BAD_GATEWAY || status == GATEWAY_TIMEOUT) {
+                return retryDelayMillis(method, attempt, serverDelayMillis);
+            }
+            return -1;
+        }
+
+        @Override
+        public long onFailure(final Throwable failure) {
+            release(AimdConcurrencyLimiter.Outcome.IGNORE);
+            return retryDelayMillis(method, attempt, -1);
+        }
+
+        private void release(final AimdConcurrencyLimiter.Outcome outcome) {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release(decreasesWhenAcquired, outcome);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private int maxAttempts = 4;
+        private long initialBackoffMillis = 500;
+        private long maxBackoffMillis = TimeUnit.SECONDS.toMillis(30);
+        private double requestsPerSecond;
+        private int burst;
+        private int initialConcurrency;
+        private int minConcurrency;
+        private int maxConcurrency;
+
+        /**
+         * @param maxAttempts number of attempts of an idempotent request, including the first one
+         */
+        public Builder withMaxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive, got " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initial backoff before the first retry, doubled for every further retry
+         * @param max     maximum backoff
+         */
+        public Builder withBackoff(final long initial, final long max, final TimeUnit unit) {
+            if (initial < 1 || max < initial) {
+                throw new IllegalArgumentException("Expected 1 <= initial <= max, got " + initial + ", " + max);
+            }
+            this.initialBackoffMillis = unit.toMillis(initial);
+            this.maxBackoffMillis = unit.toMillis(max);
+            return this;
+        }
+
+        /**
+         * @param requestsPerSecond sustained rate of requests, including retries
+         * @param burst             number of requests which may be sent at once after a quiet period
+         */
+        public Builder withRateLimit(final double requestsPerSecond, final int burst) {
+            if (requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("requestsPerSecond and burst must be positive, got "
+                        + requestsPerSecond + ", " + burst);
+            }
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Limits the number of requests in flight, adapting the limit between given bounds to the responses.
+         */
+        public Builder withAdaptiveConcurrency(final int initialLimit, final int minLimit, final int maxLimit) {
+            if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit, got "
+                        + minLimit + ", " + initialLimit + ", " + maxLimit);
+            }
+            this.initialConcurrency = initialLimit;
+            this.minConcurrency = minLimit;
+            this.maxConcurrency = maxLimit;
+            return this;
+        }
+
+        public AdaptiveThrottlePolicy build() {
+            return build(Ticker.systemTicker(), System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+        }
+
+        AdaptiveThrottlePolicy build(final Ticker ticker, final LongSupplier wallClockMillis, final DoubleSupplier random) {
+            return new AdaptiveThrottlePolicy(this, ticker, wallClockMillis, random);
+        }
+    }
+}
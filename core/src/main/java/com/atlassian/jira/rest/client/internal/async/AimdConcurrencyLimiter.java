@@ -0,0 +1,98 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Limit of concurrent requests adjusted by additive increase and multiplicative decrease: every successful request
+ * raises the limit by <code>1/limit</code>, about one per round of requests, and a sign of server overload divides it.
+ * Only requests admitted after the last decrease may decrease it again, so a single overloaded round of requests
+ * decreases the limit once and the limit converges instead of collapsing.
+ *
+ * @since v5.2
+ */
+final class AimdConcurrencyLimiter {
+
+    enum Outcome {
+        SUCCESS,
+        OVERLOAD,
+        /**
+         * Neither raises nor lowers the limit, e.g. a connection failure.
+         */
+        IGNORE
+    }
+
+    private static final double DECREASE_FACTOR = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Deque<SettablePromise<Integer>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private int decreases;
+
+    AimdConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * @return promise of the permit, holding the number of decreases at the time it was granted,
+     * to be passed back to {@link #release(int, Outcome)}
+     */
+    synchronized Promise<Integer> acquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return Promises.promise(decreases);
+        }
+        final SettablePromise<Integer> permit = Promises.settablePromise();
+        waiting.add(permit);
+        return permit;
+    }
+
+    void release(final int decreasesWhenAcquired, final Outcome outcome) {
+        final List<SettablePromise<Integer>> admitted = new ArrayList<>();
+        final int granted;
+        synchronized (this) {
+            inFlight--;
+            if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            } else if (outcome == Outcome.OVERLOAD && decreasesWhenAcquired == decreases) {
+                limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+                decreases++;
+            }
+            while (inFlight < (int) limit && !waiting.isEmpty()) {
+                inFlight++;
+                admitted.add(waiting.poll());
+            }
+            granted = decreases;
+        }
+        // waiting requests are sent outside of the lock
+        for (SettablePromise<Integer> permit : admitted) {
+            permit.set(granted);
+        }
+    }
+
+    synchronized double getLimit() {
+        return limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+}
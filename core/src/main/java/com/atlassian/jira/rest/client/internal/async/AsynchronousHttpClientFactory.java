@@ -20,6 +20,8 @@ import com.atlassian.httpclient.apache.httpcomponents.DefaultHttpClientFactory;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.factory.HttpClientOptions;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.auth.SessionCookieAuthenticationHandler;
 import com.atlassian.sal.api.ApplicationProperties;
 import com.atlassian.sal.api.UrlMode;
 import com.atlassian.sal.api.executor.ThreadLocalContextManager;
@@ -36,6 +38,7 @@ import java.nio.file.Path;
 import java.util.Date;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for asynchronous http clients.
@@ -44,9 +47,14 @@ import java.util.Properties;
  */
 public class AsynchronousHttpClientFactory {
 
-    @SuppressWarnings("unchecked")
     public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler) {
-        final HttpClientOptions options = new HttpClientOptions();
+        return createClient(serverUri, authenticationHandler, JiraRestClientOptions.defaults());
+    }
+
+    @SuppressWarnings("unchecked")
+    public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler,
+                                             final JiraRestClientOptions clientOptions) {
+        final HttpClientOptions options = toHttpClientOptions(clientOptions);
 
         final DefaultHttpClientFactory defaultHttpClientFactory = new DefaultHttpClientFactory(new NoOpEventPublisher(),
                 new RestClientApplicationProperties(serverUri),
@@ -66,8 +74,13 @@ public class AsynchronousHttpClientFactory {
                 });
 
         final HttpClient httpClient = defaultHttpClientFactory.create(options);
+        if (authenticationHandler instanceof SessionCookieAuthenticationHandler) {
+            // logging in must not be authenticated by the handler, which would log in first
+            ((SessionCookieAuthenticationHandler) authenticationHandler)
+                    .setSessionRestClient(new AsynchronousSessionRestClient(serverUri, httpClient));
+        }
 
-        return new AtlassianHttpClientDecorator(httpClient, authenticationHandler) {
+        return new AtlassianHttpClientDecorator(httpClient, authenticationHandler, clientOptions) {
             @Override
             public void destroy() throws Exception {
                 defaultHttpClientFactory.dispose(httpClient);
@@ -89,6 +102,42 @@ public class AsynchronousHttpClientFactory {
         };
     }
 
+    static HttpClientOptions toHttpClientOptions(final JiraRestClientOptions clientOptions) {
+        final HttpClientOptions options = new HttpClientOptions();
+        if (clientOptions.getMaxTotalConnections() != null) {
+            options.setMaxTotalConnections(clientOptions.getMaxTotalConnections());
+        }
+        if (clientOptions.getMaxConnectionsPerHost() != null) {
+            options.setMaxConnectionsPerHost(clientOptions.getMaxConnectionsPerHost());
+        }
+        if (clientOptions.getConnectionTimeoutMillis() != null) {
+            options.setConnectionTimeout(toIntMillis(clientOptions.getConnectionTimeoutMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (clientOptions.getSocketTimeoutMillis() != null) {
+            options.setSocketTimeout(toIntMillis(clientOptions.getSocketTimeoutMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (clientOptions.getRequestTimeoutMillis() != null) {
+            options.setRequestTimeout(toIntMillis(clientOptions.getRequestTimeoutMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (clientOptions.getLeaseTimeoutMillis() != null) {
+            options.setLeaseTimeout(clientOptions.getLeaseTimeoutMillis());
+        }
+        if (clientOptions.getConnectionTimeToLiveMillis() != null) {
+            options.setConnectionPoolTimeToLive(toIntMillis(clientOptions.getConnectionTimeToLiveMillis()), TimeUnit.MILLISECONDS);
+        }
+        if (clientOptions.getIoThreadCount() != null) {
+            options.setIoThreadCount(clientOptions.getIoThreadCount());
+        }
+        if (clientOptions.getMaxCallbackThreadPoolSize() != null) {
+            options.setMaxCallbackThreadPoolSize(clientOptions.getMaxCallbackThreadPoolSize());
+        }
+        return options;
+    }
+
+    private static int toIntMillis(final long millis) {
+        return (int) Math.min(Integer.MAX_VALUE, millis);
+    }
+
     private static class NoOpEventPublisher implements EventPublisher {
         @Override
         public void publish(Object o) {
@@ -19,12 +19,20 @@ import com.atlassian.httpclient.apache.httpcomponents.MultiPartEntityBuilder;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.Message;
 import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.jira.rest.client.api.AttachmentDownloadOptions;
+import com.atlassian.jira.rest.client.api.AttachmentUploadOptions;
+import com.atlassian.jira.rest.client.api.BulkCreateOptions;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions;
 import com.atlassian.jira.rest.client.api.GetCreateIssueMetadataOptions;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.MetadataRestClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.SessionRestClient;
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import com.atlassian.jira.rest.client.api.domain.AttachmentUploadResult;
 import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkIssueResult;
+import com.atlassian.jira.rest.client.api.domain.BulkCreateResult;
 import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
 import com.atlassian.jira.rest.client.api.domain.CimFieldInfo;
 import com.atlassian.jira.rest.client.api.domain.CimProject;
@@ -39,19 +47,24 @@ import com.atlassian.jira.rest.client.api.domain.Votes;
 import com.atlassian.jira.rest.client.api.domain.Watchers;
 import com.atlassian.jira.rest.client.api.domain.input.AttachmentInput;
 import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
+import com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput;
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
 import com.atlassian.jira.rest.client.api.domain.input.LinkIssuesInput;
 import com.atlassian.jira.rest.client.api.domain.input.TransitionInput;
 import com.atlassian.jira.rest.client.api.domain.input.WorklogInput;
 import com.atlassian.jira.rest.client.internal.ServerVersionConstants;
+import com.atlassian.jira.rest.client.internal.json.AttachmentJsonParser;
 import com.atlassian.jira.rest.client.internal.json.BasicIssueJsonParser;
 import com.atlassian.jira.rest.client.internal.json.BasicIssuesJsonParser;
 import com.atlassian.jira.rest.client.internal.json.CreateIssueMetaFieldsParser;
 import com.atlassian.jira.rest.client.internal.json.CreateIssueMetaProjectIssueTypesParser;
 import com.atlassian.jira.rest.client.internal.json.CreateIssueMetadataJsonParser;
+import com.atlassian.jira.rest.client.internal.json.DomJsonStreamParser;
+import com.atlassian.jira.rest.client.internal.json.GenericJsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonStreamParser;
 import com.atlassian.jira.rest.client.internal.json.TransitionJsonParser;
 import com.atlassian.jira.rest.client.internal.json.TransitionJsonParserV5;
 import com.atlassian.jira.rest.client.internal.json.VotesJsonParser;
@@ -64,8 +77,11 @@ import com.atlassian.jira.rest.client.internal.json.gen.LinkIssuesInputGenerator
 import com.atlassian.jira.rest.client.internal.json.gen.WorklogInputJsonGenerator;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -75,12 +91,21 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -99,32 +124,37 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
     private static final EnumSet<Expandos> DEFAULT_EXPANDS = EnumSet.of(Expandos.NAMES, Expandos.SCHEMA, Expandos.TRANSITIONS);
     private static final Function<IssueRestClient.Expandos, String> EXPANDO_TO_PARAM = from -> from.name().toLowerCase();
     private final SessionRestClient sessionRestClient;
-    private final MetadataRestClient metadataRestClient;
 
-    private final IssueJsonParser issueParser = new IssueJsonParser();
+    private final DomJsonStreamParser<Issue> issueParser = DomJsonStreamParser.create(new IssueJsonParser());
     private final BasicIssueJsonParser basicIssueParser = new BasicIssueJsonParser();
     private final JsonObjectParser<Watchers> watchersParser = WatchersJsonParserBuilder.createWatchersParser();
     private final TransitionJsonParser transitionJsonParser = new TransitionJsonParser();
     private final JsonObjectParser<Transition> transitionJsonParserV5 = new TransitionJsonParserV5();
     private final VotesJsonParser votesJsonParser = new VotesJsonParser();
     private final CreateIssueMetadataJsonParser createIssueMetadataJsonParser = new CreateIssueMetadataJsonParser();
+    private final CreateIssueMetaProjectIssueTypesParser createIssueMetaProjectIssueTypesParser = new CreateIssueMetaProjectIssueTypesParser();
+    private final CreateIssueMetaFieldsParser createIssueMetaFieldsParser = new CreateIssueMetaFieldsParser();
+    private final SearchResultJsonStreamParser searchResultParser = new SearchResultJsonStreamParser();
+    private final GenericJsonArrayParser<Attachment> attachmentsParser = GenericJsonArrayParser.create(new AttachmentJsonParser());
     private static final String FILE_BODY_TYPE = "file";
+    private static final int MAX_KEYS_PER_SEARCH = 50;
+    // the id comes with any issue, whatever the fields requested
+    private static final Set<String> ID_FIELDS = ImmutableSet.of("id");
+    private static final int MAX_JQL_LENGTH_PER_SEARCH = 4000;
     private final URI baseUri;
-    private ServerInfo serverInfo;
+    private final ServerInfoResolver serverInfoResolver;
 
     public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
                                        final MetadataRestClient metadataRestClient) {
+        this(baseUri, client, sessionRestClient, new ServerInfoResolver(metadataRestClient));
+    }
+
+    AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
+                                final ServerInfoResolver serverInfoResolver) {
         super(client);
         this.baseUri = baseUri;
         this.sessionRestClient = sessionRestClient;
-        this.metadataRestClient = metadataRestClient;
-    }
-
-    private synchronized ServerInfo getVersionInfo() {
-        if (serverInfo == null) {
-            serverInfo = metadataRestClient.getServerInfo().claim();
-        }
-        return serverInfo;
+        this.serverInfoResolver = serverInfoResolver;
     }
 
     @Override
@@ -146,6 +176,13 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         return postAndParse(uriBuilder.build(), issues, new IssuesInputJsonGenerator(), new BasicIssuesJsonParser());
     }
 
+    @Override
+    public Promise<BulkCreateResult> createIssues(final List<IssueInput> issues, final BulkCreateOptions options) {
+        final Delays delays = client() instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) client()).getDelays() : Delays.SCHEDULED;
+        return new BulkIssueCreator(this::createIssues, issues, options, delays).start();
+    }
+
     @Override
     public Promise<Iterable<CimProject>> getCreateIssueMetadata(@Nullable GetCreateIssueMetadataOptions options) {
         final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta");
@@ -185,7 +222,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta/" + projectIdOrKey + "/issuetypes");
         addPagingParameters(uriBuilder, startAt, maxResults);
 
-        return getAndParse(uriBuilder.build(), new CreateIssueMetaProjectIssueTypesParser());
+        return getAndParse(uriBuilder.build(), createIssueMetaProjectIssueTypesParser);
     }
 
     @Override
@@ -194,7 +231,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta/" + projectIdOrKey + "/issuetypes/" + issueTypeId);
         addPagingParameters(uriBuilder, startAt, maxResults);
 
-        return getAndParse(uriBuilder.build(), new CreateIssueMetaFieldsParser());
+        return getAndParse(uriBuilder.build(), createIssueMetaFieldsParser);
     }
 
     @Override
@@ -211,6 +248,82 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         return getAndParse(uriBuilder.build(), issueParser);
     }
 
+    @Override
+    public Promise<Issue> getIssue(final String issueKey, final Set<String> fields, final Iterable<Expandos> expand) {
+        final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri);
+        uriBuilder.path("issue").path(issueKey).queryParam("fields", Joiner.on(',').join(fields));
+        if (!Iterables.isEmpty(expand)) {
+            uriBuilder.queryParam("expand",
+                    StreamSupport.stream(expand.spliterator(), false).map(EXPANDO_TO_PARAM).collect(Collectors.joining(",")));
+        }
+        // equal to the parsers of other calls of the same fields, so that they share cached and coalesced responses
+        return getAndParse(uriBuilder.build(), DomJsonStreamParser.create(new IssueJsonParser(ImmutableSet.copyOf(fields))));
+    }
+
+    @Override
+    public Promise<BulkIssueResult> getIssues(final Collection<String> issueKeys, final Iterable<Expandos> expand) {
+        final List<String> expands = StreamSupport.stream(Iterables.concat(DEFAULT_EXPANDS, expand).spliterator(), false)
+                .map(EXPANDO_TO_PARAM).distinct().collect(Collectors.toList());
+        final List<Promise<List<Issue>>> batches = new ArrayList<>();
+        for (String jql : IssueKeyBatches.createQueries(issueKeys, MAX_KEYS_PER_SEARCH, MAX_JQL_LENGTH_PER_SEARCH)) {
+            batches.add(searchIssues(jql, expands, 0, ImmutableList.of()));
+        }
+        return Promises.when(batches).flatMap(batchResults -> {
+            final List<Issue> found = ImmutableList.copyOf(Iterables.concat(batchResults));
+            final BulkIssueResult result = IssueKeyBatches.toResult(issueKeys, found);
+            final List<String> formerKeys = ImmutableList.copyOf(IssueKeyBatches.formerKeys(result, found));
+            if (formerKeys.isEmpty()) {
+                return Promises.promise(result);
+            }
+            // moved issues are found by their former keys, but returned with their current ones only
+            final List<Promise<Long>> ids = new ArrayList<>();
+            for (String formerKey : formerKeys) {
+                ids.add(getIssue(formerKey, ID_FIELDS, ImmutableList.of())
+                        .fold(AsynchronousIssueRestClient::nullIfNotFound, Issue::getId));
+            }
+            return Promises.when(ids).map(resolved -> {
+                final Map<String, Long> idsByKey = new HashMap<>();
+                for (int i = 0; i < formerKeys.size(); i++) {
+                    idsByKey.put(formerKeys.get(i), resolved.get(i));
+                }
+                return IssueKeyBatches.toResult(issueKeys, found, idsByKey);
+            });
+        });
+    }
+
+    @Nullable
+    private static Long nullIfNotFound(final Throwable failure) {
+        if (failure instanceof RestClientException
+                && Integer.valueOf(404).equals(((RestClientException) failure).getStatusCode().orNull())) {
+            return null;
+        }
+        throw failure instanceof RuntimeException ? (RuntimeException) failure : new RestClientException(failure);
+    }
+
+    private Promise<List<Issue>> searchIssues(final String jql, final List<String> expands, final int startAt, final List<Issue> collected) {
+        final JSONObject postEntity = new JSONObject();
+        try {
+            postEntity.put("jql", jql)
+                    .put("startAt", startAt)
+                    .put("maxResults", MAX_KEYS_PER_SEARCH)
+                    .put("validateQuery", false)
+                    .put("fields", ImmutableList.of("*all"))
+                    .put("expand", expands);
+        } catch (JSONException e) {
+            throw new RestClientException(e);
+        }
+        final URI searchUri = UriBuilder.fromUri(baseUri).path("search").build();
+        return postAndParse(searchUri, postEntity, searchResultParser).flatMap(result -> {
+            final List<Issue> issues = ImmutableList.<Issue>builder().addAll(collected).addAll(result.getIssues()).build();
+            // the server may return fewer issues than requested in a single page
+            final int retrieved = result.getStartIndex() + Iterables.size(result.getIssues());
+            if (retrieved > startAt && retrieved < result.getTotal()) {
+                return searchIssues(jql, expands, retrieved, issues);
+            }
+            return Promises.promise(issues);
+        });
+    }
+
     @Override
     public Promise<Void> deleteIssue(String issueKey, boolean deleteSubtasks) {
         return delete(UriBuilder.fromUri(baseUri).path("issue").path(issueKey)
@@ -229,7 +342,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Iterable<Transition>> getTransitions(final URI transitionsUri) {
-        return callAndParse(client().newRequest(transitionsUri).get(),
+        return callAndParse(send(() -> client().newRequest(transitionsUri).get()),
                 (ResponseHandler<Iterable<Transition>>) response -> {
                     final JSONObject jsonObject = new JSONObject(response.getEntity());
                     if (jsonObject.has("transitions")) {
@@ -268,7 +381,12 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> transition(final URI transitionsUri, final TransitionInput transitionInput) {
-        final int buildNumber = getVersionInfo().getBuildNumber();
+        return serverInfoResolver.getServerInfo()
+                .flatMap(serverInfo -> post(transitionsUri, generateTransition(serverInfo, transitionInput)));
+    }
+
+    private JSONObject generateTransition(final ServerInfo serverInfo, final TransitionInput transitionInput) {
+        final int buildNumber = serverInfo.getBuildNumber();
         try {
             JSONObject jsonObject = new JSONObject();
             if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
@@ -280,10 +398,10 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
                 if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
                     jsonObject.put("update", new JSONObject().put("comment",
                             new JSONArray().put(new JSONObject().put("add",
-                                    new CommentJsonGenerator(getVersionInfo())
+                                    new CommentJsonGenerator(serverInfo)
                                             .generate(transitionInput.getComment())))));
                 } else {
-                    jsonObject.put("comment", new CommentJsonGenerator(getVersionInfo())
+                    jsonObject.put("comment", new CommentJsonGenerator(serverInfo)
                             .generate(transitionInput.getComment()));
                 }
             }
@@ -295,7 +413,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
             if (fieldsJs.keys().hasNext()) {
                 jsonObject.put("fields", fieldsJs);
             }
-            return post(transitionsUri, jsonObject);
+            return jsonObject;
         } catch (JSONException ex) {
             throw new RestClientException(ex);
         }
@@ -329,7 +447,8 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> unwatch(final URI watchersUri) {
-        return removeWatcher(watchersUri, getLoggedUsername());
+        return sessionRestClient.getCurrentSession()
+                .flatMap(session -> removeWatcher(watchersUri, session.getUsername()));
     }
 
     @Override
@@ -339,19 +458,22 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
     @Override
     public Promise<Void> removeWatcher(final URI watchersUri, final String username) {
-        final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
-        if (getVersionInfo().getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
-            uriBuilder.queryParam("username", username);
-        } else {
-            uriBuilder.path(username).build();
-        }
-        return delete(uriBuilder.build());
+        return serverInfoResolver.getServerInfo().flatMap(serverInfo -> {
+            final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
+            if (serverInfo.getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
+                uriBuilder.queryParam("username", username);
+            } else {
+                uriBuilder.path(username).build();
+            }
+            return delete(uriBuilder.build());
+        });
     }
 
     @Override
     public Promise<Void> linkIssue(final LinkIssuesInput linkIssuesInput) {
         final URI uri = UriBuilder.fromUri(baseUri).path("issueLink").build();
-        return post(uri, linkIssuesInput, new LinkIssuesInputGenerator(getVersionInfo()));
+        return serverInfoResolver.getServerInfo()
+                .flatMap(serverInfo -> post(uri, linkIssuesInput, new LinkIssuesInputGenerator(serverInfo)));
     }
 
     @Override
@@ -393,14 +515,81 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
         return postAttachments(attachmentsUri, entityBuilder);
     }
 
+    @Override
+    public Promise<AttachmentUploadResult> uploadAttachment(final FileAttachmentInput upload,
+                                                            final AttachmentUploadOptions options) {
+        final MultipartFileEntity entity;
+        try {
+            entity = new MultipartFileEntity(upload, options);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return Promises.rejected(new RestClientException(e));
+        }
+        final ResponsePromise responsePromise = send(() -> client()
+                .newRequest(upload.getAttachmentsUri())
+                .setEntity(entity)
+                .setHeader("X-Atlassian-Token", "nocheck")
+                .post());
+        return callAndParse(responsePromise, attachmentsParser).map(attachments -> {
+            final AttachmentUploadResult result = new AttachmentUploadResult(upload.getFile(), entity.getSentSize(),
+                    entity.getChecksum(), attachments);
+            if (options.listener != null) {
+                options.listener.uploaded(upload, result);
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public Promise<List<AttachmentUploadResult>> uploadAttachments(final List<FileAttachmentInput> uploads,
+                                                                   final AttachmentUploadOptions options) {
+        // queued rather than sent at once, so that only the files being sent are open; the limit is that of this
+        // call, as its options are, while all the calls share the limits of requests in flight of the client
+        final InFlightLimiter limiter = new InFlightLimiter("attachment uploads", options.parallelism,
+                ConcurrencyLimitOptions.builder()
+                        .withOverflowPolicy(ConcurrencyLimitOptions.OverflowPolicy.QUEUE)
+                        .withMaxQueueSize(Math.max(1, uploads.size()))
+                        .build());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Promise<AttachmentUploadResult>> results = new ArrayList<>(uploads.size());
+        for (final FileAttachmentInput upload : uploads) {
+            final Promise<AttachmentUploadResult> result = InFlightLimiter.run(limiter, null, () -> failure.get() != null
+                    ? Promises.<AttachmentUploadResult>rejected(new RestClientException("Upload of " + upload.getFile()
+                    + " given up after another upload failed", failure.get()))
+                    : uploadAttachment(upload, options));
+            result.fail(e -> failure.compareAndSet(null, e));
+            results.add(result);
+        }
+        return Promises.when(results);
+    }
+
     @Override
     public Promise<Void> addComment(final URI commentsUri, final Comment comment) {
-        return post(commentsUri, comment, new CommentJsonGenerator(getVersionInfo()));
+        return serverInfoResolver.getServerInfo()
+                .flatMap(serverInfo -> post(commentsUri, comment, new CommentJsonGenerator(serverInfo)));
     }
 
     @Override
     public Promise<InputStream> getAttachment(URI attachmentUri) {
-        return callAndParse(client().newRequest(attachmentUri).get(), Message::getEntityStream);
+        return callAndParse(send(() -> client().newRequest(attachmentUri).get()), Message::getEntityStream);
+    }
+
+    @Override
+    public Promise<Long> downloadAttachment(final Attachment attachment, final Path target,
+                                            final AttachmentDownloadOptions options) {
+        return AttachmentDownloader.toFile((first, last) -> getAttachmentRange(attachment.getContentUri(), first, last),
+                attachment, target, options);
+    }
+
+    @Override
+    public Promise<Long> downloadAttachment(final Attachment attachment, final WritableByteChannel target,
+                                            final AttachmentDownloadOptions options) {
+        return AttachmentDownloader.toChannel((first, last) -> getAttachmentRange(attachment.getContentUri(), first, last),
+                attachment, target, options);
+    }
+
+    private Promise<AttachmentDownloader.Segment> getAttachmentRange(final URI attachmentUri, final long first, final long last) {
+        return callAndHandle(send(() -> client().newRequest(attachmentUri).setHeader("Range", "bytes=" + first + "-" + last).get()),
+                AttachmentDownloader.Segment::of);
     }
 
     @Override
@@ -430,15 +619,11 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
     }
 
     private Promise<Void> postAttachments(final URI attachmentsUri, final MultipartEntityBuilder multipartEntityBuilder) {
-        final ResponsePromise responsePromise = client()
+        final ResponsePromise responsePromise = send(() -> client()
                 .newRequest(attachmentsUri)
                 .setEntity(new MultiPartEntityBuilder(multipartEntityBuilder.build()))
                 .setHeader("X-Atlassian-Token", "nocheck")
-                .post();
+                .post());
         return call(responsePromise);
     }
-
-    private String getLoggedUsername() {
-        return sessionRestClient.getCurrentSession().claim().getUsername();
-    }
 }
@@ -17,18 +17,24 @@ package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.AuditRestClient;
 import com.atlassian.jira.rest.client.api.ComponentRestClient;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitStatistics;
 import com.atlassian.jira.rest.client.api.GroupRestClient;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
 import com.atlassian.jira.rest.client.api.MetadataRestClient;
 import com.atlassian.jira.rest.client.api.MyPermissionsRestClient;
+import com.atlassian.jira.rest.client.api.ProjectReferenceDataCache;
+import com.atlassian.jira.rest.client.api.ProjectReferenceDataCacheOptions;
 import com.atlassian.jira.rest.client.api.ProjectRestClient;
 import com.atlassian.jira.rest.client.api.ProjectRolesRestClient;
+import com.atlassian.jira.rest.client.api.RequestCoalescingStatistics;
 import com.atlassian.jira.rest.client.api.SearchRestClient;
 import com.atlassian.jira.rest.client.api.SessionRestClient;
 import com.atlassian.jira.rest.client.api.UserRestClient;
 import com.atlassian.jira.rest.client.api.VersionRestClient;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.net.URI;
@@ -53,20 +59,40 @@ public class AsynchronousJiraRestClient implements JiraRestClient {
     private final MyPermissionsRestClient myPermissionsRestClient;
     private final DisposableHttpClient httpClient;
     private final AuditRestClient auditRestClient;
+    private final AsynchronousProjectReferenceDataCache projectReferenceDataCache;
 
     public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient) {
+        this(serverUri, httpClient, JiraRestClientOptions.defaults());
+    }
+
+    public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient, final JiraRestClientOptions options) {
         final URI baseUri = UriBuilder.fromUri(serverUri).path("/rest/api/latest").build();
 
         this.httpClient = httpClient;
-        metadataRestClient = new AsynchronousMetadataRestClient(baseUri, httpClient);
+        final MetadataRestClient asynchronousMetadataRestClient = new AsynchronousMetadataRestClient(baseUri, httpClient);
+        metadataRestClient = options.getMetadataCacheOptions() != null
+                ? new CachingMetadataRestClientDecorator(asynchronousMetadataRestClient, options.getMetadataCacheOptions())
+                : asynchronousMetadataRestClient;
         sessionRestClient = new AsynchronousSessionRestClient(serverUri, httpClient);
-        issueRestClient = new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, metadataRestClient);
+        final ServerInfoResolver serverInfoResolver = new ServerInfoResolver(metadataRestClient);
+        issueRestClient = new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, serverInfoResolver);
         userRestClient = new AsynchronousUserRestClient(baseUri, httpClient);
         groupRestClient  = new AsynchronousGroupRestClient(baseUri, httpClient);
         projectRestClient = new AsynchronousProjectRestClient(baseUri, httpClient);
-        componentRestClient = new AsynchronousComponentRestClient(baseUri, httpClient);
         searchRestClient = new AsynchronousSearchRestClient(baseUri, httpClient);
-        versionRestClient = new AsynchronousVersionRestClient(baseUri, httpClient);
+        final ProjectReferenceDataCacheOptions referenceDataCacheOptions = options.getProjectReferenceDataCacheOptions();
+        if (referenceDataCacheOptions != null) {
+            projectReferenceDataCache = new AsynchronousProjectReferenceDataCache(projectRestClient, referenceDataCacheOptions);
+            componentRestClient = new InvalidatingComponentRestClientDecorator(
+                    new AsynchronousComponentRestClient(baseUri, httpClient), projectReferenceDataCache);
+            versionRestClient = new InvalidatingVersionRestClientDecorator(
+                    new AsynchronousVersionRestClient(baseUri, httpClient), projectReferenceDataCache);
+            projectReferenceDataCache.warmUp(referenceDataCacheOptions.getWarmUpProjectKeys());
+        } else {
+            projectReferenceDataCache = null;
+            componentRestClient = new AsynchronousComponentRestClient(baseUri, httpClient);
+            versionRestClient = new AsynchronousVersionRestClient(baseUri, httpClient);
+        }
         projectRolesRestClient = new AsynchronousProjectRolesRestClient(serverUri, httpClient);
         myPermissionsRestClient = new AsynchronousMyPermissionsRestClient(baseUri, httpClient);
         auditRestClient = new AsynchronousAuditRestClient(httpClient, baseUri);
@@ -132,6 +158,37 @@ public class AsynchronousJiraRestClient implements JiraRestClient {
         return auditRestClient;
     }
 
+    /**
+     * @return cache of the versions, components and roles of projects, or <code>null</code> when they are not cached
+     * @see JiraRestClientOptions.Builder#withProjectReferenceDataCache(ProjectReferenceDataCacheOptions)
+     */
+    @Nullable
+    public ProjectReferenceDataCache getProjectReferenceDataCache() {
+        return projectReferenceDataCache;
+    }
+
+    /**
+     * @return counters of coalesced GET requests, or <code>null</code> when requests are not coalesced
+     * @see JiraRestClientOptions.Builder#withRequestCoalescing(boolean)
+     */
+    @Nullable
+    public RequestCoalescingStatistics getRequestCoalescingStatistics() {
+        return httpClient instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) httpClient).getRequestCoalescer() : null;
+    }
+
+    /**
+     * @return state of the limit of requests in flight shared by all sub-clients, or <code>null</code> when there is
+     * no such limit; limits of single sub-clients are available from
+     * {@link AbstractAsynchronousRestClient#getConcurrencyLimitStatistics()}
+     * @see JiraRestClientOptions.Builder#withConcurrencyLimit(com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions)
+     */
+    @Nullable
+    public ConcurrencyLimitStatistics getConcurrencyLimitStatistics() {
+        return httpClient instanceof AtlassianHttpClientDecorator
+                ? ((AtlassianHttpClientDecorator) httpClient).getInFlightLimiter() : null;
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -19,6 +19,7 @@ import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
 import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
 
 import java.net.URI;
@@ -32,9 +33,14 @@ public class AsynchronousJiraRestClientFactory implements JiraRestClientFactory
 
     @Override
     public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+        return create(serverUri, authenticationHandler, JiraRestClientOptions.defaults());
+    }
+
+    @Override
+    public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler, final JiraRestClientOptions options) {
         final DisposableHttpClient httpClient = new AsynchronousHttpClientFactory()
-                .createClient(serverUri, authenticationHandler);
-        return new AsynchronousJiraRestClient(serverUri, httpClient);
+                .createClient(serverUri, authenticationHandler, options);
+        return new AsynchronousJiraRestClient(serverUri, httpClient, options);
     }
 
     @Override
@@ -0,0 +1,184 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ProjectReferenceDataCache;
+import com.atlassian.jira.rest.client.api.ProjectReferenceDataCacheOptions;
+import com.atlassian.jira.rest.client.api.ProjectRestClient;
+import com.atlassian.jira.rest.client.api.domain.BasicComponent;
+import com.atlassian.jira.rest.client.api.domain.BasicProject;
+import com.atlassian.jira.rest.client.api.domain.Project;
+import com.atlassian.jira.rest.client.api.domain.ProjectReferenceData;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the versions, components and roles of projects as promises, so a request which misses the cache while
+ * the same project is already being fetched joins the call in progress. Promises which fail are removed from
+ * the cache. A single request for the project returns all of them, parsed once per refresh rather than for every
+ * {@link ProjectRestClient#getProject(String)}.
+ * <p>
+ * Entries are refreshed on access: reading an entry older than the refresh interval starts its refresh, entries
+ * which are not read are not refreshed. A refresh keeps returning the old entry until the new one is fetched,
+ * and keeps it when the refresh fails.
+ * <p>
+ * Projects are cached under the key or id they are requested by. Invalidating a project drops it under all of them.
+ *
+ * @since v5.2
+ */
+public class AsynchronousProjectReferenceDataCache implements ProjectReferenceDataCache {
+
+    private final ProjectRestClient projectRestClient;
+    private final LoadingCache<String, Promise<ProjectReferenceData>> cache;
+    // versions and components of the cached projects, to find the project a change applies to
+    private final ConcurrentMap<URI, String> projectKeysBySelf = new ConcurrentHashMap<>();
+    // keys the cached projects were requested by, e.g. their id, by the key of the project
+    private final ConcurrentMap<String, String> projectKeysByRequestedKey = new ConcurrentHashMap<>();
+
+    public AsynchronousProjectReferenceDataCache(final ProjectRestClient projectRestClient,
+                                                 final ProjectReferenceDataCacheOptions options) {
+        this(projectRestClient, options, Ticker.systemTicker());
+    }
+
+    AsynchronousProjectReferenceDataCache(final ProjectRestClient projectRestClient,
+                                          final ProjectReferenceDataCacheOptions options, final Ticker ticker) {
+        this.projectRestClient = projectRestClient;
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterWrite(options.getTimeToLiveMillis(), TimeUnit.MILLISECONDS)
+                .maximumSize(options.getMaximumSize())
+                .ticker(ticker)
+                .recordStats();
+        if (options.getRefreshIntervalMillis() != null) {
+            builder.refreshAfterWrite(options.getRefreshIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        this.cache = builder.build(new CacheLoader<String, Promise<ProjectReferenceData>>() {
+            @Override
+            public Promise<ProjectReferenceData> load(final String projectKey) {
+                return fetch(projectKey);
+            }
+
+            @Override
+            public ListenableFuture<Promise<ProjectReferenceData>> reload(final String projectKey,
+                                                                          final Promise<ProjectReferenceData> oldValue) {
+                // completes once the project is fetched, the old entry is returned meanwhile
+                final SettableFuture<Promise<ProjectReferenceData>> future = SettableFuture.create();
+                fetch(projectKey)
+                        .done(referenceData -> future.set(Promises.promise(referenceData)))
+                        .fail(future::setException);
+                return future;
+            }
+        });
+    }
+
+    @Override
+    public Promise<ProjectReferenceData> getReferenceData(final String projectKey) {
+        final Promise<ProjectReferenceData> promise;
+        try {
+            promise = cache.getUnchecked(projectKey);
+        } catch (UncheckedExecutionException e) {
+            // the loader only creates the promise, failures of the call itself are reported by the promise
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        // once cached, as a promise failed already would be removed before being put
+        promise.fail(e -> cache.asMap().remove(projectKey, promise));
+        return promise;
+    }
+
+    @Override
+    public Promise<Iterable<ProjectReferenceData>> warmUp(final Iterable<String> projectKeys) {
+        final List<Promise<ProjectReferenceData>> promises = new ArrayList<>();
+        for (String projectKey : projectKeys) {
+            promises.add(getReferenceData(projectKey));
+        }
+        return Promises.when(promises).map(ImmutableList::copyOf);
+    }
+
+    /**
+     * Drops the project under every key or id it was requested by. Projects being fetched may be requested by keys
+     * which are not known yet, so they are dropped too.
+     */
+    @Override
+    public void invalidate(final String projectKey) {
+        final String knownKey = projectKeysByRequestedKey.get(projectKey);
+        // project keys are upper case, but requested in any case
+        final String key = knownKey != null ? knownKey : projectKey.toUpperCase(Locale.ENGLISH);
+        cache.invalidate(projectKey);
+        cache.invalidate(key);
+        projectKeysByRequestedKey.entrySet().removeIf(entry -> {
+            if (entry.getValue().equals(key)) {
+                cache.invalidate(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        cache.asMap().values().removeIf(promise -> !promise.isDone());
+        projectKeysBySelf.values().removeIf(key::equals);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+        projectKeysBySelf.clear();
+        projectKeysByRequestedKey.clear();
+    }
+
+    /**
+     * Drops the project of given version or component. When it is not known, no cached project holds it,
+     * only projects being fetched may, so they are dropped instead.
+     *
+     * @param self URI of the version or component
+     */
+    void invalidateProjectOf(final URI self) {
+        final String projectKey = projectKeysBySelf.get(self);
+        if (projectKey != null) {
+            invalidate(projectKey);
+        } else {
+            cache.asMap().values().removeIf(promise -> !promise.isDone());
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    private Promise<ProjectReferenceData> fetch(final String projectKey) {
+        return projectRestClient.getProject(projectKey).map(project -> toReferenceData(projectKey, project));
+    }
+
+    private ProjectReferenceData toReferenceData(final String requestedKey, final Project project) {
+        projectKeysByRequestedKey.put(requestedKey, project.getKey());
+        final Iterable<Version> versions = project.getVersions() != null ? project.getVersions() : ImmutableList.of();
+        final Iterable<BasicComponent> components = project.getComponents() != null
+                ? project.getComponents() : ImmutableList.of();
+        for (Version version : versions) {
+            projectKeysBySelf.put(version.getSelf(), project.getKey());
+        }
+        for (BasicComponent component : components) {
+            projectKeysBySelf.put(component.getSelf(), project.getKey());
+        }
+        // without the rest of the project, which is not kept
+        return new ProjectReferenceData(new BasicProject(project.getSelf(), project.getKey(), project.getId(), project.getName()),
+                versions, components, project.getProjectRoles() != null ? project.getProjectRoles() : ImmutableList.of());
+    }
+}
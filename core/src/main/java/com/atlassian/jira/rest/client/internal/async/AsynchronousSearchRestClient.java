@@ -19,14 +19,17 @@ import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.SearchScanOptions;
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.internal.json.FilterJsonParser;
 import com.atlassian.jira.rest.client.internal.json.GenericJsonArrayParser;
-import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonStreamParser;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import io.atlassian.util.concurrent.Promise;
 import org.apache.commons.lang3.StringUtils;
@@ -37,6 +40,10 @@ import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.NAMES;
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.SCHEMA;
@@ -64,8 +71,9 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
     private static final String SEARCH_URI_PREFIX = "search";
     private static final String EXPAND_ATTRIBUTE = "expand";
     private static final String FIELDS_ATTRIBUTE = "fields";
+    private static final int DEFAULT_PREFETCH_DEPTH = 1;
 
-    private final SearchResultJsonParser searchResultJsonParser = new SearchResultJsonParser();
+    private final SearchResultJsonStreamParser searchResultJsonParser = new SearchResultJsonStreamParser();
     private final FilterJsonParser filterJsonParser = new FilterJsonParser();
     private final GenericJsonArrayParser<Filter> filtersParser = GenericJsonArrayParser.create(new FilterJsonParser());
 
@@ -95,6 +103,25 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
         }
     }
 
+    @Override
+    public Stream<Issue> searchJqlAll(@Nullable String jql) {
+        return searchJqlAll(jql, null, DEFAULT_PREFETCH_DEPTH, null);
+    }
+
+    @Override
+    public Stream<Issue> searchJqlAll(@Nullable String jql, @Nullable Integer pageSize, int prefetchDepth, @Nullable Set<String> fields) {
+        final PagingSearchIterator iterator = new PagingSearchIterator(this, jql, pageSize, prefetchDepth, fields);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public Stream<Issue> scanJql(@Nullable String jql, SearchScanOptions options) {
+        final PartitionedSearchScanner scanner = new PartitionedSearchScanner(this, jql, options);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(scanner, Spliterator.NONNULL), false)
+                .onClose(scanner::close);
+    }
+
     private Promise<SearchResult> searchJqlImplGet(@Nullable Integer maxResults, @Nullable Integer startAt, Iterable<String> expandosValues, String jql, @Nullable Set<String> fields) {
         final UriBuilder uriBuilder = UriBuilder.fromUri(searchUri)
                 .queryParam(JQL_ATTRIBUTE, jql)
@@ -106,7 +133,7 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
         addOptionalQueryParam(uriBuilder, MAX_RESULTS_ATTRIBUTE, maxResults);
         addOptionalQueryParam(uriBuilder, START_AT_ATTRIBUTE, startAt);
 
-        return getAndParse(uriBuilder.build(), searchResultJsonParser);
+        return getAndParse(uriBuilder.build(), searchResultParser(fields));
     }
 
     private void addOptionalQueryParam(final UriBuilder uriBuilder, final String key, final Object... values) {
@@ -130,7 +157,11 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
         } catch (JSONException e) {
             throw new RestClientException(e);
         }
-        return postAndParse(searchUri, postEntity, searchResultJsonParser);
+        return postAndParse(searchUri, postEntity, searchResultParser(fields));
+    }
+
+    private SearchResultJsonStreamParser searchResultParser(@Nullable final Set<String> fields) {
+        return fields == null ? searchResultJsonParser : new SearchResultJsonStreamParser(ImmutableSet.copyOf(fields));
     }
 
     @Override
@@ -18,9 +18,13 @@ package com.atlassian.jira.rest.client.internal.async;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.SessionRestClient;
+import com.atlassian.jira.rest.client.api.domain.Authentication;
 import com.atlassian.jira.rest.client.api.domain.Session;
+import com.atlassian.jira.rest.client.internal.json.AuthenticationJsonParser;
 import com.atlassian.jira.rest.client.internal.json.SessionJsonParser;
 import io.atlassian.util.concurrent.Promise;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
 
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
@@ -33,6 +37,7 @@ import java.net.URI;
 public class AsynchronousSessionRestClient extends AbstractAsynchronousRestClient implements SessionRestClient {
 
     private final SessionJsonParser sessionJsonParser = new SessionJsonParser();
+    private final AuthenticationJsonParser authenticationJsonParser = new AuthenticationJsonParser();
     private final URI serverUri;
 
     public AsynchronousSessionRestClient(final URI serverUri, final HttpClient client) {
@@ -45,4 +50,15 @@ public class AsynchronousSessionRestClient extends AbstractAsynchronousRestClien
         return getAndParse(UriBuilder.fromUri(serverUri).path("rest/auth/latest/session").build(), sessionJsonParser);
     }
 
+    @Override
+    public Promise<Authentication> login(final String username, final String password) throws RestClientException {
+        final JSONObject credentials;
+        try {
+            credentials = new JSONObject().put("username", username).put("password", password);
+        } catch (JSONException e) {
+            throw new RestClientException(e);
+        }
+        return postAndParse(UriBuilder.fromUri(serverUri).path("rest/auth/latest/session").build(), credentials, authenticationJsonParser);
+    }
+
 }
@@ -3,11 +3,22 @@ package com.atlassian.jira.rest.client.internal.async;
 import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
 import com.atlassian.httpclient.api.ResponseTransformation;
+import com.atlassian.httpclient.api.ResponsePromises;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.ClientMetrics;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.ThrottlePolicy;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
 
+import javax.annotation.Nullable;
 import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -15,16 +26,115 @@ import java.util.regex.Pattern;
  */
 public abstract class AtlassianHttpClientDecorator implements DisposableHttpClient {
 
+    private static final String CONTENT_LENGTH = "Content-Length";
+
     private final HttpClient httpClient;
     private final AuthenticationHandler authenticationHandler;
+    private final HttpResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ThrottlePolicy throttlePolicy;
+    private final ConcurrencyLimitOptions concurrencyLimitOptions;
+    private final InFlightLimiter inFlightLimiter;
+    private final ClientMetrics clientMetrics;
+    private final Delays delays;
 
     public AtlassianHttpClientDecorator(HttpClient httpClient, AuthenticationHandler authenticationHandler) {
+        this(httpClient, authenticationHandler, JiraRestClientOptions.defaults());
+    }
+
+    AtlassianHttpClientDecorator(HttpClient httpClient, AuthenticationHandler authenticationHandler,
+                                 JiraRestClientOptions options) {
+        this(httpClient, authenticationHandler, options, Delays.SCHEDULED);
+    }
+
+    /**
+     * @param delays waits before retrying requests and for the permits of the throttle policy,
+     *               {@link Delays#BLOCKING} when the given client sends requests on the calling thread
+     */
+    AtlassianHttpClientDecorator(HttpClient httpClient, AuthenticationHandler authenticationHandler,
+                                 JiraRestClientOptions options, Delays delays) {
         this.httpClient = httpClient;
         this.authenticationHandler = authenticationHandler;
+        this.responseCache = options.getHttpCacheOptions() != null
+                ? new HttpResponseCache(options.getHttpCacheOptions()) : null;
+        this.requestCoalescer = options.isRequestCoalescing() ? new RequestCoalescer() : null;
+        this.throttlePolicy = options.getThrottlePolicy();
+        this.concurrencyLimitOptions = options.getConcurrencyLimitOptions();
+        this.inFlightLimiter = concurrencyLimitOptions != null && concurrencyLimitOptions.getMaxInFlight() != null
+                ? new InFlightLimiter("Jira", concurrencyLimitOptions.getMaxInFlight(), concurrencyLimitOptions) : null;
+        this.clientMetrics = options.getClientMetrics();
+        this.delays = delays;
     }
 
     public void flushCacheByUriPattern(Pattern urlPattern) {
         httpClient.flushCacheByUriPattern(urlPattern);
+        if (responseCache != null) {
+            responseCache.invalidate(urlPattern);
+        }
+    }
+
+    boolean isResponseCacheEnabled() {
+        return responseCache != null;
+    }
+
+    /**
+     * @return coalescer of the GET requests of all the clients sharing this HTTP client, or <code>null</code>
+     * when requests are not coalesced
+     */
+    @Nullable
+    RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * @return limits of requests in flight of the clients sharing this HTTP client, or <code>null</code> when not limited
+     */
+    @Nullable
+    ConcurrencyLimitOptions getConcurrencyLimitOptions() {
+        return concurrencyLimitOptions;
+    }
+
+    /**
+     * @return limit of requests in flight shared by all the clients using this HTTP client, or <code>null</code>
+     * when there is no global limit
+     */
+    @Nullable
+    InFlightLimiter getInFlightLimiter() {
+        return inFlightLimiter;
+    }
+
+    /**
+     * @return listener of the requests sent, or <code>null</code> when they are not measured
+     */
+    @Nullable
+    ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    /**
+     * @return delays of the clients sharing this HTTP client, which block the calling thread when requests are
+     * sent on the calling thread
+     */
+    Delays getDelays() {
+        return delays;
+    }
+
+    /**
+     * Sends a GET request through the response cache, which must be enabled.
+     *
+     * @param parserKey identifies how the response is parsed
+     * @param parse     parses a successful response
+     * @param errors    handles any other response
+     */
+    <T> Promise<T> getCached(URI uri, String accept, Object parserKey, Function<Response, T> parse,
+                             Function<Response, T> errors) {
+        final AuthenticatedRequestBuilder builder = new AuthenticatedRequestBuilder();
+        builder.setUri(uri);
+        builder.setAccept(accept);
+        builder.setMethod(Request.Method.GET);
+        // responses are cached by identity, so the request is authenticated before looking it up
+        return builder.authenticate().flatMap(credentials -> responseCache.get(builder, parserKey,
+                () -> builder.send(Request.Method.GET, Promises.promise(credentials)), parse, errors));
     }
 
     public Request.Builder newRequest() {
@@ -76,11 +186,112 @@ public abstract class AtlassianHttpClientDecorator implements DisposableHttpClie
 
         @Override
         public ResponsePromise execute(Request.Method method) {
-            if (authenticationHandler != null) {
-                this.setMethod(method);
-                authenticationHandler.configure(this);
+            this.setMethod(method);
+            if (responseCache != null && method != Request.Method.GET && method != Request.Method.HEAD) {
+                // the request may modify the resource, so its cached representation must not be served any more
+                responseCache.invalidate(build().getUri());
+            }
+            return send(method, authenticate());
+        }
+
+        /**
+         * Authenticates this request, without blocking when the handler must fetch credentials first.
+         *
+         * @return promise of the credentials the request is configured with
+         */
+        Promise<Object> authenticate() {
+            if (authenticationHandler == null) {
+                return Promises.promise(null);
+            }
+            return authenticationHandler.authenticate(this);
+        }
+
+        /**
+         * @param credentials promise of the credentials given by {@link #authenticate()}, sent with the first attempt
+         */
+        ResponsePromise send(Request.Method method, Promise<Object> credentials) {
+            if (throttlePolicy == null) {
+                return ResponsePromises.toResponsePromise(credentials.flatMap(sent -> sendAuthenticated(method, sent, true)));
+            }
+            return ResponsePromises.toResponsePromise(sendThrottled(method, 1, credentials));
+        }
+
+        /**
+         * Sends this request, and once more with renewed credentials when the server rejects those it was sent with.
+         * Requests with an entity are not sent again, see {@link #isRepeatable(Request.Method)}.
+         */
+        private Promise<Response> sendAuthenticated(Request.Method method, Object credentials, boolean mayRetry) {
+            final Promise<Response> responsePromise = sendOnce(method);
+            if (authenticationHandler == null) {
+                return responsePromise;
+            }
+            return responsePromise.flatMap(response -> {
+                if (authenticationHandler.onResponse(credentials, response) && mayRetry && isRepeatable(method)) {
+                    return authenticate().flatMap(renewed -> sendAuthenticated(method, renewed, false));
+                }
+                return Promises.promise(response);
+            });
+        }
+
+        private ResponsePromise sendOnce(Request.Method method) {
+            final long start = System.nanoTime();
+            final ResponsePromise responsePromise = super.execute(method);
+            if (clientMetrics != null) {
+                final String endpoint = EndpointTemplates.of(build().getUri());
+                responsePromise.done(response -> clientMetrics.requestCompleted(method, endpoint,
+                        response.getStatusCode(), System.nanoTime() - start, contentLength(response)));
+                responsePromise.fail(failure -> clientMetrics.requestFailed(method, endpoint, failure,
+                        System.nanoTime() - start));
             }
-            return super.execute(method);
+            return responsePromise;
         }
+
+        /**
+         * @param credentials promise of the credentials of the first attempt, <code>null</code> for the next ones,
+         *                    which are authenticated again as the credentials may have been renewed in the meantime
+         */
+        private Promise<Response> sendThrottled(Request.Method method, int attempt, @Nullable Promise<Object> credentials) {
+            // the policy may grant the permit on another thread, which must not send the request when it is blocking
+            return delays.await(throttlePolicy.acquire(method, attempt)).flatMap(permit -> {
+                final Promise<Response> responsePromise;
+                try {
+                    responsePromise = (credentials != null ? credentials : authenticate())
+                            .flatMap(sent -> sendAuthenticated(method, sent, true));
+                } catch (RuntimeException e) {
+                    permit.onFailure(e);
+                    throw e;
+                }
+                return responsePromise.fold(
+                        failure -> retry(method, attempt, permit.onFailure(failure), Promises.<Response>rejected(failure)),
+                        response -> retry(method, attempt, permit.onResponse(response), Promises.promise(response)))
+                        .flatMap(outcome -> outcome);
+            });
+        }
+
+        private Promise<Response> retry(Request.Method method, int attempt, long delayMillis, Promise<Response> outcome) {
+            if (delayMillis < 0 || !isRepeatable(method)) {
+                return outcome;
+            }
+            return delays.after(delayMillis, TimeUnit.MILLISECONDS).flatMap(ignored -> sendThrottled(method, attempt + 1, null));
+        }
+    }
+
+    private static long contentLength(Response response) {
+        final String contentLength = response.getHeader(CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Requests with an entity are never sent twice, as their entity may be a stream which can be read only once.
+     */
+    private static boolean isRepeatable(Request.Method method) {
+        return method != Request.Method.POST && method != Request.Method.PUT;
     }
 }
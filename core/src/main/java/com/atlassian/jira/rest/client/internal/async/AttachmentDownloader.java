@@ -0,0 +1,444 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.AttachmentDownloadOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads an attachment in segments of at most {@link AttachmentDownloadOptions#segmentSize} bytes, requested
+ * with HTTP Range headers, at most {@link AttachmentDownloadOptions#parallelism} of them at the same time.
+ * The HTTP client holds the whole body of a response in memory, so the segments bound the memory used by
+ * the download, whatever the size of the attachment.
+ * <p>
+ * The first segment tells the size of the attachment, and the other segments are requested once it is known.
+ * A server ignoring ranges answers the first request with the whole content, which is written as it is.
+ * Segments are written under the lock of the downloader: into a file at their position as soon as they are
+ * received, into a channel in order, keeping those received ahead until their turn.
+ *
+ * @since v5.2
+ */
+final class AttachmentDownloader {
+
+    private static final int PARTIAL_CONTENT = 206;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    private final BiFunction<Long, Long, Promise<Segment>> getRange;
+    private final Sink sink;
+    private final String filename;
+    private final long expectedSize;
+    private final AttachmentDownloadOptions options;
+    private final SettablePromise<Long> result = Promises.settablePromise();
+
+    // guarded by this
+    private final TreeMap<Long, Segment> received = new TreeMap<>();
+    private long offset;
+    private long size = -1;
+    private long nextToRequest;
+    private long nextToWrite;
+    private long written;
+    private int inFlight;
+    private boolean sending;
+    private boolean completed;
+
+    /**
+     * @param getRange requests the bytes from the first to the last given position, both included
+     */
+    private AttachmentDownloader(final BiFunction<Long, Long, Promise<Segment>> getRange, final Sink sink,
+                                 final Attachment attachment, final AttachmentDownloadOptions options) {
+        this.getRange = getRange;
+        this.sink = sink;
+        this.filename = attachment.getFilename();
+        // sizes of 2 GB and more do not fit the attachment, whose size is parsed with a saturating cast
+        this.expectedSize = attachment.getSize() >= 0 && attachment.getSize() < Integer.MAX_VALUE ? attachment.getSize() : -1;
+        this.options = options;
+    }
+
+    static Promise<Long> toFile(final BiFunction<Long, Long, Promise<Segment>> getRange, final Attachment attachment,
+                                final Path target, final AttachmentDownloadOptions options) {
+        final FileSink sink;
+        long offset = 0;
+        try {
+            sink = new FileSink(FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+            if (options.resume) {
+                offset = sink.channel.size();
+            } else {
+                sink.channel.truncate(0);
+            }
+        } catch (IOException e) {
+            return Promises.rejected(new RestClientException(e));
+        }
+        return new AttachmentDownloader(getRange, sink, attachment, options).start(offset);
+    }
+
+    static Promise<Long> toChannel(final BiFunction<Long, Long, Promise<Segment>> getRange, final Attachment attachment,
+                                   final WritableByteChannel target, final AttachmentDownloadOptions options) {
+        return new AttachmentDownloader(getRange, new ChannelSink(target), attachment, options).start(0);
+    }
+
+    private Promise<Long> start(final long resumeFrom) {
+        long first = resumeFrom;
+        if (expectedSize >= 0 && first >= expectedSize) {
+            if (first == expectedSize) {
+                complete(first);
+                return result;
+            }
+            // larger than the attachment, this is not a part of it
+            try {
+                sink.restart();
+            } catch (IOException e) {
+                fail(new RestClientException(e));
+                return result;
+            }
+            first = 0;
+        }
+        synchronized (this) {
+            offset = first;
+            nextToRequest = first + options.segmentSize;
+            nextToWrite = first;
+            inFlight = 1;
+        }
+        send(first, first + options.segmentSize - 1);
+        return result;
+    }
+
+    /**
+     * Requests the segments which may be, while there is room for them. Requests may complete on the calling thread,
+     * so a thread already sending picks up the segments made possible by other threads, instead of sending them
+     * recursively.
+     */
+    private void sendNext() {
+        synchronized (this) {
+            if (sending) {
+                return;
+            }
+            sending = true;
+        }
+        while (true) {
+            final List<long[]> toSend = new ArrayList<>();
+            long downloadedSize = -1;
+            synchronized (this) {
+                // segments received ahead of those written are kept in memory, so they count against the limit
+                while (!completed && size >= 0 && nextToRequest < size
+                        && inFlight + received.size() < options.parallelism) {
+                    toSend.add(new long[]{nextToRequest, Math.min(nextToRequest + options.segmentSize, size) - 1});
+                    nextToRequest += options.segmentSize;
+                    inFlight++;
+                }
+                if (toSend.isEmpty()) {
+                    sending = false;
+                    if (!completed && size >= 0 && inFlight == 0 && offset + written == size) {
+                        downloadedSize = size;
+                    }
+                }
+            }
+            if (toSend.isEmpty()) {
+                if (downloadedSize >= 0) {
+                    complete(downloadedSize);
+                }
+                return;
+            }
+            for (long[] range : toSend) {
+                send(range[0], range[1]);
+            }
+        }
+    }
+
+    private void send(final long first, final long last) {
+        final Promise<Segment> response;
+        try {
+            response = getRange.apply(first, last);
+        } catch (RuntimeException e) {
+            onFailure(first, e);
+            return;
+        }
+        response.done(segment -> onSegment(first, last, segment))
+                .fail(error -> onFailure(first, error));
+    }
+
+    private void onSegment(final long first, final long last, final Segment segment) {
+        try {
+            if (!segment.partial) {
+                onWholeContent(first, segment);
+                return;
+            }
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                inFlight--;
+                if (size < 0) {
+                    size = segment.size >= 0 ? segment.size : expectedSize;
+                    if (size < 0) {
+                        throw new RestClientException("Size of attachment " + filename + " is unknown", null);
+                    }
+                }
+                if (segment.first != first || segment.last != Math.min(last, size - 1)) {
+                    throw new RestClientException("Received bytes " + segment.first + "-" + segment.last
+                            + " of attachment " + filename + " instead of " + first + "-" + Math.min(last, size - 1), null);
+                }
+                if (sink.isOrdered()) {
+                    received.put(first, segment);
+                    for (Segment next = received.remove(nextToWrite); next != null; next = received.remove(nextToWrite)) {
+                        write(next);
+                    }
+                } else {
+                    write(segment);
+                }
+            }
+        } catch (IOException e) {
+            fail(new RestClientException(e));
+            return;
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        sendNext();
+    }
+
+    /**
+     * Called when the server ignored the range of the first request, and answered with the whole attachment.
+     */
+    private void onWholeContent(final long first, final Segment segment) throws IOException {
+        final long written;
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            if (first != offset) {
+                throw new RestClientException("Range of bytes " + first + "- of attachment " + filename
+                        + " was ignored by the server", null);
+            }
+            if (offset > 0) {
+                sink.restart();
+            }
+            written = sink.write(0, segment.body);
+        }
+        complete(written);
+    }
+
+    // called holding the lock
+    private void write(final Segment segment) throws IOException {
+        final long length = segment.last - segment.first + 1;
+        final long written = sink.write(segment.first, segment.body);
+        if (written != length) {
+            throw new RestClientException("Received " + written + " bytes of attachment " + filename + " at "
+                    + segment.first + " instead of " + length, null);
+        }
+        nextToWrite = Math.max(nextToWrite, segment.last + 1);
+        this.written += written;
+    }
+
+    private void onFailure(final long first, final Throwable error) {
+        final boolean resumedComplete;
+        synchronized (this) {
+            // nothing is left after the resumed part, when the size of the attachment was not known upfront
+            resumedComplete = first == offset && offset > 0 && size < 0 && error instanceof RestClientException
+                    && ((RestClientException) error).getStatusCode().or(0) == RANGE_NOT_SATISFIABLE;
+        }
+        if (resumedComplete) {
+            complete(first);
+        } else {
+            fail(error);
+        }
+    }
+
+    private void complete(final long downloadedSize) {
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+        }
+        try {
+            if (expectedSize >= 0 && downloadedSize != expectedSize) {
+                throw new RestClientException("Downloaded " + downloadedSize + " bytes of attachment " + filename
+                        + " instead of " + expectedSize, null);
+            }
+            sink.close();
+        } catch (IOException e) {
+            closeAfterFailure();
+            result.exception(new RestClientException(e));
+            return;
+        } catch (RuntimeException e) {
+            closeAfterFailure();
+            result.exception(e);
+            return;
+        }
+        result.set(downloadedSize);
+    }
+
+    private void fail(final Throwable error) {
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            received.clear();
+        }
+        closeAfterFailure();
+        result.exception(error);
+    }
+
+    private void closeAfterFailure() {
+        try {
+            sink.close();
+        } catch (IOException ignored) {
+            // the download failed already
+        }
+    }
+
+    /**
+     * Body of a response to a request for a range of bytes.
+     */
+    static final class Segment {
+        private final boolean partial;
+        private final long first;
+        private final long last;
+        private final long size;
+        private final InputStream body;
+
+        /**
+         * @param partial whether the body holds the range given by the other parameters, or the whole attachment
+         * @param size    size of the whole attachment, -1 when unknown
+         */
+        Segment(final boolean partial, final long first, final long last, final long size, final InputStream body) {
+            this.partial = partial;
+            this.first = first;
+            this.last = last;
+            this.size = size;
+            this.body = body;
+        }
+
+        static Segment of(final Response response) {
+            if (response.getStatusCode() != PARTIAL_CONTENT) {
+                return new Segment(false, 0, -1, -1, response.getEntityStream());
+            }
+            final String contentRange = response.getHeader("Content-Range");
+            final Matcher matcher = CONTENT_RANGE.matcher(contentRange != null ? contentRange.trim() : "");
+            if (!matcher.matches()) {
+                throw new RestClientException("Unexpected Content-Range of partial content: " + contentRange, null);
+            }
+            return new Segment(true, Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)),
+                    "*".equals(matcher.group(3)) ? -1 : Long.parseLong(matcher.group(3)), response.getEntityStream());
+        }
+    }
+
+    private interface Sink {
+        /**
+         * @return whether segments must be written in order
+         */
+        boolean isOrdered();
+
+        /**
+         * @return number of bytes written, up to the end of the body
+         */
+        long write(long position, InputStream body) throws IOException;
+
+        /**
+         * Drops the bytes written already, to download the attachment from the start.
+         */
+        void restart() throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private static final class FileSink implements Sink {
+        private final FileChannel channel;
+
+        private FileSink(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return false;
+        }
+
+        @Override
+        public long write(final long position, final InputStream body) throws IOException {
+            final ReadableByteChannel source = Channels.newChannel(body);
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long written = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                // unlike transferFrom, positional writes extend the file, so segments may be written in any order
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+                buffer.clear();
+            }
+            return written;
+        }
+
+        @Override
+        public void restart() throws IOException {
+            channel.truncate(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class ChannelSink implements Sink {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private ChannelSink(final WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return true;
+        }
+
+        @Override
+        public long write(final long position, final InputStream body) throws IOException {
+            final ReadableByteChannel source = Channels.newChannel(body);
+            long written = 0;
+            buffer.clear();
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            return written;
+        }
+
+        @Override
+        public void restart() {
+            // the download into a channel always starts at the first byte, and nothing is written before it
+        }
+
+        @Override
+        public void close() {
+            // the channel belongs to the caller
+        }
+    }
+}
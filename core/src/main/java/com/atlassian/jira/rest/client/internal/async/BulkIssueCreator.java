@@ -0,0 +1,253 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.BulkCreateOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkCreateResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationErrorResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterables;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creates a list of issues of any size with bulk requests of at most {@link BulkCreateOptions#chunkSize} issues,
+ * at most {@link BulkCreateOptions#parallelism} of them at the same time.
+ * <p>
+ * Jira reports the failed elements of a bulk request by their position in it, and lists the created issues in the
+ * order of their inputs, without positions. Results are mapped back to the index of the input in the whole list:
+ * the created issues are those of the positions not reported as failed, in order. Inputs the server refused to
+ * handle, with <i>429 Too Many Requests</i> or <i>503 Service Unavailable</i>, are collected into a new chunk, sent
+ * again after a delay; the others are final. In particular, a request which failed without a response, e.g. on a
+ * timeout, or with another server error, may have created some of its issues, so it is never sent again.
+ *
+ * @since v5.2
+ */
+final class BulkIssueCreator {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final Function<List<IssueInput>, Promise<BulkOperationResult<BasicIssue>>> createIssues;
+    private final List<IssueInput> issues;
+    private final BulkCreateOptions options;
+    private final Delays delays;
+    private final SettablePromise<BulkCreateResult> result = Promises.settablePromise();
+
+    // guarded by this
+    private final Deque<Chunk> waiting = new ArrayDeque<>();
+    private final Map<Integer, BasicIssue> created = new HashMap<>();
+    private final Map<Integer, BulkOperationErrorResult> failed = new HashMap<>();
+    private int inFlight;
+    private int delayedRetries;
+    private boolean sending;
+    private boolean completed;
+
+    BulkIssueCreator(final Function<List<IssueInput>, Promise<BulkOperationResult<BasicIssue>>> createIssues,
+                     final List<IssueInput> issues, final BulkCreateOptions options, final Delays delays) {
+        this.createIssues = createIssues;
+        this.issues = ImmutableList.copyOf(issues);
+        this.options = options;
+        this.delays = delays;
+    }
+
+    Promise<BulkCreateResult> start() {
+        synchronized (this) {
+            for (int from = 0; from < issues.size(); from += options.chunkSize) {
+                final List<Integer> indexes = new ArrayList<>();
+                for (int i = from; i < Math.min(issues.size(), from + options.chunkSize); i++) {
+                    indexes.add(i);
+                }
+                waiting.add(new Chunk(indexes, 1));
+            }
+        }
+        sendWaiting();
+        return result;
+    }
+
+    /**
+     * Sends waiting chunks while there is room for them. Requests may complete on the calling thread, so a thread
+     * already sending picks up the chunks made ready by other threads, instead of sending them recursively.
+     */
+    private void sendWaiting() {
+        synchronized (this) {
+            if (sending) {
+                return;
+            }
+            sending = true;
+        }
+        while (true) {
+            final List<Chunk> toSend = new ArrayList<>();
+            BulkCreateResult completedResult = null;
+            synchronized (this) {
+                while (inFlight < options.parallelism && !waiting.isEmpty()) {
+                    inFlight++;
+                    toSend.add(waiting.poll());
+                }
+                if (toSend.isEmpty()) {
+                    sending = false;
+                    if (inFlight == 0 && delayedRetries == 0 && !completed) {
+                        completedResult = complete();
+                    }
+                }
+            }
+            if (toSend.isEmpty()) {
+                if (completedResult != null) {
+                    result.set(completedResult);
+                }
+                return;
+            }
+            for (Chunk chunk : toSend) {
+                send(chunk);
+            }
+        }
+    }
+
+    private void send(final Chunk chunk) {
+        final List<IssueInput> inputs = new ArrayList<>(chunk.indexes.size());
+        for (Integer index : chunk.indexes) {
+            inputs.add(issues.get(index));
+        }
+        final Promise<BulkOperationResult<BasicIssue>> response;
+        try {
+            response = createIssues.apply(inputs);
+        } catch (RuntimeException e) {
+            onFailure(chunk, e);
+            return;
+        }
+        response.done(bulkResult -> onResult(chunk, bulkResult))
+                .fail(error -> onFailure(chunk, error));
+    }
+
+    private void onResult(final Chunk chunk, final BulkOperationResult<BasicIssue> bulkResult) {
+        final Map<Integer, BulkOperationErrorResult> errorsByPosition = new HashMap<>();
+        for (BulkOperationErrorResult error : bulkResult.getErrors()) {
+            if (error.getFailedElementNumber() != null) {
+                errorsByPosition.put(error.getFailedElementNumber(), error);
+            }
+        }
+        final List<Integer> retries = new ArrayList<>();
+        synchronized (this) {
+            final Iterator<BasicIssue> createdIssues = bulkResult.getIssues().iterator();
+            for (int position = 0; position < chunk.indexes.size(); position++) {
+                final int index = chunk.indexes.get(position);
+                final BulkOperationErrorResult error = errorsByPosition.get(position);
+                if (error == null && createdIssues.hasNext()) {
+                    created.put(index, createdIssues.next());
+                } else if (error == null) {
+                    // not retried, as it may have been created
+                    failed.put(index, new BulkOperationErrorResult(
+                            new ErrorCollection("No result was returned for this issue"), index));
+                } else if (isTransient(error.getElementErrors().getStatus()) && chunk.attempt < options.maxAttempts) {
+                    retries.add(index);
+                } else {
+                    failed.put(index, new BulkOperationErrorResult(error.getElementErrors(), index));
+                }
+            }
+        }
+        onChunkCompleted(chunk, retries);
+    }
+
+    private void onFailure(final Chunk chunk, final Throwable error) {
+        final List<ErrorCollection> errors = toErrorCollections(chunk, error);
+        // failures of the client itself, rather than of the request, are not retried
+        final boolean requestFailed = error instanceof RestClientException;
+        final List<Integer> retries = new ArrayList<>();
+        synchronized (this) {
+            for (int position = 0; position < chunk.indexes.size(); position++) {
+                final int index = chunk.indexes.get(position);
+                final ErrorCollection elementErrors = errors.get(position);
+                if (requestFailed && isTransient(elementErrors.getStatus()) && chunk.attempt < options.maxAttempts) {
+                    retries.add(index);
+                } else {
+                    failed.put(index, new BulkOperationErrorResult(elementErrors, index));
+                }
+            }
+        }
+        onChunkCompleted(chunk, retries);
+    }
+
+    private void onChunkCompleted(final Chunk chunk, final List<Integer> retries) {
+        synchronized (this) {
+            inFlight--;
+            if (!retries.isEmpty()) {
+                delayedRetries++;
+            }
+        }
+        if (!retries.isEmpty()) {
+            final long delay = options.retryDelayMillis << Math.min(chunk.attempt - 1, 20);
+            delays.after(delay, TimeUnit.MILLISECONDS).done(ignored -> {
+                synchronized (this) {
+                    delayedRetries--;
+                    waiting.addFirst(new Chunk(retries, chunk.attempt + 1));
+                }
+                sendWaiting();
+            });
+        }
+        sendWaiting();
+    }
+
+    /**
+     * When all the elements of the chunk failed, Jira answers with an error listing the errors of all of them,
+     * in order. Any other failure applies to the whole chunk.
+     */
+    private static List<ErrorCollection> toErrorCollections(final Chunk chunk, final Throwable error) {
+        if (error instanceof RestClientException) {
+            final RestClientException restClientException = (RestClientException) error;
+            final Collection<ErrorCollection> errorCollections = restClientException.getErrorCollections();
+            if (errorCollections.size() == chunk.indexes.size()) {
+                return ImmutableList.copyOf(errorCollections);
+            }
+            final ErrorCollection first = Iterables.getFirst(errorCollections, null);
+            final ErrorCollection errorCollection = first != null && first.getStatus() != null
+                    ? first
+                    : new ErrorCollection(restClientException.getStatusCode().orNull(),
+                    Collections.singletonList(String.valueOf(error.getMessage())), Collections.emptyMap());
+            return Collections.nCopies(chunk.indexes.size(), errorCollection);
+        }
+        return Collections.nCopies(chunk.indexes.size(), new ErrorCollection(String.valueOf(error)));
+    }
+
+    /**
+     * @param status of the request, <code>null</code> when there was no response
+     * @return whether the server did not handle the request, so that sending it again cannot create issues twice
+     */
+    private static boolean isTransient(@Nullable final Integer status) {
+        return status != null && (status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE);
+    }
+
+    private BulkCreateResult complete() {
+        completed = true;
+        return new BulkCreateResult(ImmutableSortedMap.copyOf(new TreeMap<>(created)),
+                ImmutableSortedMap.copyOf(new TreeMap<>(failed)));
+    }
+
+    private static final class Chunk {
+        private final List<Integer> indexes;
+        private final int attempt;
+
+        private Chunk(final List<Integer> indexes, final int attempt) {
+            this.indexes = indexes;
+            this.attempt = attempt;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.CachingMetadataRestClient;
+import com.atlassian.jira.rest.client.api.MetadataCacheOptions;
+import com.atlassian.jira.rest.client.api.MetadataCacheOptions.Resource;
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.atlassian.util.concurrent.Promise;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches results of a {@link MetadataRestClient} as promises, so a request which misses the cache while the same
+ * metadata is already being fetched joins the call in progress. Promises which fail are removed from the cache.
+ *
+ * @since v5.2
+ */
+public class CachingMetadataRestClientDecorator implements CachingMetadataRestClient {
+
+    private final MetadataRestClient delegate;
+    private final Map<Resource, Cache<Object, Promise<?>>> caches = new EnumMap<>(Resource.class);
+
+    public CachingMetadataRestClientDecorator(final MetadataRestClient delegate, final MetadataCacheOptions options) {
+        this(delegate, options, Ticker.systemTicker());
+    }
+
+    CachingMetadataRestClientDecorator(final MetadataRestClient delegate, final MetadataCacheOptions options, final Ticker ticker) {
+        this.delegate = delegate;
+        for (Resource resource : Resource.values()) {
+            caches.put(resource, CacheBuilder.newBuilder()
+                    .expireAfterWrite(options.getTimeToLiveMillis(resource), TimeUnit.MILLISECONDS)
+                    .maximumSize(resource == Resource.BY_URI ? options.getMaximumSize() : 1)
+                    .ticker(ticker)
+                    .recordStats()
+                    .build());
+        }
+    }
+
+    @Override
+    public Promise<IssueType> getIssueType(final URI uri) {
+        return cached(Resource.BY_URI, uri, () -> delegate.getIssueType(uri));
+    }
+
+    @Override
+    public Promise<Iterable<IssueType>> getIssueTypes() {
+        return cached(Resource.ISSUE_TYPES, Resource.ISSUE_TYPES, delegate::getIssueTypes);
+    }
+
+    @Override
+    public Promise<Iterable<IssuelinksType>> getIssueLinkTypes() {
+        return cached(Resource.ISSUE_LINK_TYPES, Resource.ISSUE_LINK_TYPES, delegate::getIssueLinkTypes);
+    }
+
+    @Override
+    public Promise<Status> getStatus(final URI uri) {
+        return cached(Resource.BY_URI, uri, () -> delegate.getStatus(uri));
+    }
+
+    @Override
+    public Promise<Iterable<Status>> getStatuses() {
+        return cached(Resource.STATUSES, Resource.STATUSES, delegate::getStatuses);
+    }
+
+    @Override
+    public Promise<Priority> getPriority(final URI uri) {
+        return cached(Resource.BY_URI, uri, () -> delegate.getPriority(uri));
+    }
+
+    @Override
+    public Promise<Iterable<Priority>> getPriorities() {
+        return cached(Resource.PRIORITIES, Resource.PRIORITIES, delegate::getPriorities);
+    }
+
+    @Override
+    public Promise<Resolution> getResolution(final URI uri) {
+        return cached(Resource.BY_URI, uri, () -> delegate.getResolution(uri));
+    }
+
+    @Override
+    public Promise<Iterable<Resolution>> getResolutions() {
+        return cached(Resource.RESOLUTIONS, Resource.RESOLUTIONS, delegate::getResolutions);
+    }
+
+    @Override
+    public Promise<ServerInfo> getServerInfo() {
+        return cached(Resource.SERVER_INFO, Resource.SERVER_INFO, delegate::getServerInfo);
+    }
+
+    @Override
+    public Promise<Iterable<Field>> getFields() {
+        return cached(Resource.FIELDS, Resource.FIELDS, delegate::getFields);
+    }
+
+    @Override
+    public void invalidate(final Resource resource) {
+        caches.get(resource).invalidateAll();
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Cache<Object, Promise<?>> cache : caches.values()) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    private CacheStats stats() {
+        CacheStats stats = new CacheStats(0, 0, 0, 0, 0, 0);
+        for (Cache<Object, Promise<?>> cache : caches.values()) {
+            stats = stats.plus(cache.stats());
+        }
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Promise<T> cached(final Resource resource, final Object key, final Supplier<Promise<T>> loader) {
+        final Cache<Object, Promise<?>> cache = caches.get(resource);
+        final Promise<T> promise;
+        try {
+            promise = (Promise<T>) cache.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // the loader only creates the promise, failures of the call itself are reported by the promise
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        }
+        promise.fail(e -> cache.asMap().remove(key, promise));
+        return promise;
+    }
+}
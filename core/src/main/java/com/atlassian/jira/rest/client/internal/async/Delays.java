@@ -0,0 +1,77 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promises completed after a delay, for pacing and retrying requests.
+ * <p>
+ * {@link #SCHEDULED} delays block no thread: a single daemon thread completes them, so their continuations must only
+ * send requests asynchronously, which does not block either. Clients sending requests on the calling thread use
+ * {@link #BLOCKING} delays instead, which wait on the calling thread, so that requests sent after a delay are still
+ * sent by the caller and never by the thread of the scheduled delays.
+ *
+ * @since v5.2
+ */
+final class Delays {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "jira-rest-client-delays");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static final Delays SCHEDULED = new Delays(false);
+    static final Delays BLOCKING = new Delays(true);
+
+    private final boolean blocking;
+
+    private Delays(final boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    Promise<Void> after(final long delay, final TimeUnit unit) {
+        if (delay <= 0) {
+            return Promises.promise(null);
+        }
+        if (blocking) {
+            try {
+                unit.sleep(delay);
+                return Promises.promise(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Promises.rejected(e);
+            }
+        }
+        final SettablePromise<Void> promise = Promises.settablePromise();
+        // requests sent after the delay must not block the single thread of the scheduled delays
+        SCHEDULER.schedule(() -> InFlightLimiter.continuing(() -> promise.set(null)), delay, unit);
+        return promise;
+    }
+
+    /**
+     * Waits for the given promise on the calling thread when delays are blocking, so that its continuations run
+     * on the calling thread rather than on the one completing it, e.g. the thread of the scheduled delays.
+     *
+     * @return the given promise when delays are scheduled, otherwise a completed promise of the same outcome
+     */
+    <T> Promise<T> await(final Promise<T> promise) {
+        if (!blocking || promise.isDone()) {
+            return promise;
+        }
+        try {
+            return Promises.promise(promise.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Promises.rejected(e);
+        } catch (ExecutionException e) {
+            return Promises.rejected(e.getCause());
+        }
+    }
+}
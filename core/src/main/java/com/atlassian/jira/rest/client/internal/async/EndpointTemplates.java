@@ -0,0 +1,77 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns request URIs into endpoint templates, e.g. <code>http://jira/rest/api/2/issue/TST-1/transitions?expand=x</code>
+ * into <code>issue/{id}/transitions</code>, so that metrics are not recorded under a name per issue.
+ *
+ * @since v5.2
+ */
+final class EndpointTemplates {
+
+    static final String ID = "{id}";
+
+    /**
+     * Names of the resources the client requests, or finds in links returned by Jira. Anything else may be
+     * an identifier, even in lower case, like an issue key, a user name or a file name.
+     */
+    private static final Set<String> RESOURCES = ImmutableSet.of(
+            "agile", "api", "assignee", "attachment", "attachments", "auditing", "auth", "avatar", "avatars",
+            "board", "bulk", "changelog", "comment", "component", "components", "content", "createmeta",
+            "editmeta", "epic", "favourite", "field", "filter", "group", "groups", "issue", "issueLink",
+            "issueLinkType", "issuetype", "issuetypes", "member", "move", "myself", "mypermissions", "notify",
+            "permissions", "picker", "priority", "project", "properties", "record", "relatedIssueCounts",
+            "remotelink", "resolution", "role", "roles", "search", "secure", "serverInfo", "session", "sprint",
+            "status", "statuses", "thumbnail", "transitions", "unresolvedIssueCount", "user", "version",
+            "versions", "votes", "watchers", "worklog");
+
+    private static final String REST = "/rest/";
+    private static final Pattern VERSION = Pattern.compile("latest|\\d+(\\.\\d+)*");
+
+    private EndpointTemplates() {
+    }
+
+    /**
+     * Segments naming a known resource are kept, any other segment, like an issue or project key, is replaced by
+     * <code>{id}</code>, so that the number of templates is bounded whatever the identifiers. The query is dropped.
+     *
+     * @return template of the endpoint, relative to the REST API root when the URI is a Jira REST resource
+     */
+    static String of(final URI uri) {
+        final String path = uri.getRawPath();
+        if (path == null) {
+            return "";
+        }
+        final int rest = path.indexOf(REST);
+        final String[] segments = (rest >= 0 ? path.substring(rest + REST.length()) : path).split("/");
+        int first = 0;
+        if (rest >= 0 && segments.length > 2 && segments[0].equals("api") && VERSION.matcher(segments[1]).matches()) {
+            // the core REST API, the resource alone is enough
+            first = 2;
+        }
+        final StringBuilder template = new StringBuilder(path.length());
+        for (int i = first; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (template.length() > 0) {
+                template.append('/');
+            }
+            if (RESOURCES.contains(segment)) {
+                template.append(segment);
+            } else if (rest >= 0 && i == 1 && VERSION.matcher(segment).matches()) {
+                // version of a plugin REST API, e.g. auth/1/session
+                template.append(segment);
+            } else {
+                template.append(ID);
+            }
+        }
+        return template.toString();
+    }
+}
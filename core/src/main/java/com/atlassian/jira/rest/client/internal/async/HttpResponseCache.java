@@ -0,0 +1,242 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.HttpCacheOptions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of GET responses and of the values parsed from them, keyed by URI, authenticated identity and parser.
+ * Stale entries are revalidated with their <code>ETag</code> and <code>Last-Modified</code> validators, and a
+ * <code>304 Not Modified</code> answer is served from the parsed value.
+ *
+ * @since v5.2
+ */
+final class HttpResponseCache {
+
+    static final String CACHE_CONTROL = "Cache-Control";
+    static final String ETAG = "ETag";
+    static final String LAST_MODIFIED = "Last-Modified";
+    static final String IF_NONE_MATCH = "If-None-Match";
+    static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private static final int OK = 200;
+    private static final int NOT_MODIFIED = 304;
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String COOKIE = "Cookie";
+
+    private final Cache<Key, Entry> entries;
+    private final Ticker ticker;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    HttpResponseCache(final HttpCacheOptions options) {
+        this(options, Ticker.systemTicker());
+    }
+
+    HttpResponseCache(final HttpCacheOptions options, final Ticker ticker) {
+        this.entries = CacheBuilder.newBuilder().maximumSize(options.getMaximumSize()).build();
+        this.ticker = ticker;
+    }
+
+    /**
+     * @param request   authenticated GET request, configured except for the validators
+     * @param parserKey identifies how the response is parsed, responses parsed differently are cached separately
+     * @param send      sends the request
+     * @param parse     parses a successful response
+     * @param errors    handles any other response
+     * @return value parsed from the response, from the cache when the response is fresh or not modified
+     */
+    @SuppressWarnings("unchecked")
+    <T> Promise<T> get(final Request.Builder request, final Object parserKey,
+                       final Supplier<? extends Promise<Response>> send, final Function<Response, T> parse,
+                       final Function<Response, T> errors) {
+        final Key key = new Key(request.build(), parserKey);
+        final Entry cached = entries.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isFresh(ticker.read())) {
+                hitCount.incrementAndGet();
+                return Promises.promise((T) cached.value);
+            }
+            if (cached.etag != null) {
+                request.setHeader(IF_NONE_MATCH, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                request.setHeader(IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        final long requestTime = ticker.read();
+        return send.get().map(response -> {
+            final int status = response.getStatusCode();
+            if (status == NOT_MODIFIED && cached != null) {
+                revalidationCount.incrementAndGet();
+                store(key, response, cached.etag, cached.lastModified, cached.value, requestTime);
+                return (T) cached.value;
+            }
+            if (status != OK) {
+                return errors.apply(response);
+            }
+            missCount.incrementAndGet();
+            final T value = parse.apply(response);
+            store(key, response, response.getHeader(ETAG), response.getHeader(LAST_MODIFIED), value, requestTime);
+            return value;
+        });
+    }
+
+    /**
+     * Drops the responses of given URI, for all identities, after a request which may have modified it.
+     */
+    void invalidate(final URI uri) {
+        entries.asMap().keySet().removeIf(key -> key.uri.equals(uri));
+    }
+
+    void invalidate(final Pattern uriPattern) {
+        entries.asMap().keySet().removeIf(key -> uriPattern.matcher(key.uri.toString()).matches());
+    }
+
+    /**
+     * @return number of values served without a request
+     */
+    long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of values served after the server answered <code>304 Not Modified</code>
+     */
+    long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * @return number of values parsed from a full response
+     */
+    long getMissCount() {
+        return missCount.get();
+    }
+
+    private void store(final Key key, final Response response, @Nullable final String etag,
+                       @Nullable final String lastModified, final Object value, final long requestTime) {
+        final CacheControl cacheControl = CacheControl.parse(response.getHeader(CACHE_CONTROL));
+        if (cacheControl.noStore || value == null) {
+            entries.invalidate(key);
+            return;
+        }
+        final long maxAgeNanos = cacheControl.noCache ? 0 : TimeUnit.SECONDS.toNanos(cacheControl.maxAgeSeconds);
+        if (etag == null && lastModified == null && maxAgeNanos == 0) {
+            // nothing to revalidate with and never fresh, the entry would never be used
+            entries.invalidate(key);
+            return;
+        }
+        entries.put(key, new Entry(value, etag, lastModified, requestTime + maxAgeNanos));
+    }
+
+    private static final class Key {
+        private final URI uri;
+        private final String identity;
+        private final Object parserKey;
+
+        Key(final Request request, final Object parserKey) {
+            this.uri = request.getUri();
+            this.identity = identity(request.getHeader(AUTHORIZATION), request.getHeader(COOKIE));
+            this.parserKey = parserKey;
+        }
+
+        /**
+         * Credentials are kept only as a digest.
+         */
+        private static String identity(@Nullable final String authorization, @Nullable final String cookie) {
+            if (authorization == null && cookie == null) {
+                return "";
+            }
+            return DigestUtils.sha256Hex(authorization + '\n' + cookie);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return uri.equals(that.uri) && identity.equals(that.identity) && parserKey.equals(that.parserKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return (uri.hashCode() * 31 + identity.hashCode()) * 31 + parserKey.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final String etag;
+        private final String lastModified;
+        private final long freshUntilNanos;
+
+        Entry(final Object value, @Nullable final String etag, @Nullable final String lastModified,
+              final long freshUntilNanos) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshUntilNanos = freshUntilNanos;
+        }
+
+        boolean isFresh(final long nowNanos) {
+            return nowNanos - freshUntilNanos < 0;
+        }
+    }
+
+    static final class CacheControl {
+        private static final CacheControl NONE = new CacheControl(false, false, 0);
+
+        final boolean noStore;
+        final boolean noCache;
+        final long maxAgeSeconds;
+
+        private CacheControl(final boolean noStore, final boolean noCache, final long maxAgeSeconds) {
+            this.noStore = noStore;
+            this.noCache = noCache;
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        static CacheControl parse(@Nullable final String header) {
+            if (header == null) {
+                return NONE;
+            }
+            boolean noStore = false;
+            boolean noCache = false;
+            long maxAge = 0;
+            for (String directive : header.split(",")) {
+                final String trimmed = directive.trim().toLowerCase(Locale.ENGLISH);
+                if (trimmed.equals("no-store")) {
+                    noStore = true;
+                } else if (trimmed.equals("no-cache")) {
+                    noCache = true;
+                } else if (trimmed.startsWith("max-age=")) {
+                    try {
+                        maxAge = Math.max(0, Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", "")));
+                    } catch (NumberFormatException e) {
+                        // an invalid max-age makes the response stale
+                        maxAge = 0;
+                    }
+                }
+            }
+            return new CacheControl(noStore, noCache, maxAge);
+        }
+    }
+}
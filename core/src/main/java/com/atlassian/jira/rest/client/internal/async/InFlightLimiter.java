@@ -0,0 +1,280 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions.OverflowPolicy;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitStatistics;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.google.common.base.Ticker;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limit of the number of requests in flight. A request over the limit is queued, rejected or blocks its caller,
+ * depending on the {@link OverflowPolicy}. Blocking uses a {@link ReentrantLock}, so it does not pin virtual threads.
+ * <p>
+ * Only the thread of the user's call ever blocks. Requests chained in continuations of limited requests, or of
+ * scheduled delays, run on the threads completing them, e.g. the callback threads of the HTTP client, which must
+ * not wait for a slot only they can free: those requests are queued instead.
+ *
+ * @since v5.2
+ */
+final class InFlightLimiter implements ConcurrencyLimitStatistics {
+
+    private static final ThreadLocal<Boolean> CONTINUING = ThreadLocal.withInitial(() -> false);
+
+    private final String name;
+    private final int maxInFlight;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxQueueSize;
+    private final Ticker ticker;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int inFlight;
+    private int blocked;
+    private long waitCount;
+    private long totalWaitTimeNanos;
+    private long maxWaitTimeNanos;
+    private long rejectedCount;
+
+    InFlightLimiter(final String name, final int maxInFlight, final ConcurrencyLimitOptions options) {
+        this(name, maxInFlight, options, Ticker.systemTicker());
+    }
+
+    InFlightLimiter(final String name, final int maxInFlight, final ConcurrencyLimitOptions options, final Ticker ticker) {
+        this.name = name;
+        this.maxInFlight = maxInFlight;
+        this.overflowPolicy = options.getOverflowPolicy();
+        this.maxQueueSize = options.getMaxQueueSize();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Makes a call within the limits, which are held until the promise returned by the call completes.
+     *
+     * @param first  limit acquired first, or <code>null</code>
+     * @param second limit acquired second, or <code>null</code>
+     * @param call   sends a request
+     * @return promise of the call, failed with {@link RestClientException} when a limit rejected it
+     */
+    static <T> Promise<T> run(@Nullable final InFlightLimiter first, @Nullable final InFlightLimiter second,
+                              final Supplier<? extends Promise<T>> call) {
+        if (first == null && second == null) {
+            return call.get();
+        }
+        return acquire(first).flatMap(ignored -> {
+            final Promise<Void> permit = acquire(second);
+            permit.fail(e -> release(first));
+            return permit;
+        }).flatMap(ignored -> {
+            final Promise<T> promise;
+            try {
+                promise = call.get();
+            } catch (RuntimeException e) {
+                release(second);
+                release(first);
+                throw e;
+            }
+            final SettablePromise<T> result = Promises.settablePromise();
+            promise.done(value -> continuing(() -> {
+                release(second);
+                release(first);
+                result.set(value);
+            }));
+            promise.fail(e -> continuing(() -> {
+                release(second);
+                release(first);
+                result.exception(e);
+            }));
+            return result;
+        });
+    }
+
+    /**
+     * Runs the completion of a promise, so that requests chained in its continuations are queued rather than
+     * blocking the completing thread.
+     */
+    static void continuing(final Runnable completion) {
+        final boolean wasContinuing = CONTINUING.get();
+        CONTINUING.set(true);
+        try {
+            completion.run();
+        } finally {
+            CONTINUING.set(wasContinuing);
+        }
+    }
+
+    private static Promise<Void> acquire(@Nullable final InFlightLimiter limiter) {
+        return limiter != null ? limiter.acquire() : Promises.<Void>promise(null);
+    }
+
+    private static void release(@Nullable final InFlightLimiter limiter) {
+        if (limiter != null) {
+            limiter.release();
+        }
+    }
+
+    Promise<Void> acquire() {
+        lock.lock();
+        try {
+            if (inFlight < maxInFlight && queue.isEmpty()) {
+                inFlight++;
+                return Promises.promise(null);
+            }
+            switch (overflowPolicy) {
+                case QUEUE:
+                    return enqueue();
+                case BLOCK:
+                    return CONTINUING.get() ? enqueue() : await();
+                default:
+                    return reject("limit of " + maxInFlight + " requests in flight is reached");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        Waiter next;
+        lock.lock();
+        try {
+            next = queue.poll();
+            while (next != null && next.permit.isCancelled()) {
+                next = queue.poll();
+            }
+            if (next != null) {
+                // the slot goes straight to the next request, so it cannot be taken over by a newcomer
+                recordWait(ticker.read() - next.queuedAtNanos);
+            } else {
+                inFlight--;
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            next.permit.set(null);
+        }
+    }
+
+    // called with the lock held
+    private Promise<Void> enqueue() {
+        if (queue.size() >= maxQueueSize) {
+            return reject("queue of " + maxQueueSize + " waiting requests is full");
+        }
+        final Waiter waiter = new Waiter(ticker.read());
+        queue.add(waiter);
+        return waiter.permit;
+    }
+
+    // called with the lock held
+    private Promise<Void> await() {
+        final long start = ticker.read();
+        blocked++;
+        try {
+            while (inFlight >= maxInFlight) {
+                released.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return reject("interrupted while waiting");
+        } finally {
+            blocked--;
+        }
+        inFlight++;
+        recordWait(ticker.read() - start);
+        return Promises.promise(null);
+    }
+
+    // called with the lock held
+    private Promise<Void> reject(final String reason) {
+        rejectedCount++;
+        final String message = "Request to " + name + " rejected: " + reason;
+        return Promises.rejected(new RestClientException(message, new RejectedExecutionException(message)));
+    }
+
+    // called with the lock held
+    private void recordWait(final long waitTimeNanos) {
+        waitCount++;
+        totalWaitTimeNanos += waitTimeNanos;
+        maxWaitTimeNanos = Math.max(maxWaitTimeNanos, waitTimeNanos);
+    }
+
+    @Override
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size() + blocked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getWaitCount() {
+        lock.lock();
+        try {
+            return waitCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getTotalWaitTimeNanos() {
+        lock.lock();
+        try {
+            return totalWaitTimeNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getMaxWaitTimeNanos() {
+        lock.lock();
+        try {
+            return maxWaitTimeNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Waiter {
+        private final long queuedAtNanos;
+        private final SettablePromise<Void> permit = Promises.settablePromise();
+
+        Waiter(final long queuedAtNanos) {
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ComponentRestClient;
+import com.atlassian.jira.rest.client.api.domain.Component;
+import com.atlassian.jira.rest.client.api.domain.input.ComponentInput;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+
+/**
+ * Drops the project of every component changed through the client from the
+ * {@link AsynchronousProjectReferenceDataCache}, once the change completes, whether it succeeded or not.
+ *
+ * @since v5.2
+ */
+final class InvalidatingComponentRestClientDecorator implements ComponentRestClient {
+
+    private final ComponentRestClient delegate;
+    private final AsynchronousProjectReferenceDataCache cache;
+
+    InvalidatingComponentRestClientDecorator(final ComponentRestClient delegate,
+                                             final AsynchronousProjectReferenceDataCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Promise<Component> getComponent(final URI componentUri) {
+        return delegate.getComponent(componentUri);
+    }
+
+    @Override
+    public Promise<Component> createComponent(final String projectKey, final ComponentInput componentInput) {
+        final Runnable invalidate = () -> cache.invalidate(projectKey);
+        return delegate.createComponent(projectKey, componentInput)
+                .done(ignored -> invalidate.run())
+                .fail(e -> invalidate.run());
+    }
+
+    @Override
+    public Promise<Component> updateComponent(final URI componentUri, final ComponentInput componentInput) {
+        return invalidating(componentUri, delegate.updateComponent(componentUri, componentInput));
+    }
+
+    @Override
+    public Promise<Void> removeComponent(final URI componentUri, @Nullable final URI moveIssueToComponentUri) {
+        return invalidating(componentUri, delegate.removeComponent(componentUri, moveIssueToComponentUri));
+    }
+
+    @Override
+    public Promise<Integer> getComponentRelatedIssuesCount(final URI componentUri) {
+        return delegate.getComponentRelatedIssuesCount(componentUri);
+    }
+
+    private <T> Promise<T> invalidating(final URI componentUri, final Promise<T> promise) {
+        return promise.done(ignored -> cache.invalidateProjectOf(componentUri))
+                .fail(e -> cache.invalidateProjectOf(componentUri));
+    }
+}
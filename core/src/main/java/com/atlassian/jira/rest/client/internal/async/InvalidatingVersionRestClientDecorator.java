@@ -0,0 +1,77 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.VersionRestClient;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.api.domain.VersionRelatedIssuesCount;
+import com.atlassian.jira.rest.client.api.domain.input.VersionInput;
+import com.atlassian.jira.rest.client.api.domain.input.VersionPosition;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+
+/**
+ * Drops the project of every version changed through the client from the {@link AsynchronousProjectReferenceDataCache},
+ * once the change completes, whether it succeeded or not.
+ *
+ * @since v5.2
+ */
+final class InvalidatingVersionRestClientDecorator implements VersionRestClient {
+
+    private final VersionRestClient delegate;
+    private final AsynchronousProjectReferenceDataCache cache;
+
+    InvalidatingVersionRestClientDecorator(final VersionRestClient delegate, final AsynchronousProjectReferenceDataCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Promise<Version> getVersion(final URI versionUri) {
+        return delegate.getVersion(versionUri);
+    }
+
+    @Override
+    public Promise<Version> createVersion(final VersionInput version) {
+        final Promise<Version> promise = delegate.createVersion(version);
+        final Runnable invalidate = () -> cache.invalidate(version.getProjectKey());
+        return promise.done(ignored -> invalidate.run()).fail(e -> invalidate.run());
+    }
+
+    @Override
+    public Promise<Version> updateVersion(final URI versionUri, final VersionInput versionInput) {
+        return invalidating(versionUri, delegate.updateVersion(versionUri, versionInput));
+    }
+
+    @Override
+    public Promise<Void> removeVersion(final URI versionUri, @Nullable final URI moveFixIssuesToVersionUri,
+                                       @Nullable final URI moveAffectedIssuesToVersionUri) {
+        return invalidating(versionUri, delegate.removeVersion(versionUri, moveFixIssuesToVersionUri,
+                moveAffectedIssuesToVersionUri));
+    }
+
+    @Override
+    public Promise<VersionRelatedIssuesCount> getVersionRelatedIssuesCount(final URI versionUri) {
+        return delegate.getVersionRelatedIssuesCount(versionUri);
+    }
+
+    @Override
+    public Promise<Integer> getNumUnresolvedIssues(final URI versionUri) {
+        return delegate.getNumUnresolvedIssues(versionUri);
+    }
+
+    @Override
+    public Promise<Version> moveVersionAfter(final URI versionUri, final URI afterVersionUri) {
+        return invalidating(versionUri, delegate.moveVersionAfter(versionUri, afterVersionUri));
+    }
+
+    @Override
+    public Promise<Version> moveVersion(final URI versionUri, final VersionPosition versionPosition) {
+        return invalidating(versionUri, delegate.moveVersion(versionUri, versionPosition));
+    }
+
+    private <T> Promise<T> invalidating(final URI versionUri, final Promise<T> promise) {
+        return promise.done(ignored -> cache.invalidateProjectOf(versionUri))
+                .fail(e -> cache.invalidateProjectOf(versionUri));
+    }
+}
@@ -0,0 +1,137 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.BulkIssueResult;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits issue keys into <code>key in (...)</code> JQL queries for bulk retrieval of issues, and matches
+ * the issues found by these queries back to the requested keys, or ids.
+ *
+ * @since v5.2
+ */
+final class IssueKeyBatches {
+
+    private static final String KEY_IN_PREFIX = "key in (";
+    private static final String KEY_IN_SUFFIX = ")";
+    private static final Pattern ISSUE_ID = Pattern.compile("\\d{1,18}");
+
+    private IssueKeyBatches() {
+    }
+
+    /**
+     * @param issueKeys    requested keys, duplicates are queried once
+     * @param maxKeys      maximum number of keys in a single query
+     * @param maxJqlLength maximum length of a single query, kept unless a single key exceeds it
+     * @return queries covering all the keys
+     */
+    static List<String> createQueries(final Collection<String> issueKeys, final int maxKeys, final int maxJqlLength) {
+        final List<String> queries = new ArrayList<>();
+        final StringBuilder jql = new StringBuilder();
+        int keysInQuery = 0;
+        for (String issueKey : new LinkedHashSet<>(issueKeys)) {
+            final String quotedKey = quote(issueKey);
+            final boolean tooLong = jql.length() + 1 + quotedKey.length() + KEY_IN_SUFFIX.length() > maxJqlLength;
+            if (keysInQuery > 0 && (keysInQuery == maxKeys || tooLong)) {
+                queries.add(jql.append(KEY_IN_SUFFIX).toString());
+                jql.setLength(0);
+                keysInQuery = 0;
+            }
+            jql.append(keysInQuery == 0 ? KEY_IN_PREFIX : ",").append(quotedKey);
+            keysInQuery++;
+        }
+        if (keysInQuery > 0) {
+            queries.add(jql.append(KEY_IN_SUFFIX).toString());
+        }
+        return queries;
+    }
+
+    /**
+     * @param issueKeys requested keys
+     * @param found     issues found by queries created from these keys
+     * @return found issues keyed by requested key, in request order, with keys not found reported as missing
+     */
+    static BulkIssueResult toResult(final Collection<String> issueKeys, final Iterable<Issue> found) {
+        return toResult(issueKeys, found, Collections.emptyMap());
+    }
+
+    /**
+     * Matches the found issues to the requested keys by key, or by id when an id was requested instead of a key.
+     * A renamed or moved issue is found by its former key, but returned with its current one, so it is matched
+     * by the id given for the former key.
+     *
+     * @param issueKeys requested keys
+     * @param found     issues found by queries created from these keys
+     * @param idsByKey  ids of the issues of former keys, by requested key
+     * @return found issues keyed by requested key, in request order, with keys not found reported as missing
+     */
+    static BulkIssueResult toResult(final Collection<String> issueKeys, final Iterable<Issue> found,
+                                    final Map<String, Long> idsByKey) {
+        final Map<String, Issue> foundByKey = new HashMap<>();
+        final Map<Long, Issue> foundById = new HashMap<>();
+        for (Issue issue : found) {
+            foundByKey.put(normalize(issue.getKey()), issue);
+            if (issue.getId() != null) {
+                foundById.put(issue.getId(), issue);
+            }
+        }
+        final Map<String, Issue> issues = new LinkedHashMap<>();
+        final Set<String> missingKeys = new LinkedHashSet<>();
+        for (String issueKey : issueKeys) {
+            Issue issue = foundByKey.get(normalize(issueKey));
+            if (issue == null) {
+                final Long id = idsByKey.containsKey(issueKey) ? idsByKey.get(issueKey) : toId(issueKey);
+                issue = id != null ? foundById.get(id) : null;
+            }
+            if (issue != null) {
+                issues.put(issueKey, issue);
+            } else {
+                missingKeys.add(issueKey);
+            }
+        }
+        return new BulkIssueResult(issues, missingKeys);
+    }
+
+    /**
+     * @param result matched by {@link #toResult(Collection, Iterable)}
+     * @param found  issues found
+     * @return keys reported as missing while some found issues were matched to no key, so these keys may be
+     * the former keys of these issues; empty when every found issue was matched
+     */
+    static Set<String> formerKeys(final BulkIssueResult result, final Iterable<Issue> found) {
+        final Set<Issue> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        matched.addAll(result.getIssues().values());
+        for (Issue issue : found) {
+            if (!matched.contains(issue)) {
+                return result.getMissingKeys();
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    @Nullable
+    private static Long toId(final String issueKey) {
+        return ISSUE_ID.matcher(issueKey).matches() ? Long.valueOf(issueKey) : null;
+    }
+
+    private static String quote(final String issueKey) {
+        return '"' + issueKey.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static String normalize(final String issueKey) {
+        return issueKey.toUpperCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,92 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.internal.json.gen.JsonStreamGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.JsonStreamGeneratorUtil;
+import org.codehaus.jackson.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Request entity generated while it is read: the next part of the bean is written only once the bytes
+ * of the previous one have been consumed, so the memory held is that of the largest part rather than of the whole
+ * entity. Each stream generates the entity again, from the start.
+ */
+final class JsonEntityInputStream extends InputStream {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final Iterator<JsonStreamGenerator.Part> parts;
+    private final Buffer buffer = new Buffer();
+    private JsonGenerator json;
+    private int position;
+
+    <T> JsonEntityInputStream(final JsonStreamGenerator<T> generator, final T bean) {
+        this.parts = generator.parts(bean);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer.bytes()[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(len, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.size() - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+    }
+
+    /**
+     * @return whether there are bytes to read, after generating the next parts when the buffer is consumed
+     */
+    private boolean fill() throws IOException {
+        while (position == buffer.size()) {
+            if (json == null) {
+                json = JsonStreamGeneratorUtil.createGenerator(buffer);
+            }
+            if (!parts.hasNext()) {
+                return false;
+            }
+            buffer.reset();
+            position = 0;
+            parts.next().write(json);
+            json.flush();
+        }
+        return true;
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+        Buffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
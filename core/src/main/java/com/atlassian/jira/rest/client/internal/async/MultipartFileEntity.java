@@ -0,0 +1,199 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.EntityBuilder;
+import com.atlassian.jira.rest.client.api.AttachmentUploadListener;
+import com.atlassian.jira.rest.client.api.AttachmentUploadOptions;
+import com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput;
+import com.google.common.io.BaseEncoding;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Multipart entity of a single file, read from the file in chunks of {@link AttachmentUploadOptions#chunkSize} bytes
+ * while it is sent: the memory held is that of a chunk, whatever the size of the file. The checksum of the file is
+ * computed from the chunks on the way, and each chunk is reported to the {@link AttachmentUploadListener}.
+ * Each stream reads the file again, from the start.
+ *
+ * @since v5.2
+ */
+final class MultipartFileEntity implements EntityBuilder {
+
+    private static final String FIELD_NAME = "file";
+
+    private final FileAttachmentInput upload;
+    private final AttachmentUploadOptions options;
+    private final long size;
+    private final String boundary = "jrjc-" + UUID.randomUUID();
+    // of the last stream read to its end
+    private volatile Sent sent;
+
+    /**
+     * @throws IOException              when the file cannot be read
+     * @throws NoSuchAlgorithmException when the checksum algorithm is not available
+     */
+    MultipartFileEntity(final FileAttachmentInput upload, final AttachmentUploadOptions options)
+            throws IOException, NoSuchAlgorithmException {
+        this.upload = upload;
+        this.options = options;
+        this.size = Files.size(upload.getFile());
+        if (options.checksumAlgorithm != null) {
+            MessageDigest.getInstance(options.checksumAlgorithm);
+        }
+    }
+
+    @Override
+    public Entity build() {
+        return new Entity() {
+            @Override
+            public Map<String, String> getHeaders() {
+                return Collections.singletonMap("Content-Type", "multipart/form-data; boundary=" + boundary);
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new FileStream();
+            }
+        };
+    }
+
+    /**
+     * @return number of bytes of the file sent, -1 when the file was not read to its end
+     */
+    long getSentSize() {
+        final Sent last = sent;
+        return last != null ? last.size : -1;
+    }
+
+    /**
+     * @return checksum of the bytes of the file sent, or <code>null</code> when none was computed
+     */
+    @Nullable
+    String getChecksum() {
+        final Sent last = sent;
+        return last != null ? last.checksum : null;
+    }
+
+    private byte[] head() {
+        // quotes and line breaks would end the header, the rest of the name is sent as it is, in UTF-8
+        final String filename = upload.getFilename().replace("\"", "\\\"").replace('\r', ' ').replace('\n', ' ');
+        return ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + FIELD_NAME + "\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "\r\n").getBytes(UTF_8);
+    }
+
+    private byte[] tail() {
+        return ("\r\n--" + boundary + "--\r\n").getBytes(UTF_8);
+    }
+
+    private static final class Sent {
+        private final long size;
+        private final String checksum;
+
+        private Sent(final long size, @Nullable final String checksum) {
+            this.size = size;
+            this.checksum = checksum;
+        }
+    }
+
+    private final class FileStream extends InputStream {
+        private final byte[] head = head();
+        private final byte[] tail = tail();
+        private final ByteBuffer chunk = ByteBuffer.allocate(options.chunkSize);
+        private final MessageDigest digest;
+        private FileChannel channel;
+        private int headPosition;
+        private int tailPosition;
+        private long fileBytesRead;
+        private boolean fileRead;
+
+        private FileStream() {
+            try {
+                digest = options.checksumAlgorithm != null ? MessageDigest.getInstance(options.checksumAlgorithm) : null;
+            } catch (NoSuchAlgorithmException e) {
+                // checked when the entity was created
+                throw new IllegalStateException(e);
+            }
+            chunk.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (headPosition < head.length) {
+                final int count = Math.min(len, head.length - headPosition);
+                System.arraycopy(head, headPosition, b, off, count);
+                headPosition += count;
+                return count;
+            }
+            if (!fileRead && fill()) {
+                final int count = Math.min(len, chunk.remaining());
+                chunk.get(b, off, count);
+                return count;
+            }
+            if (tailPosition < tail.length) {
+                final int count = Math.min(len, tail.length - tailPosition);
+                System.arraycopy(tail, tailPosition, b, off, count);
+                tailPosition += count;
+                return count;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        /**
+         * @return whether there are bytes of the file to read, after reading the next chunk when the last one is consumed
+         */
+        private boolean fill() throws IOException {
+            while (!chunk.hasRemaining()) {
+                if (channel == null) {
+                    channel = FileChannel.open(upload.getFile(), StandardOpenOption.READ);
+                }
+                chunk.clear();
+                final int read = channel.read(chunk);
+                chunk.flip();
+                if (read == -1) {
+                    fileRead = true;
+                    channel.close();
+                    sent = new Sent(fileBytesRead, digest != null ? BaseEncoding.base16().lowerCase().encode(digest.digest()) : null);
+                    return false;
+                }
+                if (digest != null) {
+                    digest.update(chunk.array(), 0, read);
+                }
+                fileBytesRead += read;
+                if (options.listener != null) {
+                    options.listener.progress(upload, fileBytesRead, size);
+                }
+            }
+            return true;
+        }
+    }
+}
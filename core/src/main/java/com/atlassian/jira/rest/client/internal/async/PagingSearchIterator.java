@@ -0,0 +1,129 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import io.atlassian.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iterates over all issues matching a JQL query, page by page.
+ * <p>
+ * Besides the page being consumed at most {@code prefetchDepth} further pages are requested in the background,
+ * so memory usage is bounded by {@code prefetchDepth + 1} pages. Nothing is requested until the first call to
+ * {@link #hasNext()}, and no further pages are requested once the consumer stops iterating or calls {@link #close()}.
+ *
+ * @since v5.2
+ */
+class PagingSearchIterator implements Iterator<Issue>, AutoCloseable {
+
+    private final SearchRestClient searchRestClient;
+    private final String jql;
+    private final Set<String> fields;
+    private final int prefetchDepth;
+    private final Deque<Promise<SearchResult>> pendingPages = new ArrayDeque<Promise<SearchResult>>();
+
+    @Nullable
+    private Integer pageSize;
+    private int nextStartAt = 0;
+    private int total = -1;
+    private boolean started;
+    private boolean pageSizeConfirmed;
+    private boolean closed;
+    private Iterator<Issue> currentPage = Collections.emptyIterator();
+
+    PagingSearchIterator(final SearchRestClient searchRestClient, @Nullable final String jql, @Nullable final Integer pageSize,
+                         final int prefetchDepth, @Nullable final Set<String> fields) {
+        Preconditions.checkArgument(prefetchDepth >= 0, "prefetchDepth must not be negative");
+        Preconditions.checkArgument(pageSize == null || pageSize > 0, "pageSize must be positive");
+        this.searchRestClient = searchRestClient;
+        this.jql = jql;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        this.fields = fields;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                requestNextPage();
+            } else if (pendingPages.isEmpty() && hasMorePages()) {
+                requestNextPage();
+            }
+            final Promise<SearchResult> nextPage = pendingPages.poll();
+            if (nextPage == null) {
+                return false;
+            }
+            final SearchResult page = nextPage.claim();
+            onPageReceived(page);
+            currentPage = page.getIssues().iterator();
+            if (!currentPage.hasNext()) {
+                // issues were removed in the meantime - nothing more to fetch
+                close();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Issue next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    /**
+     * Cancels all pages requested in advance. Issues of the page already retrieved are still available.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Promise<SearchResult> pending;
+        while ((pending = pendingPages.poll()) != null) {
+            pending.cancel(true);
+        }
+    }
+
+    private void onPageReceived(final SearchResult page) {
+        total = page.getTotal();
+        if (!pageSizeConfirmed) {
+            pageSizeConfirmed = true;
+            // JIRA may use its own default or cap the requested page size, so follow what it actually returned
+            final int returnedPageSize = page.getMaxResults();
+            if (pageSize == null || (returnedPageSize > 0 && returnedPageSize < pageSize)) {
+                pageSize = returnedPageSize > 0 ? returnedPageSize : Math.max(1, Iterables.size(page.getIssues()));
+                nextStartAt = page.getStartIndex() + pageSize;
+            }
+        }
+        while (pendingPages.size() < prefetchDepth && hasMorePages()) {
+            requestNextPage();
+        }
+    }
+
+    private boolean hasMorePages() {
+        return total < 0 || nextStartAt < total;
+    }
+
+    private void requestNextPage() {
+        pendingPages.add(searchRestClient.searchJql(jql, pageSize, nextStartAt, fields));
+        if (pageSize != null) {
+            nextStartAt += pageSize;
+        }
+    }
+}
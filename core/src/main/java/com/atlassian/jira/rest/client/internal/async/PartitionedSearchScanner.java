@@ -0,0 +1,269 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.SearchScanOptions;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchPartition;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import io.atlassian.util.concurrent.Promise;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Retrieves all issues matching a JQL query by splitting it into disjoint partitions (ranges of issue ids or windows
+ * of the "updated" date) and paging through several partitions at the same time.
+ * <p>
+ * Within a partition issues are paged by id (keyset pagination) rather than by startAt, so every request is cheap for
+ * the server regardless of how deep into the results it is. Every running partition has at most one page requested or
+ * waiting to be consumed, so memory usage is bounded by the parallelism. Pages are returned in order of arrival.
+ *
+ * @since v5.2
+ */
+class PartitionedSearchScanner implements Iterator<Issue>, AutoCloseable {
+
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUOTED_STRING_PATTERN = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^'\\\\]|\\\\.)*'", Pattern.DOTALL);
+    // the probes only need the bounds of the partitioned field, the id of issues is always returned
+    private static final Set<String> PROBE_FIELDS = ImmutableSet.of("id", "updated");
+
+    private final SearchRestClient searchRestClient;
+    private final String jql;
+    private final SearchScanOptions options;
+    private final BlockingQueue<PageResult> completedPages = new LinkedBlockingQueue<PageResult>();
+    private final Deque<PartitionCursor> waitingPartitions = new ArrayDeque<PartitionCursor>();
+    private final List<PartitionCursor> runningPartitions = Lists.newArrayList();
+
+    private boolean started;
+    private boolean closed;
+    private Iterator<Issue> currentPage = Collections.emptyIterator();
+
+    PartitionedSearchScanner(final SearchRestClient searchRestClient, @Nullable final String jql, final SearchScanOptions options) {
+        this.searchRestClient = searchRestClient;
+        this.jql = withoutOrderBy(StringUtils.defaultString(jql)).trim();
+        this.options = options;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (!started) {
+                started = true;
+                waitingPartitions.addAll(createPartitions());
+                while (runningPartitions.size() < options.parallelism && !waitingPartitions.isEmpty()) {
+                    startPartition(waitingPartitions.poll());
+                }
+            }
+            if (runningPartitions.isEmpty()) {
+                return false;
+            }
+            currentPage = onPageReceived(takePage());
+        }
+        return true;
+    }
+
+    @Override
+    public Issue next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        waitingPartitions.clear();
+        for (PartitionCursor cursor : runningPartitions) {
+            if (cursor.pendingPage != null) {
+                cursor.pendingPage.cancel(true);
+            }
+        }
+        runningPartitions.clear();
+    }
+
+    List<PartitionCursor> createPartitions() {
+        final boolean byId = options.partitioning == SearchScanOptions.Partitioning.ID;
+        final String orderField = byId ? "id" : "updated";
+        final Promise<SearchResult> firstPromise = searchRestClient.searchJql(orderBy(restrict(jql), orderField + " ASC"), 1, 0, PROBE_FIELDS);
+        final Promise<SearchResult> lastPromise = searchRestClient.searchJql(orderBy(restrict(jql), orderField + " DESC"), 1, 0, PROBE_FIELDS);
+        final Issue first = Iterables.getFirst(firstPromise.claim().getIssues(), null);
+        final Issue last = Iterables.getFirst(lastPromise.claim().getIssues(), null);
+        if (first == null || last == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> boundaries = byId
+                ? idBoundaries(first.getId(), last.getId())
+                : updatedBoundaries(first.getUpdateDate(), last.getUpdateDate());
+        // The first and the last partitions are left open, so that issues created in the meantime are not lost
+        final List<PartitionCursor> partitions = Lists.newArrayListWithCapacity(boundaries.size() + 1);
+        for (int i = 0; i <= boundaries.size(); i++) {
+            final String lowerBound = i == 0 ? null : orderField + " >= " + boundaries.get(i - 1);
+            final String upperBound = i == boundaries.size() ? null : orderField + " < " + boundaries.get(i);
+            partitions.add(new PartitionCursor(new SearchPartition(i, restrict(jql, lowerBound, upperBound))));
+        }
+        return partitions;
+    }
+
+    private List<String> idBoundaries(final long minId, final long maxId) {
+        final long width = Math.max(1, (maxId - minId + options.partitions) / options.partitions);
+        final List<String> boundaries = Lists.newArrayList();
+        for (long boundary = minId + width; boundary <= maxId && boundaries.size() < options.partitions - 1; boundary += width) {
+            boundaries.add(String.valueOf(boundary));
+        }
+        return boundaries;
+    }
+
+    private List<String> updatedBoundaries(final DateTime min, final DateTime max) {
+        // JQL takes dates as milliseconds since the epoch, which unlike formatted dates do not depend on the time zone
+        // of the user, in which JIRA reads them
+        final long width = Math.max(1, (max.getMillis() - min.getMillis() + options.partitions) / options.partitions);
+        final List<String> boundaries = Lists.newArrayList();
+        for (long boundary = min.getMillis() + width; boundary <= max.getMillis() && boundaries.size() < options.partitions - 1; boundary += width) {
+            boundaries.add(String.valueOf(boundary));
+        }
+        return boundaries;
+    }
+
+    private void startPartition(final PartitionCursor cursor) {
+        runningPartitions.add(cursor);
+        cursor.requestNextPage();
+    }
+
+    private PageResult takePage() {
+        try {
+            return completedPages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RestClientException(e);
+        }
+    }
+
+    private Iterator<Issue> onPageReceived(final PageResult pageResult) {
+        final PartitionCursor cursor = pageResult.cursor;
+        cursor.pendingPage = null;
+        if (pageResult.error != null) {
+            close();
+            throw pageResult.error instanceof RestClientException
+                    ? new RestClientException((RestClientException) pageResult.error)
+                    : new RestClientException(pageResult.error);
+        }
+
+        final SearchResult page = pageResult.page;
+        final List<Issue> issues = Lists.newArrayList(page.getIssues());
+        if (cursor.totalIssues < 0) {
+            cursor.totalIssues = page.getTotal();
+        }
+        cursor.retrievedIssues += issues.size();
+        if (options.progressListener != null) {
+            options.progressListener.onProgress(cursor.partition, cursor.retrievedIssues, cursor.totalIssues);
+        }
+
+        // with keyset pagination total is the number of issues not retrieved yet
+        if (!issues.isEmpty() && issues.size() < page.getTotal()) {
+            cursor.lastId = Iterables.getLast(issues).getId();
+            cursor.requestNextPage();
+        } else {
+            runningPartitions.remove(cursor);
+            if (options.progressListener != null) {
+                options.progressListener.onPartitionCompleted(cursor.partition);
+            }
+            if (!waitingPartitions.isEmpty()) {
+                startPartition(waitingPartitions.poll());
+            }
+        }
+        return issues.iterator();
+    }
+
+    /**
+     * Narrows given query with additional clauses, <code>null</code> clauses are ignored.
+     */
+    private static String restrict(final String jql, final String... clauses) {
+        final List<String> parts = Lists.newArrayListWithCapacity(clauses.length + 1);
+        if (StringUtils.isNotBlank(jql)) {
+            parts.add("(" + jql + ")");
+        }
+        for (String clause : clauses) {
+            if (clause != null) {
+                parts.add(clause);
+            }
+        }
+        return Joiner.on(" AND ").join(parts);
+    }
+
+    /**
+     * @return given query without its ORDER BY clause, an ORDER BY within a quoted string is a part of the query
+     */
+    static String withoutOrderBy(final String jql) {
+        // quoted strings are blanked out, keeping the positions of the rest of the query
+        final StringBuffer unquoted = new StringBuffer(jql.length());
+        final Matcher quoted = QUOTED_STRING_PATTERN.matcher(jql);
+        while (quoted.find()) {
+            quoted.appendReplacement(unquoted, StringUtils.repeat(' ', quoted.end() - quoted.start()));
+        }
+        quoted.appendTail(unquoted);
+        final Matcher orderBy = ORDER_BY_PATTERN.matcher(unquoted);
+        return orderBy.find() ? jql.substring(0, orderBy.start()) : jql;
+    }
+
+    private static String orderBy(final String jql, final String order) {
+        return (jql + " ORDER BY " + order).trim();
+    }
+
+    class PartitionCursor {
+        private final SearchPartition partition;
+        private Long lastId;
+        private int totalIssues = -1;
+        private int retrievedIssues;
+        private Promise<SearchResult> pendingPage;
+
+        PartitionCursor(final SearchPartition partition) {
+            this.partition = partition;
+        }
+
+        SearchPartition getPartition() {
+            return partition;
+        }
+
+        private void requestNextPage() {
+            final String pageJql = orderBy(restrict(partition.getJql(), lastId == null ? null : "id > " + lastId), "id ASC");
+            pendingPage = searchRestClient.searchJql(pageJql, options.pageSize, 0, options.fields);
+            pendingPage.done(page -> completedPages.add(new PageResult(this, page, null)))
+                    .fail(error -> completedPages.add(new PageResult(this, null, error)));
+        }
+    }
+
+    private static class PageResult {
+        private final PartitionCursor cursor;
+        private final SearchResult page;
+        private final Throwable error;
+
+        private PageResult(final PartitionCursor cursor, @Nullable final SearchResult page, @Nullable final Throwable error) {
+            this.cursor = cursor;
+            this.page = page;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RequestCoalescingStatistics;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent requests: while a request is in flight, identical requests
+ * get its promise instead of being sent. Requests are identical when their keys are equal; a request stops being
+ * in flight as soon as it completes, so results are never reused afterwards.
+ * <p>
+ * All the callers of a coalesced request share the promise and the value parsed from the response,
+ * so cancelling that promise cancels it for all of them.
+ *
+ * @since v5.2
+ */
+final class RequestCoalescer implements RequestCoalescingStatistics {
+
+    private final ConcurrentMap<Object, Promise<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    <T> Promise<T> coalesce(final Object key, final Supplier<Promise<T>> request) {
+        requestCount.incrementAndGet();
+        final SettablePromise<T> shared = Promises.settablePromise();
+        final Promise<?> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return (Promise<T>) existing;
+        }
+        final Promise<T> sent;
+        try {
+            sent = request.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.exception(e);
+            return shared;
+        }
+        // the request leaves the in-flight table before its callers are notified, so they never see a completed entry
+        sent.done(value -> {
+            inFlight.remove(key, shared);
+            shared.set(value);
+        });
+        sent.fail(e -> {
+            inFlight.remove(key, shared);
+            shared.exception(e);
+        });
+        return shared;
+    }
+
+    /**
+     * @return number of distinct requests in flight
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves server info once per client, used to adapt requests to the capabilities of the server version.
+ * All callers share a single request; when it fails the next caller starts a new one.
+ *
+ * @since v5.2
+ */
+class ServerInfoResolver {
+
+    private final MetadataRestClient metadataRestClient;
+    private final AtomicReference<Promise<ServerInfo>> serverInfo = new AtomicReference<>();
+
+    ServerInfoResolver(final MetadataRestClient metadataRestClient) {
+        this.metadataRestClient = metadataRestClient;
+    }
+
+    Promise<ServerInfo> getServerInfo() {
+        while (true) {
+            final Promise<ServerInfo> current = serverInfo.get();
+            if (current != null) {
+                return current;
+            }
+            final SettablePromise<ServerInfo> created = Promises.settablePromise();
+            if (serverInfo.compareAndSet(null, created)) {
+                metadataRestClient.getServerInfo()
+                        .done(created::set)
+                        .fail(e -> {
+                            serverInfo.compareAndSet(created, null);
+                            created.exception(e);
+                        });
+                return created;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.AuthenticationHandler;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
+import com.atlassian.jira.rest.client.auth.SessionCookieAuthenticationHandler;
+
+import java.net.URI;
+
+/**
+ * Creates clients for blocking callers, typically on virtual threads: each request is sent on the thread calling
+ * the rest client, and the promise it returns is already completed, so <code>claim()</code> returns at once.
+ * No IO dispatcher or callback threads are started, and no executor is needed; the clients have the same
+ * interfaces, options and authentication as those of {@link AsynchronousJiraRestClientFactory}.
+ * <p>
+ * Methods composing several requests, like paging through search results, run all of them before returning.
+ * Requests retried by the throttle policy, and chunks of bulk creations retried, are sent on the calling thread too,
+ * which waits for their delays.
+ *
+ * @since v5.2
+ */
+public class SyncJiraRestClientFactory implements JiraRestClientFactory {
+
+    @Override
+    public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+        return create(serverUri, authenticationHandler, JiraRestClientOptions.defaults());
+    }
+
+    @Override
+    public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler,
+                                 final JiraRestClientOptions options) {
+        final HttpClient transport = new UrlConnectionHttpClient(AsynchronousHttpClientFactory.toHttpClientOptions(options));
+        if (authenticationHandler instanceof SessionCookieAuthenticationHandler) {
+            // logging in must not be authenticated by the handler, which would log in first
+            ((SessionCookieAuthenticationHandler) authenticationHandler)
+                    .setSessionRestClient(new AsynchronousSessionRestClient(serverUri, transport));
+        }
+        // delays before retries wait on the calling thread, which sends the retries
+        final DisposableHttpClient httpClient = new AtlassianHttpClientDecorator(transport, authenticationHandler, options,
+                Delays.BLOCKING) {
+            @Override
+            public void destroy() throws Exception {
+                // idle connections belong to the keep-alive pool of the JDK
+            }
+        };
+        return new AsynchronousJiraRestClient(serverUri, httpClient, options);
+    }
+
+    @Override
+    public JiraRestClient createWithBasicHttpAuthentication(final URI serverUri, final String username, final String password) {
+        return create(serverUri, new BasicHttpAuthenticationHandler(username, password));
+    }
+
+    @Override
+    public JiraRestClient createWithAuthenticationHandler(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+        return create(serverUri, authenticationHandler);
+    }
+
+    /**
+     * Requests are sent by the given client, so they are synchronous only if it completes them on the calling thread.
+     */
+    @Override
+    public JiraRestClient create(final URI serverUri, final HttpClient httpClient) {
+        return new AsynchronousJiraRestClientFactory().create(serverUri, httpClient);
+    }
+}
@@ -0,0 +1,44 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limit: tokens are added at a constant rate up to a burst size, and every request takes one.
+ * A request arriving when the bucket is empty reserves a future token, so waiting requests keep their order
+ * and the rate holds however many of them are waiting.
+ *
+ * @since v5.2
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double tokensPerSecond;
+    private final double burst;
+    private final Ticker ticker;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(final double tokensPerSecond, final int burst, final Ticker ticker) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        this.ticker = ticker;
+        this.tokens = burst;
+        this.refilledAt = ticker.read();
+    }
+
+    /**
+     * Takes a token, which may become available only in the future.
+     *
+     * @return time in nanoseconds before the token is available
+     */
+    synchronized long reserve() {
+        final long now = ticker.read();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerSecond / NANOS_PER_SECOND);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / tokensPerSecond);
+    }
+}
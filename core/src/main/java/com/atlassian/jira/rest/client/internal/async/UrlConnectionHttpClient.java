@@ -0,0 +1,249 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.apache.httpcomponents.DefaultResponse;
+import com.atlassian.httpclient.api.DefaultResponseTransformation;
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.ResponsePromise;
+import com.atlassian.httpclient.api.ResponsePromises;
+import com.atlassian.httpclient.api.ResponseTransformation;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import io.atlassian.util.concurrent.Promises;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Transport sending every request on the thread executing it, with {@link HttpURLConnection}, and returning
+ * the response in an already completed promise. There is no IO dispatcher nor callback thread pool: the callbacks
+ * of the rest clients run on the calling thread too, before <code>execute</code> returns, so a blocking
+ * {@link io.atlassian.util.concurrent.Promise#claim()} never waits on another thread.
+ * <p>
+ * Run on virtual threads of JDK 21, a blocked request parks its virtual thread only. Connections are kept alive
+ * in the pool of the JDK, sized by the <code>http.maxConnections</code> system property.
+ *
+ * @since v5.2
+ */
+final class UrlConnectionHttpClient implements HttpClient {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final long maxEntitySize;
+
+    UrlConnectionHttpClient(final HttpClientOptions options) {
+        this.connectTimeoutMillis = (int) Math.min(Integer.MAX_VALUE, options.getConnectionTimeout());
+        this.readTimeoutMillis = (int) Math.min(Integer.MAX_VALUE, options.getSocketTimeout());
+        this.maxEntitySize = options.getMaxEntitySize();
+    }
+
+    @Override
+    public Request.Builder newRequest() {
+        return new DefaultRequest.DefaultRequestBuilder(this);
+    }
+
+    @Override
+    public Request.Builder newRequest(final URI uri) {
+        return newRequest().setUri(uri);
+    }
+
+    @Override
+    public Request.Builder newRequest(final URI uri, final String contentType, final String entity) {
+        return newRequest(uri).setContentType(contentType).setEntity(entity);
+    }
+
+    @Override
+    public Request.Builder newRequest(final String uri) {
+        return newRequest(URI.create(uri));
+    }
+
+    @Override
+    public Request.Builder newRequest(final String uri, final String contentType, final String entity) {
+        return newRequest(URI.create(uri), contentType, entity);
+    }
+
+    @Override
+    public void flushCacheByUriPattern(final Pattern uriPattern) {
+        // nothing is cached by the transport
+    }
+
+    @Override
+    public <A> ResponseTransformation.Builder<A> transformation() {
+        return DefaultResponseTransformation.builder();
+    }
+
+    @Override
+    public ResponsePromise execute(final Request request) {
+        try {
+            return ResponsePromises.toResponsePromise(Promises.promise(send(request)));
+        } catch (IOException e) {
+            return ResponsePromises.toResponsePromise(Promises.rejected(new RestClientException(e)));
+        }
+    }
+
+    private Response send(final Request request) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) request.getUri().toURL().openConnection();
+        try {
+            connection.setRequestMethod(request.getMethod().name());
+            connection.setConnectTimeout(connectTimeoutMillis);
+            connection.setReadTimeout(readTimeoutMillis);
+            connection.setInstanceFollowRedirects(false);
+            connection.setUseCaches(false);
+            final Map<String, String> headers = new HashMap<>(request.getHeaders());
+            if (request.getContentType() != null && !containsIgnoreCase(headers, CONTENT_TYPE)) {
+                headers.put(CONTENT_TYPE, request.getContentCharset() != null
+                        ? request.getContentType() + "; charset=" + request.getContentCharset()
+                        : request.getContentType());
+            }
+            headers.forEach(connection::setRequestProperty);
+            if (request.hasEntity()) {
+                connection.setDoOutput(true);
+                final InputStream entityStream = request.getEntityStream();
+                if (entityStream instanceof ByteArrayInputStream) {
+                    connection.setFixedLengthStreamingMode(entityStream.available());
+                } else {
+                    // generated while it is sent, its length is not known in advance
+                    connection.setChunkedStreamingMode(BUFFER_SIZE);
+                }
+                try (InputStream entity = entityStream; OutputStream out = connection.getOutputStream()) {
+                    copy(entity, out);
+                }
+            }
+
+            final int statusCode = connection.getResponseCode();
+            final Map<String, String> responseHeaders = new HashMap<>();
+            for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+                // the status line is reported under the null name
+                if (header.getKey() != null && !header.getValue().isEmpty()) {
+                    responseHeaders.put(header.getKey(), String.join(", ", header.getValue()));
+                }
+            }
+            // reading the entity to its end, and closing it, returns the connection to the keep-alive pool
+            final long contentLength = connection.getContentLengthLong();
+            if (contentLength > maxEntitySize) {
+                throw new IOException("Entity of " + contentLength + " bytes exceeds the maximum of " + maxEntitySize);
+            }
+            final InputStream entity;
+            if (statusCode >= HttpURLConnection.HTTP_BAD_REQUEST || contentLength == 0) {
+                // error bodies are small and may be read more than once, e.g. to be logged and then parsed
+                final InputStream body = statusCode >= HttpURLConnection.HTTP_BAD_REQUEST
+                        ? connection.getErrorStream() : connection.getInputStream();
+                byte[] bytes = new byte[0];
+                if (body != null) {
+                    try (InputStream in = body) {
+                        bytes = read(in, contentLength);
+                    }
+                }
+                entity = new ByteArrayInputStream(bytes);
+            } else {
+                // parsed straight from the connection, and closed once consumed
+                entity = new ConnectionEntityStream(connection);
+            }
+            return DefaultResponse.builder()
+                    .setStatusCode(statusCode)
+                    .setStatusText(connection.getResponseMessage() != null ? connection.getResponseMessage() : "")
+                    .setHeaders(responseHeaders)
+                    .setEntityStream(entity)
+                    .setMaxEntitySize(maxEntitySize)
+                    .build();
+        } catch (IOException e) {
+            // a connection which failed half way must not go back to the pool
+            connection.disconnect();
+            throw e;
+        }
+    }
+
+    private byte[] read(final InputStream in, final long contentLength) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : BUFFER_SIZE);
+        copy(in, out);
+        return out.toByteArray();
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Entity of a successful response, read from the connection as it is parsed. It is closed when read to its end,
+     * or by the parser, which returns the connection to the keep-alive pool; a connection failing half way, or
+     * sending more than the maximum entity size, is disconnected instead.
+     */
+    private final class ConnectionEntityStream extends FilterInputStream {
+        private final HttpURLConnection connection;
+        private long size;
+        private boolean closed;
+
+        ConnectionEntityStream(final HttpURLConnection connection) throws IOException {
+            super(connection.getInputStream());
+            this.connection = connection;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (closed) {
+                return -1;
+            }
+            final int read;
+            try {
+                read = in.read(buffer, offset, length);
+            } catch (IOException e) {
+                abort();
+                throw e;
+            }
+            if (read == -1) {
+                close();
+            } else if ((size += read) > maxEntitySize) {
+                abort();
+                throw new IOException("Entity exceeds the maximum of " + maxEntitySize + " bytes");
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                in.close();
+            }
+        }
+
+        private void abort() {
+            closed = true;
+            connection.disconnect();
+        }
+    }
+
+    private static boolean containsIgnoreCase(final Map<String, String> headers, final String name) {
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
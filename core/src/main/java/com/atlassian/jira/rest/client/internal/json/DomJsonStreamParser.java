@@ -0,0 +1,48 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jettison.json.JSONException;
+
+import java.io.IOException;
+
+/**
+ * Adapts an existing DOM based {@link JsonObjectParser} or {@link JsonArrayParser} to the {@link JsonStreamParser}
+ * contract. Only the value the tokenizer is currently positioned on is materialized, not the whole response.
+ *
+ * @since v5.2
+ */
+public class DomJsonStreamParser<T> implements JsonStreamParser<T> {
+
+    public static <K> DomJsonStreamParser<K> create(JsonParser<?, K> jsonParser) {
+        return new DomJsonStreamParser<K>(jsonParser);
+    }
+
+    private final JsonParser<?, T> jsonParser;
+
+    public DomJsonStreamParser(JsonParser<?, T> jsonParser) {
+        if (!(jsonParser instanceof JsonObjectParser) && !(jsonParser instanceof JsonArrayParser)) {
+            throw new IllegalArgumentException("Unsupported parser type: " + jsonParser.getClass().getName());
+        }
+        this.jsonParser = jsonParser;
+    }
+
+    /**
+     * Equal when the adapted parsers are, see {@link IssueJsonParser#equals(Object)}.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof DomJsonStreamParser && jsonParser.equals(((DomJsonStreamParser<?>) o).jsonParser);
+    }
+
+    @Override
+    public int hashCode() {
+        return jsonParser.hashCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T parse(org.codehaus.jackson.JsonParser json) throws JSONException, IOException {
+        return jsonParser instanceof JsonObjectParser ?
+                ((JsonObjectParser<T>) jsonParser).parse(JsonStreamParseUtil.readJsonObject(json)) :
+                ((JsonArrayParser<T>) jsonParser).parse(JsonStreamParseUtil.readJsonArray(json));
+    }
+}
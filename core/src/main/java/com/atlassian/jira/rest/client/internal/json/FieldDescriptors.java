@@ -0,0 +1,95 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.google.common.collect.ImmutableMap;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Immutable table of field names and schema types, decoded from the "names" and "schema" sections of an issue
+ * or of a whole search result page. A single table is shared by all issues of a page; field ids are interned,
+ * so the fields of all these issues share their id strings.
+ *
+ * @since v5.2
+ */
+public class FieldDescriptors {
+
+    public static final FieldDescriptors EMPTY = new FieldDescriptors(ImmutableMap.<String, FieldDescriptor>of());
+
+    private final Map<String, FieldDescriptor> descriptors;
+
+    private FieldDescriptors(final Map<String, FieldDescriptor> descriptors) {
+        this.descriptors = descriptors;
+    }
+
+    /**
+     * @param names  "names" section, mapping field ids to names
+     * @param schema "schema" section, mapping field ids to field schemas
+     * @return table of fields present in any of these sections
+     */
+    public static FieldDescriptors parse(@Nullable final JSONObject names, @Nullable final JSONObject schema) throws JSONException {
+        if (names == null && schema == null) {
+            return EMPTY;
+        }
+        final Map<String, String> types = new HashMap<>();
+        if (schema != null) {
+            final Iterator<String> it = JsonParseUtil.getStringKeys(schema);
+            while (it.hasNext()) {
+                final String fieldId = it.next();
+                types.put(fieldId, schema.getJSONObject(fieldId).getString("type"));
+            }
+        }
+        final ImmutableMap.Builder<String, FieldDescriptor> descriptors = ImmutableMap.builder();
+        if (names != null) {
+            final Iterator<String> it = JsonParseUtil.getStringKeys(names);
+            while (it.hasNext()) {
+                final String fieldId = it.next();
+                descriptors.put(fieldId, new FieldDescriptor(fieldId.intern(), names.getString(fieldId), types.remove(fieldId)));
+            }
+        }
+        for (Map.Entry<String, String> fieldWithoutName : types.entrySet()) {
+            final String fieldId = fieldWithoutName.getKey();
+            descriptors.put(fieldId, new FieldDescriptor(fieldId.intern(), null, fieldWithoutName.getValue()));
+        }
+        return new FieldDescriptors(descriptors.build());
+    }
+
+    @Nullable
+    public FieldDescriptor get(final String fieldId) {
+        return descriptors.get(fieldId);
+    }
+
+    public int size() {
+        return descriptors.size();
+    }
+
+    public static class FieldDescriptor {
+        private final String id;
+        private final String name;
+        private final String type;
+
+        FieldDescriptor(final String id, @Nullable final String name, @Nullable final String type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getType() {
+            return type;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.atlassian.jira.rest.client.api.domain.Comment;
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.IssueField;
 import com.atlassian.jira.rest.client.api.domain.IssueFieldId;
+import com.atlassian.jira.rest.client.api.domain.IssueFields;
 import com.atlassian.jira.rest.client.api.domain.IssueLink;
 import com.atlassian.jira.rest.client.api.domain.IssueType;
 import com.atlassian.jira.rest.client.api.domain.Operations;
@@ -39,7 +40,6 @@ import com.atlassian.jira.rest.client.api.domain.User;
 import com.atlassian.jira.rest.client.api.domain.Version;
 import com.atlassian.jira.rest.client.api.domain.Worklog;
 import com.google.common.base.Splitter;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -52,10 +52,9 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.AFFECTS_VERSIONS_FIELD;
@@ -83,7 +82,6 @@ import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.VOTES_FIELD
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WATCHER_FIELD;
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WORKLOGS_FIELD;
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WORKLOG_FIELD;
-import static com.atlassian.jira.rest.client.internal.json.JsonParseUtil.getStringKeys;
 import static com.atlassian.jira.rest.client.internal.json.JsonParseUtil.parseOptionalJsonObject;
 
 public class IssueJsonParser implements JsonObjectParser<Issue> {
@@ -115,17 +113,106 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
     private static final String FIELDS = "fields";
     private static final String VALUE_ATTR = "value";
 
+    private static final String ALL_FIELDS = "*all";
+    private static final String NAVIGABLE_FIELDS = "*navigable";
+    private static final String EXCLUDED_FIELD_PREFIX = "-";
+
     private final JSONObject providedNames;
     private final JSONObject providedSchema;
+    private volatile FieldDescriptors providedDescriptors;
+    @Nullable
+    private final Set<String> requestedFields;
+    // all fields but the excluded ones were requested
+    private final boolean allFieldsRequested;
 
     public IssueJsonParser() {
-        providedNames = null;
-        providedSchema = null;
+        this(null, null, null);
     }
 
     public IssueJsonParser(final JSONObject providedNames, final JSONObject providedSchema) {
+        this(providedNames, providedSchema, null);
+    }
+
+    /**
+     * Creates parser of issues retrieved with a <code>fields</code> projection. Sections of the issue which were not
+     * requested are skipped, and requested fields missing from the representation are left empty instead of failing.
+     *
+     * @param requestedFields value of the <code>fields</code> parameter of the request, like "status", "*all" or "-comment"
+     */
+    public IssueJsonParser(final Set<String> requestedFields) {
+        this(null, null, requestedFields);
+    }
+
+    public IssueJsonParser(final JSONObject providedNames, final JSONObject providedSchema, @Nullable final Set<String> requestedFields) {
         this.providedNames = providedNames;
         this.providedSchema = providedSchema;
+        this.requestedFields = requestedFields;
+        this.allFieldsRequested = requestedFields != null && (requestedFields.contains(ALL_FIELDS)
+                || requestedFields.contains(NAVIGABLE_FIELDS) || onlyExclusions(requestedFields));
+    }
+
+    /**
+     * Creates parser of issues sharing the field names and types decoded once for the whole search result page.
+     */
+    public IssueJsonParser(final FieldDescriptors providedDescriptors, @Nullable final Set<String> requestedFields) {
+        this(null, null, requestedFields);
+        this.providedDescriptors = providedDescriptors;
+    }
+
+    /**
+     * Parsers of the same projection, which read the names and types of the fields from the issues themselves,
+     * are equal, so that issues retrieved with their own parser still share cached and coalesced responses.
+     * Parsers given names and types are equal only to themselves.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        final IssueJsonParser that = (IssueJsonParser) o;
+        return !hasProvidedFields() && !that.hasProvidedFields() && Objects.equals(requestedFields, that.requestedFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(requestedFields);
+    }
+
+    private boolean hasProvidedFields() {
+        return providedNames != null || providedSchema != null || providedDescriptors != null;
+    }
+
+    private boolean isRequested(final String fieldId) {
+        if (requestedFields == null) {
+            return true;
+        }
+        if (requestedFields.contains(EXCLUDED_FIELD_PREFIX + fieldId)) {
+            return false;
+        }
+        return allFieldsRequested || requestedFields.contains(fieldId);
+    }
+
+    /**
+     * @return whether given projection only excludes fields, which JIRA applies to its default fields
+     */
+    private static boolean onlyExclusions(final Set<String> requestedFields) {
+        for (String field : requestedFields) {
+            if (!field.startsWith(EXCLUDED_FIELD_PREFIX)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether given field should be parsed - always when parsing the full representation, which requires
+     * the non-optional fields to be present, otherwise only when it was requested and returned
+     */
+    private boolean shouldParse(final JSONObject jsonFields, final IssueFieldId field) {
+        return requestedFields == null || (isRequested(field.id) && jsonFields.has(field.id));
     }
 
     static Iterable<String> parseExpandos(final JSONObject json) throws JSONException {
@@ -213,40 +300,56 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
         final BasicIssue basicIssue = basicIssueJsonParser.parse(issueJson);
         final Iterable<String> expandos = parseExpandos(issueJson);
         final JSONObject jsonFields = issueJson.getJSONObject(FIELDS);
-        final JSONObject commentsJson = jsonFields.optJSONObject(COMMENT_FIELD.id);
+        final JSONObject commentsJson = shouldParse(jsonFields, COMMENT_FIELD) ? jsonFields.optJSONObject(COMMENT_FIELD.id) : null;
         final Collection<Comment> comments = (commentsJson == null) ? Collections.<Comment>emptyList()
                 : parseArray(commentsJson, new JsonWeakParserForJsonObject<Comment>(commentJsonParser), "comments");
 
-        final String summary = getFieldStringValue(issueJson, SUMMARY_FIELD.id);
-        final String description = getOptionalFieldStringUnisex(issueJson, DESCRIPTION_FIELD.id);
+        final String summary = shouldParse(jsonFields, SUMMARY_FIELD) ? getFieldStringValue(issueJson, SUMMARY_FIELD.id) : null;
+        final String description = shouldParse(jsonFields, DESCRIPTION_FIELD) ? getOptionalFieldStringUnisex(issueJson, DESCRIPTION_FIELD.id) : null;
 
-        final Collection<Attachment> attachments = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Attachment>(attachmentJsonParser), FIELDS, ATTACHMENT_FIELD.id);
+        final Collection<Attachment> attachments = shouldParse(jsonFields, ATTACHMENT_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Attachment>(attachmentJsonParser), FIELDS, ATTACHMENT_FIELD.id)
+                : null;
         final Collection<IssueField> fields = parseFields(issueJson);
 
-        final IssueType issueType = issueTypeJsonParser.parse(getFieldUnisex(issueJson, ISSUE_TYPE_FIELD.id));
-        final DateTime creationDate = JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, CREATED_FIELD.id));
-        final DateTime updateDate = JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, UPDATED_FIELD.id));
+        final IssueType issueType = shouldParse(jsonFields, ISSUE_TYPE_FIELD)
+                ? issueTypeJsonParser.parse(getFieldUnisex(issueJson, ISSUE_TYPE_FIELD.id)) : null;
+        final DateTime creationDate = shouldParse(jsonFields, CREATED_FIELD)
+                ? JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, CREATED_FIELD.id)) : null;
+        final DateTime updateDate = shouldParse(jsonFields, UPDATED_FIELD)
+                ? JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, UPDATED_FIELD.id)) : null;
 
-        final String dueDateString = getOptionalFieldStringUnisex(issueJson, DUE_DATE_FIELD.id);
+        final String dueDateString = shouldParse(jsonFields, DUE_DATE_FIELD) ? getOptionalFieldStringUnisex(issueJson, DUE_DATE_FIELD.id) : null;
         final DateTime dueDate = dueDateString == null ? null : JsonParseUtil.parseDateTimeOrDate(dueDateString);
 
-        final BasicPriority priority = getOptionalNestedField(issueJson, PRIORITY_FIELD.id, priorityJsonParser);
-        final Resolution resolution = getOptionalNestedField(issueJson, RESOLUTION_FIELD.id, resolutionJsonParser);
-        final User assignee = getOptionalNestedField(issueJson, ASSIGNEE_FIELD.id, userJsonParser);
-        final User reporter = getOptionalNestedField(issueJson, REPORTER_FIELD.id, userJsonParser);
-
-        final BasicProject project = projectJsonParser.parse(getFieldUnisex(issueJson, PROJECT_FIELD.id));
-        final Collection<IssueLink> issueLinks;
-        issueLinks = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<IssueLink>(issueLinkJsonParserV5), FIELDS, LINKS_FIELD.id);
-
-        Collection<Subtask> subtasks = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Subtask>(subtaskJsonParser), FIELDS, SUBTASKS_FIELD.id);
-
-        final BasicVotes votes = getOptionalNestedField(issueJson, VOTES_FIELD.id, votesJsonParser);
-        final Status status = statusJsonParser.parse(getFieldUnisex(issueJson, STATUS_FIELD.id));
-
-        final Collection<Version> fixVersions = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, FIX_VERSIONS_FIELD.id);
-        final Collection<Version> affectedVersions = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, AFFECTS_VERSIONS_FIELD.id);
-        final Collection<BasicComponent> components = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<BasicComponent>(basicComponentJsonParser), FIELDS, COMPONENTS_FIELD.id);
+        final BasicPriority priority = getOptionalNestedField(issueJson, PRIORITY_FIELD, priorityJsonParser);
+        final Resolution resolution = getOptionalNestedField(issueJson, RESOLUTION_FIELD, resolutionJsonParser);
+        final User assignee = getOptionalNestedField(issueJson, ASSIGNEE_FIELD, userJsonParser);
+        final User reporter = getOptionalNestedField(issueJson, REPORTER_FIELD, userJsonParser);
+
+        final BasicProject project = shouldParse(jsonFields, PROJECT_FIELD)
+                ? projectJsonParser.parse(getFieldUnisex(issueJson, PROJECT_FIELD.id)) : null;
+        final Collection<IssueLink> issueLinks = shouldParse(jsonFields, LINKS_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<IssueLink>(issueLinkJsonParserV5), FIELDS, LINKS_FIELD.id)
+                : null;
+
+        Collection<Subtask> subtasks = shouldParse(jsonFields, SUBTASKS_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Subtask>(subtaskJsonParser), FIELDS, SUBTASKS_FIELD.id)
+                : null;
+
+        final BasicVotes votes = getOptionalNestedField(issueJson, VOTES_FIELD, votesJsonParser);
+        final Status status = shouldParse(jsonFields, STATUS_FIELD)
+                ? statusJsonParser.parse(getFieldUnisex(issueJson, STATUS_FIELD.id)) : null;
+
+        final Collection<Version> fixVersions = shouldParse(jsonFields, FIX_VERSIONS_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, FIX_VERSIONS_FIELD.id)
+                : null;
+        final Collection<Version> affectedVersions = shouldParse(jsonFields, AFFECTS_VERSIONS_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, AFFECTS_VERSIONS_FIELD.id)
+                : null;
+        final Collection<BasicComponent> components = shouldParse(jsonFields, COMPONENTS_FIELD)
+                ? parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<BasicComponent>(basicComponentJsonParser), FIELDS, COMPONENTS_FIELD.id)
+                : null;
 
         final Collection<Worklog> worklogs;
         final URI selfUri = basicIssue.getSelf();
@@ -260,7 +363,7 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
         }
         final URI transitionsUri = parseTransisionsUri(transitionsUriString, selfUri);
 
-        if (JsonParseUtil.getNestedOptionalObject(issueJson, FIELDS, WORKLOG_FIELD.id) != null) {
+        if (shouldParse(jsonFields, WORKLOG_FIELD) && JsonParseUtil.getNestedOptionalObject(issueJson, FIELDS, WORKLOG_FIELD.id) != null) {
             worklogs = parseOptionalArray(issueJson,
                     new JsonWeakParserForJsonObject<Worklog>(new WorklogJsonParserV5(selfUri)),
                     FIELDS, WORKLOG_FIELD.id, WORKLOGS_FIELD.id);
@@ -269,11 +372,12 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
         }
 
 
-        final BasicWatchers watchers = getOptionalNestedField(issueJson, WATCHER_FIELD.id, watchersJsonParser);
-        final TimeTracking timeTracking = getOptionalNestedField(issueJson, TIMETRACKING_FIELD.id, new TimeTrackingJsonParserV5());
+        final BasicWatchers watchers = getOptionalNestedField(issueJson, WATCHER_FIELD, watchersJsonParser);
+        final TimeTracking timeTracking = getOptionalNestedField(issueJson, TIMETRACKING_FIELD, new TimeTrackingJsonParserV5());
 
-        final Set<String> labels = Sets
-                .newHashSet(parseOptionalArrayNotNullable(issueJson, jsonWeakParserForString, FIELDS, LABELS_FIELD.id));
+        final Set<String> labels = shouldParse(jsonFields, LABELS_FIELD)
+                ? Sets.newHashSet(parseOptionalArrayNotNullable(issueJson, jsonWeakParserForString, FIELDS, LABELS_FIELD.id))
+                : Sets.<String>newHashSet();
 
         final Collection<ChangelogGroup> changelog = parseOptionalArray(
                 issueJson, new JsonWeakParserForJsonObject<ChangelogGroup>(changelogJsonParser), "changelog", "histories");
@@ -293,9 +397,12 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
     }
 
     @Nullable
-    private <T> T getOptionalNestedField(final JSONObject s, final String fieldId, final JsonObjectParser<T> jsonParser)
+    private <T> T getOptionalNestedField(final JSONObject s, final IssueFieldId field, final JsonObjectParser<T> jsonParser)
             throws JSONException {
-        final JSONObject fieldJson = JsonParseUtil.getNestedOptionalObject(s, FIELDS, fieldId);
+        if (!isRequested(field.id)) {
+            return null;
+        }
+        final JSONObject fieldJson = JsonParseUtil.getNestedOptionalObject(s, FIELDS, field.id);
         // for fields like assignee (when unassigned) value attribute may be missing completely
         if (fieldJson != null) {
             return jsonParser.parse(fieldJson);
@@ -304,10 +411,7 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
     }
 
     private Collection<IssueField> parseFields(final JSONObject issueJson) throws JSONException {
-        final JSONObject names = (providedNames != null) ? providedNames : issueJson.optJSONObject(NAMES_SECTION);
-        final Map<String, String> namesMap = parseNames(names);
-        final JSONObject schema = (providedSchema != null) ? providedSchema : issueJson.optJSONObject(SCHEMA_SECTION);
-        final Map<String, String> typesMap = parseSchema(schema);
+        final FieldDescriptors descriptors = getFieldDescriptors(issueJson);
 
         final JSONObject json = issueJson.getJSONObject(FIELDS);
         final List<IssueField> fields = new ArrayList<>(json.length());
@@ -315,17 +419,18 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
         while (iterator.hasNext()) {
             final String key = iterator.next();
             try {
-                if (SPECIAL_FIELDS.contains(key)) {
+                if (SPECIAL_FIELDS.contains(key) || !isRequested(key)) {
                     continue;
                 }
                 // TODO: JRJC-122
                 // we should use fieldParser here (some new version as the old one probably won't work)
                 // enable IssueJsonParserTest#testParseIssueWithUserPickerCustomFieldFilledOut after fixing this
                 final Object value = json.opt(key);
+                final FieldDescriptors.FieldDescriptor descriptor = descriptors.get(key);
                 fields.add(new IssueField(
-                        key,
-                        namesMap.get(key),
-                        typesMap.get("key"),
+                        descriptor != null ? descriptor.getId() : key,
+                        descriptor != null ? descriptor.getName() : null,
+                        descriptor != null ? descriptor.getType() : null,
                         value == JSONObject.NULL || value == JSONObject.EXPLICIT_NULL ? null : value));
             } catch (final Exception e) {
                 throw new JSONException("Error while parsing [" + key + "] field: " + e.getMessage()) {
@@ -336,29 +441,20 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
                 };
             }
         }
-        return fields;
+        return new IssueFields(fields);
     }
 
-    private Map<String, String> parseSchema(final JSONObject json) throws JSONException {
-        final HashMap<String, String> res = Maps.newHashMap();
-        final Iterator<String> it = JsonParseUtil.getStringKeys(json);
-        while (it.hasNext()) {
-            final String fieldId = it.next();
-            JSONObject fieldDefinition = json.getJSONObject(fieldId);
-            res.put(fieldId, fieldDefinition.getString("type"));
-
+    private FieldDescriptors getFieldDescriptors(final JSONObject issueJson) throws JSONException {
+        if (providedDescriptors != null) {
+            return providedDescriptors;
         }
-        return res;
-    }
-
-    private Map<String, String> parseNames(final JSONObject json) throws JSONException {
-        final HashMap<String, String> res = Maps.newHashMap();
-        final Iterator<String> iterator = getStringKeys(json);
-        while (iterator.hasNext()) {
-            final String key = iterator.next();
-            res.put(key, json.getString(key));
+        if (providedNames != null && providedSchema != null) {
+            // decoded once and shared by all issues parsed by this parser
+            providedDescriptors = FieldDescriptors.parse(providedNames, providedSchema);
+            return providedDescriptors;
         }
-        return res;
+        final JSONObject names = (providedNames != null) ? providedNames : issueJson.optJSONObject(NAMES_SECTION);
+        final JSONObject schema = (providedSchema != null) ? providedSchema : issueJson.optJSONObject(SCHEMA_SECTION);
+        return FieldDescriptors.parse(names, schema);
     }
-
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+
+import javax.annotation.Nullable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decoder of the timestamps in the exact shape Jira sends them, <code>2010-08-17T16:40:57.791+0200</code>,
+ * and of dates, <code>2010-08-17</code>, reading the digits in place instead of going through a general purpose
+ * formatter. Values of any other shape are left to the formatters of {@link JsonParseUtil}, so results are the same.
+ *
+ * @since v5.2
+ */
+final class JiraTimestamps {
+
+    // yyyy-MM-dd'T'HH:mm:ss.SSS followed by +HHMM, or +HH:MM
+    private static final int DATE_TIME_LENGTH = 28;
+    private static final int DATE_TIME_WITH_COLON_LENGTH = 29;
+    private static final int DATE_LENGTH = 10;
+    private static final int OFFSET_START = 23;
+    private static final Chronology UTC = ISOChronology.getInstanceUTC();
+
+    private JiraTimestamps() {
+    }
+
+    static boolean isDateTime(final String str) {
+        final int length = str.length();
+        if (length != DATE_TIME_LENGTH && length != DATE_TIME_WITH_COLON_LENGTH) {
+            return false;
+        }
+        final char sign = str.charAt(OFFSET_START);
+        return isDate(str, 0) && str.charAt(10) == 'T'
+                && isDigits(str, 11, 2) && str.charAt(13) == ':'
+                && isDigits(str, 14, 2) && str.charAt(16) == ':'
+                && isDigits(str, 17, 2) && str.charAt(19) == '.'
+                && isDigits(str, 20, 3)
+                && (sign == '+' || sign == '-')
+                && isDigits(str, 24, 2)
+                && (length == DATE_TIME_LENGTH ? isDigits(str, 26, 2) : str.charAt(26) == ':' && isDigits(str, 27, 2));
+    }
+
+    static boolean isDate(final String str) {
+        return str.length() == DATE_LENGTH && isDate(str, 0);
+    }
+
+    /**
+     * @param str value for which {@link #isDateTime(String)} holds
+     * @return the instant in the default time zone, as parsed by {@link JsonParseUtil#JIRA_DATE_TIME_FORMATTER}
+     * @throws org.joda.time.IllegalFieldValueException when a field is out of range
+     */
+    static DateTime toDateTime(final String str) {
+        return new DateTime(localMillis(str) - offsetSeconds(str) * 1000L, ISOChronology.getInstance());
+    }
+
+    /**
+     * @param str value for which {@link #isDateTime(String)} holds
+     * @return the timestamp with the offset it was sent with
+     * @throws java.time.DateTimeException when a field is out of range
+     */
+    static OffsetDateTime toOffsetDateTime(final String str) {
+        final LocalDateTime local = LocalDateTime.of(number(str, 0, 4), number(str, 5, 2), number(str, 8, 2),
+                number(str, 11, 2), number(str, 14, 2), number(str, 17, 2), number(str, 20, 3) * 1000000);
+        // ZoneOffset caches the offsets of whole quarters of an hour, which all Jira time zones use
+        return OffsetDateTime.of(local, ZoneOffset.ofTotalSeconds(offsetSeconds(str)));
+    }
+
+    /**
+     * @param str value for which {@link #isDate(String)} holds
+     * @return the start of the day in the default time zone, as parsed by {@link JsonParseUtil#JIRA_DATE_FORMATTER},
+     * or <code>null</code> when the day does not start at midnight there, a case left to the formatter
+     * @throws org.joda.time.IllegalFieldValueException when a field is out of range
+     */
+    @Nullable
+    static DateTime toDate(final String str) {
+        final long localMillis = UTC.getDateTimeMillis(number(str, 0, 4), number(str, 5, 2), number(str, 8, 2), 0);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final int offset = zone.getOffsetFromLocal(localMillis);
+        final long millis = localMillis - offset;
+        if (offset != zone.getOffset(millis)) {
+            return null;
+        }
+        return new DateTime(millis, ISOChronology.getInstance(zone));
+    }
+
+    static LocalDate toLocalDate(final String str) {
+        return LocalDate.of(number(str, 0, 4), number(str, 5, 2), number(str, 8, 2));
+    }
+
+    private static long localMillis(final String str) {
+        return UTC.getDateTimeMillis(number(str, 0, 4), number(str, 5, 2), number(str, 8, 2),
+                number(str, 11, 2), number(str, 14, 2), number(str, 17, 2), number(str, 20, 3));
+    }
+
+    private static int offsetSeconds(final String str) {
+        final int hours = number(str, 24, 2);
+        final int minutes = number(str, str.length() - 2, 2);
+        if (hours > 23 || minutes > 59) {
+            throw new IllegalArgumentException("Invalid time zone offset in " + str);
+        }
+        final int seconds = hours * 3600 + minutes * 60;
+        return str.charAt(OFFSET_START) == '-' ? -seconds : seconds;
+    }
+
+    private static boolean isDate(final String str, final int from) {
+        return isDigits(str, from, 4) && str.charAt(from + 4) == '-'
+                && isDigits(str, from + 5, 2) && str.charAt(from + 7) == '-'
+                && isDigits(str, from + 8, 2);
+    }
+
+    private static boolean isDigits(final String str, final int from, final int count) {
+        for (int i = from; i < from + count; i++) {
+            final char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(final String str, final int from, final int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+        return value;
+    }
+}
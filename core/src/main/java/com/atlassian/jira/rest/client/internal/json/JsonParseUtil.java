@@ -33,6 +33,10 @@ import org.joda.time.format.ISODateTimeFormat;
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -211,9 +215,15 @@ public class JsonParseUtil {
         return s != null ? parseDateTime(s) : null;
     }
 
+    /**
+     * Timestamps in the shape Jira sends them are decoded without {@link #JIRA_DATE_TIME_FORMATTER},
+     * with the same result.
+     *
+     * @return the instant in the default time zone
+     */
     public static DateTime parseDateTime(final String str) {
         try {
-            return JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
+            return JiraTimestamps.isDateTime(str) ? JiraTimestamps.toDateTime(str) : JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
         } catch (Exception e) {
             throw new RestClientException(e);
         }
@@ -226,6 +236,12 @@ public class JsonParseUtil {
      * @return date and time or date only
      */
     public static DateTime parseDateTimeOrDate(final String str) {
+        if (JiraTimestamps.isDateTime(str)) {
+            return parseDateTime(str);
+        }
+        if (JiraTimestamps.isDate(str)) {
+            return parseDate(str);
+        }
         try {
             return JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
         } catch (Exception ignored) {
@@ -239,7 +255,39 @@ public class JsonParseUtil {
 
     public static DateTime parseDate(final String str) {
         try {
-            return JIRA_DATE_FORMATTER.parseDateTime(str);
+            final DateTime date = JiraTimestamps.isDate(str) ? JiraTimestamps.toDate(str) : null;
+            return date != null ? date : JIRA_DATE_FORMATTER.parseDateTime(str);
+        } catch (Exception e) {
+            throw new RestClientException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #parseDateTime(String)}, as a <code>java.time</code> value keeping the offset sent by Jira.
+     */
+    public static OffsetDateTime parseOffsetDateTime(final String str) {
+        try {
+            if (JiraTimestamps.isDateTime(str)) {
+                return JiraTimestamps.toOffsetDateTime(str);
+            }
+            final DateTime dateTime = JIRA_DATE_TIME_FORMATTER.withOffsetParsed().parseDateTime(str);
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(dateTime.getMillis()),
+                    ZoneOffset.ofTotalSeconds(dateTime.getZone().getOffset(dateTime.getMillis()) / 1000));
+        } catch (Exception e) {
+            throw new RestClientException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #parseDate(String)}, as a <code>java.time</code> value, which is not tied to a time zone.
+     */
+    public static LocalDate parseLocalDate(final String str) {
+        try {
+            if (JiraTimestamps.isDate(str)) {
+                return JiraTimestamps.toLocalDate(str);
+            }
+            final DateTime date = JIRA_DATE_FORMATTER.withZoneUTC().parseDateTime(str);
+            return LocalDate.of(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
         } catch (Exception e) {
             throw new RestClientException(e);
         }
@@ -0,0 +1,117 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for {@link JsonStreamParser} implementations.
+ *
+ * @since v5.2
+ */
+public class JsonStreamParseUtil {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Creates tokenizer reading given stream. The returned tokenizer is already positioned on the first token.
+     */
+    public static JsonParser createParser(final InputStream inputStream) throws IOException {
+        final JsonParser json = JSON_FACTORY.createJsonParser(inputStream);
+        json.nextToken();
+        return json;
+    }
+
+    public static JSONObject readJsonObject(final JsonParser json) throws JSONException, IOException {
+        expectToken(json, JsonToken.START_OBJECT);
+        final JSONObject res = new JSONObject();
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = json.getCurrentName();
+            json.nextToken();
+            res.put(fieldName, readValue(json));
+        }
+        return res;
+    }
+
+    public static JSONArray readJsonArray(final JsonParser json) throws JSONException, IOException {
+        expectToken(json, JsonToken.START_ARRAY);
+        final JSONArray res = new JSONArray();
+        while (json.nextToken() != JsonToken.END_ARRAY) {
+            res.put(readValue(json));
+        }
+        return res;
+    }
+
+    /**
+     * Reads current value using the same representation as Jettison's own tokenizer would produce
+     * (nested {@link JSONObject}/{@link JSONArray}, {@link JSONObject#NULL} for nulls).
+     */
+    public static Object readValue(final JsonParser json) throws JSONException, IOException {
+        final JsonToken token = json.getCurrentToken();
+        if (token == null) {
+            throw new JSONException("Unexpected end of JSON input");
+        }
+        switch (token) {
+            case START_OBJECT:
+                return readJsonObject(json);
+            case START_ARRAY:
+                return readJsonArray(json);
+            case VALUE_STRING:
+                return json.getText();
+            case VALUE_NUMBER_INT:
+                switch (json.getNumberType()) {
+                    case INT:
+                        return json.getIntValue();
+                    case LONG:
+                        return json.getLongValue();
+                    default:
+                        return json.getDoubleValue();
+                }
+            case VALUE_NUMBER_FLOAT:
+                return json.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return JSONObject.NULL;
+            default:
+                throw new JSONException("Unexpected token " + token + " at " + json.getCurrentLocation());
+        }
+    }
+
+    public static int readInt(final JsonParser json, final String fieldName) throws JSONException, IOException {
+        if (json.getCurrentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new JSONException("JSONObject[\"" + fieldName + "\"] is not a number.");
+        }
+        return json.getIntValue();
+    }
+
+    /**
+     * Parses array the tokenizer is positioned on, passing every element to given parser.
+     */
+    public static <T> List<T> parseJsonArray(final JsonParser json, final JsonStreamParser<T> elementParser)
+            throws JSONException, IOException {
+        expectToken(json, JsonToken.START_ARRAY);
+        final List<T> res = new ArrayList<T>();
+        while (json.nextToken() != JsonToken.END_ARRAY) {
+            res.add(elementParser.parse(json));
+        }
+        return res;
+    }
+
+    public static void expectToken(final JsonParser json, final JsonToken expected) throws JSONException {
+        if (json.getCurrentToken() != expected) {
+            throw new JSONException("Expected " + expected + " but found " + json.getCurrentToken()
+                    + " at " + json.getCurrentLocation());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jettison.json.JSONException;
+
+import java.io.IOException;
+
+/**
+ * Parser which builds a domain object directly from a stream of JSON tokens instead of a fully
+ * materialized {@link org.codehaus.jettison.json.JSONObject}.
+ * <p>
+ * When {@link #parse(org.codehaus.jackson.JsonParser)} is called the tokenizer is positioned on the first token
+ * of the value to parse. On return it must be positioned on the last token of that value (e.g. the matching
+ * {@code END_OBJECT}), so that parsers can be nested.
+ *
+ * @since v5.2
+ */
+public interface JsonStreamParser<T> {
+    T parse(org.codehaus.jackson.JsonParser json) throws JSONException, IOException;
+}
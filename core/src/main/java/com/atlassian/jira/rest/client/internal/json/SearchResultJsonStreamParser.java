@@ -0,0 +1,157 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import com.atlassian.jira.rest.client.api.domain.BasicComponent;
+import com.atlassian.jira.rest.client.api.domain.ChangelogGroup;
+import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.IssueFields;
+import com.atlassian.jira.rest.client.api.domain.IssueLink;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.Subtask;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.api.domain.Worklog;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Streaming counterpart of {@link SearchResultJsonParser}.
+ * <p>
+ * The response is read token by token, so the response body is never read into a String. Each issue is
+ * materialized on its own as a DOM, handed to {@link IssueJsonParser} and dropped, so at most one issue DOM
+ * is held at a time. Names and schema are decoded once into {@link FieldDescriptors} shared by all issues of the page.
+ * JIRA serializes the "names" and "schema" sections after the issues: issues read before these sections are parsed
+ * without field names and types, which are given to their fields once the page is complete.
+ *
+ * @since v5.2
+ */
+public class SearchResultJsonStreamParser implements JsonStreamParser<SearchResult> {
+
+    @Nullable
+    private final Set<String> requestedFields;
+
+    public SearchResultJsonStreamParser() {
+        this(null);
+    }
+
+    /**
+     * Creates parser of pages retrieved with a <code>fields</code> projection, whose issues are parsed like
+     * by {@link IssueJsonParser#IssueJsonParser(Set)}.
+     *
+     * @param requestedFields value of the <code>fields</code> parameter of the search
+     */
+    public SearchResultJsonStreamParser(@Nullable final Set<String> requestedFields) {
+        this.requestedFields = requestedFields;
+    }
+
+    /**
+     * Parsers of the same fields are equal, so that searches created with their own parser still share cached
+     * and coalesced responses.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof SearchResultJsonStreamParser
+                && Objects.equals(requestedFields, ((SearchResultJsonStreamParser) o).requestedFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(requestedFields);
+    }
+
+    @Override
+    public SearchResult parse(JsonParser json) throws JSONException, IOException {
+        JsonStreamParseUtil.expectToken(json, JsonToken.START_OBJECT);
+        Integer startAt = null;
+        Integer maxResults = null;
+        Integer total = null;
+        JSONObject names = null;
+        JSONObject schema = null;
+        final List<Issue> issues = new ArrayList<Issue>();
+        // number of issues parsed before names and schema were known
+        int unnamedIssues = 0;
+
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = json.getCurrentName();
+            json.nextToken();
+            if ("startAt".equals(fieldName)) {
+                startAt = JsonStreamParseUtil.readInt(json, fieldName);
+            } else if ("maxResults".equals(fieldName)) {
+                maxResults = JsonStreamParseUtil.readInt(json, fieldName);
+            } else if ("total".equals(fieldName)) {
+                total = JsonStreamParseUtil.readInt(json, fieldName);
+            } else if (IssueJsonParser.NAMES_SECTION.equals(fieldName)) {
+                names = JsonStreamParseUtil.readJsonObject(json);
+            } else if (IssueJsonParser.SCHEMA_SECTION.equals(fieldName)) {
+                schema = JsonStreamParseUtil.readJsonObject(json);
+            } else if ("issues".equals(fieldName)) {
+                JsonStreamParseUtil.expectToken(json, JsonToken.START_ARRAY);
+                final boolean named = names != null && schema != null;
+                final IssueJsonParser issueParser = new IssueJsonParser(
+                        named ? FieldDescriptors.parse(names, schema) : FieldDescriptors.EMPTY, requestedFields);
+                while (json.nextToken() != JsonToken.END_ARRAY) {
+                    issues.add(issueParser.parse(JsonStreamParseUtil.readJsonObject(json)));
+                    if (!named) {
+                        unnamedIssues++;
+                    }
+                }
+            } else {
+                json.skipChildren();
+            }
+        }
+
+        if (unnamedIssues > 0) {
+            if (names == null || schema == null) {
+                throw new JSONException("JSONObject[\"" + (names == null ? IssueJsonParser.NAMES_SECTION : IssueJsonParser.SCHEMA_SECTION) + "\"] not found.");
+            }
+            final FieldDescriptors descriptors = FieldDescriptors.parse(names, schema);
+            for (int i = 0; i < unnamedIssues; i++) {
+                issues.set(i, withFieldDescriptors(issues.get(i), descriptors));
+            }
+        }
+        return new SearchResult(required(startAt, "startAt"), required(maxResults, "maxResults"), required(total, "total"),
+                issues.isEmpty() ? Collections.<Issue>emptyList() : issues);
+    }
+
+    /**
+     * @return copy of given issue, parsed without field descriptors, whose fields have the names and types of given descriptors
+     */
+    private static Issue withFieldDescriptors(final Issue issue, final FieldDescriptors descriptors) {
+        final List<IssueField> fields = new ArrayList<IssueField>();
+        for (IssueField field : issue.getFields()) {
+            final FieldDescriptors.FieldDescriptor descriptor = descriptors.get(field.getId());
+            fields.add(descriptor == null ? field
+                    : new IssueField(descriptor.getId(), descriptor.getName(), descriptor.getType(), field.getValue()));
+        }
+        // the getters return the collections the issue was created with
+        return new Issue(issue.getSummary(), issue.getSelf(), issue.getKey(), issue.getId(), issue.getProject(),
+                issue.getIssueType(), issue.getStatus(), issue.getDescription(), issue.getPriority(), issue.getResolution(),
+                (Collection<Attachment>) issue.getAttachments(), issue.getReporter(), issue.getAssignee(),
+                issue.getCreationDate(), issue.getUpdateDate(), issue.getDueDate(),
+                (Collection<Version>) issue.getAffectedVersions(), (Collection<Version>) issue.getFixVersions(),
+                (Collection<BasicComponent>) issue.getComponents(), issue.getTimeTracking(), new IssueFields(fields),
+                (Collection<Comment>) issue.getComments(), issue.getTransitionsUri(),
+                (Collection<IssueLink>) issue.getIssueLinks(), issue.getVotes(), (Collection<Worklog>) issue.getWorklogs(),
+                issue.getWatchers(), issue.getExpandos(), (Collection<Subtask>) issue.getSubtasks(),
+                (Collection<ChangelogGroup>) issue.getChangelog(), issue.getOperations(), issue.getLabels());
+    }
+
+    private static int required(final Integer value, final String fieldName) throws JSONException {
+        if (value == null) {
+            throw new JSONException("JSONObject[\"" + fieldName + "\"] not found.");
+        }
+        return value;
+    }
+}
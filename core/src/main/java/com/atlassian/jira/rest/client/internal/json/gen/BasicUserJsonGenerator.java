@@ -20,7 +20,9 @@ import com.atlassian.jira.rest.client.api.domain.BasicUser;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
-public class BasicUserJsonGenerator implements JsonGenerator<BasicUser> {
+import java.io.IOException;
+
+public class BasicUserJsonGenerator implements JsonGenerator<BasicUser>, JsonStreamGenerator<BasicUser> {
     @Override
     public JSONObject generate(BasicUser user) throws JSONException {
         return new JSONObject()
@@ -28,4 +30,13 @@ public class BasicUserJsonGenerator implements JsonGenerator<BasicUser> {
                 .put("name", user.getName())
                 .put("displayName", user.getDisplayName());
     }
+
+    @Override
+    public void write(final BasicUser user, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("self", user.getSelf(), json);
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("name", user.getName(), json);
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("displayName", user.getDisplayName(), json);
+        json.writeEndObject();
+    }
 }
@@ -17,10 +17,14 @@
 package com.atlassian.jira.rest.client.internal.json.gen;
 
 import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import org.codehaus.jackson.JsonGenerationException;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Map;
 
 /**
@@ -28,7 +32,8 @@ import java.util.Map;
  *
  * @since v1.0
  */
-public class ComplexIssueInputFieldValueJsonGenerator implements JsonGenerator<ComplexIssueInputFieldValue> {
+public class ComplexIssueInputFieldValueJsonGenerator implements JsonGenerator<ComplexIssueInputFieldValue>,
+        JsonStreamGenerator<ComplexIssueInputFieldValue> {
     @Override
     public JSONObject generate(ComplexIssueInputFieldValue bean) throws JSONException {
         final JSONObject json = new JSONObject();
@@ -58,4 +63,48 @@ public class ComplexIssueInputFieldValueJsonGenerator implements JsonGenerator<C
             throw new JSONException("Cannot generate value - unknown type for me: " + rawValue.getClass());
         }
     }
+
+    @Override
+    public void write(final ComplexIssueInputFieldValue bean, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        for (Map.Entry<String, Object> entry : bean.getValuesMap().entrySet()) {
+            json.writeFieldName(entry.getKey());
+            writeFieldValue(entry.getValue(), json);
+        }
+        json.writeEndObject();
+    }
+
+    /**
+     * Streaming counterpart of {@link #generateFieldValueForJson(Object)}, accepting the same types of values.
+     */
+    public void writeFieldValue(final Object rawValue, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        if (rawValue == null) {
+            json.writeNull();
+        } else if (rawValue instanceof ComplexIssueInputFieldValue) {
+            write((ComplexIssueInputFieldValue) rawValue, json);
+        } else if (rawValue instanceof Iterable) {
+            json.writeStartArray();
+            for (Object value : (Iterable) rawValue) {
+                writeFieldValue(value, json);
+            }
+            json.writeEndArray();
+        } else if (rawValue instanceof CharSequence) {
+            json.writeString(rawValue.toString());
+        } else if (rawValue instanceof Integer || rawValue instanceof Long
+                || rawValue instanceof Short || rawValue instanceof Byte) {
+            json.writeNumber(((Number) rawValue).longValue());
+        } else if (rawValue instanceof BigInteger) {
+            json.writeNumber((BigInteger) rawValue);
+        } else if (rawValue instanceof BigDecimal) {
+            json.writeNumber((BigDecimal) rawValue);
+        } else if (rawValue instanceof Number) {
+            final double value = ((Number) rawValue).doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new JsonGenerationException("JSON does not allow non-finite numbers: " + rawValue);
+            }
+            json.writeNumber(value);
+        } else {
+            throw new JsonGenerationException("Cannot generate value - unknown type for me: " + rawValue.getClass());
+        }
+    }
 }
@@ -23,12 +23,14 @@ import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
+import java.io.IOException;
+
 /**
  * Json Generator for IssueInput
  *
  * @since 1.0
  */
-public class IssueInputJsonGenerator implements JsonGenerator<IssueInput> {
+public class IssueInputJsonGenerator implements JsonGenerator<IssueInput>, JsonStreamGenerator<IssueInput> {
 
     private final ComplexIssueInputFieldValueJsonGenerator complexIssueInputFieldValueJsonGenerator = new ComplexIssueInputFieldValueJsonGenerator();
 
@@ -63,4 +65,36 @@ public class IssueInputJsonGenerator implements JsonGenerator<IssueInput> {
         return jsonObject;
     }
 
+    @Override
+    public void write(final IssueInput issue, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeObjectFieldStart("fields");
+        if (issue != null && issue.getFields() != null) {
+            for (final FieldInput field : issue.getFields().values()) {
+                if (field.getValue() != null) {
+                    json.writeFieldName(field.getId());
+                    complexIssueInputFieldValueJsonGenerator.writeFieldValue(field.getValue(), json);
+                }
+            }
+        }
+        json.writeEndObject();
+
+        json.writeArrayFieldStart("properties");
+        if (issue != null && issue.getProperties() != null) {
+            for (final PropertyInput p : issue.getProperties()) {
+                json.writeStartObject();
+                json.writeStringField("key", p.getKey());
+                json.writeFieldName("value");
+                // validated and normalized the same way as by generate()
+                try {
+                    json.writeRawValue(new JSONObject(p.getValue()).toString());
+                } catch (JSONException e) {
+                    throw new IOException("Invalid value of property " + p.getKey(), e);
+                }
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
 }
@@ -17,18 +17,23 @@
 package com.atlassian.jira.rest.client.internal.json.gen;
 
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
- * Json Generator for IssuesInput
+ * Json Generator for IssuesInput. Streamed, the batch is written in a part per issue, so only one issue
+ * is held in memory at a time.
  *
  * @since 1.0
  */
-public class IssuesInputJsonGenerator implements JsonGenerator<Iterable<IssueInput>> {
+public class IssuesInputJsonGenerator implements JsonGenerator<Iterable<IssueInput>>,
+        JsonStreamGenerator<Iterable<IssueInput>> {
 
     private final IssueInputJsonGenerator issueInputJsonGenerator = new IssueInputJsonGenerator();
 
@@ -43,4 +48,27 @@ public class IssuesInputJsonGenerator implements JsonGenerator<Iterable<IssueInp
         issueUpdates.put("issueUpdates", obj);
         return issueUpdates;
     }
+
+    @Override
+    public void write(final Iterable<IssueInput> issues, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        final Iterator<Part> parts = parts(issues);
+        while (parts.hasNext()) {
+            parts.next().write(json);
+        }
+    }
+
+    @Override
+    public Iterator<Part> parts(final Iterable<IssueInput> issues) {
+        final Part start = json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("issueUpdates");
+        };
+        final Part end = json -> {
+            json.writeEndArray();
+            json.writeEndObject();
+        };
+        final Iterator<Part> issueParts = Iterators.<IssueInput, Part>transform(issues.iterator(),
+                issue -> json -> issueInputJsonGenerator.write(issue, json));
+        return Iterators.concat(Iterators.singletonIterator(start), issueParts, Iterators.singletonIterator(end));
+    }
 }
@@ -0,0 +1,34 @@
+package com.atlassian.jira.rest.client.internal.json.gen;
+
+import com.google.common.collect.Iterators;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Generator which writes a bean directly as a stream of JSON tokens instead of building
+ * a {@link org.codehaus.jettison.json.JSONObject} first, the counterpart of
+ * {@link com.atlassian.jira.rest.client.internal.json.JsonStreamParser}.
+ * <p>
+ * {@link #write(Object, org.codehaus.jackson.JsonGenerator)} writes one complete value, so generators can be nested
+ * as values of fields or elements of arrays.
+ *
+ * @since v5.2
+ */
+public interface JsonStreamGenerator<T> {
+
+    void write(T bean, org.codehaus.jackson.JsonGenerator json) throws IOException;
+
+    /**
+     * Splits the writing of the bean into parts, so that each part can be sent before the next one is generated.
+     * Written one after the other, the parts give the same tokens as {@link #write(Object, org.codehaus.jackson.JsonGenerator)}.
+     * Generators of large collections override it with a part per element, the default is a single part.
+     */
+    default Iterator<Part> parts(final T bean) {
+        return Iterators.singletonIterator(json -> write(bean, json));
+    }
+
+    interface Part {
+        void write(org.codehaus.jackson.JsonGenerator json) throws IOException;
+    }
+}
@@ -0,0 +1,38 @@
+package com.atlassian.jira.rest.client.internal.json.gen;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Helpers for {@link JsonStreamGenerator} implementations.
+ *
+ * @since v5.2
+ */
+public class JsonStreamGeneratorUtil {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Creates generator writing UTF-8 to given stream, which is not closed with the generator.
+     */
+    public static org.codehaus.jackson.JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+        final org.codehaus.jackson.JsonGenerator json = JSON_FACTORY.createJsonGenerator(outputStream, JsonEncoding.UTF8);
+        json.disable(org.codehaus.jackson.JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return json;
+    }
+
+    /**
+     * Writes the string value of the field, or omits the field when the value is <code>null</code>, the same way
+     * as {@link org.codehaus.jettison.json.JSONObject#put(String, Object)} does.
+     */
+    public static void writeStringFieldIfNotNull(final String fieldName, @Nullable final Object value,
+                                                 final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        if (value != null) {
+            json.writeStringField(fieldName, value.toString());
+        }
+    }
+}
@@ -20,7 +20,9 @@ import com.atlassian.jira.rest.client.api.domain.Visibility;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
-public class VisibilityJsonGenerator implements JsonGenerator<Visibility> {
+import java.io.IOException;
+
+public class VisibilityJsonGenerator implements JsonGenerator<Visibility>, JsonStreamGenerator<Visibility> {
 
     @Override
     public JSONObject generate(Visibility visibility) throws JSONException {
@@ -28,4 +30,12 @@ public class VisibilityJsonGenerator implements JsonGenerator<Visibility> {
                 .put("type", visibility.getType().name().toLowerCase())
                 .put("value", visibility.getValue());
     }
+
+    @Override
+    public void write(final Visibility visibility, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", visibility.getType().name().toLowerCase());
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("value", visibility.getValue(), json);
+        json.writeEndObject();
+    }
 }
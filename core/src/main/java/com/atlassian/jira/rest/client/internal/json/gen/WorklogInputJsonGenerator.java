@@ -16,18 +16,18 @@
 
 package com.atlassian.jira.rest.client.internal.json.gen;
 
-import com.atlassian.jira.rest.client.api.domain.BasicUser;
-import com.atlassian.jira.rest.client.api.domain.Visibility;
 import com.atlassian.jira.rest.client.api.domain.input.WorklogInput;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.joda.time.format.DateTimeFormatter;
 
-public class WorklogInputJsonGenerator implements JsonGenerator<WorklogInput> {
+import java.io.IOException;
 
-    private final JsonGenerator<Visibility> visibilityGenerator = new VisibilityJsonGenerator();
-    private final JsonGenerator<BasicUser> basicUserJsonGenerator = new BasicUserJsonGenerator();
+public class WorklogInputJsonGenerator implements JsonGenerator<WorklogInput>, JsonStreamGenerator<WorklogInput> {
+
+    private final VisibilityJsonGenerator visibilityGenerator = new VisibilityJsonGenerator();
+    private final BasicUserJsonGenerator basicUserJsonGenerator = new BasicUserJsonGenerator();
     private final DateTimeFormatter dateTimeFormatter;
 
     public WorklogInputJsonGenerator() {
@@ -52,6 +52,27 @@ public class WorklogInputJsonGenerator implements JsonGenerator<WorklogInput> {
         return res;
     }
 
+    @Override
+    public void write(final WorklogInput worklogInput, final org.codehaus.jackson.JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("self", worklogInput.getSelf(), json);
+        JsonStreamGeneratorUtil.writeStringFieldIfNotNull("comment", worklogInput.getComment(), json);
+        json.writeStringField("started", dateTimeFormatter.print(worklogInput.getStartDate()));
+        json.writeStringField("timeSpent", worklogInput.getMinutesSpent() + "m");
+        writeIfNotNull("visibility", worklogInput.getVisibility(), json, visibilityGenerator);
+        writeIfNotNull("author", worklogInput.getAuthor(), json, basicUserJsonGenerator);
+        writeIfNotNull("updateAuthor", worklogInput.getUpdateAuthor(), json, basicUserJsonGenerator);
+        json.writeEndObject();
+    }
+
+    private <K> void writeIfNotNull(final String key, final K value, final org.codehaus.jackson.JsonGenerator json,
+                                    final JsonStreamGenerator<K> generator) throws IOException {
+        if (value != null) {
+            json.writeFieldName(key);
+            generator.write(value, json);
+        }
+    }
+
     private <K> JSONObject putGeneratedIfNotNull(final String key, final K value, final JSONObject dest, final JsonGenerator<K> generator)
             throws JSONException {
         if (value != null) {
@@ -0,0 +1,109 @@
+package com.atlassian.jira.rest.client.metrics;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.jira.rest.client.api.ClientMetrics;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Commits JDK Flight Recorder events for the requests to Jira, so they can be lined up with GC pauses, thread
+ * activity and allocations of the same recording. Events are committed when the request or parse completes, so their
+ * own duration is zero and the measured time is in their <code>duration</code> field.
+ * Requires a JVM with Flight Recorder, i.e. Java 11 or Java 8 update 262 and later.
+ *
+ * @since v5.2
+ */
+public class JfrClientMetrics implements ClientMetrics {
+
+    @Override
+    public void requestCompleted(final Request.Method method, final String endpoint, final int statusCode,
+                                 final long durationNanos, final long responseBytes) {
+        final RequestEvent event = new RequestEvent();
+        if (event.isEnabled()) {
+            event.method = method.name();
+            event.endpoint = endpoint;
+            event.statusCode = statusCode;
+            event.duration = durationNanos;
+            event.responseBytes = responseBytes;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void requestFailed(final Request.Method method, final String endpoint, final Throwable failure,
+                              final long durationNanos) {
+        final RequestEvent event = new RequestEvent();
+        if (event.isEnabled()) {
+            event.method = method.name();
+            event.endpoint = endpoint;
+            event.statusCode = -1;
+            event.duration = durationNanos;
+            event.responseBytes = -1;
+            event.failure = failure.toString();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void responseParsed(final String parser, final long durationNanos, final boolean success) {
+        final ParseEvent event = new ParseEvent();
+        if (event.isEnabled()) {
+            event.parser = parser;
+            event.duration = durationNanos;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    @Name("com.atlassian.jira.rest.client.Request")
+    @Label("Jira REST Request")
+    @Category({"Jira REST Client"})
+    @Description("Request sent to Jira, from sending it to having its response")
+    @StackTrace(false)
+    static class RequestEvent extends Event {
+        @Label("Method")
+        String method;
+
+        @Label("Endpoint")
+        String endpoint;
+
+        @Label("Status Code")
+        @Description("HTTP status of the response, or -1 when the request failed")
+        int statusCode;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long duration;
+
+        @Label("Response Size")
+        @Description("Length of the response body, or -1 when it is unknown")
+        @DataAmount
+        long responseBytes;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name("com.atlassian.jira.rest.client.Parse")
+    @Label("Jira REST Response Parsing")
+    @Category({"Jira REST Client"})
+    @Description("Parsing of a response into domain objects")
+    @StackTrace(false)
+    static class ParseEvent extends Event {
+        @Label("Parser")
+        String parser;
+
+        @Label("Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long duration;
+
+        @Label("Success")
+        boolean success;
+    }
+}
@@ -0,0 +1,111 @@
+package com.atlassian.jira.rest.client.metrics;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.jira.rest.client.api.ClientMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the requests to Jira in a Micrometer {@link MeterRegistry}:
+ * <ul>
+ * <li><code>jira.client.requests</code> timer, tagged with <code>method</code>, <code>endpoint</code>,
+ * <code>status</code>, <code>outcome</code> and <code>exception</code>; its count is the number of responses
+ * per status code</li>
+ * <li><code>jira.client.response.size</code> distribution of the response body lengths in bytes, tagged with
+ * <code>method</code> and <code>endpoint</code></li>
+ * <li><code>jira.client.parse</code> timer of the response parsing, tagged with <code>parser</code> and
+ * <code>outcome</code></li>
+ * </ul>
+ * Percentiles and histograms are left to the configuration of the registry, e.g. with a <code>MeterFilter</code>.
+ * Micrometer is an optional dependency of this library, which has to be added to use this class.
+ *
+ * @since v5.2
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+
+    public static final String REQUESTS = "jira.client.requests";
+    public static final String RESPONSE_SIZE = "jira.client.response.size";
+    public static final String PARSE = "jira.client.parse";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+
+    public MicrometerClientMetrics(final MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param tags added to every meter, e.g. to tell apart several Jira instances
+     */
+    public MicrometerClientMetrics(final MeterRegistry registry, final Iterable<Tag> tags) {
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+    }
+
+    @Override
+    public void requestCompleted(final Request.Method method, final String endpoint, final int statusCode,
+                                 final long durationNanos, final long responseBytes) {
+        Timer.builder(REQUESTS)
+                .tags(tags)
+                .tag("method", method.name())
+                .tag("endpoint", endpoint)
+                .tag("status", Integer.toString(statusCode))
+                .tag("outcome", outcome(statusCode))
+                .tag("exception", NONE)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (responseBytes >= 0) {
+            DistributionSummary.builder(RESPONSE_SIZE)
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .tag("method", method.name())
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(responseBytes);
+        }
+    }
+
+    @Override
+    public void requestFailed(final Request.Method method, final String endpoint, final Throwable failure,
+                              final long durationNanos) {
+        Timer.builder(REQUESTS)
+                .tags(tags)
+                .tag("method", method.name())
+                .tag("endpoint", endpoint)
+                .tag("status", "IO_ERROR")
+                .tag("outcome", "UNKNOWN")
+                .tag("exception", failure.getClass().getSimpleName())
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void responseParsed(final String parser, final long durationNanos, final boolean success) {
+        Timer.builder(PARSE)
+                .tags(tags)
+                .tag("parser", parser)
+                .tag("outcome", success ? "SUCCESS" : "FAILURE")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(final int statusCode) {
+        if (statusCode < 200) {
+            return "INFORMATIONAL";
+        } else if (statusCode < 300) {
+            return "SUCCESS";
+        } else if (statusCode < 400) {
+            return "REDIRECTION";
+        } else if (statusCode < 500) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
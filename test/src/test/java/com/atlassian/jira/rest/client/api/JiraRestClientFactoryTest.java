@@ -0,0 +1,59 @@
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class JiraRestClientFactoryTest {
+
+    private static final URI SERVER_URI = URI.create("http://localhost:2990/jira");
+
+    private final List<URI> created = new ArrayList<>();
+
+    /**
+     * Implemented before options were supported.
+     */
+    private final JiraRestClientFactory factory = new JiraRestClientFactory() {
+        @Override
+        public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+            created.add(serverUri);
+            return null;
+        }
+
+        @Override
+        public JiraRestClient createWithBasicHttpAuthentication(final URI serverUri, final String username,
+                                                                final String password) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JiraRestClient createWithAuthenticationHandler(final URI serverUri,
+                                                              final AuthenticationHandler authenticationHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JiraRestClient create(final URI serverUri, final HttpClient httpClient) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    public void testDefaultOptionsAreSupportedByAnyFactory() {
+        factory.create(SERVER_URI, new AnonymousAuthenticationHandler(), JiraRestClientOptions.defaults());
+
+        assertEquals(1, created.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOtherOptionsAreRejected() {
+        factory.create(SERVER_URI, new AnonymousAuthenticationHandler(),
+                JiraRestClientOptions.builder().withMaxTotalConnections(10).build());
+    }
+}
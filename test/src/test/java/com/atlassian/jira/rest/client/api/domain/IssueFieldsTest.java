@@ -0,0 +1,50 @@
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IssueFieldsTest {
+    private static final IssueField SUMMARY = new IssueField("summary", "Summary", "string", "a summary");
+    private static final IssueField STORY_POINTS = new IssueField("customfield_10000", "Points", "number", 3.0);
+    private static final IssueField EMPTY = new IssueField("customfield_10001", "Team", "string", null);
+    private static final IssueField OTHER_POINTS = new IssueField("customfield_10002", "Points", "number", 5.0);
+    private static final IssueField DUPLICATE = new IssueField("customfield_10000", "Points", "number", 8.0);
+    private static final IssueField UNNAMED = new IssueField("customfield_10003", null, null, "x");
+
+    private final IssueFields fields = new IssueFields(ImmutableList.of(SUMMARY, STORY_POINTS, EMPTY, OTHER_POINTS, DUPLICATE, UNNAMED));
+
+    @Test
+    public void testGetById() {
+        assertSame(SUMMARY, fields.getById("summary"));
+        assertSame(STORY_POINTS, fields.getById("customfield_10000"));
+        assertNull(fields.getById("customfield_99999"));
+    }
+
+    @Test
+    public void testGetByName() {
+        assertEquals(ImmutableList.of(STORY_POINTS, OTHER_POINTS, DUPLICATE), fields.getByName("Points"));
+        assertTrue(fields.getByName("Nothing").isEmpty());
+    }
+
+    @Test
+    public void testForEachNonNullCustomField() {
+        final List<IssueField> visited = new ArrayList<>();
+        fields.forEachNonNullCustomField(visited::add);
+        assertEquals(ImmutableList.of(STORY_POINTS, OTHER_POINTS, DUPLICATE, UNNAMED), visited);
+    }
+
+    @Test
+    public void testKeepsOrderAndSize() {
+        assertEquals(6, fields.size());
+        assertEquals(ImmutableList.of(SUMMARY, STORY_POINTS, EMPTY, OTHER_POINTS, DUPLICATE, UNNAMED), ImmutableList.copyOf(fields));
+        assertSame(fields, IssueFields.of(fields));
+    }
+}
@@ -0,0 +1,18 @@
+package com.atlassian.jira.rest.client.auth;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.api.Request;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BasicHttpAuthenticationHandlerTest {
+
+    @Test
+    public void testEncodesCredentialsAsUtf8() {
+        final Request.Builder builder = new DefaultRequest.DefaultRequestBuilder(null);
+        new BasicHttpAuthenticationHandler("za\u017c\u00f3\u0142\u0107", "g\u0119\u015bl\u0105 ja\u017a\u0144").configure(builder);
+
+        assertEquals("Basic emHFvMOzxYLEhzpnxJnFm2zEhSBqYcW6xYQ=", builder.build().getHeader("Authorization"));
+    }
+}
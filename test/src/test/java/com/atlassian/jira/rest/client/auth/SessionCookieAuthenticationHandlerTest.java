@@ -0,0 +1,188 @@
+package com.atlassian.jira.rest.client.auth;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.SessionRestClient;
+import com.atlassian.jira.rest.client.api.domain.Authentication;
+import com.atlassian.jira.rest.client.api.domain.LoginInfo;
+import com.atlassian.jira.rest.client.api.domain.Session;
+import com.atlassian.jira.rest.client.api.domain.SessionCookie;
+import com.atlassian.jira.rest.client.internal.async.SyncJiraRestClientFactory;
+import com.atlassian.jira.rest.client.stub.JiraStubServer;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SessionCookieAuthenticationHandlerTest {
+
+    private final FakeSessionRestClient sessionRestClient = new FakeSessionRestClient();
+    private final SessionCookieAuthenticationHandler handler = new SessionCookieAuthenticationHandler("admin", "secret");
+
+    @Test
+    public void testLogsInOnce() {
+        handler.setSessionRestClient(sessionRestClient);
+
+        assertEquals("JSESSIONID=session-1", authenticatedCookie());
+        assertEquals("JSESSIONID=session-1", authenticatedCookie());
+        assertEquals(1, sessionRestClient.logins.size());
+        assertEquals("admin:secret", sessionRestClient.logins.get(0));
+    }
+
+    @Test
+    public void testAuthenticatesOnceLoggedInWithoutWaiting() {
+        handler.setSessionRestClient(sessionRestClient);
+        final SettablePromise<Authentication> login = Promises.settablePromise();
+        sessionRestClient.nextLogin = login;
+        final Request.Builder builder = new DefaultRequest.DefaultRequestBuilder(null);
+
+        final Promise<Object> authenticated = handler.authenticate(builder);
+        assertFalse(authenticated.isDone());
+        assertNull(builder.build().getHeader("Cookie"));
+
+        login.set(authentication("session-1"));
+        assertTrue(authenticated.isDone());
+        assertEquals("JSESSIONID=session-1", builder.build().getHeader("Cookie"));
+    }
+
+    @Test
+    public void testLogsInAgainAfterFailedLogin() {
+        handler.setSessionRestClient(sessionRestClient);
+        sessionRestClient.failNextLogin = true;
+
+        try {
+            authenticatedCookie();
+            fail("login failure should be reported");
+        } catch (RuntimeException expected) {
+            // the request fails together with the login
+        }
+        assertEquals("JSESSIONID=session-2", authenticatedCookie());
+    }
+
+    @Test
+    public void testRejectedSessionIsRenewedAndRequestSentAgain() {
+        handler.setSessionRestClient(sessionRestClient);
+        final Object firstSession = handler.authenticate(new DefaultRequest.DefaultRequestBuilder(null)).claim();
+
+        assertFalse(handler.onResponse(firstSession, response(200)));
+        assertTrue(handler.onResponse(firstSession, response(401)));
+
+        assertEquals("JSESSIONID=session-2", authenticatedCookie());
+        assertEquals(2, sessionRestClient.logins.size());
+    }
+
+    @Test
+    public void testLateRejectionKeepsRenewedSession() {
+        handler.setSessionRestClient(sessionRestClient);
+        final Object firstSession = handler.authenticate(new DefaultRequest.DefaultRequestBuilder(null)).claim();
+        handler.onResponse(firstSession, response(401));
+        assertEquals("JSESSIONID=session-2", authenticatedCookie());
+
+        // another request sent with the first session is rejected after the renewal
+        assertTrue(handler.onResponse(firstSession, response(401)));
+
+        assertEquals("JSESSIONID=session-2", authenticatedCookie());
+        assertEquals(2, sessionRestClient.logins.size());
+    }
+
+    @Test
+    public void testRequestRejectedWithExpiredSessionIsSentAgain() throws IOException {
+        try (JiraStubServer stub = JiraStubServer.builder().withSessionRequired().start();
+             JiraRestClient client = new SyncJiraRestClientFactory().create(stub.getServerUri(), handler)) {
+            assertNotNull(client.getIssueClient().getIssue("TST-1").claim().getKey());
+            assertEquals(1, stub.getLoginCount());
+
+            stub.expireSession();
+
+            assertNotNull(client.getIssueClient().getIssue("TST-1").claim().getKey());
+            assertEquals(2, stub.getLoginCount());
+            assertEquals(1, stub.getUnauthorizedCount());
+        }
+    }
+
+    @Test
+    public void testRequiresSessionClient() {
+        try {
+            authenticatedCookie();
+            fail("session client should be required");
+        } catch (IllegalStateException expected) {
+            // the request fails without being sent
+        }
+    }
+
+    @Test
+    public void testSessionClientWithoutLoginFailsRequests() {
+        handler.setSessionRestClient(new SessionRestClient() {
+            @Override
+            public Promise<Session> getCurrentSession() {
+                throw new UnsupportedOperationException();
+            }
+        });
+        try {
+            authenticatedCookie();
+            fail("session client cannot log in");
+        } catch (UnsupportedOperationException expected) {
+            // the request fails without being sent
+        }
+    }
+
+    private String authenticatedCookie() {
+        final Request.Builder builder = new DefaultRequest.DefaultRequestBuilder(null);
+        handler.authenticate(builder).claim();
+        return builder.build().getHeader("Cookie");
+    }
+
+    private static Response response(final int statusCode) {
+        return (Response) Proxy.newProxyInstance(Response.class.getClassLoader(), new Class<?>[]{Response.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getStatusCode")) {
+                        return statusCode;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static Authentication authentication(final String session) {
+        return new Authentication(new LoginInfo(0, 1, null, null), new SessionCookie("JSESSIONID", session));
+    }
+
+    private static class FakeSessionRestClient implements SessionRestClient {
+        private final List<String> logins = new ArrayList<>();
+        private boolean failNextLogin;
+        private Promise<Authentication> nextLogin;
+
+        @Override
+        public Promise<Session> getCurrentSession() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Authentication> login(String username, String password) {
+            logins.add(username + ":" + password);
+            if (failNextLogin) {
+                failNextLogin = false;
+                return Promises.rejected(new RuntimeException("login failed"));
+            }
+            if (nextLogin != null) {
+                final Promise<Authentication> login = nextLogin;
+                nextLogin = null;
+                return login;
+            }
+            return Promises.promise(authentication("session-" + logins.size()));
+        }
+    }
+}
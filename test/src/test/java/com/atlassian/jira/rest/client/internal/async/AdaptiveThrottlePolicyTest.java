@@ -0,0 +1,117 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.jira.rest.client.api.ThrottlePolicy;
+import com.google.common.collect.ImmutableMap;
+import io.atlassian.util.concurrent.Promise;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.atlassian.jira.rest.client.internal.async.FakeResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveThrottlePolicyTest {
+
+    // Thu, 01 Jan 2015 00:00:00 GMT
+    private static final long NOW_MILLIS = 1420070400000L;
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    public void testRetriesIdempotentRequestsWithJitteredExponentialBackoff() {
+        final AdaptiveThrottlePolicy policy = policy(AdaptiveThrottlePolicy.builder()
+                .withMaxAttempts(4)
+                .withBackoff(100, 1000, TimeUnit.MILLISECONDS), 0.5);
+
+        assertEquals(75, permit(policy, Request.Method.GET, 1).onResponse(response(503, ImmutableMap.<String, String>of())));
+        assertEquals(150, permit(policy, Request.Method.GET, 2).onResponse(response(502, ImmutableMap.<String, String>of())));
+        assertEquals(300, permit(policy, Request.Method.GET, 3).onFailure(new RuntimeException("reset")));
+        assertEquals(-1, permit(policy, Request.Method.GET, 4).onResponse(response(503, ImmutableMap.<String, String>of())));
+        assertEquals(-1, permit(policy, Request.Method.POST, 1).onResponse(response(503, ImmutableMap.<String, String>of())));
+        assertEquals(-1, permit(policy, Request.Method.GET, 1).onResponse(response(500, ImmutableMap.<String, String>of())));
+    }
+
+    @Test
+    public void testRetryAfterOverridesShorterBackoffAndPausesRequests() {
+        final AdaptiveThrottlePolicy policy = policy(AdaptiveThrottlePolicy.builder()
+                .withBackoff(100, 1000, TimeUnit.MILLISECONDS), 0);
+
+        assertEquals(5000, permit(policy, Request.Method.GET, 1)
+                .onResponse(response(429, ImmutableMap.of("Retry-After", "5"))));
+
+        final Promise<ThrottlePolicy.Permit> paused = policy.acquire(Request.Method.GET, 1);
+        assertFalse(paused.isDone());
+    }
+
+    @Test
+    public void testParsesRateLimitHeaders() {
+        assertEquals(120000, AdaptiveThrottlePolicy.parseRetryAfter("120", NOW_MILLIS));
+        assertEquals(30000, AdaptiveThrottlePolicy.parseRetryAfter("Thu, 01 Jan 2015 00:00:30 GMT", NOW_MILLIS));
+        assertEquals(-1, AdaptiveThrottlePolicy.parseRetryAfter("later", NOW_MILLIS));
+        assertEquals(-1, AdaptiveThrottlePolicy.parseRetryAfter(null, NOW_MILLIS));
+
+        assertEquals(10000, AdaptiveThrottlePolicy.parseRateLimitReset("10", NOW_MILLIS));
+        assertEquals(60000, AdaptiveThrottlePolicy.parseRateLimitReset("1420070460", NOW_MILLIS));
+        assertEquals(90000, AdaptiveThrottlePolicy.parseRateLimitReset("2015-01-01T00:01:30Z", NOW_MILLIS));
+        assertEquals(0, AdaptiveThrottlePolicy.parseRateLimitReset("2014-12-31T23:00Z", NOW_MILLIS));
+    }
+
+    @Test
+    public void testExhaustedRateLimitPausesUntilReset() {
+        final AdaptiveThrottlePolicy policy = policy(AdaptiveThrottlePolicy.builder(), 0);
+
+        final long delay = permit(policy, Request.Method.GET, 1).onResponse(response(200,
+                ImmutableMap.of("X-RateLimit-Remaining", "0", "X-RateLimit-Reset", "2015-01-01T00:00:20Z")));
+
+        assertEquals(-1, delay);
+        assertFalse(policy.acquire(Request.Method.GET, 1).isDone());
+        ticker.advance(20, TimeUnit.SECONDS);
+        assertTrue(policy.acquire(Request.Method.GET, 1).isDone());
+    }
+
+    @Test
+    public void testTokenBucketPacesRequestsAfterBurst() {
+        final TokenBucket bucket = new TokenBucket(10, 2, ticker);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+
+        ticker.advance(1, TimeUnit.SECONDS);
+        assertEquals(0, bucket.reserve());
+    }
+
+    @Test
+    public void testConcurrencyLimitIncreasesAdditivelyAndDecreasesOncePerRound() {
+        final AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 8);
+        final int round = limiter.acquire().claim();
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        final Promise<Integer> waiting = limiter.acquire();
+        assertFalse(waiting.isDone());
+
+        limiter.release(round, AimdConcurrencyLimiter.Outcome.OVERLOAD);
+        limiter.release(round, AimdConcurrencyLimiter.Outcome.OVERLOAD);
+        assertEquals(2, limiter.getLimit(), 0.001);
+        assertEquals(2, limiter.getInFlight());
+        assertFalse(waiting.isDone());
+
+        limiter.release(round, AimdConcurrencyLimiter.Outcome.SUCCESS);
+        assertEquals(2.5, limiter.getLimit(), 0.001);
+        assertTrue(waiting.isDone());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    private AdaptiveThrottlePolicy policy(final AdaptiveThrottlePolicy.Builder builder, final double random) {
+        return builder.build(ticker, () -> NOW_MILLIS, () -> random);
+    }
+
+    private static ThrottlePolicy.Permit permit(final ThrottlePolicy policy, final Request.Method method, final int attempt) {
+        return policy.acquire(method, attempt).claim();
+    }
+}
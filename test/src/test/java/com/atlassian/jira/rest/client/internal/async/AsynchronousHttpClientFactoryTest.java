@@ -0,0 +1,53 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsynchronousHttpClientFactoryTest {
+
+    @Test
+    public void testDefaultOptionsKeepLibraryDefaults() {
+        final HttpClientOptions defaults = new HttpClientOptions();
+        final HttpClientOptions options = AsynchronousHttpClientFactory.toHttpClientOptions(JiraRestClientOptions.defaults());
+
+        assertEquals(defaults.getMaxTotalConnections(), options.getMaxTotalConnections());
+        assertEquals(defaults.getMaxConnectionsPerHost(), options.getMaxConnectionsPerHost());
+        assertEquals(defaults.getSocketTimeout(), options.getSocketTimeout());
+        assertEquals(defaults.getIoThreadCount(), options.getIoThreadCount());
+    }
+
+    @Test
+    public void testOptionsAreApplied() {
+        final HttpClientOptions options = AsynchronousHttpClientFactory.toHttpClientOptions(JiraRestClientOptions.builder()
+                .withMaxTotalConnections(200)
+                .withMaxConnectionsPerHost(100)
+                .withConnectionTimeout(2, TimeUnit.SECONDS)
+                .withSocketTimeout(30, TimeUnit.SECONDS)
+                .withRequestTimeout(1, TimeUnit.MINUTES)
+                .withLeaseTimeout(500, TimeUnit.MILLISECONDS)
+                .withConnectionTimeToLive(5, TimeUnit.MINUTES)
+                .withIoThreadCount(8)
+                .withMaxCallbackThreadPoolSize(32)
+                .build());
+
+        assertEquals(200, options.getMaxTotalConnections());
+        assertEquals(100, options.getMaxConnectionsPerHost());
+        assertEquals(2000, options.getConnectionTimeout());
+        assertEquals(30000, options.getSocketTimeout());
+        assertEquals(60000, options.getRequestTimeout());
+        assertEquals(500, options.getLeaseTimeout());
+        assertEquals(300000, options.getConnectionPoolTimeToLive());
+        assertEquals(8, options.getIoThreadCount());
+        assertEquals(32, options.getMaxCallbackThreadPoolSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositivePoolSize() {
+        JiraRestClientOptions.builder().withMaxTotalConnections(0);
+    }
+}
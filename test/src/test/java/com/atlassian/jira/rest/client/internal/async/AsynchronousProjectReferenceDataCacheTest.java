@@ -0,0 +1,345 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ComponentRestClient;
+import com.atlassian.jira.rest.client.api.OptionalIterable;
+import com.atlassian.jira.rest.client.api.ProjectReferenceDataCacheOptions;
+import com.atlassian.jira.rest.client.api.ProjectRestClient;
+import com.atlassian.jira.rest.client.api.VersionRestClient;
+import com.atlassian.jira.rest.client.api.domain.BasicComponent;
+import com.atlassian.jira.rest.client.api.domain.BasicProject;
+import com.atlassian.jira.rest.client.api.domain.BasicProjectRole;
+import com.atlassian.jira.rest.client.api.domain.Component;
+import com.atlassian.jira.rest.client.api.domain.Project;
+import com.atlassian.jira.rest.client.api.domain.ProjectReferenceData;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.api.domain.VersionRelatedIssuesCount;
+import com.atlassian.jira.rest.client.api.domain.input.ComponentInput;
+import com.atlassian.jira.rest.client.api.domain.input.VersionInput;
+import com.atlassian.jira.rest.client.api.domain.input.VersionPosition;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AsynchronousProjectReferenceDataCacheTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final FakeProjectRestClient projects = new FakeProjectRestClient();
+    private final AsynchronousProjectReferenceDataCache cache = new AsynchronousProjectReferenceDataCache(projects,
+            ProjectReferenceDataCacheOptions.builder()
+                    .withTimeToLive(1, TimeUnit.HOURS)
+                    .withRefreshInterval(10, TimeUnit.MINUTES)
+                    .build(), ticker);
+
+    @Test
+    public void testIndexesVersionsComponentsAndRoles() {
+        final Promise<ProjectReferenceData> promise = cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+
+        final ProjectReferenceData referenceData = promise.claim();
+        assertEquals("TST", referenceData.getProject().getKey());
+        assertEquals(uri("version/1"), referenceData.getVersionByName("1.0").getSelf());
+        assertEquals("1.0", referenceData.getVersionById(1L).getName());
+        assertEquals(uri("component/2"), referenceData.getComponentByName("Core").getSelf());
+        assertEquals("Core", referenceData.getComponentById(2L).getName());
+        assertEquals(uri("project/TST/role/10002"), referenceData.getRoleByName("Developers").getSelf());
+        assertNull(referenceData.getVersionByName("2.0"));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneCall() {
+        final Promise<ProjectReferenceData> first = cache.getReferenceData("TST");
+        final Promise<ProjectReferenceData> second = cache.getReferenceData("TST");
+
+        assertSame(first, second);
+        assertEquals(1, projects.calls.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testFailedCallIsNotCached() {
+        final Promise<ProjectReferenceData> failed = cache.getReferenceData("TST");
+        projects.calls.get(0).exception(new RuntimeException("boom"));
+
+        final Promise<ProjectReferenceData> retried = cache.getReferenceData("TST");
+
+        assertNotSame(failed, retried);
+        assertEquals(2, projects.calls.size());
+    }
+
+    @Test
+    public void testCallFailedAtOnceIsNotCached() {
+        projects.failure = new RuntimeException("boom");
+        final Promise<ProjectReferenceData> failed = cache.getReferenceData("TST");
+        assertTrue(failed.isDone());
+
+        projects.failure = null;
+        final Promise<ProjectReferenceData> retried = cache.getReferenceData("TST");
+
+        assertNotSame(failed, retried);
+        assertEquals(2, projects.keys.size());
+    }
+
+    @Test
+    public void testRefreshReturnsOldEntryUntilFetched() {
+        cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+
+        ticker.advance(11, TimeUnit.MINUTES);
+        assertEquals("1.0", versionOf(cache.getReferenceData("TST")));
+        assertEquals(2, projects.calls.size());
+        assertEquals("1.0", versionOf(cache.getReferenceData("TST")));
+
+        projects.complete(1, "1.1");
+        assertEquals("1.1", versionOf(cache.getReferenceData("TST")));
+        assertEquals(2, projects.calls.size());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsOldEntry() {
+        cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+
+        ticker.advance(11, TimeUnit.MINUTES);
+        cache.getReferenceData("TST");
+        projects.calls.get(1).exception(new RuntimeException("boom"));
+
+        assertEquals("1.0", versionOf(cache.getReferenceData("TST")));
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+
+        ticker.advance(2, TimeUnit.HOURS);
+        final Promise<ProjectReferenceData> expired = cache.getReferenceData("TST");
+
+        assertFalse(expired.isDone());
+        assertEquals(2, projects.calls.size());
+    }
+
+    @Test
+    public void testWarmUp() {
+        final Promise<Iterable<ProjectReferenceData>> warmUp = cache.warmUp(ImmutableList.of("TST", "ABC"));
+        assertEquals(ImmutableList.of("TST", "ABC"), projects.keys);
+
+        projects.complete(0, "1.0");
+        assertFalse(warmUp.isDone());
+        projects.complete(1, "2.0");
+
+        assertEquals(2, ImmutableList.copyOf(warmUp.claim()).size());
+        assertTrue(cache.getReferenceData("ABC").isDone());
+        assertEquals(2, projects.calls.size());
+    }
+
+    @Test
+    public void testComponentChangesInvalidateTheirProjectOnly() {
+        final ComponentRestClient components = new InvalidatingComponentRestClientDecorator(new FakeComponentRestClient(), cache);
+        cache.warmUp(ImmutableList.of("TST", "ABC"));
+        projects.complete(0, "1.0");
+        projects.complete(1, "2.0");
+
+        // both projects have a component with the same name, but different URIs
+        components.updateComponent(uri("component/2"), new ComponentInput("Core", null, null, null)).claim();
+        cache.getReferenceData("TST");
+        cache.getReferenceData("ABC");
+        assertEquals(ImmutableList.of("TST", "ABC", "TST"), projects.keys);
+
+        components.createComponent("ABC", new ComponentInput("UI", null, null, null)).claim();
+        cache.getReferenceData("ABC");
+        assertEquals(ImmutableList.of("TST", "ABC", "TST", "ABC"), projects.keys);
+    }
+
+    @Test
+    public void testCreatedVersionInvalidatesProjectRequestedById() {
+        final VersionRestClient versions = new InvalidatingVersionRestClientDecorator(new FakeVersionRestClient(), cache);
+        cache.getReferenceData("10000");
+        projects.complete(0, "TST", "1.0");
+
+        versions.createVersion(new VersionInput("TST", "1.1", null, null, false, false)).claim();
+        final Promise<ProjectReferenceData> reloaded = cache.getReferenceData("10000");
+
+        assertFalse(reloaded.isDone());
+        assertEquals(ImmutableList.of("10000", "10000"), projects.keys);
+    }
+
+    @Test
+    public void testComponentCreatedWithOtherCaseInvalidatesProject() {
+        final ComponentRestClient components = new InvalidatingComponentRestClientDecorator(new FakeComponentRestClient(), cache);
+        cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+
+        components.createComponent("tst", new ComponentInput("UI", null, null, null)).claim();
+        cache.getReferenceData("TST");
+
+        assertEquals(ImmutableList.of("TST", "TST"), projects.keys);
+    }
+
+    @Test
+    public void testChangeOfVersionInvalidatesProjectUnderAllRequestedKeys() {
+        final VersionRestClient versions = new InvalidatingVersionRestClientDecorator(new FakeVersionRestClient(), cache);
+        cache.getReferenceData("10000");
+        projects.complete(0, "TST", "1.0");
+        cache.getReferenceData("TST");
+        projects.complete(1, "TST", "1.0");
+
+        versions.updateVersion(uri("version/1"), new VersionInput("TST", "1.0.1", null, null, false, false)).claim();
+        cache.getReferenceData("10000");
+        cache.getReferenceData("TST");
+
+        assertEquals(ImmutableList.of("10000", "TST", "10000", "TST"), projects.keys);
+    }
+
+    @Test
+    public void testChangeOfUnknownComponentDropsProjectsBeingFetched() {
+        cache.getReferenceData("TST");
+        projects.complete(0, "1.0");
+        cache.getReferenceData("ABC");
+
+        cache.invalidateProjectOf(uri("component/99"));
+        cache.getReferenceData("TST");
+        cache.getReferenceData("ABC");
+
+        assertEquals(ImmutableList.of("TST", "ABC", "ABC"), projects.keys);
+    }
+
+    private static String versionOf(final Promise<ProjectReferenceData> promise) {
+        assertTrue(promise.isDone());
+        return promise.claim().getVersions().iterator().next().getName();
+    }
+
+    private static URI uri(final String path) {
+        return URI.create("http://localhost/rest/api/2/" + path);
+    }
+
+    private static class FakeProjectRestClient implements ProjectRestClient {
+        private final List<SettablePromise<Project>> calls = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        // fails the next calls at once, when set
+        private RuntimeException failure;
+
+        @Override
+        public Promise<Project> getProject(final String key) {
+            if (failure != null) {
+                keys.add(key);
+                return Promises.rejected(failure);
+            }
+            final SettablePromise<Project> promise = Promises.settablePromise();
+            calls.add(promise);
+            keys.add(key);
+            return promise;
+        }
+
+        @Override
+        public Promise<Project> getProject(final URI projectUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Iterable<BasicProject>> getAllProjects() {
+            throw new UnsupportedOperationException();
+        }
+
+        void complete(final int call, final String versionName) {
+            complete(call, keys.get(call), versionName);
+        }
+
+        // as the project of given key, whatever key or id it was requested by
+        void complete(final int call, final String key, final String versionName) {
+            // components of each project have their own ids, as in Jira
+            final long id = call * 10 + 1;
+            calls.get(call).set(new Project(ImmutableList.of(), uri("project/" + key), key, (long) call, key, null, null,
+                    null,
+                    ImmutableList.of(new Version(uri("version/" + id), id, versionName, null, false, false, null)),
+                    ImmutableList.of(new BasicComponent(uri("component/" + (id + 1)), id + 1, "Core", null)),
+                    OptionalIterable.absent(),
+                    ImmutableList.of(new BasicProjectRole(uri("project/" + key + "/role/10002"), "Developers"))));
+        }
+    }
+
+    private static class FakeVersionRestClient implements VersionRestClient {
+        @Override
+        public Promise<Version> getVersion(final URI versionUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Version> createVersion(final VersionInput version) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Version> updateVersion(final URI versionUri, final VersionInput versionInput) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Void> removeVersion(final URI versionUri, @Nullable final URI moveFixIssuesToVersionUri,
+                                           @Nullable final URI moveAffectedIssuesToVersionUri) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<VersionRelatedIssuesCount> getVersionRelatedIssuesCount(final URI versionUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Integer> getNumUnresolvedIssues(final URI versionUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Version> moveVersionAfter(final URI versionUri, final URI afterVersionUri) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Version> moveVersion(final URI versionUri, final VersionPosition versionPosition) {
+            return Promises.promise(null);
+        }
+    }
+
+    private static class FakeComponentRestClient implements ComponentRestClient {
+        @Override
+        public Promise<Component> getComponent(final URI componentUri) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Promise<Component> createComponent(final String projectKey, final ComponentInput componentInput) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Component> updateComponent(final URI componentUri, final ComponentInput componentInput) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Void> removeComponent(final URI componentUri, @Nullable final URI moveIssueToComponentUri) {
+            return Promises.promise(null);
+        }
+
+        @Override
+        public Promise<Integer> getComponentRelatedIssuesCount(final URI componentUri) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
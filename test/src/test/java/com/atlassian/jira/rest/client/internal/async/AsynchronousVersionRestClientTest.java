@@ -0,0 +1,68 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.HttpCacheOptions;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.stub.JiraStubServer;
+import io.atlassian.util.concurrent.Promise;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsynchronousVersionRestClientTest {
+
+    private JiraStubServer stub;
+    private JiraRestClient client;
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    public void testVersionIsCached() {
+        start(JiraStubServer.builder().withMaxAge(60), JiraRestClientOptions.builder()
+                .withHttpCache(HttpCacheOptions.defaults())
+                .build());
+
+        assertEquals("1.1", client.getVersionRestClient().getVersion(versionUri()).claim().getName());
+        assertEquals("1.1", client.getVersionRestClient().getVersion(versionUri()).claim().getName());
+
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentVersionLookupsAreCoalesced() {
+        start(JiraStubServer.builder().withLatency(200, 0, TimeUnit.MILLISECONDS), JiraRestClientOptions.builder()
+                .withRequestCoalescing(true)
+                .build());
+
+        final Promise<Version> first = client.getVersionRestClient().getVersion(versionUri());
+        final Promise<Version> second = client.getVersionRestClient().getVersion(versionUri());
+
+        assertEquals("1.1", first.claim().getName());
+        assertEquals("1.1", second.claim().getName());
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    private URI versionUri() {
+        return stub.getServerUri().resolve("rest/api/2/version/10000");
+    }
+
+    private void start(final JiraStubServer.Builder builder, final JiraRestClientOptions options) {
+        stub = builder.start();
+        client = new AsynchronousJiraRestClientFactory().create(stub.getServerUri(), new AnonymousAuthenticationHandler(), options);
+    }
+}
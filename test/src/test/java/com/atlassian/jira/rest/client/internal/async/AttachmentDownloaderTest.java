@@ -0,0 +1,241 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.AttachmentDownloadOptions;
+import com.atlassian.jira.rest.client.api.AttachmentDownloadOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AttachmentDownloaderTest {
+
+    private static final byte[] CONTENT = content(1000);
+    private static final AttachmentDownloadOptions OPTIONS = new AttachmentDownloadOptionsBuilder()
+            .withSegmentSize(64)
+            .withParallelism(3)
+            .build();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Long> requested = new ArrayList<>();
+
+    @Test
+    public void testDownloadsFileInSegments() throws Exception {
+        final Path target = folder.newFile().toPath();
+        Files.write(target, content(5000));
+
+        final Promise<Long> result = AttachmentDownloader.toFile(server(CONTENT), attachment(CONTENT.length), target, OPTIONS);
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+        assertEquals(16, requested.size());
+    }
+
+    @Test
+    public void testWritesSegmentsReceivedOutOfOrder() throws Exception {
+        final Path target = folder.newFile().toPath();
+        final List<SettablePromise<AttachmentDownloader.Segment>> pending = new ArrayList<>();
+        final List<long[]> ranges = new ArrayList<>();
+
+        final Promise<Long> result = AttachmentDownloader.toFile((first, last) -> {
+            final SettablePromise<AttachmentDownloader.Segment> promise = Promises.settablePromise();
+            pending.add(promise);
+            ranges.add(new long[]{first, last});
+            return promise;
+        }, attachment(200), target, OPTIONS);
+
+        // the first segment tells the size, then the 3 others are requested at once
+        complete(pending, ranges, 0, content(200));
+        assertEquals(4, pending.size());
+        for (int i = 3; i > 0; i--) {
+            complete(pending, ranges, i, content(200));
+        }
+
+        assertTrue(result.isDone());
+        assertArrayEquals(content(200), Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testWritesChannelInOrderAndHoldsAtMostParallelismSegments() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final List<SettablePromise<AttachmentDownloader.Segment>> pending = new ArrayList<>();
+        final List<long[]> ranges = new ArrayList<>();
+
+        final Promise<Long> result = AttachmentDownloader.toChannel((first, last) -> {
+            final SettablePromise<AttachmentDownloader.Segment> promise = Promises.settablePromise();
+            pending.add(promise);
+            ranges.add(new long[]{first, last});
+            return promise;
+        }, attachment(CONTENT.length), Channels.newChannel(out), OPTIONS);
+
+        complete(pending, ranges, 0, CONTENT);
+        assertEquals(4, pending.size());
+        complete(pending, ranges, 3, CONTENT);
+        complete(pending, ranges, 2, CONTENT);
+        // segments 2 and 3 wait for segment 1, so nothing more is requested
+        assertEquals(4, pending.size());
+        assertEquals(64, out.size());
+
+        complete(pending, ranges, 1, CONTENT);
+        assertEquals(256, out.size());
+        for (int i = 4; i < pending.size(); i++) {
+            complete(pending, ranges, i, CONTENT);
+        }
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertArrayEquals(CONTENT, out.toByteArray());
+    }
+
+    @Test
+    public void testResumesFromEndOfFile() throws Exception {
+        final Path target = folder.newFile().toPath();
+        Files.write(target, Arrays.copyOf(CONTENT, 300));
+
+        final Promise<Long> result = AttachmentDownloader.toFile(server(CONTENT), attachment(CONTENT.length), target,
+                new AttachmentDownloadOptionsBuilder().withSegmentSize(64).withResume(true).build());
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertEquals(Long.valueOf(300), requested.get(0));
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testResumingCompleteFileSendsNoRequest() throws Exception {
+        final Path target = folder.newFile().toPath();
+        Files.write(target, CONTENT);
+
+        final Promise<Long> result = AttachmentDownloader.toFile(server(CONTENT), attachment(CONTENT.length), target,
+                new AttachmentDownloadOptionsBuilder().withResume(true).build());
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertTrue(requested.isEmpty());
+    }
+
+    @Test
+    public void testResumingCompleteFileOfUnknownSize() throws Exception {
+        final Path target = folder.newFile().toPath();
+        Files.write(target, CONTENT);
+
+        final Promise<Long> result = AttachmentDownloader.toFile((first, last) -> {
+            requested.add(first);
+            return Promises.rejected(new RestClientException(new IllegalStateException("Range Not Satisfiable"), 416));
+        }, attachment(Integer.MAX_VALUE), target, new AttachmentDownloadOptionsBuilder().withResume(true).build());
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testServerIgnoringRangesRestartsResumedDownload() throws Exception {
+        final Path target = folder.newFile().toPath();
+        Files.write(target, content(300));
+
+        final Promise<Long> result = AttachmentDownloader.toFile((first, last) -> {
+            requested.add(first);
+            return Promises.promise(new AttachmentDownloader.Segment(false, 0, -1, -1, new ByteArrayInputStream(CONTENT)));
+        }, attachment(CONTENT.length), target, new AttachmentDownloadOptionsBuilder().withSegmentSize(64).withResume(true).build());
+
+        assertEquals(Long.valueOf(CONTENT.length), result.claim());
+        assertEquals(1, requested.size());
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testFailsWhenSizeDoesNotMatchAttachment() throws Exception {
+        final Promise<Long> result = AttachmentDownloader.toFile(server(CONTENT), attachment(CONTENT.length + 1),
+                folder.newFile().toPath(), OPTIONS);
+
+        try {
+            result.claim();
+            fail("RestClientException expected");
+        } catch (RestClientException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("1000 bytes"));
+        }
+    }
+
+    @Test
+    public void testFailsOnFirstFailedSegment() throws Exception {
+        final Promise<Long> result = AttachmentDownloader.toFile((first, last) -> {
+            requested.add(first);
+            return first == 128
+                    ? Promises.rejected(new RestClientException(new IllegalStateException("Service Unavailable"), 503))
+                    : server(CONTENT).apply(first, last);
+        }, attachment(CONTENT.length), folder.newFile().toPath(), OPTIONS);
+
+        try {
+            result.claim();
+            fail("RestClientException expected");
+        } catch (RestClientException e) {
+            assertEquals(Integer.valueOf(503), e.getStatusCode().get());
+        }
+        assertFalse(requested.contains(512L));
+    }
+
+    @Test
+    public void testSynchronousCompletionOfManySegments() throws Exception {
+        final byte[] content = content(20000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        final Promise<Long> result = AttachmentDownloader.toChannel(server(content), attachment(content.length),
+                Channels.newChannel(out), new AttachmentDownloadOptionsBuilder().withSegmentSize(1).build());
+
+        assertEquals(Long.valueOf(content.length), result.claim());
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    /**
+     * Answers requests for ranges like Jira, with <i>206 Partial Content</i>.
+     */
+    private BiFunction<Long, Long, Promise<AttachmentDownloader.Segment>> server(final byte[] content) {
+        return (first, last) -> {
+            requested.add(first);
+            return Promises.promise(segment(content, first, last));
+        };
+    }
+
+    private static void complete(final List<SettablePromise<AttachmentDownloader.Segment>> pending,
+                                 final List<long[]> ranges, final int index, final byte[] content) {
+        pending.get(index).set(segment(content, ranges.get(index)[0], ranges.get(index)[1]));
+    }
+
+    private static AttachmentDownloader.Segment segment(final byte[] content, final long first, final long last) {
+        final int end = (int) Math.min(last, content.length - 1);
+        return new AttachmentDownloader.Segment(true, first, end, content.length,
+                new ByteArrayInputStream(Arrays.copyOfRange(content, (int) first, end + 1)));
+    }
+
+    private static Attachment attachment(final int size) {
+        return new Attachment(URI.create("http://localhost/rest/api/2/attachment/10000"), "report.bin", null, null,
+                size, "application/octet-stream", URI.create("http://localhost/secure/attachment/10000/report.bin"), null);
+    }
+
+    private static byte[] content(final int length) {
+        final byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31 + length);
+        }
+        return content;
+    }
+}
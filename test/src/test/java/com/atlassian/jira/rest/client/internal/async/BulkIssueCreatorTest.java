@@ -0,0 +1,228 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.BulkCreateOptions;
+import com.atlassian.jira.rest.client.api.BulkCreateOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkCreateResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationErrorResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkIssueCreatorTest {
+
+    private static final BulkCreateOptions NO_DELAY = new BulkCreateOptionsBuilder()
+            .withChunkSize(50)
+            .withRetryDelay(0, TimeUnit.MILLISECONDS)
+            .build();
+
+    private final Map<Integer, Integer> attempts = new HashMap<>();
+
+    @Test
+    public void testMapsResultsToInputIndexes() {
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final BulkCreateResult result = create(issues(120), NO_DELAY, inputs -> {
+            chunkSizes.add(inputs.size());
+            return server(inputs, index -> index % 7 == 3 ? 400 : null);
+        });
+
+        assertEquals(ImmutableList.of(50, 50, 20), chunkSizes);
+        assertEquals(120, result.getIssues().size() + result.getErrors().size());
+        assertEquals("TST-4", result.getIssues().get(4).getKey());
+        assertEquals("TST-119", result.getIssues().get(119).getKey());
+        final BulkOperationErrorResult error = result.getErrors().get(101);
+        assertEquals(Integer.valueOf(101), error.getFailedElementNumber());
+        assertEquals(Integer.valueOf(400), error.getElementErrors().getStatus());
+        assertEquals(Integer.valueOf(1), attempts.get(101));
+    }
+
+    @Test
+    public void testRetriesTransientElementErrorsOnly() {
+        final BulkCreateResult result = create(issues(10), NO_DELAY, inputs -> server(inputs, index -> {
+            if (index == 2 && attempts.get(index) < 3) {
+                return 503;
+            }
+            return index == 5 ? 400 : null;
+        }));
+
+        assertEquals("TST-2", result.getIssues().get(2).getKey());
+        assertEquals(Integer.valueOf(3), attempts.get(2));
+        assertEquals(Integer.valueOf(1), attempts.get(5));
+        assertEquals(Integer.valueOf(1), attempts.get(3));
+        assertEquals(Collections.singleton(5), result.getErrors().keySet());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() {
+        final BulkCreateResult result = create(issues(3), NO_DELAY, inputs -> server(inputs, index -> index == 1 ? 503 : null));
+
+        assertEquals(Integer.valueOf(3), attempts.get(1));
+        assertEquals(Integer.valueOf(503), result.getErrors().get(1).getElementErrors().getStatus());
+        assertEquals(2, result.getIssues().size());
+    }
+
+    @Test
+    public void testRetriesThrottledChunk() {
+        final boolean[] throttled = new boolean[1];
+        final BulkCreateResult result = create(issues(60), NO_DELAY, inputs -> {
+            if (!throttled[0]) {
+                throttled[0] = true;
+                return Promises.rejected(new RestClientException(new IllegalStateException("Too Many Requests"), 429));
+            }
+            return server(inputs, index -> null);
+        });
+
+        assertEquals(60, result.getIssues().size());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(Integer.valueOf(2), attempts.get(0));
+    }
+
+    @Test
+    public void testDoesNotRetryRequestsWhichMayHaveCreatedIssues() {
+        // no response, e.g. a timeout, for the first chunk, and a server error for the second one
+        final BulkCreateResult result = create(issues(60), NO_DELAY, inputs -> index(inputs.get(0)) == 0
+                ? Promises.rejected(new RestClientException(new IOException("Read timed out")))
+                : Promises.rejected(new RestClientException(new IllegalStateException("Internal Server Error"), 500)));
+
+        assertTrue(result.getIssues().isEmpty());
+        assertEquals(60, result.getErrors().size());
+        assertEquals(Integer.valueOf(1), attempts.get(0));
+        assertEquals(Integer.valueOf(1), attempts.get(50));
+        assertEquals(Integer.valueOf(500), result.getErrors().get(50).getElementErrors().getStatus());
+    }
+
+    @Test
+    public void testDoesNotRetryElementsFailedWithServerError() {
+        final BulkCreateResult result = create(issues(3), NO_DELAY, inputs -> server(inputs, index -> index == 1 ? 500 : null));
+
+        assertEquals(Integer.valueOf(1), attempts.get(1));
+        assertEquals(Integer.valueOf(500), result.getErrors().get(1).getElementErrors().getStatus());
+    }
+
+    @Test
+    public void testMapsErrorsOfChunkWhereAllElementsFailed() {
+        final BulkCreateResult result = create(issues(3), NO_DELAY, inputs -> Promises.rejected(new RestClientException(
+                ImmutableList.of(
+                        new ErrorCollection(400, ImmutableList.of(), Collections.singletonMap("summary", "first")),
+                        new ErrorCollection(400, ImmutableList.of(), Collections.singletonMap("summary", "second")),
+                        new ErrorCollection(400, ImmutableList.of(), Collections.singletonMap("summary", "third"))),
+                400)));
+
+        assertTrue(result.getIssues().isEmpty());
+        assertEquals("second", result.getErrors().get(1).getElementErrors().getErrors().get("summary"));
+    }
+
+    @Test
+    public void testLimitsChunksInFlight() {
+        final List<SettablePromise<BulkOperationResult<BasicIssue>>> pending = new ArrayList<>();
+        final List<List<IssueInput>> sent = new ArrayList<>();
+        final Promise<BulkCreateResult> result = new BulkIssueCreator(inputs -> {
+            final SettablePromise<BulkOperationResult<BasicIssue>> promise = Promises.settablePromise();
+            pending.add(promise);
+            sent.add(inputs);
+            return promise;
+        }, issues(10), new BulkCreateOptionsBuilder().withChunkSize(2).withParallelism(2).build(), Delays.SCHEDULED)
+                .start();
+
+        for (int completed = 0; completed < 5; completed++) {
+            assertEquals(Math.min(5, completed + 2), pending.size());
+            assertFalse(result.isDone());
+            pending.get(completed).set(new BulkOperationResult<>(created(sent.get(completed)), ImmutableList.of()));
+        }
+        assertTrue(result.isDone());
+        assertEquals(10, result.claim().getIssues().size());
+    }
+
+    @Test
+    public void testSynchronousCompletionOfManyChunks() {
+        final BulkCreateResult result = create(issues(20000), new BulkCreateOptionsBuilder().withChunkSize(1).build(),
+                inputs -> server(inputs, index -> null));
+
+        assertEquals(20000, result.getIssues().size());
+    }
+
+    @Test
+    public void testEmptyInput() {
+        final BulkCreateResult result = create(ImmutableList.of(), NO_DELAY, inputs -> {
+            throw new AssertionError("nothing to send");
+        });
+
+        assertTrue(result.getIssues().isEmpty());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    private BulkCreateResult create(final List<IssueInput> issues, final BulkCreateOptions options,
+                                    final Function<List<IssueInput>, Promise<BulkOperationResult<BasicIssue>>> server) {
+        final Promise<BulkCreateResult> result = new BulkIssueCreator(inputs -> {
+            for (IssueInput input : inputs) {
+                attempts.merge(index(input), 1, Integer::sum);
+            }
+            return server.apply(inputs);
+        }, issues, options, Delays.SCHEDULED).start();
+        assertTrue(result.isDone());
+        return result.claim();
+    }
+
+    /**
+     * Answers like Jira: created issues in order, and errors by position in the request.
+     *
+     * @param status status of the error of the input of given index, <code>null</code> to create it
+     */
+    private static Promise<BulkOperationResult<BasicIssue>> server(final List<IssueInput> inputs,
+                                                                   final Function<Integer, Integer> status) {
+        final List<IssueInput> created = new ArrayList<>();
+        final List<BulkOperationErrorResult> errors = new ArrayList<>();
+        for (int position = 0; position < inputs.size(); position++) {
+            final Integer errorStatus = status.apply(index(inputs.get(position)));
+            if (errorStatus == null) {
+                created.add(inputs.get(position));
+            } else {
+                errors.add(new BulkOperationErrorResult(new ErrorCollection(errorStatus, ImmutableList.of("failed"),
+                        Collections.<String, String>emptyMap()), position));
+            }
+        }
+        return Promises.promise(new BulkOperationResult<>(created(created), errors));
+    }
+
+    private static List<BasicIssue> created(final List<IssueInput> inputs) {
+        final List<BasicIssue> issues = new ArrayList<>();
+        for (IssueInput input : inputs) {
+            final int index = index(input);
+            issues.add(new BasicIssue(URI.create("http://localhost/rest/api/2/issue/" + index), "TST-" + index, (long) index));
+        }
+        return issues;
+    }
+
+    private static List<IssueInput> issues(final int count) {
+        final List<IssueInput> issues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            issues.add(new IssueInputBuilder("TST", 1L, String.valueOf(i)).build());
+        }
+        return issues;
+    }
+
+    private static int index(final IssueInput input) {
+        return Integer.parseInt((String) input.getField("summary").getValue());
+    }
+}
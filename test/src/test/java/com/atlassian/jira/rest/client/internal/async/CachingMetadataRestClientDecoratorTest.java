@@ -0,0 +1,110 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataCacheOptions;
+import com.atlassian.jira.rest.client.api.MetadataCacheOptions.Resource;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.google.common.collect.ImmutableList;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingMetadataRestClientDecoratorTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final FakeMetadataRestClient delegate = new FakeMetadataRestClient();
+    private final CachingMetadataRestClientDecorator client = new CachingMetadataRestClientDecorator(delegate,
+            MetadataCacheOptions.builder()
+                    .withTimeToLive(1, TimeUnit.HOURS)
+                    .withTimeToLive(Resource.SERVER_INFO, 1, TimeUnit.MINUTES)
+                    .withMaximumSize(2)
+                    .build(), ticker);
+
+    @Test
+    public void testConcurrentMissesShareOneCall() {
+        final Promise<Iterable<Priority>> first = client.getPriorities();
+        final Promise<Iterable<Priority>> second = client.getPriorities();
+
+        assertSame(first, second);
+        assertEquals(1, delegate.calls.size());
+        assertEquals(1, client.getMissCount());
+        assertEquals(1, client.getHitCount());
+
+        delegate.calls.get(0).set(ImmutableList.of());
+        assertTrue(client.getPriorities().isDone());
+        assertEquals(1, delegate.calls.size());
+        assertEquals(2, client.getHitCount());
+    }
+
+    @Test
+    public void testFailedCallIsNotCached() {
+        final Promise<Iterable<Priority>> failed = client.getPriorities();
+        delegate.calls.get(0).exception(new RuntimeException("boom"));
+
+        final Promise<Iterable<Priority>> retried = client.getPriorities();
+
+        assertNotSame(failed, retried);
+        assertEquals(2, delegate.calls.size());
+    }
+
+    @Test
+    public void testEntriesExpirePerResource() {
+        client.getServerInfo();
+        client.getPriorities();
+        completeAll();
+
+        ticker.advance(2, TimeUnit.MINUTES);
+        client.getServerInfo();
+        client.getPriorities();
+
+        assertEquals(3, delegate.calls.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        client.getServerInfo();
+        client.getPriorities();
+        completeAll();
+
+        client.invalidate(Resource.PRIORITIES);
+        client.getServerInfo();
+        client.getPriorities();
+        assertEquals(3, delegate.calls.size());
+
+        completeAll();
+        client.invalidateAll();
+        client.getServerInfo();
+        client.getPriorities();
+        assertEquals(5, delegate.calls.size());
+    }
+
+    @Test
+    public void testEntriesByUriAreBounded() {
+        client.getPriority(URI.create("http://localhost/priority/1"));
+        client.getPriority(URI.create("http://localhost/priority/2"));
+        client.getPriority(URI.create("http://localhost/priority/3"));
+        completeAll();
+
+        client.getPriority(URI.create("http://localhost/priority/3"));
+        assertEquals(3, delegate.calls.size());
+
+        client.getPriority(URI.create("http://localhost/priority/1"));
+        assertEquals(4, delegate.calls.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void completeAll() {
+        for (SettablePromise<?> call : delegate.calls) {
+            if (!call.isDone()) {
+                ((SettablePromise<Object>) call).set(null);
+            }
+        }
+    }
+}
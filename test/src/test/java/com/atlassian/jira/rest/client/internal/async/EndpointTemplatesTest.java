@@ -0,0 +1,57 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class EndpointTemplatesTest {
+
+    @Test
+    public void testIdentifiersAreReplaced() {
+        assertEquals("issue/{id}", template("http://localhost:2990/jira/rest/api/2/issue/TST-1?expand=changelog"));
+        assertEquals("issue/{id}/transitions", template("http://localhost/rest/api/latest/issue/TST-1/transitions"));
+        assertEquals("issue/{id}/comment/{id}", template("http://localhost/rest/api/2/issue/10000/comment/10100"));
+        assertEquals("project/{id}/versions", template("http://localhost/rest/api/2/project/TST/versions"));
+        assertEquals("issueLinkType/{id}", template("http://localhost/rest/api/2/issueLinkType/10000"));
+    }
+
+    @Test
+    public void testLowerCaseIdentifiersAreReplaced() {
+        assertEquals("issue/{id}", template("http://localhost/rest/api/2/issue/tst-1"));
+        assertEquals("project/{id}/versions", template("http://localhost/rest/api/2/project/tst/versions"));
+        assertEquals("issue/{id}/watchers", template("http://localhost/rest/api/2/issue/TST-1/watchers"));
+        assertEquals("secure/attachment/{id}/{id}", template("http://localhost/secure/attachment/10000/report.pdf"));
+        assertEquals("issue/{id}/properties/{id}", template("http://localhost/rest/api/2/issue/TST-1/properties/flag"));
+    }
+
+    @Test
+    public void testTemplatesDoNotGrowWithIdentifiers() {
+        final Set<String> templates = new HashSet<>();
+        for (final String project : new String[]{"tst", "abc", "projectx", "TST"}) {
+            templates.add(template("http://localhost/rest/api/2/project/" + project + "/components"));
+            templates.add(template("http://localhost/rest/api/2/issue/" + project + "-1/comment/10100"));
+        }
+
+        assertEquals(ImmutableSet.of("project/{id}/components", "issue/{id}/comment/{id}"), templates);
+    }
+
+    @Test
+    public void testResourcesOutsideCoreApiKeepTheirVersion() {
+        assertEquals("auth/1/session", template("http://localhost/rest/auth/1/session"));
+        assertEquals("agile/1.0/board/{id}", template("http://localhost/rest/agile/1.0/board/42"));
+    }
+
+    @Test
+    public void testUriOutsideRestApi() {
+        assertEquals("secure/attachment/{id}/{id}", template("http://localhost/secure/attachment/10000/report%20final.pdf"));
+    }
+
+    private static String template(final String uri) {
+        return EndpointTemplates.of(URI.create(uri));
+    }
+}
@@ -0,0 +1,85 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MetadataRestClient answering every call with a new pending promise, recorded in {@link #calls} so tests can complete it.
+ */
+class FakeMetadataRestClient implements MetadataRestClient {
+    final List<SettablePromise<?>> calls = new ArrayList<>();
+
+    private <T> SettablePromise<T> call() {
+        final SettablePromise<T> promise = Promises.settablePromise();
+        calls.add(promise);
+        return promise;
+    }
+
+    @Override
+    public Promise<IssueType> getIssueType(URI uri) {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<IssueType>> getIssueTypes() {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<IssuelinksType>> getIssueLinkTypes() {
+        return call();
+    }
+
+    @Override
+    public Promise<Status> getStatus(URI uri) {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<Status>> getStatuses() {
+        return call();
+    }
+
+    @Override
+    public Promise<Priority> getPriority(URI uri) {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<Priority>> getPriorities() {
+        return call();
+    }
+
+    @Override
+    public Promise<Resolution> getResolution(URI uri) {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<Resolution>> getResolutions() {
+        return call();
+    }
+
+    @Override
+    public Promise<ServerInfo> getServerInfo() {
+        return call();
+    }
+
+    @Override
+    public Promise<Iterable<Field>> getFields() {
+        return call();
+    }
+}
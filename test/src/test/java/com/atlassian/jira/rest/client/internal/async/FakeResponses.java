@@ -0,0 +1,31 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+final class FakeResponses {
+
+    private FakeResponses() {
+    }
+
+    /**
+     * @return response with given status and headers, without entity
+     */
+    static Response response(final int status, final Map<String, String> headers) {
+        return (Response) Proxy.newProxyInstance(Response.class.getClassLoader(), new Class<?>[]{Response.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getStatusCode":
+                            return status;
+                        case "getHeader":
+                            return headers.get((String) args[0]);
+                        case "getHeaders":
+                            return headers;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
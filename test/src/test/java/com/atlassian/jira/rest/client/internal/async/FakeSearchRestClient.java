@@ -0,0 +1,110 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.SearchScanOptions;
+import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getJsonObjectFromResource;
+
+/**
+ * In-memory search over issues from /json/search/many-issues.json. Understands only "id" comparisons
+ * joined with AND and "ORDER BY id/updated ASC/DESC".
+ */
+class FakeSearchRestClient implements SearchRestClient {
+    private static final Pattern ID_CLAUSE = Pattern.compile("id (>=|>|<) (\\d+)");
+
+    private final List<Issue> allIssues;
+    private final int serverMaxResults;
+    final List<Integer> requestedStartAts = Lists.newArrayList();
+    final List<String> requestedJqls = Lists.newArrayList();
+    final List<Set<String>> requestedFields = Lists.newArrayList();
+
+    FakeSearchRestClient(int serverMaxResults) throws Exception {
+        this.serverMaxResults = serverMaxResults;
+        this.allIssues = ImmutableList.copyOf(new SearchResultJsonParser()
+                .parse(getJsonObjectFromResource("/json/search/many-issues.json")).getIssues());
+    }
+
+    @Override
+    public synchronized Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt, @Nullable Set<String> fields) {
+        final String query = jql == null ? "" : jql;
+        final int start = startAt == null ? 0 : startAt;
+        final int pageSize = Math.min(maxResults == null ? serverMaxResults : maxResults, serverMaxResults);
+        requestedStartAts.add(start);
+        requestedJqls.add(query);
+        requestedFields.add(fields);
+
+        List<Issue> matching = allIssues;
+        final Matcher matcher = ID_CLAUSE.matcher(query);
+        while (matcher.find()) {
+            final String operator = matcher.group(1);
+            final long value = Long.parseLong(matcher.group(2));
+            matching = matching.stream().filter(issue -> ">=".equals(operator) ? issue.getId() >= value
+                    : ">".equals(operator) ? issue.getId() > value : issue.getId() < value).collect(Collectors.toList());
+        }
+        if (query.endsWith("ORDER BY id ASC")) {
+            matching = matching.stream().sorted(Comparator.comparing(Issue::getId)).collect(Collectors.toList());
+        } else if (query.endsWith("ORDER BY id DESC")) {
+            matching = matching.stream().sorted(Comparator.comparing(Issue::getId, Collections.reverseOrder())).collect(Collectors.toList());
+        } else if (query.endsWith("ORDER BY updated ASC")) {
+            matching = matching.stream().sorted(Comparator.comparing(Issue::getUpdateDate)).collect(Collectors.toList());
+        } else if (query.endsWith("ORDER BY updated DESC")) {
+            matching = matching.stream().sorted(Comparator.comparing(Issue::getUpdateDate, Collections.reverseOrder())).collect(Collectors.toList());
+        }
+        final List<Issue> page = matching.subList(Math.min(start, matching.size()), Math.min(start + pageSize, matching.size()));
+        return Promises.promise(new SearchResult(start, pageSize, matching.size(), page));
+    }
+
+    @Override
+    public Promise<SearchResult> searchJql(@Nullable String jql) {
+        return searchJql(jql, null, null, null);
+    }
+
+    @Override
+    public Stream<Issue> searchJqlAll(@Nullable String jql) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<Issue> searchJqlAll(@Nullable String jql, @Nullable Integer pageSize, int prefetchDepth, @Nullable Set<String> fields) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<Issue> scanJql(@Nullable String jql, SearchScanOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Iterable<Filter>> getFavouriteFilters() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Filter> getFilter(URI filterUri) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Promise<Filter> getFilter(long id) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,19 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class FakeTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+        return nanos.get();
+    }
+
+    void advance(final long time, final TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(time));
+    }
+}
@@ -0,0 +1,152 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.apache.httpcomponents.DefaultRequest;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.HttpCacheOptions;
+import com.atlassian.jira.rest.client.internal.json.BasicProjectJsonParser;
+import com.atlassian.jira.rest.client.internal.json.DomJsonStreamParser;
+import com.atlassian.jira.rest.client.internal.json.ProjectJsonParser;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonStreamParser;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static com.atlassian.jira.rest.client.internal.async.FakeResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class HttpResponseCacheTest {
+
+    private static final URI PROJECT_URI = URI.create("http://localhost/rest/api/2/project/TST");
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final HttpResponseCache cache = new HttpResponseCache(HttpCacheOptions.defaults(), ticker);
+    private final List<Request> sent = new ArrayList<>();
+    private final List<Response> responses = new ArrayList<>();
+    private int parseCount;
+
+    @Test
+    public void testNotModifiedResponseServesParsedValue() {
+        responses.add(response(200, ImmutableMap.of("ETag", "\"v1\"")));
+        responses.add(response(304, ImmutableMap.<String, String>of()));
+
+        final Object first = get("Basic user1").claim();
+        final Object second = get("Basic user1").claim();
+
+        assertSame(first, second);
+        assertEquals(1, parseCount);
+        assertNull(sent.get(0).getHeader("If-None-Match"));
+        assertEquals("\"v1\"", sent.get(1).getHeader("If-None-Match"));
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    public void testFreshResponseIsServedWithoutRequest() {
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+
+        get("Basic user1").claim();
+        ticker.advance(30, TimeUnit.SECONDS);
+        get("Basic user1").claim();
+        assertEquals(1, sent.size());
+        assertEquals(1, cache.getHitCount());
+
+        ticker.advance(31, TimeUnit.SECONDS);
+        get("Basic user1").claim();
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testNoStoreResponseIsNotCached() {
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "no-cache, no-store", "ETag", "\"v1\"")));
+        responses.add(response(200, ImmutableMap.of("ETag", "\"v1\"")));
+
+        get("Basic user1").claim();
+        get("Basic user1").claim();
+
+        assertNull(sent.get(1).getHeader("If-None-Match"));
+        assertEquals(2, parseCount);
+    }
+
+    @Test
+    public void testEntriesAreSeparatedByIdentity() {
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+
+        get("Basic user1").claim();
+        get("Basic user2").claim();
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testEntriesAreSeparatedByParser() {
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+
+        // parsers of the same class may parse the response differently
+        get("Basic user1", DomJsonStreamParser.create(new BasicProjectJsonParser())).claim();
+        get("Basic user1", DomJsonStreamParser.create(new ProjectJsonParser())).claim();
+        get("Basic user1", new SearchResultJsonStreamParser(ImmutableSet.of("summary"))).claim();
+        get("Basic user1", new SearchResultJsonStreamParser(ImmutableSet.of("summary"))).claim();
+
+        assertEquals(3, sent.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+        responses.add(response(200, ImmutableMap.of("Cache-Control", "max-age=60")));
+
+        get("Basic user1").claim();
+        cache.invalidate(PROJECT_URI);
+        get("Basic user1").claim();
+        cache.invalidate(Pattern.compile(".*/project/.*"));
+        get("Basic user1").claim();
+
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testCacheControlParsing() {
+        final HttpResponseCache.CacheControl cacheControl = HttpResponseCache.CacheControl.parse("private, Max-Age=\"120\"");
+        assertEquals(120, cacheControl.maxAgeSeconds);
+        assertEquals(false, cacheControl.noStore);
+        assertEquals(0, HttpResponseCache.CacheControl.parse("max-age=soon").maxAgeSeconds);
+    }
+
+    private Promise<Object> get(final String authorization) {
+        return get(authorization, Object.class);
+    }
+
+    private Promise<Object> get(final String authorization, final Object parserKey) {
+        final Request.Builder builder = new DefaultRequest.DefaultRequestBuilder(null)
+                .setUri(PROJECT_URI)
+                .setHeader("Authorization", authorization);
+        final Function<Response, Object> parse = response -> {
+            parseCount++;
+            return new Object();
+        };
+        final Function<Response, Object> errors = response -> {
+            throw new IllegalStateException("unexpected status " + response.getStatusCode());
+        };
+        return cache.get(builder, parserKey, () -> {
+            sent.add(builder.build());
+            return Promises.promise(responses.remove(0));
+        }, parse, errors);
+    }
+}
@@ -0,0 +1,160 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions;
+import com.atlassian.jira.rest.client.api.ConcurrencyLimitOptions.OverflowPolicy;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InFlightLimiterTest {
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final List<SettablePromise<String>> sent = new ArrayList<>();
+    private final Supplier<Promise<String>> request = () -> {
+        final SettablePromise<String> promise = Promises.settablePromise();
+        sent.add(promise);
+        return promise;
+    };
+
+    @Test
+    public void testQueuedRequestIsSentWhenSlotIsReleased() {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.QUEUE, 1, 10);
+
+        final Promise<String> first = InFlightLimiter.run(limiter, null, request);
+        final Promise<String> second = InFlightLimiter.run(limiter, null, request);
+        assertEquals(1, sent.size());
+        assertEquals(1, limiter.getQueueDepth());
+
+        ticker.advance(250, TimeUnit.MILLISECONDS);
+        sent.get(0).set("first");
+
+        assertEquals("first", first.claim());
+        assertEquals(2, sent.size());
+        assertFalse(second.isDone());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(1, limiter.getWaitCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), limiter.getTotalWaitTimeNanos());
+
+        sent.get(1).exception(new RuntimeException("boom"));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testFullQueueRejects() {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.QUEUE, 1, 1);
+        InFlightLimiter.run(limiter, null, request);
+        InFlightLimiter.run(limiter, null, request);
+
+        assertRejected(InFlightLimiter.run(limiter, null, request));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testFailFast() {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.FAIL_FAST, 2, 10);
+        InFlightLimiter.run(limiter, null, request);
+        InFlightLimiter.run(limiter, null, request);
+
+        assertRejected(InFlightLimiter.run(limiter, null, request));
+        sent.get(0).set("done");
+        InFlightLimiter.run(limiter, null, request);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testRejectionByGlobalLimitReleasesClientLimit() {
+        final InFlightLimiter client = limiter(OverflowPolicy.FAIL_FAST, 2, 10);
+        final InFlightLimiter global = limiter(OverflowPolicy.FAIL_FAST, 1, 10);
+        InFlightLimiter.run(client, global, request);
+
+        assertRejected(InFlightLimiter.run(client, global, request));
+        assertEquals(1, client.getInFlight());
+        assertEquals(1, global.getInFlight());
+    }
+
+    @Test
+    public void testBlockingCallerWaitsForSlot() throws Exception {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.BLOCK, 1, 10);
+        InFlightLimiter.run(limiter, null, request);
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread caller = new Thread(() -> {
+            limiter.acquire().claim();
+            acquired.countDown();
+        });
+        caller.start();
+        while (limiter.getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+        assertFalse(acquired.await(50, TimeUnit.MILLISECONDS));
+
+        sent.get(0).set("done");
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        caller.join();
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test(timeout = 5000)
+    public void testChainedRequestCompletesWithBlockingPolicy() {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.BLOCK, 1, 10);
+
+        final Promise<String> chained = InFlightLimiter.run(limiter, null, request)
+                .flatMap(value -> InFlightLimiter.run(limiter, null, request));
+        sent.get(0).set("first");
+        sent.get(1).set("second");
+
+        assertEquals("second", chained.claim());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test(timeout = 5000)
+    public void testChainedRequestIsQueuedRatherThanBlockingWithBlockingPolicy() {
+        final InFlightLimiter limiter = limiter(OverflowPolicy.BLOCK, 1, 10);
+        final InFlightLimiter other = limiter(OverflowPolicy.BLOCK, 1, 10);
+        InFlightLimiter.run(limiter, null, request);
+
+        // completed on this thread, which then runs the continuation as a callback thread of the HTTP client would
+        final Promise<String> chained = InFlightLimiter.run(null, other, request)
+                .flatMap(value -> InFlightLimiter.run(limiter, null, request));
+        sent.get(1).set("other");
+        assertEquals(2, sent.size());
+        assertEquals(1, limiter.getQueueDepth());
+
+        sent.get(0).set("first");
+        assertEquals(3, sent.size());
+        sent.get(2).set("chained");
+        assertEquals("chained", chained.claim());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private InFlightLimiter limiter(final OverflowPolicy policy, final int maxInFlight, final int maxQueueSize) {
+        final ConcurrencyLimitOptions options = ConcurrencyLimitOptions.builder()
+                .withOverflowPolicy(policy)
+                .withMaxQueueSize(maxQueueSize)
+                .build();
+        return new InFlightLimiter("test", maxInFlight, options, ticker);
+    }
+
+    private static void assertRejected(final Promise<?> promise) {
+        try {
+            promise.claim();
+            fail("request should be rejected");
+        } catch (RestClientException expected) {
+            // the limit is reached
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.BulkIssueResult;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getJsonObjectFromResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IssueKeyBatchesTest {
+
+    @Test
+    public void testSplitsByKeyCount() {
+        final List<String> queries = IssueKeyBatches.createQueries(
+                ImmutableList.of("TST-1", "TST-2", "TST-3", "TST-2", "TST-4", "TST-5"), 2, 1000);
+
+        assertEquals(ImmutableList.of(
+                "key in (\"TST-1\",\"TST-2\")",
+                "key in (\"TST-3\",\"TST-4\")",
+                "key in (\"TST-5\")"), queries);
+    }
+
+    @Test
+    public void testSplitsByJqlLength() {
+        final List<String> queries = IssueKeyBatches.createQueries(
+                ImmutableList.of("TST-1", "TST-2", "TST-3"), 50, "key in (\"TST-1\",\"TST-2\")".length());
+
+        assertEquals(ImmutableList.of("key in (\"TST-1\",\"TST-2\")", "key in (\"TST-3\")"), queries);
+    }
+
+    @Test
+    public void testQuotesKeys() {
+        assertEquals(ImmutableList.of("key in (\"A\\\"B\")"), IssueKeyBatches.createQueries(ImmutableList.of("A\"B"), 50, 1000));
+    }
+
+    @Test
+    public void testNoQueriesForNoKeys() {
+        assertEquals(ImmutableList.of(), IssueKeyBatches.createQueries(ImmutableList.of(), 50, 1000));
+    }
+
+    @Test
+    public void testToResultReportsMissingKeys() throws Exception {
+        final Iterable<Issue> found = new SearchResultJsonParser()
+                .parse(getJsonObjectFromResource("/json/search/many-issues.json")).getIssues();
+        final Issue tst13 = Iterables.find(found, issue -> "TST-13".equals(issue.getKey()));
+
+        final BulkIssueResult result = IssueKeyBatches.toResult(ImmutableList.of("tst-13", "TST-12", "NOPE-1"), found);
+
+        assertEquals(ImmutableList.of("tst-13", "TST-12"), ImmutableList.copyOf(result.getIssues().keySet()));
+        assertSame(tst13, result.getIssues().get("tst-13"));
+        assertEquals(ImmutableSet.of("NOPE-1"), result.getMissingKeys());
+    }
+
+    @Test
+    public void testToResultMatchesRenamedKeyById() throws Exception {
+        final Iterable<Issue> found = new SearchResultJsonParser()
+                .parse(getJsonObjectFromResource("/json/search/many-issues.json")).getIssues();
+        final Issue tst13 = Iterables.find(found, issue -> "TST-13".equals(issue.getKey()));
+        final Iterable<Issue> foundByFormerKey = ImmutableList.of(tst13);
+
+        // TST-13 was found by the key it had before it moved
+        final BulkIssueResult unresolved = IssueKeyBatches.toResult(ImmutableList.of("OLD-1", "NOPE-1"), foundByFormerKey);
+        assertEquals(ImmutableSet.of("OLD-1", "NOPE-1"), IssueKeyBatches.formerKeys(unresolved, foundByFormerKey));
+
+        final BulkIssueResult result = IssueKeyBatches.toResult(ImmutableList.of("OLD-1", "NOPE-1"), foundByFormerKey,
+                Collections.singletonMap("OLD-1", tst13.getId()));
+        assertSame(tst13, result.getIssues().get("OLD-1"));
+        assertEquals(ImmutableSet.of("NOPE-1"), result.getMissingKeys());
+        assertEquals(ImmutableSet.of(), IssueKeyBatches.formerKeys(result, foundByFormerKey));
+    }
+
+    @Test
+    public void testToResultMatchesRequestedIds() throws Exception {
+        final Iterable<Issue> found = new SearchResultJsonParser()
+                .parse(getJsonObjectFromResource("/json/search/many-issues.json")).getIssues();
+        final Issue tst13 = Iterables.find(found, issue -> "TST-13".equals(issue.getKey()));
+
+        final BulkIssueResult result = IssueKeyBatches.toResult(ImmutableList.of(tst13.getId().toString()), found);
+
+        assertSame(tst13, result.getIssues().get(tst13.getId().toString()));
+        assertTrue(result.getMissingKeys().isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.internal.json.gen.IssuesInputJsonGenerator;
+import com.atlassian.jira.rest.client.test.matchers.JSONObjectMatcher;
+import com.google.common.collect.ImmutableList;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class JsonEntityInputStreamTest {
+
+    private final IssuesInputJsonGenerator generator = new IssuesInputJsonGenerator();
+
+    @Test
+    public void testGeneratesSameJsonAsJettison() throws Exception {
+        final List<IssueInput> issues = issues(200);
+
+        final JSONObject streamed = new JSONObject(readFully(new JsonEntityInputStream(generator, issues), 7));
+
+        assertThat(generator.generate(issues), JSONObjectMatcher.isEqual(streamed));
+    }
+
+    @Test
+    public void testGeneratesOneIssueAtATime() throws Exception {
+        final List<IssueInput> issues = issues(1000);
+        final int issueLength = new JSONObject().put("x", generator.generate(issues(1))
+                .getJSONArray("issueUpdates").getJSONObject(0)).toString().length();
+
+        try (InputStream in = new JsonEntityInputStream(generator, issues)) {
+            final byte[] buffer = new byte[16];
+            int maxAvailable = 0;
+            while (in.read(buffer) != -1) {
+                maxAvailable = Math.max(maxAvailable, in.available());
+            }
+            assertTrue(maxAvailable < 2 * issueLength);
+        }
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        assertEquals("{\"issueUpdates\":[]}",
+                readFully(new JsonEntityInputStream(generator, ImmutableList.<IssueInput>of()), 1024));
+    }
+
+    private static List<IssueInput> issues(final int count) {
+        final List<IssueInput> issues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            issues.add(new IssueInputBuilder("TST", 1L, "Issue ż " + i)
+                    .setDescription("Description of issue " + i)
+                    .build());
+        }
+        return issues;
+    }
+
+    private static String readFully(final InputStream in, final int chunk) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[chunk];
+        int read;
+        try (InputStream stream = in) {
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
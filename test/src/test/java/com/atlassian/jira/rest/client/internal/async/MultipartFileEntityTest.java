@@ -0,0 +1,144 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.EntityBuilder;
+import com.atlassian.jira.rest.client.api.AttachmentUploadListener;
+import com.atlassian.jira.rest.client.api.AttachmentUploadOptionsBuilder;
+import com.atlassian.jira.rest.client.api.domain.input.FileAttachmentInput;
+import com.google.common.io.BaseEncoding;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MultipartFileEntityTest {
+
+    private static final URI ATTACHMENTS_URI = URI.create("http://localhost/rest/api/2/issue/TST-1/attachments");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWritesFileAsMultipartFormData() throws Exception {
+        final byte[] content = content(100000);
+        final Path file = file(content);
+        final MultipartFileEntity entity = new MultipartFileEntity(new FileAttachmentInput(ATTACHMENTS_URI, file, "build \"42\".zip"),
+                new AttachmentUploadOptionsBuilder().withChunkSize(4096).build());
+        final EntityBuilder.Entity built = entity.build();
+
+        final String contentType = built.getHeaders().get("Content-Type");
+        assertTrue(contentType, contentType.startsWith("multipart/form-data; boundary="));
+        final String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        final byte[] body = readFully(built.getInputStream(), 1000);
+        final String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"build \\\"42\\\".zip\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+        final String tail = "\r\n--" + boundary + "--\r\n";
+
+        assertEquals(head.length() + content.length + tail.length(), body.length);
+        assertEquals(head, new String(body, 0, head.length(), UTF_8));
+        assertArrayEquals(content, Arrays.copyOfRange(body, head.length(), head.length() + content.length));
+        assertEquals(tail, new String(body, head.length() + content.length, tail.length(), UTF_8));
+        assertEquals(content.length, entity.getSentSize());
+        assertEquals(sha256(content), entity.getChecksum());
+    }
+
+    @Test
+    public void testReportsProgressOfEveryChunk() throws Exception {
+        final Path file = file(content(10000));
+        final List<Long> progress = new ArrayList<>();
+        final MultipartFileEntity entity = new MultipartFileEntity(new FileAttachmentInput(ATTACHMENTS_URI, file),
+                new AttachmentUploadOptionsBuilder()
+                        .withChunkSize(4096)
+                        .withListener(new AttachmentUploadListener() {
+                            @Override
+                            public void progress(final FileAttachmentInput upload, final long bytesSent, final long size) {
+                                assertEquals(10000, size);
+                                progress.add(bytesSent);
+                            }
+                        })
+                        .build());
+
+        readFully(entity.build().getInputStream(), 100000);
+
+        assertEquals(Arrays.asList(4096L, 8192L, 10000L), progress);
+    }
+
+    @Test
+    public void testEachStreamReadsFileAgain() throws Exception {
+        final byte[] content = content(5000);
+        final MultipartFileEntity entity = new MultipartFileEntity(new FileAttachmentInput(ATTACHMENTS_URI, file(content)),
+                new AttachmentUploadOptionsBuilder().withChecksumAlgorithm(null).build());
+        final EntityBuilder.Entity built = entity.build();
+
+        final byte[] first = readFully(built.getInputStream(), 7);
+        final byte[] second = readFully(built.getInputStream(), 7);
+
+        assertEquals(first.length, second.length);
+        assertEquals(content.length, entity.getSentSize());
+        assertNull(entity.getChecksum());
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        final MultipartFileEntity entity = new MultipartFileEntity(new FileAttachmentInput(ATTACHMENTS_URI, file(new byte[0])),
+                new AttachmentUploadOptionsBuilder().build());
+
+        readFully(entity.build().getInputStream(), 1024);
+
+        assertEquals(0, entity.getSentSize());
+        assertEquals(sha256(new byte[0]), entity.getChecksum());
+    }
+
+    @Test(expected = NoSuchAlgorithmException.class)
+    public void testRejectsUnknownChecksumAlgorithm() throws Exception {
+        new MultipartFileEntity(new FileAttachmentInput(ATTACHMENTS_URI, file(content(10))),
+                new AttachmentUploadOptionsBuilder().withChecksumAlgorithm("CRC-64").build());
+    }
+
+    private Path file(final byte[] content) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, content);
+        return file;
+    }
+
+    private static byte[] content(final int length) {
+        final byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 13);
+        }
+        return content;
+    }
+
+    private static String sha256(final byte[] content) throws NoSuchAlgorithmException {
+        return BaseEncoding.base16().lowerCase().encode(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static byte[] readFully(final InputStream in, final int chunk) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[chunk];
+        int read;
+        try (InputStream stream = in) {
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+}
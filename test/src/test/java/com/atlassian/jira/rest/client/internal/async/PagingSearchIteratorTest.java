@@ -0,0 +1,65 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.atlassian.jira.rest.client.test.matchers.IssueMatchers.issuesWithKeys;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class PagingSearchIteratorTest {
+
+    private static final String[] ALL_KEYS = {"TST-13", "TST-12", "TST-11", "TST-10", "TST-9", "TST-8", "TST-7", "TST-6"};
+
+    @Test
+    public void testIteratesOverAllPages() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final List<Issue> issues = Lists.newArrayList(new PagingSearchIterator(client, "", 3, 1, null));
+
+        assertThat(issues, issuesWithKeys(ALL_KEYS));
+        assertEquals(ImmutableList.of(0, 3, 6), client.requestedStartAts);
+    }
+
+    @Test
+    public void testFollowsPageSizeReturnedByServer() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(3);
+        final List<Issue> issues = Lists.newArrayList(new PagingSearchIterator(client, "", 5, 2, null));
+
+        assertThat(issues, issuesWithKeys(ALL_KEYS));
+        assertEquals(ImmutableList.of(0, 3, 6), client.requestedStartAts);
+    }
+
+    @Test
+    public void testDoesNotRequestPagesBeyondPrefetchDepth() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final PagingSearchIterator iterator = new PagingSearchIterator(client, "", 2, 1, null);
+
+        assertEquals(0, client.requestedStartAts.size());
+        iterator.next();
+        iterator.next();
+        assertEquals(ImmutableList.of(0, 2), client.requestedStartAts);
+
+        iterator.close();
+        assertFalse(iterator.hasNext());
+        assertEquals(ImmutableList.of(0, 2), client.requestedStartAts);
+    }
+
+    @Test
+    public void testWithoutPrefetching() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final PagingSearchIterator iterator = new PagingSearchIterator(client, "", 4, 0, null);
+
+        for (int i = 0; i < 4; i++) {
+            iterator.next();
+        }
+        assertEquals(ImmutableList.of(0), client.requestedStartAts);
+        assertEquals(4, Iterables.size(Lists.newArrayList(iterator)));
+        assertEquals(ImmutableList.of(0, 4), client.requestedStartAts);
+    }
+}
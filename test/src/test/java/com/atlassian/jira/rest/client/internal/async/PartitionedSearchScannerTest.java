@@ -0,0 +1,110 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchScanOptions;
+import com.atlassian.jira.rest.client.api.SearchScanOptionsBuilder;
+import com.atlassian.jira.rest.client.api.SearchScanProgressListener;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchPartition;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.atlassian.jira.rest.client.test.matchers.IssueMatchers.issuesWithKeys;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class PartitionedSearchScannerTest {
+
+    private static final String[] ALL_KEYS = {"TST-13", "TST-12", "TST-11", "TST-10", "TST-9", "TST-8", "TST-7", "TST-6"};
+
+    @Test
+    public void testSplitsQueryIntoDisjointIdRanges() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final PartitionedSearchScanner scanner = new PartitionedSearchScanner(client, "project = TST ORDER BY key DESC",
+                new SearchScanOptionsBuilder().withPartitions(3).build());
+
+        final List<String> partitionJqls = scanner.createPartitions().stream()
+                .map(cursor -> cursor.getPartition().getJql()).collect(Collectors.toList());
+
+        assertEquals(ImmutableList.of(
+                "(project = TST) AND id < 10046",
+                "(project = TST) AND id >= 10046 AND id < 10062",
+                "(project = TST) AND id >= 10062"), partitionJqls);
+        assertEquals(ImmutableList.of("(project = TST) ORDER BY id ASC", "(project = TST) ORDER BY id DESC"), client.requestedJqls);
+    }
+
+    @Test
+    public void testRetrievesAllIssuesWithKeysetPaging() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final Map<Integer, Integer> progress = Maps.newHashMap();
+        final List<Integer> completed = Lists.newArrayList();
+        final SearchScanOptions options = new SearchScanOptionsBuilder()
+                .withPartitions(2)
+                .withParallelism(2)
+                .withPageSize(2)
+                .withProgressListener(new SearchScanProgressListener() {
+                    @Override
+                    public void onProgress(SearchPartition partition, int retrievedIssues, int totalIssues) {
+                        progress.put(partition.getIndex(), retrievedIssues);
+                    }
+
+                    @Override
+                    public void onPartitionCompleted(SearchPartition partition) {
+                        completed.add(partition.getIndex());
+                    }
+                })
+                .build();
+
+        final List<Issue> issues = Lists.newArrayList(new PartitionedSearchScanner(client, null, options));
+
+        assertThat(issues, issuesWithKeys(ALL_KEYS));
+        assertEquals(ImmutableList.of(0, 1), completed.stream().sorted().collect(Collectors.toList()));
+        assertEquals(8, progress.get(0) + progress.get(1));
+        assertThat(client.requestedJqls, hasItem("(id >= 10053) AND id > 10071 ORDER BY id ASC"));
+    }
+
+    @Test
+    public void testSplitsQueryIntoUpdatedWindowsInEpochMillis() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final PartitionedSearchScanner scanner = new PartitionedSearchScanner(client, "project = TST",
+                new SearchScanOptionsBuilder()
+                        .withPartitioning(SearchScanOptions.Partitioning.UPDATED)
+                        .withPartitions(2)
+                        .withFields("*all")
+                        .build());
+
+        final List<String> partitionJqls = scanner.createPartitions().stream()
+                .map(cursor -> cursor.getPartition().getJql()).collect(Collectors.toList());
+
+        // from 2010-08-20T17:19:28.000+0200 to 2012-12-07T16:08:20.000+0100
+        assertEquals(ImmutableList.of(
+                "(project = TST) AND updated < 1318605234001",
+                "(project = TST) AND updated >= 1318605234001"), partitionJqls);
+        assertEquals(ImmutableList.of(ImmutableSet.of("id", "updated"), ImmutableSet.of("id", "updated")), client.requestedFields);
+    }
+
+    @Test
+    public void testRemovesOnlyOrderByClauseOutsideQuotes() {
+        assertEquals("summary ~ \"order by\" AND text ~ 'sort Order  By \\' date' ",
+                PartitionedSearchScanner.withoutOrderBy("summary ~ \"order by\" AND text ~ 'sort Order  By \\' date' ORDER BY key"));
+        assertEquals("summary ~ \"order by\"", PartitionedSearchScanner.withoutOrderBy("summary ~ \"order by\""));
+        assertEquals("", PartitionedSearchScanner.withoutOrderBy("order by created DESC"));
+    }
+
+    @Test
+    public void testEmptyResult() throws Exception {
+        final FakeSearchRestClient client = new FakeSearchRestClient(50);
+        final PartitionedSearchScanner scanner = new PartitionedSearchScanner(client, "id < 100",
+                new SearchScanOptionsBuilder().build());
+
+        assertEquals(0, Lists.newArrayList(scanner).size());
+        assertEquals(2, client.requestedJqls.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.internal.json.BasicProjectJsonParser;
+import com.atlassian.jira.rest.client.internal.json.DomJsonStreamParser;
+import com.atlassian.jira.rest.client.internal.json.ProjectJsonParser;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonStreamParser;
+import com.google.common.collect.ImmutableSet;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final List<SettablePromise<String>> sent = new ArrayList<>();
+    private final Supplier<Promise<String>> request = () -> {
+        final SettablePromise<String> promise = Promises.settablePromise();
+        sent.add(promise);
+        return promise;
+    };
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneCall() {
+        final Promise<String> first = coalescer.coalesce("issue/TST-1", request);
+        final Promise<String> second = coalescer.coalesce("issue/TST-1", request);
+        final Promise<String> other = coalescer.coalesce("issue/TST-2", request);
+
+        assertSame(first, second);
+        assertEquals(2, sent.size());
+        assertEquals(2, coalescer.getInFlightCount());
+
+        sent.get(0).set("TST-1");
+        assertEquals("TST-1", second.claim());
+        assertEquals(1, coalescer.getInFlightCount());
+        assertEquals(3, coalescer.getRequestCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(1.0 / 3, coalescer.getCoalescingRatio(), 0.0001);
+        assertTrue(!other.isDone());
+    }
+
+    @Test
+    public void testRequestsParsedDifferentlyAreNotShared() {
+        final URI uri = URI.create("http://localhost/rest/api/2/project/TST");
+        // parsers of the same class, as a client coalesces them
+        final Promise<String> basic = coalescer.coalesce(
+                Arrays.asList(uri, DomJsonStreamParser.create(new BasicProjectJsonParser())), request);
+        final Promise<String> full = coalescer.coalesce(
+                Arrays.asList(uri, DomJsonStreamParser.create(new ProjectJsonParser())), request);
+        final Promise<String> search = coalescer.coalesce(
+                Arrays.asList(uri, new SearchResultJsonStreamParser(ImmutableSet.of("summary"))), request);
+        final Promise<String> sameSearch = coalescer.coalesce(
+                Arrays.asList(uri, new SearchResultJsonStreamParser(ImmutableSet.of("summary"))), request);
+
+        assertNotSame(basic, full);
+        assertSame(search, sameSearch);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testCompletedRequestIsSentAgain() {
+        coalescer.coalesce("issue/TST-1", request);
+        sent.get(0).set("TST-1");
+
+        coalescer.coalesce("issue/TST-1", request);
+
+        assertEquals(2, sent.size());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotKept() {
+        final Promise<String> first = coalescer.coalesce("issue/TST-1", request);
+        final Promise<String> second = coalescer.coalesce("issue/TST-1", request);
+        sent.get(0).exception(new IllegalStateException("boom"));
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(0, coalescer.getInFlightCount());
+
+        coalescer.coalesce("issue/TST-1", request);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testRequestThrowingIsNotKept() {
+        final Promise<String> failed = coalescer.coalesce("issue/TST-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertTrue(failed.isDone());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+}
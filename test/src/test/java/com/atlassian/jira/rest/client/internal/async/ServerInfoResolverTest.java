@@ -0,0 +1,51 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.SettablePromise;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ServerInfoResolverTest {
+
+    private final FakeMetadataRestClient metadataRestClient = new FakeMetadataRestClient();
+    private final ServerInfoResolver resolver = new ServerInfoResolver(metadataRestClient);
+
+    @Test
+    public void testResolvesOnceWithoutBlocking() {
+        final Promise<ServerInfo> first = resolver.getServerInfo();
+        final Promise<ServerInfo> second = resolver.getServerInfo();
+
+        assertFalse(first.isDone());
+        assertEquals(1, metadataRestClient.calls.size());
+
+        final ServerInfo serverInfo = new ServerInfo(URI.create("http://localhost"), "8.1.0", 801000, null, null, "", "JIRA");
+        serverInfoCall(0).set(serverInfo);
+
+        assertSame(serverInfo, first.claim());
+        assertSame(serverInfo, second.claim());
+        assertSame(serverInfo, resolver.getServerInfo().claim());
+        assertEquals(1, metadataRestClient.calls.size());
+    }
+
+    @Test
+    public void testRetriesAfterFailure() {
+        final Promise<ServerInfo> failed = resolver.getServerInfo();
+        serverInfoCall(0).exception(new RuntimeException("unavailable"));
+
+        assertTrue(failed.isDone());
+        resolver.getServerInfo();
+        assertEquals(2, metadataRestClient.calls.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SettablePromise<ServerInfo> serverInfoCall(final int index) {
+        return (SettablePromise<ServerInfo>) metadataRestClient.calls.get(index);
+    }
+}
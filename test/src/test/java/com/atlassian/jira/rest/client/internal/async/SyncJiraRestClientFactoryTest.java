@@ -0,0 +1,136 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.jira.rest.client.api.BulkCreateOptionsBuilder;
+import com.atlassian.jira.rest.client.api.ClientMetrics;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkCreateResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.stub.JiraStubServer;
+import com.google.common.collect.Iterables;
+import io.atlassian.util.concurrent.Promise;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SyncJiraRestClientFactoryTest {
+
+    private JiraStubServer stub;
+    private JiraRestClient client;
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    public void testPromisesAreCompletedOnReturn() {
+        start(JiraStubServer.builder().withSearchResults(120, 50));
+
+        final Promise<Issue> issue = client.getIssueClient().getIssue("TST-2");
+        assertTrue(issue.isDone());
+        assertNotNull(issue.claim().getSummary());
+
+        final Promise<SearchResult> lastPage = client.getSearchClient().searchJql("project = TST", 100, 100, null);
+        assertTrue(lastPage.isDone());
+        assertEquals(20, Iterables.size(lastPage.claim().getIssues()));
+
+        final BulkOperationResult<BasicIssue> created = client.getIssueClient()
+                .createIssues(Collections.nCopies(3, new IssueInputBuilder("TST", 1L, "summary").build()))
+                .claim();
+        assertEquals(3, Iterables.size(created.getIssues()));
+    }
+
+    @Test
+    public void testErrorResponseFails() {
+        start(JiraStubServer.builder().withThrottling(1, 0));
+        try {
+            client.getIssueClient().getIssue("TST-1").claim();
+            fail("request should have been throttled");
+        } catch (RestClientException e) {
+            assertEquals(Integer.valueOf(429), e.getStatusCode().get());
+        }
+    }
+
+    @Test
+    public void testThrottledRequestsAreRetriedOnCallingThread() {
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        start(JiraStubServer.builder().withThrottling(2, 0), JiraRestClientOptions.builder()
+                .withThrottlePolicy(AdaptiveThrottlePolicy.builder().withBackoff(1, 10, TimeUnit.MILLISECONDS).build())
+                .withClientMetrics(new ClientMetrics() {
+                    @Override
+                    public void requestCompleted(final Request.Method method, final String endpoint, final int statusCode,
+                                                 final long durationNanos, final long responseBytes) {
+                        threads.add(Thread.currentThread());
+                    }
+                })
+                .build());
+
+        // the second request is throttled and retried by the policy
+        client.getIssueClient().getIssue("TST-1").claim();
+        final Promise<Issue> retried = client.getIssueClient().getIssue("TST-1");
+        assertTrue(retried.isDone());
+        // the bulk request is throttled and its chunk retried by the bulk creation
+        final Promise<BulkCreateResult> created = client.getIssueClient().createIssues(
+                Collections.nCopies(3, new IssueInputBuilder("TST", 1L, "summary").build()),
+                new BulkCreateOptionsBuilder().withRetryDelay(1, TimeUnit.MILLISECONDS).build());
+        assertTrue(created.isDone());
+
+        assertEquals(3, created.claim().getIssues().size());
+        assertEquals(2, stub.getThrottledCount());
+        assertEquals(5, threads.size());
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testConnectionFailureFails() throws IOException {
+        stub = JiraStubServer.start();
+        final URI serverUri = stub.getServerUri();
+        stub.close();
+        stub = null;
+        client = new SyncJiraRestClientFactory().create(serverUri, new AnonymousAuthenticationHandler());
+        try {
+            client.getIssueClient().getIssue("TST-1").claim();
+            fail("server is not running");
+        } catch (RestClientException e) {
+            assertFalse(e.getStatusCode().isPresent());
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private void start(final JiraStubServer.Builder builder) {
+        start(builder, JiraRestClientOptions.defaults());
+    }
+
+    private void start(final JiraStubServer.Builder builder, final JiraRestClientOptions options) {
+        stub = builder.start();
+        client = new SyncJiraRestClientFactory().create(stub.getServerUri(), new AnonymousAuthenticationHandler(), options);
+    }
+}
@@ -0,0 +1,55 @@
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.httpclient.api.factory.HttpClientOptions;
+import com.atlassian.jira.rest.client.stub.JiraStubServer;
+import com.google.common.io.ByteStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UrlConnectionHttpClientTest {
+
+    private JiraStubServer stub;
+    private UrlConnectionHttpClient client;
+
+    @Before
+    public void setUp() {
+        stub = JiraStubServer.start();
+        client = new UrlConnectionHttpClient(new HttpClientOptions());
+    }
+
+    @After
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    public void testSuccessfulEntityIsStreamedAndClosedOnceConsumed() throws IOException {
+        final Response response = client.newRequest(stub.getServerUri().resolve("rest/api/2/issue/TST-1")).get().claim();
+
+        assertEquals(200, response.getStatusCode());
+        final InputStream entity = response.getEntityStream();
+        assertFalse(entity instanceof ByteArrayInputStream);
+        assertTrue(ByteStreams.toByteArray(entity).length > 0);
+        // closed at its end, it reads no more
+        assertEquals(-1, entity.read());
+    }
+
+    @Test
+    public void testErrorEntityIsBuffered() {
+        final Response response = client.newRequest(stub.getServerUri().resolve("rest/api/2/unknown")).get().claim();
+
+        assertEquals(404, response.getStatusCode());
+        assertTrue(response.getEntityStream() instanceof ByteArrayInputStream);
+        assertTrue(response.getEntity().contains("Not found"));
+    }
+}
@@ -41,6 +41,7 @@ import com.atlassian.jira.rest.client.api.domain.TimeTracking;
 import com.atlassian.jira.rest.client.api.domain.Visibility;
 import com.atlassian.jira.rest.client.api.domain.Worklog;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import org.apache.commons.lang.StringUtils;
 import org.codehaus.jettison.json.JSONException;
@@ -65,6 +66,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 // Ignore "May produce NPE" warnings, as we know what we are doing in tests
 @SuppressWarnings("ConstantConditions")
@@ -160,6 +162,8 @@ public class IssueJsonParserTest {
 
         // test float value: number, com.atlassian.jira.plugin.system.customfieldtypes:float
         assertEquals(1.457, issue.getField("customfield_10000").getValue());
+        assertEquals("My Number Field New", issue.getField("customfield_10000").getName());
+        assertEquals("number", issue.getField("customfield_10000").getType());
 
         // TODO: add assertions for more custom field types after fixing JRJC-122
     }
@@ -247,6 +251,8 @@ public class IssueJsonParserTest {
         assertEquals(4, Iterables.size(issue.getAttachments()));
         assertEquals(1, Iterables.size(issue.getIssueLinks()));
         assertEquals(1.457, issue.getField("customfield_10000").getValue());
+        assertEquals("My Number Field New", issue.getField("customfield_10000").getName());
+        assertEquals("number", issue.getField("customfield_10000").getType());
         assertThat(Iterables.transform(issue
                 .getComponents(), EntityHelper.GET_ENTITY_NAME_FUNCTION), containsInAnyOrder("Component A", "Component B"));
         assertEquals(2, Iterables.size(issue.getWorklogs()));
@@ -415,4 +421,56 @@ public class IssueJsonParserTest {
         )))));
     }
 
+    @Test
+    public void testParseProjectedIssue() throws JSONException {
+        final JSONObject issueJson = ResourceUtil.getJsonObjectFromResource("/json/issue/valid-5.0-projected-status-assignee.json");
+        final Issue issue = new IssueJsonParser(ImmutableSet.of("status", "assignee")).parse(issueJson);
+
+        assertEquals("TST-7", issue.getKey());
+        assertEquals("Open", issue.getStatus().getName());
+        assertEquals("admin", issue.getAssignee().getName());
+        assertNull(issue.getSummary());
+        assertNull(issue.getProject());
+        assertNull(issue.getIssueType());
+        assertNull(issue.getCreationDate());
+        assertTrue(Iterables.isEmpty(issue.getComments()));
+        assertTrue(Iterables.isEmpty(issue.getFields()));
+    }
+
+    @Test
+    public void testProjectionSkipsSectionsNotRequested() throws JSONException {
+        final JSONObject issueJson = ResourceUtil.getJsonObjectFromResource("/json/issue/valid-5.0.json");
+        final Issue issue = new IssueJsonParser(ImmutableSet.of("*all", "-comment", "-worklog", "-customfield_10000")).parse(issueJson);
+
+        assertEquals("Open", issue.getStatus().getName());
+        assertNotNull(issue.getSummary());
+        assertTrue(Iterables.isEmpty(issue.getComments()));
+        assertTrue(Iterables.isEmpty(issue.getWorklogs()));
+        assertNull(issue.getField("customfield_10000"));
+        assertNotNull(issue.getField("customfield_10001"));
+    }
+
+    @Test
+    public void testParsersOfSameProjectionAreEqual() {
+        final IssueJsonParser parser = new IssueJsonParser(ImmutableSet.of("summary", "status"));
+
+        assertEquals(parser, new IssueJsonParser(ImmutableSet.of("status", "summary")));
+        assertEquals(parser.hashCode(), new IssueJsonParser(ImmutableSet.of("status", "summary")).hashCode());
+        assertEquals(DomJsonStreamParser.create(parser), DomJsonStreamParser.create(new IssueJsonParser(ImmutableSet.of("summary", "status"))));
+        assertFalse(parser.equals(new IssueJsonParser(ImmutableSet.of("summary"))));
+        assertFalse(parser.equals(new IssueJsonParser(FieldDescriptors.EMPTY, ImmutableSet.of("summary", "status"))));
+        assertFalse(new IssueJsonParser().equals(new IssueJsonParser(new JSONObject(), new JSONObject())));
+    }
+
+    @Test
+    public void testProjectionWithExclusionsOnlyKeepsOtherFields() throws JSONException {
+        final JSONObject issueJson = ResourceUtil.getJsonObjectFromResource("/json/issue/valid-5.0.json");
+        final Issue issue = new IssueJsonParser(ImmutableSet.of("-comment")).parse(issueJson);
+
+        assertEquals("Open", issue.getStatus().getName());
+        assertNotNull(issue.getSummary());
+        assertNotNull(issue.getProject());
+        assertTrue(Iterables.isEmpty(issue.getComments()));
+        assertNotNull(issue.getField("customfield_10000"));
+    }
 }
@@ -0,0 +1,92 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonParseUtilTest {
+
+    private static final String[] DATE_TIMES = {
+            "2010-08-17T16:40:57.791+0200",
+            "2012-12-31T23:59:59.000-0800",
+            "2016-02-29T00:00:00.001+05:30",
+            "2019-10-27T02:30:00.500+0000",
+            "2010-08-17T16:40:57.791Z",
+            "2010-08-17T16:40:57.7+0200"
+    };
+
+    private final DateTimeZone defaultZone = DateTimeZone.getDefault();
+
+    @After
+    public void tearDown() {
+        DateTimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    public void testParseDateTimeMatchesFormatter() {
+        for (String zone : new String[]{"UTC", "Europe/Warsaw", "America/Sao_Paulo", "Pacific/Chatham"}) {
+            DateTimeZone.setDefault(DateTimeZone.forID(zone));
+            for (String dateTime : DATE_TIMES) {
+                assertEquals(dateTime, JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime(dateTime),
+                        JsonParseUtil.parseDateTime(dateTime));
+                assertEquals(dateTime, JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime(dateTime),
+                        JsonParseUtil.parseDateTimeOrDate(dateTime));
+            }
+        }
+    }
+
+    @Test
+    public void testParseDateMatchesFormatter() {
+        for (String zone : new String[]{"UTC", "Europe/Warsaw", "Pacific/Chatham"}) {
+            DateTimeZone.setDefault(DateTimeZone.forID(zone));
+            for (String date : new String[]{"2010-08-17", "2016-02-29", "+2010-08-17"}) {
+                assertEquals(date, JsonParseUtil.JIRA_DATE_FORMATTER.parseDateTime(date), JsonParseUtil.parseDate(date));
+                assertEquals(date, JsonParseUtil.JIRA_DATE_FORMATTER.parseDateTime(date), JsonParseUtil.parseDateTimeOrDate(date));
+            }
+        }
+    }
+
+    @Test
+    public void testDayNotStartingAtMidnightIsRejectedAsBefore() {
+        // Brazil moved clocks forward at midnight, so 2018-11-04T00:00 did not exist there
+        DateTimeZone.setDefault(DateTimeZone.forID("America/Sao_Paulo"));
+        assertInvalid("2018-11-04");
+    }
+
+    @Test
+    public void testInvalidValues() {
+        assertInvalid("2010-13-17T16:40:57.791+0200");
+        assertInvalid("2010-02-30T16:40:57.791+0200");
+        assertInvalid("2010-08-17T16:40:57.791+2400");
+        assertInvalid("2010-08-17T16:40:57");
+        assertInvalid("2010-02-30");
+        assertInvalid("17/08/2010");
+    }
+
+    @Test
+    public void testJavaTime() {
+        assertEquals(OffsetDateTime.of(2010, 8, 17, 16, 40, 57, 791000000, ZoneOffset.ofHours(2)),
+                JsonParseUtil.parseOffsetDateTime("2010-08-17T16:40:57.791+0200"));
+        assertEquals(OffsetDateTime.of(2016, 2, 29, 0, 0, 0, 1000000, ZoneOffset.ofHoursMinutes(5, 30)),
+                JsonParseUtil.parseOffsetDateTime("2016-02-29T00:00:00.001+05:30"));
+        assertEquals(OffsetDateTime.of(2010, 8, 17, 16, 40, 57, 700000000, ZoneOffset.UTC),
+                JsonParseUtil.parseOffsetDateTime("2010-08-17T16:40:57.7Z"));
+        assertEquals(LocalDate.of(2010, 8, 17), JsonParseUtil.parseLocalDate("2010-08-17"));
+    }
+
+    private static void assertInvalid(final String value) {
+        try {
+            JsonParseUtil.parseDateTimeOrDate(value);
+            fail(value + " should not be parsed");
+        } catch (RestClientException expected) {
+        }
+    }
+}
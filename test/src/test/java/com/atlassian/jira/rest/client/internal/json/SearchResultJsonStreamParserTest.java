@@ -0,0 +1,113 @@
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.collect.Iterables;
+import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getJsonObjectFromResource;
+import static com.atlassian.jira.rest.client.test.matchers.IssueMatchers.issuesWithKeys;
+import static com.atlassian.jira.rest.client.test.matchers.SearchResultMatchers.searchResultWithParamsAndIssueCount;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+public class SearchResultJsonStreamParserTest {
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private final SearchResultJsonStreamParser parser = new SearchResultJsonStreamParser();
+
+    @Test
+    public void testParse() throws Exception {
+        final SearchResult searchResult = parse("/json/search/issues1.json");
+
+        assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 50, 1, 1));
+        assertEquals("TST-7", Iterables.getLast(searchResult.getIssues()).getKey());
+    }
+
+    @Test
+    public void testParseManyGivesSameIssuesAsDomParser() throws Exception {
+        final SearchResult searchResult = parse("/json/search/many-issues.json");
+        final SearchResult expected = new SearchResultJsonParser().parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+
+        assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 8, 15, 8));
+        assertThat(searchResult.getIssues(), issuesWithKeys("TST-13", "TST-12", "TST-11", "TST-10", "TST-9", "TST-8", "TST-7", "TST-6"));
+        for (int i = 0; i < 8; i++) {
+            final Issue issue = Iterables.get(searchResult.getIssues(), i);
+            final Issue expectedIssue = Iterables.get(expected.getIssues(), i);
+            assertEquals(expectedIssue.getSummary(), issue.getSummary());
+            assertEquals(expectedIssue.getStatus(), issue.getStatus());
+            assertEquals(expectedIssue.getUpdateDate(), issue.getUpdateDate());
+            assertEquals(Iterables.size(expectedIssue.getFields()), Iterables.size(issue.getFields()));
+        }
+    }
+
+    @Test
+    public void testIssuesOfPageShareFieldDescriptors() throws Exception {
+        final SearchResult searchResult = parse("/json/search/many-issues.json");
+        final IssueField first = Iterables.get(searchResult.getIssues(), 0).getField("customfield_10010");
+        final IssueField last = Iterables.getLast(searchResult.getIssues()).getField("customfield_10010");
+
+        assertSame(first.getId(), last.getId());
+        assertSame(first.getName(), last.getName());
+        assertNotNull(first.getType());
+    }
+
+    @Test
+    public void testIssuesReadBeforeNamesGetFieldNames() throws Exception {
+        // names and schema follow the issues in this page, as in JIRA responses
+        final SearchResult searchResult = parse("/json/search/many-issues.json");
+        final SearchResult expected = new SearchResultJsonParser().parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+        final Issue issue = Iterables.get(searchResult.getIssues(), 0);
+        final IssueField expectedField = Iterables.get(expected.getIssues(), 0).getField("customfield_10010");
+
+        assertEquals(expectedField, issue.getField("customfield_10010"));
+        assertEquals(expectedField.getId(), issue.getFieldByName(expectedField.getName()).getId());
+    }
+
+    @Test
+    public void testParseMalformedTotal() throws Exception {
+        exception.expect(JsonParseException.class);
+
+        parse("/json/search/issues-invalid-total.json");
+    }
+
+    @Test
+    public void testDomAdapterParsesSingleIssue() throws Exception {
+        final JsonStreamParser<Issue> issueParser = DomJsonStreamParser.create(new IssueJsonParser());
+        final InputStream is = getClass().getResourceAsStream("/json/issue/valid-all-expanded.json");
+        try {
+            final Issue issue = issueParser.parse(JsonStreamParseUtil.createParser(is));
+            final Issue expected = new IssueJsonParser().parse(getJsonObjectFromResource("/json/issue/valid-all-expanded.json"));
+            assertEquals(expected.getKey(), issue.getKey());
+            assertEquals(Iterables.size(expected.getFields()), Iterables.size(issue.getFields()));
+            assertEquals(expected.getField("customfield_10000").getName(), issue.getField("customfield_10000").getName());
+        } finally {
+            is.close();
+        }
+    }
+
+    private SearchResult parse(String resourcePath) throws Exception {
+        final InputStream is = getClass().getResourceAsStream(resourcePath);
+        if (is == null) {
+            throw new IOException("Cannot open resource [" + resourcePath + "]");
+        }
+        try {
+            final JsonParser json = JsonStreamParseUtil.createParser(is);
+            return parser.parse(json);
+        } finally {
+            is.close();
+        }
+    }
+}
@@ -22,12 +22,14 @@ import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
 import com.atlassian.jira.rest.client.api.domain.input.PropertyInput;
 import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
 import com.atlassian.jira.rest.client.test.matchers.JSONObjectMatcher;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import org.codehaus.jettison.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 
 /**
@@ -55,6 +57,24 @@ public class IssueInputJsonGeneratorTest {
         final JSONObject expected = ResourceUtil.getJsonObjectFromResource("/json/issueInput/valid.json");
         final JSONObject actual = generator.generate(issueInput);
         Assert.assertThat(expected, JSONObjectMatcher.isEqual(actual));
+        Assert.assertThat(expected, JSONObjectMatcher.isEqual(StreamedJson.write(generator, issueInput)));
+    }
+
+    @Test
+    public void testWriteNumbersAndArrays() throws Exception {
+        final IssueInputJsonGenerator generator = new IssueInputJsonGenerator();
+        final IssueInput issueInput = IssueInput.createWithFields(
+                new FieldInput("double", 1.5),
+                new FieldInput("decimal", new BigDecimal("12.50")),
+                new FieldInput("labels", ImmutableList.of("a", "b")),
+                new FieldInput("users", ImmutableList.of(ComplexIssueInputFieldValue.with("name", "admin")))
+        );
+
+        final JSONObject fields = StreamedJson.write(generator, issueInput).getJSONObject("fields");
+        Assert.assertEquals(1.5, fields.getDouble("double"), 0);
+        Assert.assertEquals(12.5, fields.getDouble("decimal"), 0);
+        Assert.assertEquals("b", fields.getJSONArray("labels").getString(1));
+        Assert.assertEquals("admin", fields.getJSONArray("users").getJSONObject(0).getString("name"));
     }
 
     @Test
@@ -75,5 +95,6 @@ public class IssueInputJsonGeneratorTest {
         final JSONObject expected = ResourceUtil.getJsonObjectFromResource("/json/issueInput/empty.json");
         final JSONObject actual = generator.generate(issueInput);
         Assert.assertThat(expected, JSONObjectMatcher.isEqual(actual));
+        Assert.assertThat(expected, JSONObjectMatcher.isEqual(StreamedJson.write(generator, issueInput)));
     }
 }
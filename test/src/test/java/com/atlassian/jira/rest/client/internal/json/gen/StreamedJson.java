@@ -0,0 +1,26 @@
+package com.atlassian.jira.rest.client.internal.json.gen;
+
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads back the output of {@link JsonStreamGenerator}s, to compare it with that of their {@link JsonGenerator}.
+ */
+final class StreamedJson {
+
+    private StreamedJson() {
+    }
+
+    static <T> JSONObject write(final JsonStreamGenerator<T> generator, final T bean) throws IOException, JSONException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (org.codehaus.jackson.JsonGenerator json = JsonStreamGeneratorUtil.createGenerator(out)) {
+            generator.write(bean, json);
+        }
+        return new JSONObject(new String(out.toByteArray(), UTF_8));
+    }
+}
@@ -27,6 +27,7 @@ import org.joda.time.DateTimeZone;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -77,4 +78,26 @@ public class WorklogInputJsonGeneratorTest {
         Assert.assertThat(generator.generate(worklogInput), JSONObjectMatcher.isEqual(
                 ResourceUtil.getJsonObjectFromResource("/json/worklogInput/valid-without-users.json")));
     }
+
+    @Test
+    public void testWrite() throws JSONException, IOException {
+        final WorklogInput worklogInput = new WorklogInput(
+                toUri("http://localhost:8090/jira/rest/api/latest/worklog/10010"),
+                toUri("http://localhost:8090/jira/rest/api/latest/issue/TST-2"), USER, ADMIN, "my first work",
+                JsonParseUtil.parseDateTime("2010-08-15T16:35:00.000+0200"), 60, Visibility.group("some-group"));
+
+        Assert.assertThat(StreamedJson.write(generator, worklogInput), JSONObjectMatcher.isEqual(
+                ResourceUtil.getJsonObjectFromResource("/json/worklogInput/valid.json")));
+    }
+
+    @Test
+    public void testWriteWithoutAuthorAndUpdateAuthor() throws JSONException, IOException {
+        final WorklogInput worklogInput = new WorklogInput(
+                toUri("http://localhost:8090/jira/rest/api/latest/worklog/10010"),
+                toUri("http://localhost:8090/jira/rest/api/latest/issue/TST-2"), null, null, "my first work",
+                JsonParseUtil.parseDateTime("2010-08-15T16:35:00.000+0200"), 247, Visibility.group("some-group"));
+
+        Assert.assertThat(StreamedJson.write(generator, worklogInput), JSONObjectMatcher.isEqual(
+                ResourceUtil.getJsonObjectFromResource("/json/worklogInput/valid-without-users.json")));
+    }
 }
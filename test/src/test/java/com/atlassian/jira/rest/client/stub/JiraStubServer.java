@@ -0,0 +1,461 @@
+package com.atlassian.jira.rest.client.stub;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Resources;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Embeddable stand-in for Jira, serving the JSON fixtures of the tests, to measure the client without a Jira instance.
+ * It answers:
+ * <ul>
+ * <li><code>GET serverInfo</code></li>
+ * <li><code>GET issue/{key}</code> with <code>issue/valid-all-expanded.json</code></li>
+ * <li><code>GET version/{id}</code> with <code>version/valid.json</code></li>
+ * <li><code>GET</code> and <code>POST search</code> with pages of the issues of <code>search/many-issues.json</code>,
+ * up to the configured total</li>
+ * <li><code>POST issue</code> and <code>POST issue/bulk</code>, creating issues with increasing ids</li>
+ * <li><code>POST /rest/auth/latest/session</code>, logging in with any credentials, when sessions are required</li>
+ * </ul>
+ * under <code>/rest/api/{version}/</code>, and 404 to anything else. Responses are rendered once, so the stub
+ * spends little time per request and the measured time is the client's and the configured latency.
+ */
+public class JiraStubServer implements AutoCloseable {
+
+    /**
+     * Prefix of the names of the threads answering requests.
+     */
+    public static final String THREAD_NAME_PREFIX = "jira-stub-";
+
+    private static final String API_PREFIX = "/rest/api/";
+    private static final String SESSION_PATH = "/rest/auth/latest/session";
+    private static final String SESSION_COOKIE = "JSESSIONID";
+    private static final int UNAUTHORIZED = 401;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyNanos;
+    private final long latencyJitterNanos;
+    private final int throttleEveryNthRequest;
+    private final int retryAfterSeconds;
+    private final boolean sessionRequired;
+    private final int maxAgeSeconds;
+    private final int searchTotal;
+    private final int maxResultsLimit;
+    private final byte[] serverInfo;
+    private final byte[] issue;
+    private final byte[] version;
+    private final String searchNames;
+    private final String searchSchema;
+    private final JSONArray searchIssueTemplates;
+    private final Map<Integer, String> searchIssuesByCount = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicInteger nextIssueId = new AtomicInteger(20000);
+    private final AtomicInteger loginCount = new AtomicInteger();
+    private final AtomicInteger unauthorizedCount = new AtomicInteger();
+    private volatile String currentSession;
+
+    private JiraStubServer(final Builder builder) throws IOException, JSONException {
+        this.latencyNanos = builder.latencyNanos;
+        this.latencyJitterNanos = builder.latencyJitterNanos;
+        this.throttleEveryNthRequest = builder.throttleEveryNthRequest;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.sessionRequired = builder.sessionRequired;
+        this.maxAgeSeconds = builder.maxAgeSeconds;
+        this.searchTotal = builder.searchTotal;
+        this.maxResultsLimit = builder.maxResultsLimit;
+
+        this.serverInfo = fixture("serverInfo/valid.json").getBytes(UTF_8);
+        final JSONObject issueJson = new JSONObject(fixture("issue/valid-all-expanded.json"));
+        addCustomFields(issueJson.getJSONObject("fields"), issueJson.getJSONObject("names"),
+                issueJson.getJSONObject("schema"), builder.extraCustomFields);
+        this.issue = issueJson.toString().getBytes(UTF_8);
+        this.version = fixture("version/valid.json").getBytes(UTF_8);
+
+        final JSONObject search = new JSONObject(fixture("search/many-issues.json"));
+        final JSONObject names = search.getJSONObject("names");
+        final JSONObject schema = search.getJSONObject("schema");
+        final JSONArray issues = search.getJSONArray("issues");
+        for (int i = 0; i < issues.length(); i++) {
+            addCustomFields(issues.getJSONObject(i).getJSONObject("fields"), names, schema, builder.extraCustomFields);
+        }
+        this.searchNames = names.toString();
+        this.searchSchema = schema.toString();
+        this.searchIssueTemplates = issues;
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", builder.port), builder.backlog);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return started server with the default settings, on a free port
+     */
+    public static JiraStubServer start() {
+        return builder().start();
+    }
+
+    /**
+     * @return URI to create clients with
+     */
+    public URI getServerUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * @return number of requests received, including the throttled ones
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of requests answered with <code>429 Too Many Requests</code>
+     */
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    /**
+     * @return number of logins
+     */
+    public int getLoginCount() {
+        return loginCount.get();
+    }
+
+    /**
+     * @return number of requests answered with <code>401 Unauthorized</code>
+     */
+    public int getUnauthorizedCount() {
+        return unauthorizedCount.get();
+    }
+
+    /**
+     * Ends the current session, so that requests sent with its cookie are answered with <code>401 Unauthorized</code>.
+     */
+    public void expireSession() {
+        currentSession = null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final long request = requestCount.incrementAndGet();
+            delay();
+            if (throttleEveryNthRequest > 0 && request % throttleEveryNthRequest == 0) {
+                throttledCount.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", Integer.toString(retryAfterSeconds));
+                send(exchange, TOO_MANY_REQUESTS, error("Rate limit exceeded."));
+                return;
+            }
+            if (sessionRequired && exchange.getRequestURI().getPath().equals(SESSION_PATH)
+                    && exchange.getRequestMethod().equals("POST")) {
+                login(exchange);
+            } else if (sessionRequired && !hasSession(exchange)) {
+                unauthorizedCount.incrementAndGet();
+                send(exchange, UNAUTHORIZED, error("You are not authenticated."));
+            } else {
+                route(exchange);
+            }
+        } catch (JSONException | RuntimeException e) {
+            send(exchange, 500, error(e.toString()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(final HttpExchange exchange) throws IOException, JSONException {
+        final String path = exchange.getRequestURI().getPath();
+        final String method = exchange.getRequestMethod();
+        final int api = path.indexOf(API_PREFIX);
+        final int resource = api >= 0 ? path.indexOf('/', api + API_PREFIX.length()) : -1;
+        if (resource < 0) {
+            send(exchange, 404, error("Not found: " + path));
+            return;
+        }
+        final String[] segments = path.substring(resource + 1).split("/");
+        if (method.equals("GET") && maxAgeSeconds > 0) {
+            exchange.getResponseHeaders().set("Cache-Control", "private, max-age=" + maxAgeSeconds);
+        }
+        if (method.equals("GET") && segments.length == 1 && segments[0].equals("serverInfo")) {
+            send(exchange, 200, serverInfo);
+        } else if (segments[0].equals("search") && segments.length == 1 && method.equals("GET")) {
+            final Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            sendSearchPage(exchange, intParam(query.get("startAt"), 0), intParam(query.get("maxResults"), 50));
+        } else if (segments[0].equals("search") && segments.length == 1 && method.equals("POST")) {
+            final JSONObject body = new JSONObject(readBody(exchange));
+            sendSearchPage(exchange, body.optInt("startAt", 0), body.optInt("maxResults", 50));
+        } else if (segments[0].equals("issue") && segments.length == 2 && segments[1].equals("bulk") && method.equals("POST")) {
+            final JSONArray updates = new JSONObject(readBody(exchange)).getJSONArray("issueUpdates");
+            final JSONArray created = new JSONArray();
+            for (int i = 0; i < updates.length(); i++) {
+                created.put(createdIssue());
+            }
+            send(exchange, 201, new JSONObject().put("issues", created).put("errors", new JSONArray()).toString().getBytes(UTF_8));
+        } else if (segments[0].equals("issue") && segments.length == 1 && method.equals("POST")) {
+            readBody(exchange);
+            send(exchange, 201, createdIssue().toString().getBytes(UTF_8));
+        } else if (segments[0].equals("issue") && segments.length == 2 && method.equals("GET")) {
+            send(exchange, 200, issue);
+        } else if (segments[0].equals("version") && segments.length == 2 && method.equals("GET")) {
+            send(exchange, 200, version);
+        } else {
+            send(exchange, 404, error("Not found: " + method + " " + path));
+        }
+    }
+
+    private void login(final HttpExchange exchange) throws IOException, JSONException {
+        readBody(exchange);
+        final int login = loginCount.incrementAndGet();
+        currentSession = "session-" + login;
+        send(exchange, 200, new JSONObject()
+                .put("session", new JSONObject().put("name", SESSION_COOKIE).put("value", currentSession))
+                .put("loginInfo", new JSONObject().put("loginCount", login))
+                .toString().getBytes(UTF_8));
+    }
+
+    private boolean hasSession(final HttpExchange exchange) {
+        final String session = currentSession;
+        final String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        return session != null && cookie != null && cookie.equals(SESSION_COOKIE + "=" + session);
+    }
+
+    private void sendSearchPage(final HttpExchange exchange, final int startAt, final int maxResults) throws IOException {
+        final int pageSize = Math.max(0, Math.min(Math.min(maxResults, maxResultsLimit), searchTotal - startAt));
+        final String issues = searchIssuesByCount.computeIfAbsent(pageSize, this::renderSearchIssues);
+        final String page = "{\"expand\":\"schema,names\",\"startAt\":" + startAt
+                + ",\"maxResults\":" + Math.min(maxResults, maxResultsLimit)
+                + ",\"total\":" + searchTotal
+                + ",\"issues\":" + issues
+                + ",\"names\":" + searchNames
+                + ",\"schema\":" + searchSchema + "}";
+        send(exchange, 200, page.getBytes(UTF_8));
+    }
+
+    private String renderSearchIssues(final int count) {
+        final StringBuilder issues = new StringBuilder("[");
+        try {
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    issues.append(',');
+                }
+                final JSONObject issue = new JSONObject(searchIssueTemplates.getJSONObject(i % searchIssueTemplates.length()).toString());
+                issue.put("id", Integer.toString(10000 + i));
+                issue.put("key", "TST-" + (i + 1));
+                issues.append(issue);
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        return issues.append(']').toString();
+    }
+
+    private JSONObject createdIssue() throws JSONException {
+        final int id = nextIssueId.incrementAndGet();
+        return new JSONObject()
+                .put("id", Integer.toString(id))
+                .put("key", "TST-" + id)
+                .put("self", getServerUri() + "rest/api/2/issue/" + id);
+    }
+
+    private void delay() {
+        if (latencyNanos == 0 && latencyJitterNanos == 0) {
+            return;
+        }
+        final long jitter = latencyJitterNanos > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterNanos + 1) : 0;
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyNanos + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] error(final String message) {
+        try {
+            return new JSONObject()
+                    .put("errorMessages", new JSONArray().put(message))
+                    .put("errors", new JSONObject())
+                    .toString().getBytes(UTF_8);
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readBody(final HttpExchange exchange) throws IOException {
+        return new String(ByteStreams.toByteArray(exchange.getRequestBody()), UTF_8);
+    }
+
+    private static Map<String, String> query(final String rawQuery) throws UnsupportedEncodingException {
+        final Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String param : rawQuery.split("&")) {
+            final int eq = param.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(param.substring(0, eq), "UTF-8"), URLDecoder.decode(param.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(final String value, final int defaultValue) {
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static void addCustomFields(final JSONObject fields, final JSONObject names, final JSONObject schema,
+                                        final int count) throws JSONException {
+        for (int i = 0; i < count; i++) {
+            final int customId = 30000 + i;
+            final String id = "customfield_" + customId;
+            fields.put(id, "Value of custom field " + i);
+            names.put(id, "Custom Field " + i);
+            schema.put(id, new JSONObject()
+                    .put("type", "string")
+                    .put("custom", "com.atlassian.jira.plugin.system.customfieldtypes:textfield")
+                    .put("customId", customId));
+        }
+    }
+
+    private static String fixture(final String path) {
+        try {
+            return Resources.toString(Resources.getResource("json/" + path), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class Builder {
+        private int port;
+        private int backlog = 512;
+        private long latencyNanos;
+        private long latencyJitterNanos;
+        private int extraCustomFields;
+        private int searchTotal = 1000;
+        private int maxResultsLimit = 1000;
+        private int throttleEveryNthRequest;
+        private int retryAfterSeconds = 1;
+        private boolean sessionRequired;
+        private int maxAgeSeconds;
+
+        /**
+         * @param port port to listen on, 0 picks a free one
+         */
+        public Builder withPort(final int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Delays every response by the given latency, plus a uniformly random jitter up to the given bound.
+         */
+        public Builder withLatency(final long latency, final long jitter, final TimeUnit unit) {
+            this.latencyNanos = unit.toNanos(latency);
+            this.latencyJitterNanos = unit.toNanos(jitter);
+            return this;
+        }
+
+        /**
+         * Scales up the payloads with text custom fields added to every issue.
+         */
+        public Builder withExtraCustomFields(final int extraCustomFields) {
+            this.extraCustomFields = extraCustomFields;
+            return this;
+        }
+
+        /**
+         * @param searchTotal     number of issues matched by any search, served in pages
+         * @param maxResultsLimit largest page served, whatever the requested <code>maxResults</code>
+         */
+        public Builder withSearchResults(final int searchTotal, final int maxResultsLimit) {
+            this.searchTotal = searchTotal;
+            this.maxResultsLimit = maxResultsLimit;
+            return this;
+        }
+
+        /**
+         * Answers every n-th request with <code>429 Too Many Requests</code> and a <code>Retry-After</code> header.
+         */
+        public Builder withThrottling(final int everyNthRequest, final int retryAfterSeconds) {
+            this.throttleEveryNthRequest = everyNthRequest;
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        /**
+         * Answers requests without the cookie of the current session with <code>401 Unauthorized</code>.
+         * Every login starts a new session.
+         */
+        public Builder withSessionRequired() {
+            this.sessionRequired = true;
+            return this;
+        }
+
+        /**
+         * Lets clients cache the answers to <code>GET</code> requests for the given time.
+         */
+        public Builder withMaxAge(final int maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+            return this;
+        }
+
+        public JiraStubServer start() {
+            try {
+                final JiraStubServer stub = new JiraStubServer(this);
+                stub.server.start();
+                return stub;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
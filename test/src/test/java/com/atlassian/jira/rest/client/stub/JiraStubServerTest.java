@@ -0,0 +1,98 @@
+package com.atlassian.jira.rest.client.stub;
+
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.async.AdaptiveThrottlePolicy;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.google.common.collect.Iterables;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JiraStubServerTest {
+
+    private JiraStubServer stub;
+    private JiraRestClient client;
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    public void testClientReadsFixtures() {
+        start(JiraStubServer.builder().withSearchResults(120, 50), JiraRestClientOptions.defaults());
+
+        final Issue issue = client.getIssueClient().getIssue("TST-2").claim();
+        assertNotNull(issue.getSummary());
+
+        final SearchResult lastPage = client.getSearchClient().searchJql("project = TST", 100, 100, null).claim();
+        assertEquals(120, lastPage.getTotal());
+        assertEquals(20, Iterables.size(lastPage.getIssues()));
+
+        final BulkOperationResult<BasicIssue> created = client.getIssueClient()
+                .createIssues(Collections.nCopies(3, new IssueInputBuilder("TST", 1L, "summary").build()))
+                .claim();
+        assertEquals(3, Iterables.size(created.getIssues()));
+    }
+
+    @Test
+    public void testThrottledRequestFails() {
+        start(JiraStubServer.builder().withThrottling(1, 0), JiraRestClientOptions.defaults());
+        try {
+            client.getIssueClient().getIssue("TST-1").claim();
+            fail("request should have been throttled");
+        } catch (RestClientException e) {
+            assertEquals(Integer.valueOf(429), e.getStatusCode().get());
+        }
+    }
+
+    @Test
+    public void testThrottledRequestIsRetried() {
+        start(JiraStubServer.builder().withThrottling(2, 0), JiraRestClientOptions.builder()
+                .withThrottlePolicy(AdaptiveThrottlePolicy.builder().withBackoff(1, 10, TimeUnit.MILLISECONDS).build())
+                .build());
+        client.getIssueClient().getIssue("TST-1").claim();
+        client.getIssueClient().getIssue("TST-1").claim();
+        assertEquals(1, stub.getThrottledCount());
+        assertEquals(3, stub.getRequestCount());
+    }
+
+    @Test
+    public void testLoadDriverReport() throws InterruptedException {
+        start(JiraStubServer.builder().withLatency(1, 1, TimeUnit.MILLISECONDS), JiraRestClientOptions.defaults());
+
+        final LoadReport report = LoadDriver.run(client, LoadDriver.Scenario.SEARCH, 2, 2, 10);
+
+        assertEquals(20, report.getRequests());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getLatencyNanos(50) >= TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(report.getLatencyNanos(50) <= report.getLatencyNanos(99));
+        assertTrue(report.getRequestsPerSecond() > 0);
+    }
+
+    private void start(final JiraStubServer.Builder builder, final JiraRestClientOptions options) {
+        stub = builder.start();
+        client = new AsynchronousJiraRestClientFactory().create(stub.getServerUri(), new AnonymousAuthenticationHandler(), options);
+    }
+}
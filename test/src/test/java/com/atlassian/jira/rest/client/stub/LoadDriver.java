@@ -0,0 +1,174 @@
+package com.atlassian.jira.rest.client.stub;
+
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClientOptions;
+import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import io.atlassian.util.concurrent.Promise;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop load generator: every worker sends a request of the scenario, waits for its parsed result, and sends
+ * the next one. Runs against any Jira, or standalone against a {@link JiraStubServer}:
+ * <pre>
+ * mvn test-compile exec:java -pl test -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.atlassian.jira.rest.client.stub.LoadDriver -Dexec.args="SEARCH 16 2000 20"
+ * </pre>
+ * with the scenario, the number of workers, the number of requests per worker and the latency of the stub
+ * in milliseconds.
+ */
+public class LoadDriver {
+
+    private static final int BULK_SIZE = 50;
+    private static final int SEARCH_PAGE_SIZE = 100;
+
+    public enum Scenario {
+        GET_ISSUE {
+            @Override
+            Promise<?> execute(final JiraRestClient client, final long iteration) {
+                return client.getIssueClient().getIssue("TST-" + (iteration % 1000 + 1));
+            }
+        },
+        SEARCH {
+            @Override
+            Promise<?> execute(final JiraRestClient client, final long iteration) {
+                return client.getSearchClient().searchJql("project = TST", SEARCH_PAGE_SIZE,
+                        (int) (iteration % 10) * SEARCH_PAGE_SIZE, null);
+            }
+        },
+        BULK_CREATE {
+            @Override
+            Promise<?> execute(final JiraRestClient client, final long iteration) {
+                final List<IssueInput> issues = new ArrayList<>(BULK_SIZE);
+                for (int i = 0; i < BULK_SIZE; i++) {
+                    issues.add(IssueInput.createWithFields(
+                            new FieldInput("project", ComplexIssueInputFieldValue.with("key", "TST")),
+                            new FieldInput("issuetype", ComplexIssueInputFieldValue.with("id", "1")),
+                            new FieldInput("summary", "Load test issue " + iteration + "-" + i)));
+                }
+                return client.getIssueClient().createIssues(issues);
+            }
+        };
+
+        abstract Promise<?> execute(JiraRestClient client, long iteration);
+    }
+
+    private LoadDriver() {
+    }
+
+    /**
+     * Runs the warm-up requests, unmeasured, and then the measured ones.
+     *
+     * @param concurrency       number of workers
+     * @param warmupRequests    number of requests per worker before measuring
+     * @param measuredRequests  number of measured requests per worker
+     */
+    public static LoadReport run(final JiraRestClient client, final Scenario scenario, final int concurrency,
+                                 final int warmupRequests, final int measuredRequests) throws InterruptedException {
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            runWorkers(workers, client, scenario, concurrency, warmupRequests);
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+            final Result result = runWorkers(workers, client, scenario, concurrency, measuredRequests);
+            final long elapsed = System.nanoTime() - start;
+            final long allocated = allocatedBytes() - allocatedBefore;
+            return new LoadReport(scenario.name(), result.latencies, result.errors, elapsed, allocated);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Result runWorkers(final ExecutorService workers, final JiraRestClient client, final Scenario scenario,
+                                     final int concurrency, final int requestsPerWorker) throws InterruptedException {
+        final AtomicLong iterations = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final List<Future<long[]>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                final long[] latencies = new long[requestsPerWorker];
+                for (int i = 0; i < requestsPerWorker; i++) {
+                    final long start = System.nanoTime();
+                    try {
+                        scenario.execute(client, iterations.getAndIncrement()).claim();
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+        final long[] all = new long[concurrency * requestsPerWorker];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            try {
+                final long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    /**
+     * Sums the bytes allocated by the live threads of this JVM, except those of the stub server, which may run in it.
+     * Allocations of threads which ended during the run are not counted.
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long total = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (!thread.getName().startsWith(JiraStubServer.THREAD_NAME_PREFIX)) {
+                total += Math.max(0, allocations.getThreadAllocatedBytes(thread.getId()));
+            }
+        }
+        return total;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Scenario scenario = args.length > 0 ? Scenario.valueOf(args[0]) : Scenario.GET_ISSUE;
+        final int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        final int requests = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        final long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 10;
+        try (JiraStubServer stub = JiraStubServer.builder().withLatency(latencyMillis, latencyMillis / 5, TimeUnit.MILLISECONDS).start();
+             JiraRestClient client = new AsynchronousJiraRestClientFactory().create(stub.getServerUri(),
+                     new AnonymousAuthenticationHandler(),
+                     JiraRestClientOptions.builder()
+                             .withMaxTotalConnections(concurrency)
+                             .withMaxConnectionsPerHost(concurrency)
+                             .build())) {
+            System.out.println(run(client, scenario, concurrency, Math.max(1, requests / 10), requests));
+        }
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final long errors;
+
+        Result(final long[] latencies, final long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.atlassian.jira.rest.client.stub;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a {@link LoadDriver} run.
+ */
+public class LoadReport {
+
+    private final String scenario;
+    private final long[] sortedLatenciesNanos;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    LoadReport(final String scenario, final long[] sortedLatenciesNanos, final long errors, final long elapsedNanos,
+               final long allocatedBytes) {
+        this.scenario = scenario;
+        this.sortedLatenciesNanos = sortedLatenciesNanos;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public int getRequests() {
+        return sortedLatenciesNanos.length;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency of the given percentile, by the nearest rank method
+     */
+    public long getLatencyNanos(final double percentile) {
+        if (sortedLatenciesNanos.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * sortedLatenciesNanos.length);
+        return sortedLatenciesNanos[Math.max(0, Math.min(sortedLatenciesNanos.length - 1, rank - 1))];
+    }
+
+    public double getRequestsPerSecond() {
+        return elapsedNanos > 0 ? getRequests() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+    }
+
+    /**
+     * @return bytes allocated by the client and the load driver per request, or -1 when the JVM cannot tell
+     */
+    public long getAllocatedBytesPerRequest() {
+        return allocatedBytes < 0 || getRequests() == 0 ? -1 : allocatedBytes / getRequests();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "%s: %d requests, %d errors, %.1f requests/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d bytes allocated/request",
+                scenario, getRequests(), errors, getRequestsPerSecond(), millis(getLatencyNanos(50)),
+                millis(getLatencyNanos(99)), millis(getLatencyNanos(100)), getAllocatedBytesPerRequest());
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+}